@@ -0,0 +1,38 @@
+package gov.nysenate.openleg.client.response.base;
+
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A list response that is paginated with a cursor instead of an offset.
+ * The total is an estimate, and is -1 unless it was requested.
+ */
+public class CursorListViewResponse<ViewType> extends DateRangeListViewResponse<ViewType>
+{
+    /** Requests the next page when sent as the cursor param. Null if this is the last page. */
+    protected String nextCursor;
+
+    protected CursorListViewResponse(ListView<ViewType> result, Range<LocalDateTime> dateTimeRange,
+                                     int total, int limit, UpdateCursor nextCursor) {
+        super(result, dateTimeRange, total, new LimitOffset(limit));
+        this.offsetEnd = result.getSize();
+        this.nextCursor = nextCursor != null ? nextCursor.encode() : null;
+    }
+
+    public static <ViewType extends ViewObject> CursorListViewResponse<ViewType> of(
+            List<ViewType> items, Range<LocalDateTime> dateTimeRange, CursorPaginatedList<?> list) {
+        return new CursorListViewResponse<>(ListView.of(items), dateTimeRange,
+                list.getTotal(), list.getLimOff().getLimit(), list.getNextCursor());
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
@@ -31,6 +31,10 @@ public class ListViewResponse<ViewType> extends PaginationResponse
         return new ListViewResponse<>(ListView.of(items), total, limitOffset);
     }
 
+    public static <ViewType extends ViewObject> ListViewResponse<ViewType> of(ListView<ViewType> listView, int total, LimitOffset limitOffset) {
+        return new ListViewResponse<>(listView, total, limitOffset);
+    }
+
     public static ListViewResponse<String> ofStringList(List<String> items, int total, LimitOffset limitOffset) {
         return new ListViewResponse<>(ListView.ofStringList(items), total, limitOffset);
     }
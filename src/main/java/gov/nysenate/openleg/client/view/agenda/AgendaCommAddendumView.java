@@ -12,8 +12,6 @@ import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.time.LocalDateTime;
 
-import static java.util.stream.Collectors.toList;
-
 public class AgendaCommAddendumView implements ViewObject
 {
     private String addendumId;
@@ -39,9 +37,7 @@ public class AgendaCommAddendumView implements ViewObject
             this.modifiedDateTime = modDateTime;
             this.meeting = new AgendaMeetingView(infoComm.getChair(), infoComm.getLocation(),
                                                  infoComm.getMeetingDateTime(), infoComm.getNotes());
-            this.bills = ListView.of(infoComm.getItems().stream()
-                .map(i -> new AgendaItemView(i, billDataService))
-                .collect(toList()));
+            this.bills = ListView.of(AgendaItemView.listOf(infoComm.getItems(), billDataService));
         }
         if (voteComm != null) {
             this.hasVotes = true;
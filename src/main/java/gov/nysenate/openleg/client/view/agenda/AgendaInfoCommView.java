@@ -7,7 +7,6 @@ import gov.nysenate.openleg.model.agenda.AgendaInfoCommittee;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
 import java.time.LocalDateTime;
-import java.util.stream.Collectors;
 
 public class AgendaInfoCommView implements ViewObject
 {
@@ -25,9 +24,7 @@ public class AgendaInfoCommView implements ViewObject
             this.location = infoComm.getLocation();
             this.meetingDateTime = infoComm.getMeetingDateTime();
             this.notes = infoComm.getNotes();
-            this.bills = ListView.of(infoComm.getItems().stream()
-                    .map(i -> new AgendaItemView(i, billDataService))
-                    .collect(Collectors.toList()));
+            this.bills = ListView.of(AgendaItemView.listOf(infoComm.getItems(), billDataService));
         }
     }
 
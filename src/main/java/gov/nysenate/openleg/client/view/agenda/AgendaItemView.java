@@ -9,6 +9,11 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
 public class AgendaItemView implements ViewObject
 {
     private BillIdView billId;
@@ -16,10 +21,20 @@ public class AgendaItemView implements ViewObject
     private String message;
 
     public AgendaItemView(AgendaInfoCommitteeItem item, BillDataService billDataService) {
+        this(item, item != null && billDataService != null
+                ? billDataService.getBillInfoSafe(BaseBillId.of(item.getBillId()))
+                : null);
+    }
+
+    /**
+     * @param item AgendaInfoCommitteeItem
+     * @param billInfo BillInfo - the info of the item's bill, which is omitted from the view if null
+     */
+    public AgendaItemView(AgendaInfoCommitteeItem item, BillInfo billInfo) {
         if (item != null) {
             billId = new BillIdView(item.getBillId());
-            if (billDataService != null) {
-                this.billInfo = new BillInfoView(billDataService.getBillInfoSafe(BaseBillId.of(item.getBillId())));
+            if (billInfo != null) {
+                this.billInfo = new BillInfoView(billInfo);
             }
             this.message = item.getMessage();
         }
@@ -29,6 +44,24 @@ public class AgendaItemView implements ViewObject
         super();
     }
 
+    /**
+     * Constructs views for each of the given items, retrieving the info of all of their bills as a single batch.
+     *
+     * @param items {@link List<AgendaInfoCommitteeItem>}
+     * @param billDataService BillDataService - bill infos are omitted from the views if null
+     * @return {@link List<AgendaItemView>}
+     */
+    public static List<AgendaItemView> listOf(List<AgendaInfoCommitteeItem> items, BillDataService billDataService) {
+        Map<BaseBillId, BillInfo> billInfos = billDataService != null
+                ? billDataService.getBillInfosSafe(items.stream()
+                        .map(item -> BaseBillId.of(item.getBillId()))
+                        .collect(Collectors.toList()))
+                : Collections.emptyMap();
+        return items.stream()
+                .map(item -> new AgendaItemView(item, billInfos.get(BaseBillId.of(item.getBillId()))))
+                .collect(Collectors.toList());
+    }
+
     public BillIdView getBillId() {
         return billId;
     }
@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.client.view.base;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.util.BatchedListViewSerializer;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A list view whose items are loaded from their ids one batch at a time as the list is serialized,
+ * so that only a single batch of items is held in memory while a large listing is written out.
+ * It is serialized in the same form as a {@link ListView}.
+ *
+ * Id - The type of the ids used to load the items
+ * ViewType - The type of the items
+ */
+@JsonSerialize(using = BatchedListViewSerializer.class)
+public class BatchedListView<Id, ViewType extends ViewObject> extends ListView<ViewType>
+{
+    private final ImmutableList<Id> ids;
+
+    private final int batchSize;
+
+    /** Loads the items for a batch of ids, in the same order as the ids. */
+    private final Function<List<Id>, List<ViewType>> loader;
+
+    /** The view type of the items, e.g. "bill". */
+    private final String itemViewType;
+
+    public BatchedListView(List<Id> ids, int batchSize, Function<List<Id>, List<ViewType>> loader, String itemViewType) {
+        this.ids = ImmutableList.copyOf(ids);
+        this.batchSize = Math.max(batchSize, 1);
+        this.loader = loader;
+        this.itemViewType = itemViewType;
+    }
+
+    /**
+     * @return List<List<Id>> - the ids split into batches of at most the batch size
+     */
+    @JsonIgnore
+    public List<List<Id>> getIdBatches() {
+        return Lists.partition(ids, batchSize);
+    }
+
+    /**
+     * @param idBatch List<Id> - a batch of ids
+     * @return List<ViewType> - the items for the batch
+     */
+    public List<ViewType> loadBatch(List<Id> idBatch) {
+        return loader.apply(idBatch);
+    }
+
+    /**
+     * Loads all of the items at once.  This defeats the purpose of the view, it is only here to
+     * keep the view usable as a regular ListView.
+     */
+    @Override
+    public ImmutableList<ViewType> getItems() {
+        if (items == null) {
+            ImmutableList.Builder<ViewType> itemsBuilder = ImmutableList.builder();
+            getIdBatches().forEach(idBatch -> itemsBuilder.addAll(loadBatch(idBatch)));
+            items = itemsBuilder.build();
+        }
+        return items;
+    }
+
+    @Override
+    public int getSize() {
+        return ids.size();
+    }
+
+    @Override
+    public String getViewType() {
+        return (ids.isEmpty() ? "empty" : itemViewType) + " list";
+    }
+}
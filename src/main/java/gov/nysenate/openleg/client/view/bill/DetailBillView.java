@@ -6,12 +6,13 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
-import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * A BillView with some extra details.
@@ -22,7 +23,7 @@ public class DetailBillView extends BillView implements ViewObject
 
     /** Contains BillInfoViews keyed by the BaseBillId string for every other bill that is referenced by this bill.
      *  This map eliminates possible duplications where for example a same as bill reference is identical to the
-     *  substituted by reference. */
+     *  substituted by reference. The referenced bill infos are retrieved as a single batch. */
     protected MapView<String, BillInfoView> billInfoRefs;
 
     /** --- Constructors --- */
@@ -30,15 +31,23 @@ public class DetailBillView extends BillView implements ViewObject
     public DetailBillView(Bill bill, BillDataService billDataService) {
         super(bill);
 
-        Map<String, BillInfoView> refs = new HashMap<>();
+        Set<BaseBillId> refIds = new LinkedHashSet<>();
         // Previous version refs
-        bill.getAllPreviousVersions().stream().forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
+        bill.getAllPreviousVersions().forEach(billId -> addBillRef(refIds, billId));
         // Same as refs from each amendment
         bill.getAmendmentList().stream().flatMap(a -> a.getSameAs().stream())
-            .forEach(billId -> addBillInfoRefToMap(billDataService, refs, billId));
+            .forEach(billId -> addBillRef(refIds, billId));
         // Substituted by ref
-        addBillInfoRefToMap(billDataService, refs, bill.getSubstitutedBy());
+        addBillRef(refIds, bill.getSubstitutedBy());
 
+        // Fetch all of the referenced bill infos at once
+        Map<String, BillInfoView> refs = new HashMap<>();
+        billDataService.getBillInfos(refIds)
+            .forEach((billId, billInfo) -> refs.put(billId.toString(), new BillInfoView(billInfo)));
+        if (refs.size() < refIds.size()) {
+            logger.trace("{} of {} bill references not found while constructing detailed bill view for {}",
+                    refIds.size() - refs.size(), refIds.size(), bill.getBaseBillId());
+        }
         this.billInfoRefs = MapView.of(refs);
     }
 
@@ -56,19 +65,11 @@ public class DetailBillView extends BillView implements ViewObject
     /** --- Internal --- */
 
     /**
-     * Checks if the supplied map has a key with the given bill id and associates a BillInfoView if found.
+     * Adds the base bill id of the given bill id to the set of referenced bills.
      */
-    private void addBillInfoRefToMap(BillDataService billDataService, Map<String, BillInfoView> refs, BillId billId) {
+    private static void addBillRef(Set<BaseBillId> refIds, BillId billId) {
         if (billId != null) {
-            BaseBillId baseBillId = BaseBillId.of(billId);
-            if (!refs.containsKey(baseBillId.toString())) {
-                try {
-                    refs.put(baseBillId.toString(), new BillInfoView(billDataService.getBillInfo(baseBillId)));
-                }
-                catch (BillNotFoundEx ex) {
-                    logger.trace("Bill reference not found while constructing detailed bill view", ex);
-                }
-            }
+            refIds.add(BaseBillId.of(billId));
         }
     }
 }
\ No newline at end of file
@@ -1,6 +1,9 @@
 package gov.nysenate.openleg.client.view.cache;
 
 import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.SqlQueryCache;
+import gov.nysenate.openleg.service.base.data.OffHeapCache;
+import gov.nysenate.openleg.util.TextDiffer;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.statistics.StatisticsGateway;
 
@@ -8,6 +11,7 @@ public class CacheStatsView implements ViewObject
 {
     protected String cacheName;
     protected long heapSizeMb;
+    protected long offHeapSizeMb;
     protected long size;
     protected long hitCount;
     protected double hitRatio;
@@ -34,6 +38,40 @@ public class CacheStatsView implements ViewObject
         }
     }
 
+    public CacheStatsView(OffHeapCache<?> offHeapCache) {
+        if (offHeapCache != null) {
+            this.cacheName = offHeapCache.getName();
+            this.offHeapSizeMb = offHeapCache.getUsedBytes() / (1024 * 1024);
+            this.size = offHeapCache.getSize();
+            this.hitCount = offHeapCache.getHitCount();
+            this.hitRatio = offHeapCache.getHitRatio();
+            this.missCount = offHeapCache.getMissCount();
+            this.addedCount = offHeapCache.getPutCount();
+            this.evictedCount = offHeapCache.getEvictedCount();
+        }
+    }
+
+    public CacheStatsView(SqlQueryCache sqlQueryCache) {
+        if (sqlQueryCache != null) {
+            this.cacheName = sqlQueryCache.getName();
+            this.size = sqlQueryCache.getSize();
+            this.hitCount = sqlQueryCache.getHitCount();
+            this.hitRatio = sqlQueryCache.getHitRatio();
+            this.missCount = sqlQueryCache.getMissCount();
+        }
+    }
+
+    public CacheStatsView(TextDiffer textDiffer) {
+        if (textDiffer != null) {
+            this.cacheName = textDiffer.getName();
+            this.size = textDiffer.getSize();
+            this.hitCount = textDiffer.getHitCount();
+            this.hitRatio = textDiffer.getHitRatio();
+            this.missCount = textDiffer.getMissCount();
+            this.evictedCount = textDiffer.getEvictedCount();
+        }
+    }
+
     @Override
     public String getViewType() {
         return "cache-stats";
@@ -47,6 +85,10 @@ public class CacheStatsView implements ViewObject
         return heapSizeMb;
     }
 
+    public long getOffHeapSizeMb() {
+        return offHeapSizeMb;
+    }
+
     public long getSize() {
         return size;
     }
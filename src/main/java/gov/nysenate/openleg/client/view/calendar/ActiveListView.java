@@ -2,10 +2,14 @@ package gov.nysenate.openleg.client.view.calendar;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.calendar.CalendarActiveList;
 import gov.nysenate.openleg.model.calendar.spotcheck.CalendarEntryListId;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class ActiveListView extends SimpleActiveListView implements CalendarEntryList
@@ -14,9 +18,10 @@ public class ActiveListView extends SimpleActiveListView implements CalendarEntr
 
     public ActiveListView(CalendarActiveList activeList, BillDataService billDataService) {
         super(activeList);
+        Map<BaseBillId, BillInfo> billInfos = CalendarEntryView.getBillInfos(activeList.getEntries(), billDataService);
         this.entries = ListView.of(
                 activeList.getEntries().stream()
-                        .map(entry -> new CalendarEntryView(entry, billDataService))
+                        .map(entry -> new CalendarEntryView(entry, billInfos.get(BillId.getBaseId(entry.getBillId()))))
                         .sorted(CalendarEntryView.calEntryViewComparator)
                         .collect(Collectors.toList())
         );
@@ -2,12 +2,17 @@ package gov.nysenate.openleg.client.view.calendar;
 
 import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.calendar.CalendarEntry;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class CalendarEntryView extends BillInfoView
 {
@@ -16,7 +21,16 @@ public class CalendarEntryView extends BillInfoView
     protected String selectedVersion;
 
     public CalendarEntryView(CalendarEntry calendarEntry, BillDataService billDataService) {
-        super(calendarEntry != null ? billDataService.getBillInfoSafe(BillId.getBaseId(calendarEntry.getBillId())) : null);
+        this(calendarEntry,
+                calendarEntry != null ? billDataService.getBillInfoSafe(BillId.getBaseId(calendarEntry.getBillId())) : null);
+    }
+
+    /**
+     * @param calendarEntry CalendarEntry
+     * @param billInfo BillInfo - the info of the entry's bill
+     */
+    public CalendarEntryView(CalendarEntry calendarEntry, BillInfo billInfo) {
+        super(calendarEntry != null ? billInfo : null);
         if (calendarEntry != null) {
             this.billCalNo = calendarEntry.getBillCalNo();
             this.selectedVersion = Optional.ofNullable(calendarEntry.getBillId())
@@ -29,6 +43,20 @@ public class CalendarEntryView extends BillInfoView
     //Added for Json deserialization
     protected CalendarEntryView() {}
 
+    /**
+     * Retrieves the info of the bills of all of the given entries as a single batch.
+     *
+     * @param calendarEntries {@link Collection<CalendarEntry>}
+     * @param billDataService BillDataService
+     * @return {@link Map<BaseBillId, BillInfo>} - with a dummy bill info for any bill that is not found
+     */
+    public static Map<BaseBillId, BillInfo> getBillInfos(Collection<? extends CalendarEntry> calendarEntries,
+                                                         BillDataService billDataService) {
+        return billDataService.getBillInfosSafe(calendarEntries.stream()
+                .map(entry -> BillId.getBaseId(entry.getBillId()))
+                .collect(Collectors.toList()));
+    }
+
     public int getBillCalNo() {
         return billCalNo;
     }
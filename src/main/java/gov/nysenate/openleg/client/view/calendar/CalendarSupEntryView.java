@@ -2,6 +2,7 @@ package gov.nysenate.openleg.client.view.calendar;
 
 import gov.nysenate.openleg.client.view.bill.SimpleBillInfoView;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.calendar.CalendarSupplementalEntry;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 
@@ -16,13 +17,24 @@ public class CalendarSupEntryView extends CalendarEntryView {
     protected boolean billHigh;
 
     public CalendarSupEntryView(CalendarSupplementalEntry supEntry, BillDataService billDataService) {
-        super(supEntry, billDataService);
+        this(supEntry,
+                supEntry != null ? billDataService.getBillInfoSafe(BillId.getBaseId(supEntry.getBillId())) : null,
+                supEntry != null && supEntry.getSubBillId() != null
+                        ? billDataService.getBillInfo(BillId.getBaseId(supEntry.getSubBillId()))
+                        : null);
+    }
+
+    /**
+     * @param supEntry CalendarSupplementalEntry
+     * @param billInfo BillInfo - the info of the entry's bill
+     * @param subBillInfo BillInfo - the info of the entry's substituted bill, if it has one
+     */
+    public CalendarSupEntryView(CalendarSupplementalEntry supEntry, BillInfo billInfo, BillInfo subBillInfo) {
+        super(supEntry, billInfo);
 
         if (supEntry != null) {
             this.sectionType = supEntry.getSectionType().toString();
-            this.subBillInfo = supEntry.getSubBillId() != null
-                    ? new SimpleBillInfoView(billDataService.getBillInfo(BillId.getBaseId(supEntry.getSubBillId())))
-                    : null;
+            this.subBillInfo = subBillInfo != null ? new SimpleBillInfoView(subBillInfo) : null;
             this.billHigh = supEntry.getBillHigh();
         }
     }
@@ -3,10 +3,18 @@ package gov.nysenate.openleg.client.view.calendar;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.MapView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.calendar.CalendarSupplemental;
+import gov.nysenate.openleg.model.calendar.CalendarSupplementalEntry;
 import gov.nysenate.openleg.model.calendar.spotcheck.CalendarEntryListId;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -16,10 +24,19 @@ public class CalendarSupView extends SimpleCalendarSupView implements CalendarEn
 
     public CalendarSupView(CalendarSupplemental calendarSupplemental, BillDataService billDataService) {
         super(calendarSupplemental);
+        List<CalendarSupplementalEntry> entries = calendarSupplemental.getSectionEntries().values();
+        Map<BaseBillId, BillInfo> billInfos = CalendarEntryView.getBillInfos(entries, billDataService);
+        Map<BaseBillId, BillInfo> subBillInfos = billDataService.getBillInfos(entries.stream()
+                .map(CalendarSupplementalEntry::getSubBillId)
+                .filter(Objects::nonNull)
+                .map(BillId::getBaseId)
+                .collect(Collectors.toList()));
         this.entriesBySection = MapView.of(
                 calendarSupplemental.getSectionEntries().asMap().values().stream()
                         .map(entryList -> entryList.stream()
-                                .map(entry -> new CalendarSupEntryView(entry, billDataService))
+                                .map(entry -> new CalendarSupEntryView(entry,
+                                        billInfos.get(BillId.getBaseId(entry.getBillId())),
+                                        getSubBillInfo(entry, subBillInfos)))
                                 .sorted(CalendarSupEntryView.supEntryViewComparator)
                                 .collect(Collectors.toList()))
                         .map(ListView::of)
@@ -31,6 +48,21 @@ public class CalendarSupView extends SimpleCalendarSupView implements CalendarEn
     protected CalendarSupView() {
     }
 
+    /**
+     * @return BillInfo - the info of the entry's substituted bill, or null if it has none
+     * @throws BillNotFoundEx if the substituted bill is not found
+     */
+    private static BillInfo getSubBillInfo(CalendarSupplementalEntry entry, Map<BaseBillId, BillInfo> subBillInfos) {
+        if (entry.getSubBillId() == null) {
+            return null;
+        }
+        BaseBillId subBillId = BillId.getBaseId(entry.getSubBillId());
+        if (!subBillInfos.containsKey(subBillId)) {
+            throw new BillNotFoundEx(subBillId);
+        }
+        return subBillInfos.get(subBillId);
+    }
+
     public MapView<String, ListView<CalendarSupEntryView>> getEntriesBySection() {
         return entriesBySection;
     }
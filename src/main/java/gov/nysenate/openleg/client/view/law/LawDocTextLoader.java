@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.client.view.law;
+
+import gov.nysenate.openleg.model.law.LawDocument;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Loads the text of the documents in a {@link LawTreeView} while the view is being serialized, one batch of
+ * documents at a time, so that the text of a large law is never held in memory all at once.
+ *
+ * Documents are registered in the order their views are created, which is also the order they are written in.
+ * When the text of a document outside of the current batch is requested, the batch starting at that document
+ * is loaded in its place.
+ */
+public class LawDocTextLoader
+{
+    private final int batchSize;
+
+    /** Loads the latest law documents for a list of document ids, mapped by document id. */
+    private final Function<List<String>, Map<String, LawDocument>> documentLoader;
+
+    private final List<String> documentIds = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+
+    /** The currently loaded documents, for the registered documents from batchStart (inclusive) to batchEnd. */
+    private Map<String, LawDocument> batch = Collections.emptyMap();
+    private int batchStart = 0;
+    private int batchEnd = 0;
+
+    public LawDocTextLoader(int batchSize, Function<List<String>, Map<String, LawDocument>> documentLoader) {
+        this.batchSize = Math.max(batchSize, 1);
+        this.documentLoader = documentLoader;
+    }
+
+    /**
+     * Adds a document to the end of the documents to be loaded.
+     *
+     * @param documentId String
+     */
+    void register(String documentId) {
+        positions.putIfAbsent(documentId, documentIds.size());
+        documentIds.add(documentId);
+    }
+
+    /**
+     * Gets the text of a registered document, loading the batch of documents starting at it if necessary.
+     *
+     * @param documentId String
+     * @return String - the document text, or null if the document is not registered or does not exist
+     */
+    String getText(String documentId) {
+        Integer position = positions.get(documentId);
+        if (position == null) {
+            return null;
+        }
+        if (position < batchStart || position >= batchEnd) {
+            batchStart = position;
+            batchEnd = Math.min(position + batchSize, documentIds.size());
+            // Release the previous batch before loading the next
+            batch = Collections.emptyMap();
+            batch = documentLoader.apply(new ArrayList<>(documentIds.subList(batchStart, batchEnd)));
+        }
+        LawDocument document = batch.get(documentId);
+        return (document != null) ? document.getText() : null;
+    }
+}
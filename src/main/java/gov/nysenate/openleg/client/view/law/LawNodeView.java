@@ -2,11 +2,9 @@ package gov.nysenate.openleg.client.view.law;
 
 import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
-import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawTreeNode;
 
 import java.time.LocalDate;
-import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -21,22 +19,28 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
 
     protected ListView<LawNodeView> documents;
 
+    /** Loads the text as it is serialized.  Null when just displaying structure. */
+    private LawDocTextLoader textLoader;
+    private String documentId;
+
     public LawNodeView(LawTreeNode treeNode, Integer depth) {
         this(treeNode, depth, null);
     }
 
-    public LawNodeView(LawTreeNode treeNode, Integer depth, Map<String, LawDocument> docMap) {
+    public LawNodeView(LawTreeNode treeNode, Integer depth, LawDocTextLoader textLoader) {
         super((treeNode != null) ? treeNode.getLawDocInfo() : null);
         if (treeNode != null) {
             initFromLawTreeNode(treeNode);
-            this.text = (docMap != null && docMap.containsKey(treeNode.getDocumentId()))
-                ? docMap.get(treeNode.getDocumentId()).getText()
-                : null;
+            if (textLoader != null) {
+                this.textLoader = textLoader;
+                this.documentId = treeNode.getDocumentId();
+                textLoader.register(documentId);
+            }
             if (depth == null || depth > 0) {
                 final Integer childDepth = (depth != null) ? depth - 1 : null;
                 this.documents = ListView.of(
                         treeNode.getChildNodeList().stream()
-                                .map(n -> new LawNodeView(n, childDepth, docMap))
+                                .map(n -> new LawNodeView(n, childDepth, textLoader))
                                 .collect(Collectors.toList()));
             }
         }
@@ -70,7 +74,7 @@ public class LawNodeView extends LawDocInfoView implements ViewObject
     }
 
     public String getText() {
-        return text;
+        return (textLoader != null) ? textLoader.getText(documentId) : text;
     }
 
     public String getFromSection() {
@@ -1,14 +1,12 @@
 package gov.nysenate.openleg.client.view.law;
 
 import gov.nysenate.openleg.client.view.base.ViewObject;
-import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawTree;
 import gov.nysenate.openleg.model.law.LawTreeNode;
 import gov.nysenate.openleg.service.law.data.LawDocumentNotFoundEx;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 
 public class LawTreeView implements ViewObject
@@ -22,7 +20,10 @@ public class LawTreeView implements ViewObject
         this(lawTree, fromLocation, depth, null);
     }
 
-    public LawTreeView(LawTree lawTree, String fromLocation, Integer depth, Map<String, LawDocument> docMap) {
+    /**
+     * @param textLoader LawDocTextLoader - loads the document text as the view is serialized, null to omit the text
+     */
+    public LawTreeView(LawTree lawTree, String fromLocation, Integer depth, LawDocTextLoader textLoader) {
         if (lawTree != null) {
             lawVersion = new LawVersionIdView(lawTree.getLawVersionId());
             info = new LawInfoView(lawTree.getLawInfo());
@@ -30,7 +31,7 @@ public class LawTreeView implements ViewObject
             if (fromLocation != null && !fromLocation.isEmpty()) {
                 Optional<LawTreeNode> fromNode = lawTree.getRootNode().findNode(info.lawId + fromLocation, false);
                 if (fromNode.isPresent()) {
-                    documents = new LawNodeView(fromNode.get(), depth, docMap);
+                    documents = new LawNodeView(fromNode.get(), depth, textLoader);
                 }
                 else {
                     throw new LawDocumentNotFoundEx(info.lawId, LocalDate.now(),
@@ -38,7 +39,7 @@ public class LawTreeView implements ViewObject
                 }
             }
             else {
-                documents = new LawNodeView(lawTree.getRootNode(), depth, docMap);
+                documents = new LawNodeView(lawTree.getRootNode(), depth, textLoader);
             }
         }
     }
@@ -0,0 +1,70 @@
+package gov.nysenate.openleg.client.view.log;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.service.log.ApiLogDispatcher;
+
+public class ApiLogQueueStatsView implements ViewObject
+{
+    private String overflowPolicy;
+    private int queueCapacity;
+    private int queueSize;
+    private long received;
+    private long queued;
+    private long dropped;
+    private long sampledOut;
+    private long indexed;
+    private long failed;
+
+    public ApiLogQueueStatsView(ApiLogDispatcher dispatcher) {
+        this.overflowPolicy = dispatcher.getOverflowPolicy().name();
+        this.queueCapacity = dispatcher.getQueueCapacity();
+        this.queueSize = dispatcher.getQueueSize();
+        this.received = dispatcher.getReceivedCount();
+        this.queued = dispatcher.getQueuedCount();
+        this.dropped = dispatcher.getDroppedCount();
+        this.sampledOut = dispatcher.getSampledOutCount();
+        this.indexed = dispatcher.getIndexedCount();
+        this.failed = dispatcher.getFailedCount();
+    }
+
+    @Override
+    public String getViewType() {
+        return "api-log-queue-stats";
+    }
+
+    public String getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public long getReceived() {
+        return received;
+    }
+
+    public long getQueued() {
+        return queued;
+    }
+
+    public long getDropped() {
+        return dropped;
+    }
+
+    public long getSampledOut() {
+        return sampledOut;
+    }
+
+    public long getIndexed() {
+        return indexed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+}
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.processor.base.IngestCache;
+
+public class IngestCacheStatsView implements ViewObject
+{
+    protected String cacheName;
+    protected long hits;
+    protected long misses;
+    protected double hitRate;
+    protected long flushes;
+    protected long flushedEntries;
+    protected double avgFlushLatencyMs;
+    protected double maxFlushLatencyMs;
+    protected long dirtyEntries;
+    protected long dirtyBytes;
+
+    public IngestCacheStatsView(String cacheName, IngestCache<?, ?, ?> cache) {
+        this.cacheName = cacheName;
+        this.hits = cache.getHitCount();
+        this.misses = cache.getMissCount();
+        this.hitRate = cache.getHitRate();
+        this.flushes = cache.getFlushCount();
+        this.flushedEntries = cache.getFlushedEntryCount();
+        this.avgFlushLatencyMs = cache.getAvgFlushLatencyMs();
+        this.maxFlushLatencyMs = cache.getMaxFlushLatencyMs();
+        this.dirtyEntries = cache.getDirtyEntryCount();
+        this.dirtyBytes = cache.getDirtyWeight();
+    }
+
+    @Override
+    public String getViewType() {
+        return "ingest-cache-stats";
+    }
+
+    public String getCacheName() {
+        return cacheName;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public long getFlushes() {
+        return flushes;
+    }
+
+    public long getFlushedEntries() {
+        return flushedEntries;
+    }
+
+    public double getAvgFlushLatencyMs() {
+        return avgFlushLatencyMs;
+    }
+
+    public double getMaxFlushLatencyMs() {
+        return maxFlushLatencyMs;
+    }
+
+    public long getDirtyEntries() {
+        return dirtyEntries;
+    }
+
+    public long getDirtyBytes() {
+        return dirtyBytes;
+    }
+}
@@ -0,0 +1,58 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.processor.legdata.LegDataFragmentTypeStats;
+
+public class LegDataFragmentTypeStatsView implements ViewObject
+{
+    protected String fragmentType;
+    protected long processed;
+    protected int queueDepth;
+    protected int maxQueueDepth;
+    protected double avgLatencyMs;
+    protected double maxLatencyMs;
+    protected double fragmentsPerSecond;
+
+    public LegDataFragmentTypeStatsView(LegDataFragmentTypeStats stats) {
+        this.fragmentType = stats.getType().name();
+        this.processed = stats.getProcessedCount();
+        this.queueDepth = stats.getQueueDepth();
+        this.maxQueueDepth = stats.getMaxQueueDepth();
+        this.avgLatencyMs = stats.getAvgLatencyMs();
+        this.maxLatencyMs = stats.getMaxLatencyMs();
+        this.fragmentsPerSecond = stats.getFragmentsPerSecond();
+    }
+
+    @Override
+    public String getViewType() {
+        return "leg-data-fragment-type-stats";
+    }
+
+    public String getFragmentType() {
+        return fragmentType;
+    }
+
+    public long getProcessed() {
+        return processed;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+
+    public double getFragmentsPerSecond() {
+        return fragmentsPerSecond;
+    }
+}
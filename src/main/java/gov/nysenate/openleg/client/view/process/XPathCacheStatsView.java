@@ -0,0 +1,40 @@
+package gov.nysenate.openleg.client.view.process;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.util.XmlHelper;
+
+public class XPathCacheStatsView implements ViewObject
+{
+    protected long compiled;
+    protected long hits;
+    protected double hitRate;
+    protected int distinctExpressions;
+
+    public XPathCacheStatsView(XmlHelper xmlHelper) {
+        this.compiled = xmlHelper.getCompileCount();
+        this.hits = xmlHelper.getHitCount();
+        this.hitRate = xmlHelper.getHitRate();
+        this.distinctExpressions = xmlHelper.getDistinctExpressionCount();
+    }
+
+    @Override
+    public String getViewType() {
+        return "xpath-cache-stats";
+    }
+
+    public long getCompiled() {
+        return compiled;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public double getHitRate() {
+        return hitRate;
+    }
+
+    public int getDistinctExpressions() {
+        return distinctExpressions;
+    }
+}
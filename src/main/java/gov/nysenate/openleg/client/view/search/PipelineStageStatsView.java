@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.util.pipeline.PipelineStageStats;
+
+public class PipelineStageStatsView implements ViewObject {
+
+    private String name;
+    private int instances;
+    private int queueDepth;
+    private int queueCapacity;
+    private long inputCount;
+    private long outputCount;
+    private double avgLatencyMs;
+    private double maxLatencyMs;
+
+    public PipelineStageStatsView(PipelineStageStats stats) {
+        this.name = stats.getName();
+        this.instances = stats.getInstances();
+        this.queueDepth = stats.getQueueDepth();
+        this.queueCapacity = stats.getQueueCapacity();
+        this.inputCount = stats.getInputCount();
+        this.outputCount = stats.getOutputCount();
+        this.avgLatencyMs = stats.getAvgLatencyMs();
+        this.maxLatencyMs = stats.getMaxLatencyMs();
+    }
+
+    @Override
+    public String getViewType() {
+        return "pipeline-stage-stats";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInstances() {
+        return instances;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getInputCount() {
+        return inputCount;
+    }
+
+    public long getOutputCount() {
+        return outputCount;
+    }
+
+    public double getAvgLatencyMs() {
+        return avgLatencyMs;
+    }
+
+    public double getMaxLatencyMs() {
+        return maxLatencyMs;
+    }
+}
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.ListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.model.search.ReindexProgress;
+
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+public class ReindexProgressView implements ViewObject {
+
+    private String name;
+    private boolean running;
+    private boolean failed;
+    private LocalDateTime startDateTime;
+    private LocalDateTime endDateTime;
+    private int totalItems;
+    private long indexedDocs;
+    private double docsPerSecond;
+    private ListView<PipelineStageStatsView> stages;
+
+    public ReindexProgressView(ReindexProgress progress) {
+        this.name = progress.getSearchIndex().name();
+        this.running = progress.isRunning();
+        this.failed = progress.isFailed();
+        this.startDateTime = progress.getStartDateTime();
+        this.endDateTime = progress.getEndDateTime();
+        this.totalItems = progress.getTotalItems();
+        this.indexedDocs = progress.getIndexedDocs();
+        this.docsPerSecond = progress.getDocsPerSecond();
+        this.stages = ListView.of(progress.getStageStats().stream()
+                .map(PipelineStageStatsView::new)
+                .collect(Collectors.toList()));
+    }
+
+    @Override
+    public String getViewType() {
+        return "reindex-progress";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public long getIndexedDocs() {
+        return indexedDocs;
+    }
+
+    public double getDocsPerSecond() {
+        return docsPerSecond;
+    }
+
+    public ListView<PipelineStageStatsView> getStages() {
+        return stages;
+    }
+}
@@ -0,0 +1,63 @@
+package gov.nysenate.openleg.client.view.search;
+
+import gov.nysenate.openleg.client.view.base.MapView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+import gov.nysenate.openleg.dao.base.ElasticIndexState;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class SearchRequestStatsView implements ViewObject
+{
+    protected long searches;
+    protected long skippedSearches;
+    protected long emptyIndexErrors;
+    protected double meanSearchMillis;
+    protected long avoidedProbes;
+    protected double estimatedSavedMillis;
+    protected MapView<String, String> indexContents;
+
+    public SearchRequestStatsView(ElasticIndexState indexState) {
+        this.searches = indexState.getSearchCount();
+        this.skippedSearches = indexState.getSkippedSearchCount();
+        this.emptyIndexErrors = indexState.getEmptyIndexErrorCount();
+        this.meanSearchMillis = indexState.getMeanSearchMillis();
+        this.avoidedProbes = indexState.getAvoidedProbeCount();
+        this.estimatedSavedMillis = indexState.getEstimatedSavedMillis();
+        this.indexContents = MapView.ofStringMap(indexState.getIndexContents().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, e -> e.getValue().name())));
+    }
+
+    @Override
+    public String getViewType() {
+        return "search-request-stats";
+    }
+
+    public long getSearches() {
+        return searches;
+    }
+
+    public long getSkippedSearches() {
+        return skippedSearches;
+    }
+
+    public long getEmptyIndexErrors() {
+        return emptyIndexErrors;
+    }
+
+    public double getMeanSearchMillis() {
+        return meanSearchMillis;
+    }
+
+    public long getAvoidedProbes() {
+        return avoidedProbes;
+    }
+
+    public double getEstimatedSavedMillis() {
+        return estimatedSavedMillis;
+    }
+
+    public MapView<String, String> getIndexContents() {
+        return indexContents;
+    }
+}
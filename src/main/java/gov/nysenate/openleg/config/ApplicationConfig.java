@@ -12,6 +12,8 @@ import gov.nysenate.openleg.model.agenda.Agenda;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
@@ -20,6 +22,7 @@ import gov.nysenate.openleg.util.AsciiArt;
 import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.SizeOfPolicyConfiguration;
+import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.http.HttpHost;
 import org.elasticsearch.ElasticsearchException;
@@ -207,9 +210,27 @@ public class ApplicationConfig implements CachingConfigurer, SchedulingConfigure
     @Value("${leg.data.batch.process.size:100}")
     private int legDataBatchSize;
 
+    @Value("${leg.data.bill.ingest.cache.max.bytes:268435456}")
+    private long billIngestCacheMaxBytes;
+
     @Bean(name = "billIngestCache")
     public IngestCache<BaseBillId, Bill, LegDataFragment> billIngestCache() {
-        return new IngestCache<>(legDataBatchSize);
+        return new IngestCache<>(legDataBatchSize, billIngestCacheMaxBytes, ApplicationConfig::estimateBillBytes);
+    }
+
+    /**
+     * Roughly estimates the memory used by a bill, which is dominated by the full text and memos of its amendments.
+     */
+    private static long estimateBillBytes(Bill bill) {
+        long chars = StringUtils.length(bill.getTitle()) + StringUtils.length(bill.getSummary());
+        for (BillAmendment amendment : bill.getAmendmentList()) {
+            chars += StringUtils.length(amendment.getMemo());
+            for (BillTextFormat format : amendment.getFullTextFormats()) {
+                chars += StringUtils.length(amendment.getFullText(format));
+            }
+        }
+        // Two bytes per char, plus an allowance for the actions, sponsors, votes and other small objects
+        return 2 * chars + 4096 + 256L * bill.getActions().size();
     }
 
     @Bean(name = "agendaIngestCache")
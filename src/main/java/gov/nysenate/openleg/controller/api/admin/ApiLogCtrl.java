@@ -2,12 +2,15 @@ package gov.nysenate.openleg.controller.api.admin;
 
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
+import gov.nysenate.openleg.client.view.log.ApiLogQueueStatsView;
 import gov.nysenate.openleg.client.view.search.SearchResultView;
 import gov.nysenate.openleg.client.view.log.ApiLogItemView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
+import gov.nysenate.openleg.service.log.ApiLogDispatcher;
 import gov.nysenate.openleg.service.log.search.ApiLogSearchService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -28,6 +31,7 @@ public class ApiLogCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(ApiLogCtrl.class);
 
     @Autowired private ApiLogSearchService logSearchService;
+    @Autowired private ApiLogDispatcher apiLogDispatcher;
 
     @RequiresPermissions("admin:apilog:view")
     @RequestMapping("")
@@ -41,4 +45,15 @@ public class ApiLogCtrl extends BaseCtrl
                 .map(r -> new SearchResultView(r.getResult(), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
+
+    /**
+     * Api Log Queue Stats API
+     *
+     * Get counts of received, queued, dropped and indexed api log entries: (GET) /api/3/admin/apiLogs/stats
+     */
+    @RequiresPermissions("admin:apilog:view")
+    @RequestMapping("/stats")
+    public BaseResponse getLogQueueStats() {
+        return new ViewObjectResponse<>(new ApiLogQueueStatsView(apiLogDispatcher));
+    }
 }
@@ -9,6 +9,7 @@ import gov.nysenate.openleg.client.view.cache.CacheStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SqlQueryCache;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
@@ -20,6 +21,8 @@ import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.entity.Chamber;
 import gov.nysenate.openleg.model.entity.CommitteeSessionId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.util.TextDiffer;
 import net.sf.ehcache.CacheManager;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -34,6 +37,7 @@ import org.springframework.web.context.request.WebRequest;
 
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -47,6 +51,7 @@ public class CacheCtrl extends BaseCtrl
 
     @Autowired private EventBus eventBus;
     @Autowired private CacheManager cacheManager;
+    @Autowired private List<CachingService<?>> cachingServices;
 
     @PostConstruct
     private void init() {
@@ -62,9 +67,16 @@ public class CacheCtrl extends BaseCtrl
     @RequiresPermissions("admin:cacheEdit")
     @RequestMapping(value = "", method = RequestMethod.GET)
     public BaseResponse getCacheStats() {
-        return ListViewResponse.of(Arrays.asList(cacheManager.getCacheNames()).stream()
+        List<CacheStatsView> statsViews = Arrays.asList(cacheManager.getCacheNames()).stream()
             .map(cn -> new CacheStatsView(cacheManager.getCache(cn).getStatistics()))
-            .collect(Collectors.toList()), cacheManager.getCacheNames().length, LimitOffset.ALL);
+            .collect(Collectors.toList());
+        cachingServices.stream()
+            .flatMap(cs -> cs.getOffHeapCaches().stream())
+            .map(CacheStatsView::new)
+            .forEach(statsViews::add);
+        statsViews.add(new CacheStatsView(SqlQueryCache.getInstance()));
+        statsViews.add(new CacheStatsView(TextDiffer.getInstance()));
+        return ListViewResponse.of(statsViews, statsViews.size(), LimitOffset.ALL);
     }
 
     /**
@@ -10,6 +10,9 @@ import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
 import gov.nysenate.openleg.client.view.process.DataProcessRunDetailView;
 import gov.nysenate.openleg.client.view.process.DataProcessRunInfoView;
 import gov.nysenate.openleg.client.view.process.DataProcessRunView;
+import gov.nysenate.openleg.client.view.process.IngestCacheStatsView;
+import gov.nysenate.openleg.client.view.process.LegDataFragmentTypeStatsView;
+import gov.nysenate.openleg.client.view.process.XPathCacheStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -18,7 +21,10 @@ import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.process.DataProcessRun;
 import gov.nysenate.openleg.model.process.DataProcessRunInfo;
 import gov.nysenate.openleg.processor.DataProcessor;
+import gov.nysenate.openleg.processor.base.IngestCache;
+import gov.nysenate.openleg.processor.legdata.LegDataProcessService;
 import gov.nysenate.openleg.service.process.DataProcessLogService;
+import gov.nysenate.openleg.util.XmlHelper;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
@@ -30,7 +36,9 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
+import javax.annotation.Resource;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Optional;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_ADMIN_API_PATH;
@@ -45,6 +53,12 @@ public class DataProcessCtrl extends BaseCtrl
     @Autowired private Environment env;
     @Autowired private DataProcessLogService processLogs;
     @Autowired private DataProcessor dataProcessor;
+    @Autowired private LegDataProcessService legDataProcessService;
+    @Autowired private XmlHelper xmlHelper;
+
+    @Resource(name = "billIngestCache") private IngestCache<?, ?, ?> billIngestCache;
+    @Resource(name = "agendaIngestCache") private IngestCache<?, ?, ?> agendaIngestCache;
+    @Resource(name = "calendarIngestCache") private IngestCache<?, ?, ?> calendarIngestCache;
 
     /**
      * Data Process API
@@ -157,4 +171,55 @@ public class DataProcessCtrl extends BaseCtrl
             return new ErrorResponse(ErrorCode.PROCESS_RUN_NOT_FOUND);
         }
     }
+
+    /**
+     * Leg Data Fragment Stats API
+     * ---------------------------
+     *
+     * Get the throughput and queue depth for each leg data fragment type during the current or most recent ingest.
+     * Usage: (GET) /api/3/admin/process/fragmentStats
+     *
+     * Expected Output: List of LegDataFragmentTypeStatsView
+     */
+    @RequiresPermissions("admin:dataProcess")
+    @RequestMapping("/fragmentStats")
+    public BaseResponse getFragmentTypeStats() {
+        return ListViewResponse.of(legDataProcessService.getFragmentTypeStats().stream()
+                .map(LegDataFragmentTypeStatsView::new)
+                .collect(toList()));
+    }
+
+    /**
+     * XPath Cache Stats API
+     * ---------------------
+     *
+     * Get the number of xpath expressions compiled and reused while processing xml data.
+     * Usage: (GET) /api/3/admin/process/xpathStats
+     *
+     * Expected Output: XPathCacheStatsView
+     */
+    @RequiresPermissions("admin:dataProcess")
+    @RequestMapping("/xpathStats")
+    public BaseResponse getXPathCacheStats() {
+        return new ViewObjectResponse<>(new XPathCacheStatsView(xmlHelper));
+    }
+
+    /**
+     * Ingest Cache Stats API
+     * ----------------------
+     *
+     * Get the hit rate, flush latency and the number and estimated size of the unflushed entries of the
+     * bill, agenda and calendar ingest caches.  Dirty bytes are only estimated for bills.
+     * Usage: (GET) /api/3/admin/process/ingestCacheStats
+     *
+     * Expected Output: List of IngestCacheStatsView
+     */
+    @RequiresPermissions("admin:dataProcess")
+    @RequestMapping("/ingestCacheStats")
+    public BaseResponse getIngestCacheStats() {
+        return ListViewResponse.of(Arrays.asList(
+                new IngestCacheStatsView("bill", billIngestCache),
+                new IngestCacheStatsView("agenda", agendaIngestCache),
+                new IngestCacheStatsView("calendar", calendarIngestCache)));
+    }
 }
@@ -5,14 +5,19 @@ import com.google.common.eventbus.EventBus;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
 import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.SimpleResponse;
+import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ErrorResponse;
+import gov.nysenate.openleg.client.view.search.ReindexProgressView;
 import gov.nysenate.openleg.client.view.search.SearchIndexInfoView;
+import gov.nysenate.openleg.client.view.search.SearchRequestStatsView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.ElasticIndexState;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
+import gov.nysenate.openleg.service.base.search.IndexedSearchService;
 import org.apache.shiro.authz.annotation.RequiresPermissions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +30,7 @@ import org.springframework.web.bind.annotation.RestController;
 import javax.annotation.PostConstruct;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -37,6 +43,8 @@ public class SearchIndexCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(SearchIndexCtrl.class);
 
     @Autowired private EventBus eventBus;
+    @Autowired private List<IndexedSearchService<?>> indexedSearchServices;
+    @Autowired private ElasticIndexState elasticIndexState;
 
     @PostConstruct
     private void init() {
@@ -96,6 +104,38 @@ public class SearchIndexCtrl extends BaseCtrl
         return ListViewResponse.of(names, names.size(), LimitOffset.ALL);
     }
 
+    /**
+     * Search Index Rebuild Progress API
+     *
+     * Get the progress of current and most recent search index rebuilds: (GET) /api/3/admin/index/progress
+     * Includes the indexing rate along with queue depths and latencies for each stage of the rebuild,
+     * for search services that report them.
+     */
+    @RequiresPermissions("admin:searchIndexEdit")
+    @RequestMapping(value = "/progress", method = RequestMethod.GET)
+    public ListViewResponse<ReindexProgressView> getReindexProgress() {
+        List<ReindexProgressView> progress = indexedSearchServices.stream()
+                .map(IndexedSearchService::getReindexProgress)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .map(ReindexProgressView::new)
+                .collect(Collectors.toList());
+        return ListViewResponse.of(progress, progress.size(), LimitOffset.ALL);
+    }
+
+    /**
+     * Search Request Stats API
+     *
+     * Get search request counts and latencies: (GET) /api/3/admin/index/stats
+     * Includes the number of index count requests avoided by tracking empty indices, the estimated time saved,
+     * and what is known about the contents of each index.
+     */
+    @RequiresPermissions("admin:searchIndexEdit")
+    @RequestMapping(value = "/stats", method = RequestMethod.GET)
+    public BaseResponse getSearchRequestStats() {
+        return new ViewObjectResponse<>(new SearchRequestStatsView(elasticIndexState));
+    }
+
     /** --- Internal --- */
 
     private Set<SearchIndex> getTargetIndices(String indexType) throws IllegalArgumentException {
@@ -2,12 +2,14 @@ package gov.nysenate.openleg.controller.api.agenda;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.dao.agenda.data.AgendaUpdatesDao;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -59,6 +61,9 @@ public class AgendaUpdatesCtrl extends BaseCtrl
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update date
+     *                 cursor (string) - Paginate update digests (detail = true) with a cursor instead of an offset.
+     *                                   Use '*' for the first page, then the nextCursor of the previous response.
+     *                 total (boolean) - Include an estimated total when paginating with a cursor. Default: false
      *
      * Expected Output: List of UpdateTokenView<AgendaId> or UpdateDigestView<AgendaId> if detail = true.
      */
@@ -127,6 +132,14 @@ public class AgendaUpdatesCtrl extends BaseCtrl
         SortOrder sortOrder = getSortOrder(request, SortOrder.ASC);
         UpdateType updateType = getUpdateTypeFromParam(request);
 
+        if (isUpdateCursorRequest(request, detail)) {
+            CursorPaginatedList<UpdateDigest<AgendaId>> updateDigests = agendaUpdatesDao.getDetailedUpdatesAfter(
+                updateRange, updateType, sortOrder, getUpdateCursorFromParam(request),
+                getCursorLimit(request, 50), getBooleanParam(request, "total", false));
+            return CursorListViewResponse.of(updateDigests.getResults().stream()
+                .map(digest -> new UpdateDigestView(digest, new AgendaIdView(digest.getId())))
+                .collect(toList()), updateRange, updateDigests);
+        }
         if (!detail) {
             PaginatedList<UpdateToken<AgendaId>> updateTokens =
                 agendaUpdatesDao.getUpdates(updateRange, updateType, sortOrder, limOff);
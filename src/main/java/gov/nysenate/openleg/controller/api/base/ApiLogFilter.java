@@ -1,8 +1,6 @@
 package gov.nysenate.openleg.controller.api.base;
 
-import com.google.common.eventbus.EventBus;
-import gov.nysenate.openleg.model.auth.ApiUser;
-import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.service.log.ApiLogDispatcher;
 import gov.nysenate.openleg.service.log.event.ApiLogEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,18 +11,17 @@ import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Optional;
 
 /**
  * Intercepts API requests and fires off log events to record the API usage.
+ * The events are handed to the {@link ApiLogDispatcher} which processes them off of the request thread.
  */
 @Component ("apiLogFilter")
 public class ApiLogFilter implements Filter
 {
     private static final Logger logger = LoggerFactory.getLogger(ApiLogFilter.class);
 
-    @Autowired protected EventBus eventBus;
-    @Autowired protected ApiUserService apiUserService;
+    @Autowired protected ApiLogDispatcher apiLogDispatcher;
 
     private static String[] IGNORED_PATHS = new String[]{"/api/3/admin/apiLog", "/api/3/admin/process/runs/"};
 
@@ -45,12 +42,7 @@ public class ApiLogFilter implements Filter
         }
         if (!ignoreApiReq) {
             ApiLogEvent apiLogEvent = new ApiLogEvent(servletRequest, servletResponse, requestStart, LocalDateTime.now());
-            String apiKey = apiLogEvent.getApiResponse().getBaseRequest().getApiKey();
-            Optional<ApiUser> userByKey = apiUserService.getUserByKey(apiKey);
-            if (userByKey.isPresent()) {
-                apiLogEvent.getApiResponse().getBaseRequest().setApiUser(userByKey.get());
-            }
-            eventBus.post(apiLogEvent);
+            apiLogDispatcher.submit(apiLogEvent);
         }
     }
 
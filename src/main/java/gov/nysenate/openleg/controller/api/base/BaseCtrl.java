@@ -17,6 +17,7 @@ import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.model.notification.Notification;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.UnexpectedSearchException;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import org.apache.catalina.connector.ClientAbortException;
 import org.apache.commons.lang3.BooleanUtils;
@@ -342,6 +343,53 @@ public abstract class BaseCtrl
         return "published".equalsIgnoreCase(type) ? UpdateType.PUBLISHED_DATE : UpdateType.PROCESSED_DATE;
     }
 
+    /**
+     * Determines if update digests should be paginated using the 'cursor' request param instead of an offset.
+     * A cursor value of '*' requests the first page.
+     *
+     * @param request WebRequest
+     * @param detail boolean - true if update digests were requested
+     * @return boolean
+     * @throws InvalidRequestParamEx if a cursor is given for a request for update tokens
+     */
+    protected boolean isUpdateCursorRequest(WebRequest request, boolean detail) {
+        String cursor = request.getParameter("cursor");
+        if (cursor != null && !detail) {
+            throw new InvalidRequestParamEx(cursor, "cursor", "string", "Cursor pagination requires detail = true");
+        }
+        return cursor != null;
+    }
+
+    /**
+     * Parses the update cursor from the 'cursor' request param.
+     *
+     * @param request WebRequest
+     * @return UpdateCursor - null if the first page is requested
+     * @throws InvalidRequestParamEx if the cursor is malformed
+     */
+    protected UpdateCursor getUpdateCursorFromParam(WebRequest request) {
+        String cursor = request.getParameter("cursor");
+        try {
+            return UpdateCursor.decode(cursor);
+        }
+        catch (IllegalArgumentException ex) {
+            throw new InvalidRequestParamEx(cursor, "cursor", "string",
+                    "Must be '" + UpdateCursor.START + "' or the nextCursor value of a previous response");
+        }
+    }
+
+    /**
+     * Gets the page size for a cursor request from the 'limit' param. Cursor requests are always limited.
+     *
+     * @param request WebRequest
+     * @param defaultLimit int
+     * @return int
+     */
+    protected int getCursorLimit(WebRequest request, int defaultLimit) {
+        int limit = getLimitOffset(request, defaultLimit).getLimit();
+        return limit > 0 ? limit : MAX_LIMIT;
+    }
+
     private <T extends Enum<T>> InvalidRequestParamEx getEnumParamEx(Class<T> enumType, Function<T, String> valueFunction,
                                                         String paramName, String paramValue) {
         throw new InvalidRequestParamEx(paramValue, paramName, "string",
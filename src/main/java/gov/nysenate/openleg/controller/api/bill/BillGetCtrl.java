@@ -5,37 +5,39 @@ import gov.nysenate.openleg.client.response.base.ListViewResponse;
 import gov.nysenate.openleg.client.response.base.ViewObjectResponse;
 import gov.nysenate.openleg.client.response.error.ErrorCode;
 import gov.nysenate.openleg.client.response.error.ViewObjectErrorResponse;
+import gov.nysenate.openleg.client.view.base.BatchedListView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
 import gov.nysenate.openleg.client.view.bill.*;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.controller.pdf.PdfResponseWriter;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
 import gov.nysenate.openleg.service.bill.search.BillSearchService;
+import gov.nysenate.openleg.service.pdf.BillPdfRenderer;
+import gov.nysenate.openleg.service.pdf.RenderedPdfStore;
 import gov.nysenate.openleg.util.BillTextUtils;
-import gov.nysenate.openleg.util.StringDiffer;
+import gov.nysenate.openleg.util.TextDiffer;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.context.request.WebRequest;
 
-import java.io.ByteArrayOutputStream;
+import javax.servlet.http.HttpServletResponse;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
+import java.util.List;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.controller.api.base.BaseCtrl.BASE_API_PATH;
@@ -52,8 +54,12 @@ public class BillGetCtrl extends BaseCtrl
 {
     private static final Logger logger = LoggerFactory.getLogger(BillGetCtrl.class);
 
+    /** The number of bills that are loaded at a time when writing out a listing of full bills. */
+    private static final int FULL_BILL_BATCH_SIZE = 50;
+
     @Autowired protected BillDataService billData;
     @Autowired protected BillSearchService billSearch;
+    @Autowired protected PdfResponseWriter pdfResponseWriter;
 
     protected enum BillViewLevel
     {
@@ -99,21 +105,31 @@ public class BillGetCtrl extends BaseCtrl
                                  @RequestParam(defaultValue = "false") boolean idsOnly,
                                  WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 50);
+        if (!full && !idsOnly) {
+            // Bill info is read from the search index unless the index is behind the data service.
+            SearchResults<BillInfoView> infoResults =
+                billSearch.searchBillInfos(SessionYear.of(sessionYear), sort, limOff);
+            return ListViewResponse.of(infoResults.getRawResults(), infoResults.getTotalResults(), limOff);
+        }
         SearchResults<BaseBillId> results =
             billSearch.searchBills(SessionYear.of(sessionYear), sort, limOff);
         // The bill data is retrieved from the data service so the data is always fresh.
+        if (full && !idsOnly) {
+            // Full bills are loaded in batches as the response is written
+            List<BaseBillId> billIds = results.getResults().stream()
+                .map(SearchResult::getResult)
+                .collect(Collectors.toList());
+            LinkedHashSet<BillTextFormat> fullTextFormats = getFullTextFormats(webRequest);
+            return ListViewResponse.of(
+                new BatchedListView<BaseBillId, BillView>(billIds, FULL_BILL_BATCH_SIZE,
+                    batch -> billData.getBills(batch, fullTextFormats).stream()
+                        .map(BillView::new)
+                        .collect(Collectors.toList()), "bill"),
+                results.getTotalResults(), limOff);
+        }
         return ListViewResponse.of(
             results.getResults().stream()
-                .map(r -> {
-                    BaseBillId baseBillId = r.getResult();
-                    if (idsOnly) {
-                        return new BaseBillIdView(baseBillId);
-                    }
-                    if (full) {
-                        return new BillView(billData.getBill(baseBillId, getFullTextFormats(webRequest)));
-                    }
-                    return new BillInfoView(billData.getBillInfo(baseBillId));
-                })
+                .map(r -> new BaseBillIdView(r.getResult()))
                 .collect(Collectors.toList()), results.getTotalResults(), limOff);
     }
 
@@ -188,15 +204,13 @@ public class BillGetCtrl extends BaseCtrl
      * Expected Output: PDF response
      */
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}.pdf")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo)
-                           throws Exception {
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           WebRequest request, HttpServletResponse response) throws Exception {
         BillId billId = getBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(BaseBillId.of(billId), EnumSet.of(PLAIN, HTML));
-        ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-        BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.parseMediaType("application/pdf"));
-        return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+        pdfResponseWriter.writePdf(RenderedPdfStore.getBillKey(bill.getBaseBillId(), billId.getVersion()),
+                RenderedPdfStore.getBillContentHash(bill, billId.getVersion()),
+                out -> BillPdfRenderer.writeBillPdf(bill, billId.getVersion(), out), request, response);
     }
 
     /**
@@ -210,18 +224,14 @@ public class BillGetCtrl extends BaseCtrl
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}/diff/{version1}/{version2}")
     public BaseResponse getBillDiff(@PathVariable int sessionYear, @PathVariable String printNo, @PathVariable String version1,
                             @PathVariable String version2) {
-        StringDiffer stringDiffer = new StringDiffer();
         BaseBillId baseBillId = getBaseBillId(printNo, sessionYear, "printNo");
         Bill bill = billData.getBill(baseBillId, Collections.singleton(PLAIN));
         BillAmendment amend1 = bill.getAmendment(parseVersion(version1, "version1"));
         BillAmendment amend2 = bill.getAmendment(parseVersion(version2, "version2"));
         String fullText1 = BillTextUtils.formatBillText(bill.isResolution(), amend1.getFullText(PLAIN));
         String fullText2 = BillTextUtils.formatBillText(bill.isResolution(), amend2.getFullText(PLAIN));
-        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(fullText1, fullText2);
-        stringDiffer.diff_cleanupEfficiency(diffs);
-        stringDiffer.diff_cleanupSemantic(diffs);
-        stringDiffer.diff_cleanupMerge(diffs);
-        String prettyHtml = stringDiffer.diff_prettyHtml(diffs).replace("&para;", " ");
+        String prettyHtml = TextDiffer.getInstance().diffHtml(fullText1, fullText2, TextDiffer.Mode.DISPLAY)
+                .replace("&para;", " ");
         return new ViewObjectResponse<>(
             new BillDiffView(
                 new BaseBillIdView(baseBillId), amend1.getVersion().toString(), amend2.getVersion().toString(),
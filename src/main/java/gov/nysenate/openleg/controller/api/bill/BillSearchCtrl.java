@@ -58,8 +58,11 @@ public class BillSearchCtrl extends BaseCtrl
                                      @RequestParam(defaultValue = "false") boolean idOnly,
                                      WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (!full && !idOnly) {
+            return getBillInfoSearchResponse(billSearch.searchBillInfos(term, sort, limOff), limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, sort, limOff);
-        return getBillSearchResponse(results, full, idOnly, limOff, webRequest);
+        return getBillSearchResponse(results, full, limOff, webRequest);
     }
 
     /**
@@ -77,14 +80,17 @@ public class BillSearchCtrl extends BaseCtrl
                                       @RequestParam(defaultValue = "false") boolean idOnly,
                                       WebRequest webRequest) throws SearchException {
         LimitOffset limOff = getLimitOffset(webRequest, 25);
+        if (!full && !idOnly) {
+            return getBillInfoSearchResponse(
+                    billSearch.searchBillInfos(term, SessionYear.of(sessionYear), sort, limOff), limOff);
+        }
         SearchResults<BaseBillId> results = billSearch.searchBills(term, SessionYear.of(sessionYear), sort, limOff);
-        return getBillSearchResponse(results, full, idOnly, limOff, webRequest);
+        return getBillSearchResponse(results, full, limOff, webRequest);
     }
 
     /** --- Internal --- */
 
-    private BaseResponse getBillSearchResponse(SearchResults<BaseBillId> results,
-                                               boolean full, boolean idOnly,
+    private BaseResponse getBillSearchResponse(SearchResults<BaseBillId> results, boolean full,
                                                LimitOffset limOff,
                                                WebRequest request) {
         Set<BillTextFormat> fullTextFormats = getFullTextFormats(request);
@@ -92,9 +98,14 @@ public class BillSearchCtrl extends BaseCtrl
             results.getResults().stream()
                 .map(r -> new SearchResultView((full)
                         ? new BillView(billData.getBill(r.getResult(), fullTextFormats))
-                        : (idOnly)
-                            ? new BillIdView(r.getResult())
-                            : new BillInfoView(billData.getBillInfo(r.getResult())), r.getRank(), r.getHighlights()))
+                        : new BillIdView(r.getResult()), r.getRank(), r.getHighlights()))
+                .collect(toList()), results.getTotalResults(), limOff);
+    }
+
+    private BaseResponse getBillInfoSearchResponse(SearchResults<BillInfoView> results, LimitOffset limOff) {
+        return ListViewResponse.of(
+            results.getResults().stream()
+                .map(r -> new SearchResultView(r.getResult(), r.getRank(), r.getHighlights()))
                 .collect(toList()), results.getTotalResults(), limOff);
     }
 }
\ No newline at end of file
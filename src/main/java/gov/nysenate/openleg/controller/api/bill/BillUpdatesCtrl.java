@@ -2,6 +2,7 @@ package gov.nysenate.openleg.controller.api.bill;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.bill.BaseBillIdView;
 import gov.nysenate.openleg.client.view.bill.BillView;
@@ -12,6 +13,7 @@ import gov.nysenate.openleg.client.view.updates.UpdateTokenModelView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.controller.api.base.InvalidRequestParamEx;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -75,6 +77,9 @@ public class BillUpdatesCtrl extends BaseCtrl
      *                 filter (string) - Filter updates by a BillUpdateField value
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update date
+     *                 cursor (string) - Paginate update digests (detail = true) with a cursor instead of an offset.
+     *                                   Use '*' for the first page, then the nextCursor of the previous response.
+     *                 total (boolean) - Include an estimated total when paginating with a cursor. Default: false
      *
      * Expected Output: List of UpdateTokenView<BaseBillId> or UpdateDigestView<BaseBillId> if detail = true.
      */
@@ -152,6 +157,14 @@ public class BillUpdatesCtrl extends BaseCtrl
         UpdateType updateType = getUpdateTypeFromParam(request);
         BillUpdateField fieldFilter = getUpdateFieldFromParam(filter);
 
+        if (isUpdateCursorRequest(request, detail)) {
+            CursorPaginatedList<UpdateDigest<BaseBillId>> updateDigests = billUpdatesDao.getDetailedUpdatesAfter(
+                updateRange, updateType, fieldFilter, sortOrder, getUpdateCursorFromParam(request),
+                getCursorLimit(request, 50), getBooleanParam(request, "total", false));
+            return CursorListViewResponse.of(updateDigests.getResults().stream()
+                .map(digest -> getDigestView(digest, summary))
+                .collect(toList()), updateRange, updateDigests);
+        }
         if (!detail) {
             PaginatedList<UpdateToken<BaseBillId>> updateTokens =
                 billUpdatesDao.getUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
@@ -175,15 +188,17 @@ public class BillUpdatesCtrl extends BaseCtrl
             PaginatedList<UpdateDigest<BaseBillId>> updateDigests =
                 billUpdatesDao.getDetailedUpdates(updateRange, updateType, fieldFilter, sortOrder, limOff);
             return DateRangeListViewResponse.of(updateDigests.getResults().stream()
-                .map(digest ->
-                        (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
-                                   : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
-                                                                       new SimpleBillInfoView(billData.getBillInfo(digest.getId())))
-                )
+                .map(digest -> getDigestView(digest, summary))
                 .collect(toList()), updateRange, updateDigests.getTotal(), limOff);
         }
     }
 
+    private UpdateDigestView getDigestView(UpdateDigest<BaseBillId> digest, boolean summary) {
+        return (!summary) ? new UpdateDigestView(digest, new BaseBillIdView(digest.getId()))
+                          : new UpdateDigestModelView(digest, new BaseBillIdView(digest.getId()),
+                                                      new SimpleBillInfoView(billData.getBillInfo(digest.getId())));
+    }
+
     private BaseResponse getUpdatesForBillDuring(int sessionYear, String printNo, LocalDateTime from, LocalDateTime to,
                                                  WebRequest request) {
         BillUpdateField filterField = getUpdateFieldFromParam(request.getParameter("filter"));
@@ -2,11 +2,13 @@ package gov.nysenate.openleg.controller.api.calendar;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.calendar.CalendarIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -54,6 +56,9 @@ public class CalendarUpdatesCtrl extends BaseCtrl {
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update date
+     *                 cursor (string) - Paginate update digests (detail = true) with a cursor instead of an offset.
+     *                                   Use '*' for the first page, then the nextCursor of the previous response.
+     *                 total (boolean) - Include an estimated total when paginating with a cursor. Default: false
      *
      * Expected Output: List of UpdateTokenView<CalendarId> or UpdateDigestView<CalendarId> if detail = true.
      */
@@ -82,7 +87,18 @@ public class CalendarUpdatesCtrl extends BaseCtrl {
         LimitOffset limitOffset = getLimitOffset(webRequest, 100);
         UpdateType updateType = getUpdateTypeFromParam(webRequest);
         BaseResponse response;
-        if (!detail) {
+        if (isUpdateCursorRequest(webRequest, detail)) {
+            CursorPaginatedList<UpdateDigest<CalendarId>> updateDigests = calendarUpdatesDao.getDetailedUpdatesAfter(
+                updateType, updateRange, dateOrder, getUpdateCursorFromParam(webRequest),
+                getCursorLimit(webRequest, 100), getBooleanParam(webRequest, "total", false));
+            response = CursorListViewResponse.of(
+                updateDigests.getResults().stream()
+                        .map(digest -> new UpdateDigestView(digest, new CalendarIdView(digest.getId())))
+                        .collect(Collectors.toList()),
+                updateRange, updateDigests
+            );
+        }
+        else if (!detail) {
             PaginatedList<UpdateToken<CalendarId>> updateTokens =
                 calendarUpdatesDao.getUpdates(updateType, updateRange, dateOrder, limitOffset);
             response = DateRangeListViewResponse.of(
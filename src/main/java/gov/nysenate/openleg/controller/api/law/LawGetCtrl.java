@@ -37,6 +37,9 @@ public class LawGetCtrl extends BaseCtrl
 {
     private static final Logger logger = LoggerFactory.getLogger(LawGetCtrl.class);
 
+    /** The number of law documents whose text is loaded at a time when writing out a full law tree. */
+    private static final int LAW_TEXT_BATCH_SIZE = 500;
+
     @Autowired private LawDataService lawDataService;
 
     /** --- Request Handlers --- */
@@ -88,8 +91,8 @@ public class LawGetCtrl extends BaseCtrl
         LocalDate publishedDate = (date != null) ? parseISODate(date, "date") : null;
         LawTree lawTree = lawDataService.getLawTree(lawId, publishedDate);
         ViewObjectResponse<LawTreeView> response =
-            (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth,
-                                                              lawDataService.getLawDocuments(lawId, publishedDate)))
+            (full) ? new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth, new LawDocTextLoader(
+                        LAW_TEXT_BATCH_SIZE, docIds -> lawDataService.getLawDocuments(docIds, publishedDate))))
                    : new ViewObjectResponse<>(new LawTreeView(lawTree, fromLocation, depth));
         response.setMessage("The document structure for " + lawId + " law");
         return response;
@@ -2,12 +2,14 @@ package gov.nysenate.openleg.controller.api.law;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.law.LawDocIdView;
 import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -52,6 +54,9 @@ public class LawUpdatesCtrl extends BaseCtrl
      *                 type (string) - Update type (processed, published) Default: published
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update date
+     *                 cursor (string) - Paginate update digests (detail = true) with a cursor instead of an offset.
+     *                                   Use '*' for the first page, then the nextCursor of the previous response.
+     *                 total (boolean) - Include an estimated total when paginating with a cursor. Default: false
      *
      * Expected Response: List of UpdateTokenView<LawVersionId> or UpdateDigestTokenView<LawDocId> if detail = true
      */
@@ -181,6 +186,14 @@ public class LawUpdatesCtrl extends BaseCtrl
 
     private BaseResponse getAllUpdates(LocalDateTime from, LocalDateTime to, WebRequest request) {
         BaseLawUpdatesParams params = getBaseParams(from, to, request);
+        if (isUpdateCursorRequest(request, params.detail)) {
+            CursorPaginatedList<UpdateDigest<LawDocId>> updateDigests =
+                lawUpdatesDao.getDetailedUpdatesAfter(params.updateRange, params.updateType, params.sortOrder,
+                    getUpdateCursorFromParam(request), getCursorLimit(request, 50), getBooleanParam(request, "total", false));
+            return CursorListViewResponse.of(updateDigests.getResults().stream()
+                .map(digest -> new UpdateDigestView(digest, new LawDocIdView(digest.getId())))
+                .collect(toList()), params.updateRange, updateDigests);
+        }
         if (!params.detail) {
             PaginatedList<UpdateToken<LawVersionId>> updateTokens =
                 lawUpdatesDao.getUpdates(params.updateRange, params.updateType, params.sortOrder, params.limOff);
@@ -2,6 +2,7 @@ package gov.nysenate.openleg.controller.api.update;
 
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.client.response.base.BaseResponse;
+import gov.nysenate.openleg.client.response.base.CursorListViewResponse;
 import gov.nysenate.openleg.client.response.base.DateRangeListViewResponse;
 import gov.nysenate.openleg.client.view.agenda.AgendaIdView;
 import gov.nysenate.openleg.client.view.base.ViewObject;
@@ -12,6 +13,7 @@ import gov.nysenate.openleg.client.view.law.LawVersionIdView;
 import gov.nysenate.openleg.client.view.updates.UpdateDigestView;
 import gov.nysenate.openleg.client.view.updates.UpdateTokenView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
@@ -22,6 +24,7 @@ import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -63,6 +66,9 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
      *                 type (string) - Update type (processed, published) Default: processed
      *                 limit, offset (int) - Paginate
      *                 order (string) - Order by update
+     *                 cursor (string) - Paginate update digests (detail = true) with a cursor instead of an offset.
+     *                                   Use '*' for the first page, then the nextCursor of the previous response.
+     *                 total (boolean) - Include an estimated total when paginating with a cursor. Default: false
      *
      * Expected Response: List of UpdateTokenView or UpdateDigestTokenView if detail = true
      */
@@ -89,6 +95,11 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
         LimitOffset limitOffset = getLimitOffset(webRequest, 50);
         SortOrder order = getSortOrder(webRequest, SortOrder.DESC);
 
+        if (isUpdateCursorRequest(webRequest, detail)) {
+            return getDigestCursorResponse(dateTimeRange, updateType, contentTypes, fields, order,
+                    getUpdateCursorFromParam(webRequest), getCursorLimit(webRequest, 50),
+                    getBooleanParam(webRequest, "total", false));
+        }
         return detail
                 ? getDigestResponse(dateTimeRange, updateType, contentTypes, fields, limitOffset, order)
                 : getTokenResponse(dateTimeRange, updateType, contentTypes, limitOffset, order);
@@ -118,6 +129,18 @@ public class AggregateUpdatesCtrl extends BaseCtrl {
                 dateTimeRange, result.getTotal(), limitOffset);
     }
 
+    private BaseResponse getDigestCursorResponse(Range<LocalDateTime> dateTimeRange, UpdateType updateType,
+                                                 Set<UpdateContentType> contentTypes, boolean fields, SortOrder order,
+                                                 UpdateCursor cursor, int limit, boolean estimateTotal) {
+        CursorPaginatedList<UpdateDigest<Map<String, String>>> result = updatesDao.getUpdateDigestsAfter(
+                dateTimeRange, contentTypes, updateType, order, cursor, limit, fields, estimateTotal);
+        return CursorListViewResponse.of(
+                result.getResults().stream()
+                        .map(this::getDigestView)
+                        .collect(Collectors.toList()),
+                dateTimeRange, result);
+    }
+
     private Set<UpdateContentType> getContentTypes(WebRequest webRequest) {
         String[] contentTypeStrings = webRequest.getParameterValues("content-type");
         Set<UpdateContentType> types = new HashSet<>();
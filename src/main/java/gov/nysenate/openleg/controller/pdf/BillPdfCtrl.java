@@ -1,6 +1,5 @@
 package gov.nysenate.openleg.controller.pdf;
 
-import gov.nysenate.openleg.client.view.bill.BillPdfView;
 import gov.nysenate.openleg.controller.api.base.BaseCtrl;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
@@ -9,21 +8,18 @@ import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import gov.nysenate.openleg.service.pdf.BillPdfRenderer;
+import gov.nysenate.openleg.service.pdf.RenderedPdfStore;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -40,10 +36,11 @@ public class BillPdfCtrl extends BaseCtrl
     private static final Logger logger = LoggerFactory.getLogger(BillPdfCtrl.class);
 
     @Autowired protected BillDataService billData;
+    @Autowired protected PdfResponseWriter pdfResponseWriter;
 
     @RequestMapping(value = "/{sessionYear:[\\d]{4}}/{printNo}")
-    public ResponseEntity<byte[]> getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
-                                             WebRequest request, HttpServletResponse response)
+    public void getBillPdf(@PathVariable int sessionYear, @PathVariable String printNo,
+                           WebRequest request, HttpServletResponse response)
             throws IOException {
         try {
             BillId billId = getBillId(printNo, sessionYear, "printNo");
@@ -58,11 +55,9 @@ public class BillPdfCtrl extends BaseCtrl
             } else {
                 Set<BillTextFormat> fullTextFormats = EnumSet.of(PLAIN, HTML);
                 Bill bill = billData.getBill(BaseBillId.of(billId), fullTextFormats);
-                ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-                BillPdfView.writeBillPdf(bill, billId.getVersion(), pdfBytes);
-                HttpHeaders headers = new HttpHeaders();
-                headers.setContentType(MediaType.parseMediaType("application/pdf"));
-                return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+                pdfResponseWriter.writePdf(RenderedPdfStore.getBillKey(bill.getBaseBillId(), billId.getVersion()),
+                        RenderedPdfStore.getBillContentHash(bill, billId.getVersion()),
+                        out -> BillPdfRenderer.writeBillPdf(bill, billId.getVersion(), out), request, response);
             }
         } catch (BillNotFoundEx | BillAmendNotFoundEx ex) {
             response.sendError(404, ex.getMessage());
@@ -70,6 +65,5 @@ public class BillPdfCtrl extends BaseCtrl
             logger.error("Exception in bill pdf viewer.", ex);
             response.sendError(404, "PDF text for " + printNo + " " + sessionYear + " is not available.");
         }
-        return null;
     }
 }
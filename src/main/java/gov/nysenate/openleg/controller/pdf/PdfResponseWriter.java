@@ -0,0 +1,63 @@
+package gov.nysenate.openleg.controller.pdf;
+
+import gov.nysenate.openleg.service.pdf.PdfRenderer;
+import gov.nysenate.openleg.service.pdf.RenderedPdfStore;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Writes pdf responses using the {@link RenderedPdfStore}.
+ *
+ * Each response carries an ETag derived from the content the pdf is rendered from, so that requests with a
+ * matching If-None-Match header are answered with a 304 without rendering or reading the pdf.
+ */
+@Component
+public class PdfResponseWriter
+{
+    private static final String PDF_CONTENT_TYPE = "application/pdf";
+
+    @Autowired private RenderedPdfStore pdfStore;
+
+    /**
+     * Write a pdf to the response.
+     *
+     * @param key String - identifies the document, see the key methods of {@link RenderedPdfStore}
+     * @param contentHash String - hash of the content the pdf is rendered from
+     * @param renderer PdfRenderer - renders the pdf if it has not been stored
+     * @param request WebRequest
+     * @param response HttpServletResponse
+     * @throws IOException
+     * @throws COSVisitorException
+     */
+    public void writePdf(String key, String contentHash, PdfRenderer renderer,
+                         WebRequest request, HttpServletResponse response) throws IOException, COSVisitorException {
+        if (request.checkNotModified("\"" + contentHash + "\"")) {
+            return;
+        }
+        response.setContentType(PDF_CONTENT_TYPE);
+        if (!pdfStore.isEnabled()) {
+            ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
+            renderer.render(pdfBytes);
+            response.setContentLength(pdfBytes.size());
+            pdfBytes.writeTo(response.getOutputStream());
+            return;
+        }
+        try (RenderedPdfStore.PdfLease lease = pdfStore.getPdf(key, contentHash, renderer)) {
+            ByteBuffer pdf = lease.getPdf();
+            response.setContentLength(pdf.remaining());
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            while (pdf.hasRemaining()) {
+                out.write(pdf);
+            }
+        }
+    }
+}
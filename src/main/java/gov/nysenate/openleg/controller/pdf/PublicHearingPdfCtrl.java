@@ -5,20 +5,17 @@ import gov.nysenate.openleg.model.hearing.PublicHearing;
 import gov.nysenate.openleg.model.hearing.PublicHearingId;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingDataService;
 import gov.nysenate.openleg.service.hearing.data.PublicHearingNotFoundEx;
+import gov.nysenate.openleg.service.pdf.RenderedPdfStore;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @RestController
@@ -31,6 +28,9 @@ public class PublicHearingPdfCtrl
     @Autowired
     private PublicHearingDataService hearingData;
 
+    @Autowired
+    private PdfResponseWriter pdfResponseWriter;
+
     /**
      * Single Public Hearing PDF retrieval.
      * -----------------------------------
@@ -42,21 +42,18 @@ public class PublicHearingPdfCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping(value = "/{filename}")
-    public ResponseEntity<byte[]> getHearingPdf(@PathVariable String filename, HttpServletResponse response)
+    public void getHearingPdf(@PathVariable String filename, WebRequest request, HttpServletResponse response)
             throws IOException {
         try {
             PublicHearing hearing = hearingData.getPublicHearing(new PublicHearingId(filename));
-            ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-            PublicHearingPdfView.writePublicHearingPdf(hearing, pdfBytes);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/pdf"));
-            return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+            pdfResponseWriter.writePdf(RenderedPdfStore.getHearingKey(filename),
+                    RenderedPdfStore.getContentHash(RenderedPdfStore.getHearingKey(filename), hearing.getText()),
+                    out -> PublicHearingPdfView.writePublicHearingPdf(hearing, out), request, response);
         } catch (PublicHearingNotFoundEx ex) {
             response.sendError(404, ex.getMessage());
         } catch (COSVisitorException ex) {
             logger.error("Failed to return transcript PDF", ex);
             response.sendError(404, ex.getMessage());
         }
-        return null;
     }
 }
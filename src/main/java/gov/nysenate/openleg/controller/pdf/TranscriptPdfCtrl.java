@@ -4,21 +4,18 @@ import gov.nysenate.openleg.client.view.transcript.TranscriptPdfView;
 import gov.nysenate.openleg.model.transcript.Transcript;
 import gov.nysenate.openleg.model.transcript.TranscriptId;
 import gov.nysenate.openleg.model.transcript.TranscriptNotFoundEx;
+import gov.nysenate.openleg.service.pdf.RenderedPdfStore;
 import gov.nysenate.openleg.service.transcript.data.TranscriptDataService;
 import org.apache.pdfbox.exceptions.COSVisitorException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.servlet.http.HttpServletResponse;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 @RestController
@@ -30,6 +27,9 @@ public class TranscriptPdfCtrl
     @Autowired
     private TranscriptDataService transcriptData;
 
+    @Autowired
+    private PdfResponseWriter pdfResponseWriter;
+
     /**
      * Single Transcript PDF retrieval
      * -------------------------------
@@ -41,16 +41,15 @@ public class TranscriptPdfCtrl
      * Expected Output: PDF response.
      */
     @RequestMapping("/{filename}")
-    public ResponseEntity<byte[]> getTranscriptPdf(@PathVariable String filename, HttpServletResponse response)
+    public void getTranscriptPdf(@PathVariable String filename, WebRequest request, HttpServletResponse response)
             throws IOException {
         TranscriptId transcriptId = new TranscriptId(filename);
         try {
             Transcript transcript = transcriptData.getTranscript(transcriptId);
-            ByteArrayOutputStream pdfBytes = new ByteArrayOutputStream();
-            TranscriptPdfView.writeTranscriptPdf(transcript, pdfBytes);
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.parseMediaType("application/pdf"));
-            return new ResponseEntity<>(pdfBytes.toByteArray(), headers, HttpStatus.OK);
+            pdfResponseWriter.writePdf(RenderedPdfStore.getTranscriptKey(filename),
+                    RenderedPdfStore.getContentHash(RenderedPdfStore.getTranscriptKey(filename),
+                            String.valueOf(transcript.getDateTime()), transcript.getText()),
+                    out -> TranscriptPdfView.writeTranscriptPdf(transcript, out), request, response);
         }
         catch (TranscriptNotFoundEx ex) {
             response.sendError(404, ex.getMessage());
@@ -59,6 +58,5 @@ public class TranscriptPdfCtrl
             logger.error("Failed to return transcript PDF", ex);
             response.sendError(404, ex.getMessage());
         }
-        return null;
     }
 }
\ No newline at end of file
@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.dao.agenda.data;
 
 import com.google.common.collect.Range;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -32,6 +34,20 @@ public interface AgendaUpdatesDao
     public PaginatedList<UpdateDigest<AgendaId>> getDetailedUpdates(
             Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder, LimitOffset limOff);
 
+    /**
+     * Retrieves the update digests that follow the given cursor, ordered by update date time and change id.
+     * Unlike {@link #getDetailedUpdates}, the cost of retrieving a page does not grow with its depth into the range.
+     *
+     * @param cursor UpdateCursor - continue from this cursor, or start at the beginning of the range if null
+     * @param limit int - the maximum number of digests to return
+     * @param estimateTotal boolean - include an estimate of the total number of digests in the range if true
+     * @see #getUpdates for other param details.
+     * @return CursorPaginatedList<UpdateDigest<AgendaId>>
+     */
+    public CursorPaginatedList<UpdateDigest<AgendaId>> getDetailedUpdatesAfter(
+            Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+            UpdateCursor cursor, int limit, boolean estimateTotal);
+
     /**
      * Returns a list of digests which contain all the information pertaining to an agenda that have changed during the
      * specified date range.
@@ -4,6 +4,7 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.agenda.AgendaId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -50,6 +51,23 @@ public class SqlAgendaUpdatesDao extends SqlBaseDao implements AgendaUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CursorPaginatedList<UpdateDigest<AgendaId>> getDetailedUpdatesAfter(
+            Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+            UpdateCursor cursor, int limit, boolean estimateTotal) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, cursor);
+
+        String sqlQuery = getCursorSqlQuery(type, dateOrder, cursor, limit);
+        UpdateCursorRowHandler<UpdateDigest<AgendaId>> handler =
+            new UpdateCursorRowHandler<>(limit, type, UpdateContentType.AGENDA, agendaUpdateDigestRowMapper);
+        jdbcNamed.query(sqlQuery, params, handler);
+        int total = estimateTotal ? getEstimatedRowCount(getCursorSqlQuery(type, dateOrder, null, 0), params) : -1;
+        return handler.getList(total);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PaginatedList<UpdateDigest<AgendaId>> getDetailedUpdatesForAgenda(
@@ -100,4 +118,17 @@ public class SqlAgendaUpdatesDao extends SqlBaseDao implements AgendaUpdatesDao
         sqlQuery = queryReplace(sqlQuery, "dateColumn", dateColumn);
         return sqlQuery;
     }
+
+    /**
+     * Generates a query for the digests following the given cursor.
+     * An extra row is requested so that the row handler can determine if there is a next page.
+     */
+    private String getCursorSqlQuery(UpdateType updateType, SortOrder sortOrder, UpdateCursor cursor, int limit) {
+        LimitOffset limOff = limit > 0 ? new LimitOffset(limit + 1) : LimitOffset.ALL;
+        String sqlQuery = SELECT_AGENDA_UPDATE_DIGESTS_AFTER_CURSOR.getSql(
+                schema(), getUpdateCursorOrderBy(updateType, sortOrder), limOff);
+        sqlQuery = queryReplace(sqlQuery, "cursorClause",
+                getUpdateCursorClause(cursor, UpdateContentType.AGENDA, updateType, sortOrder));
+        return queryReplace(sqlQuery, "dateColumn", getDateColumnForUpdateType(updateType));
+    }
 }
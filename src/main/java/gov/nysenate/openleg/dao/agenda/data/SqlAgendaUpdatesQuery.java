@@ -24,6 +24,12 @@ public enum SqlAgendaUpdatesQuery implements BasicSqlQuery
         "table_name, action, hstore_to_array(data) AS data\n"
     ),
 
+    SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT(
+        "id AS change_id, leg_data_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
+        "table_name, action, hstore_to_array(data) AS data\n"
+    ),
+
     SELECT_AGENDA_UPDATE_TOKENS(
         String.format(SELECT_AGENDA_UPDATES_FRAGMENT.sql,
             // Select columns
@@ -45,6 +51,15 @@ public enum SqlAgendaUpdatesQuery implements BasicSqlQuery
             "")
     ),
 
+    SELECT_AGENDA_UPDATE_DIGESTS_AFTER_CURSOR(
+        String.format(SELECT_AGENDA_UPDATES_FRAGMENT.sql,
+            // Select columns without a window count, so that only the requested page is read
+            SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT.sql,
+            // Restrict to digests following the cursor
+            "${cursorClause}",
+            "")
+    ),
+
     SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_AGENDA(
         String.format(SELECT_AGENDA_UPDATES_FRAGMENT.sql,
             // Select columns
@@ -0,0 +1,35 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+
+import java.util.List;
+
+/**
+ * A paginated list of update digests that is continued via a cursor rather than an offset.
+ * The total is only an estimate, and is -1 if it was not requested.
+ * @param <T> The type of the elements within the stored list.
+ */
+public class CursorPaginatedList<T> extends PaginatedList<T>
+{
+    /** Continues the list after the last result. Null if there are no more results. */
+    protected UpdateCursor nextCursor;
+
+    /** --- Constructors --- */
+
+    public CursorPaginatedList(int total, int limit, List<T> results, UpdateCursor nextCursor) {
+        super(total, new LimitOffset(limit), results);
+        this.nextCursor = nextCursor;
+    }
+
+    /** --- Functional Getters --- */
+
+    public boolean hasTotal() {
+        return total >= 0;
+    }
+
+    /** --- Basic Getters --- */
+
+    public UpdateCursor getNextCursor() {
+        return nextCursor;
+    }
+}
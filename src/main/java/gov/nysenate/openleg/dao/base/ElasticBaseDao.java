@@ -8,6 +8,7 @@ import gov.nysenate.openleg.util.OutputUtils;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.ElasticsearchStatusException;
 import org.elasticsearch.action.DocWriteRequest;
 import org.elasticsearch.action.admin.indices.create.CreateIndexRequest;
 import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
@@ -16,7 +17,9 @@ import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
 import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
 import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsResponse;
+import org.elasticsearch.action.bulk.BulkItemResponse;
 import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
 import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.get.GetRequest;
 import org.elasticsearch.action.get.GetResponse;
@@ -25,7 +28,6 @@ import org.elasticsearch.action.index.IndexResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
 import org.elasticsearch.action.search.SearchType;
-import org.elasticsearch.client.Request;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.Requests;
 import org.elasticsearch.client.RestHighLevelClient;
@@ -33,6 +35,7 @@ import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.elasticsearch.index.IndexNotFoundException;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.rest.RestStatus;
 import org.elasticsearch.search.SearchHit;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
@@ -45,7 +48,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import javax.annotation.PostConstruct;
 import java.io.IOException;
-import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.*;
 import java.util.function.Function;
@@ -66,9 +68,11 @@ public abstract class ElasticBaseDao
 
     protected static final String defaultType = "_doc";
 
-    private static final String COUNT_API = "/_cat/count/";
+    /** Reason given by elasticsearch when a search sorts on a field that no document has been indexed with */
+    private static final String noMappingReason = "No mapping found for";
 
     @Autowired private RestHighLevelClient searchClient;
+    @Autowired private ElasticIndexState indexState;
 
     @PostConstruct
     private void init() {
@@ -78,9 +82,13 @@ public abstract class ElasticBaseDao
     /* --- Public methods --- */
 
     public void createIndices() {
-        getIndices().stream()
-                .filter(index -> !indicesExist(index))
-                .forEach(this::createIndex);
+        getIndices().forEach(index -> {
+            if (indicesExist(index)) {
+                indexState.indexExists(index);
+            } else {
+                createIndex(index);
+            }
+        });
     }
 
     public void purgeIndices() {
@@ -139,12 +147,46 @@ public abstract class ElasticBaseDao
                                           boolean fetchSource,
                                           Function<SearchHit, T> hitMapper
     ) throws ElasticsearchException {
-        if (indexIsEmpty(indexName)) {
+        return search(indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset,
+                new FetchSourceContext(fetchSource), hitMapper);
+    }
+
+    /**
+     * Performs a search that returns the indexed source fields selected by the given fetch source context.
+     * Fetching only the fields that are needed keeps responses small for indices with large documents.
+     *
+     * @see #search(String, QueryBuilder, QueryBuilder, List, RescorerBuilder, List, LimitOffset, boolean, Function)
+     * @param fetchSource - Selects the source fields to return, if any.
+     */
+    protected <T> SearchResults<T> search(String indexName,
+                                          QueryBuilder query,
+                                          QueryBuilder postFilter,
+                                          List<HighlightBuilder.Field> highlightedFields,
+                                          RescorerBuilder rescorer,
+                                          List<SortBuilder> sort,
+                                          LimitOffset limitOffset,
+                                          FetchSourceContext fetchSource,
+                                          Function<SearchHit, T> hitMapper
+    ) throws ElasticsearchException {
+        if (indexState.isKnownEmpty(indexName)) {
+            indexState.searchSkipped();
             return SearchResults.empty();
         }
         SearchRequest searchRequest = getSearchRequest(
                 indexName, query, postFilter, highlightedFields, rescorer, sort, limitOffset, fetchSource);
-        SearchResponse searchResponse = getSearchResponse(searchRequest);
+        long startNanos = System.nanoTime();
+        SearchResponse searchResponse;
+        try {
+            searchResponse = getSearchResponse(searchRequest);
+        } catch (ElasticsearchException ex) {
+            // Searches that sort fail if the index has no mappings, but that is only expected for an empty index
+            if (isIndexNotFoundError(ex) || isNoMappingError(ex) && isEmptyIndex(indexName)) {
+                indexState.searchFoundEmptyIndex(indexName, System.nanoTime() - startNanos);
+                return SearchResults.empty();
+            }
+            throw ex;
+        }
+        indexState.searchCompleted(indexName, System.nanoTime() - startNanos, searchResponse.getHits().getTotalHits());
         return getSearchResults(searchResponse, limitOffset, hitMapper);
     }
 
@@ -206,7 +248,9 @@ public abstract class ElasticBaseDao
      */
     protected IndexResponse executeIndexRequest(IndexRequest indexRequest) throws ElasticsearchException {
         try {
-            return searchClient.index(indexRequest, RequestOptions.DEFAULT);
+            IndexResponse response = searchClient.index(indexRequest, RequestOptions.DEFAULT);
+            indexState.documentIndexed(response.getIndex());
+            return response;
         } catch (IOException ex) {
             throw new ElasticsearchException("Index request failed", ex);
         }
@@ -230,7 +274,8 @@ public abstract class ElasticBaseDao
             try {
                 logger.debug("Making bulk request: {} bytes",
                         StringUtils.leftPad(Long.toString(subRequest.estimatedSizeInBytes()), 9));
-                searchClient.bulk(subRequest, RequestOptions.DEFAULT);
+                BulkResponse response = searchClient.bulk(subRequest, RequestOptions.DEFAULT);
+                recordBulkResponse(response);
             } catch (IOException ex) {
                 throw new ElasticsearchException("Bulk request failed", ex);
             }
@@ -247,6 +292,7 @@ public abstract class ElasticBaseDao
         DeleteRequest deleteRequest = getDeleteRequest(indexName, id);
         try {
             searchClient.delete(deleteRequest, RequestOptions.DEFAULT);
+            indexState.documentDeleted(indexName);
         }
         catch (IOException ex){
             throw new ElasticsearchException("Delete request failed.", ex);
@@ -385,6 +431,7 @@ public abstract class ElasticBaseDao
             }
 
             searchClient.indices().create(createIndexRequest, RequestOptions.DEFAULT);
+            indexState.indexCreated(indexName);
         }
         catch (IOException ex){
             throw new ElasticsearchException("Create index request failed.", ex);
@@ -395,6 +442,7 @@ public abstract class ElasticBaseDao
         try {
             logger.info("Deleting search index {}", index);
             searchClient.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+            indexState.indexDeleted(index);
         }
         catch (IndexNotFoundException ex) {
             logger.info("Cannot delete index {} because it doesn't exist.", index);
@@ -414,7 +462,7 @@ public abstract class ElasticBaseDao
      * @param rescorer - Optional rescorer that can be used to fine tune the query ranking.
      * @param sort - List of SortBuilders specifying the desired sorting
      * @param limitOffset - Restrict the number of results returned as well as paginate.
-     * @param fetchSource - Will return the indexed source fields when set to true.
+     * @param fetchSource - Selects the indexed source fields to return, if any.
      * @return SearchRequest
      */
     private SearchRequest getSearchRequest(String indexName,
@@ -424,14 +472,14 @@ public abstract class ElasticBaseDao
                                            RescorerBuilder rescorer,
                                            List<SortBuilder> sort,
                                            LimitOffset limitOffset,
-                                           boolean fetchSource) throws ElasticsearchException {
+                                           FetchSourceContext fetchSource) throws ElasticsearchException {
         limitOffset = adjustLimitOffset(limitOffset);
         SearchSourceBuilder searchSourceBuilder = new SearchSourceBuilder()
                 .query(query)
                 .from(limitOffset.getOffsetStart() - 1)
                 .size((limitOffset.hasLimit()) ? limitOffset.getLimit() : Integer.MAX_VALUE)
                 .minScore(0.05f)
-                .fetchSource(new FetchSourceContext(fetchSource));
+                .fetchSource(fetchSource);
 
         if (highlightedFields != null) {
             HighlightBuilder hb = new HighlightBuilder();
@@ -511,27 +559,74 @@ public abstract class ElasticBaseDao
     }
 
     /**
-     * Checks if an index is empty. If it is, it should not be searched, as trying causes errors.
-     * @param indexName to check
-     * @return if indexName is empty
+     * Checks if a search failed because the index does not exist.
+     * @param ex ElasticsearchException
+     * @return boolean
      */
-    private boolean indexIsEmpty(String indexName){
-        try {
-            InputStream responseStream = searchClient.getLowLevelClient()
-                    .performRequest(new Request("GET", COUNT_API + indexName + "?v"))
-                    .getEntity()
-                    .getContent();
-            byte[] isIndexEmpty = new byte[1];
-            // Read past the unnecessary data to get to the count of documents in the specified index.
-            // If the first byte of this number is the character 0, then the index must be empty.
-            // See https://www.elastic.co/guide/en/elasticsearch/reference/current/cat-count.html for details.
-            if (responseStream.skip(48) != 48 || responseStream.read(isIndexEmpty) != 1) {
-                throw new IOException();
+    private static boolean isIndexNotFoundError(ElasticsearchException ex) {
+        return ex instanceof IndexNotFoundException ||
+                ex instanceof ElasticsearchStatusException &&
+                        ((ElasticsearchStatusException) ex).status() == RestStatus.NOT_FOUND;
+    }
+
+    /**
+     * Checks if a search failed because it sorts on a field that is not mapped in the index.
+     * Searching an index that has no documents fails this way if the search sorts on any field,
+     * since no fields are mapped yet.
+     * @param ex ElasticsearchException
+     * @return boolean
+     */
+    private static boolean isNoMappingError(ElasticsearchException ex) {
+        return ex instanceof ElasticsearchStatusException &&
+                ((ElasticsearchStatusException) ex).status() == RestStatus.BAD_REQUEST &&
+                hasNoMappingReason(ex);
+    }
+
+    /**
+     * Checks whether the given index has no documents, using a search that does not sort and so cannot fail
+     * on an unmapped field. This costs an extra request, so it is only used once a search has failed.
+     * @param indexName String
+     * @return boolean - true if the index has no documents
+     */
+    private boolean isEmptyIndex(String indexName) {
+        if (indexState.getContents(indexName) == ElasticIndexState.Contents.NOT_EMPTY) {
+            return false;
+        }
+        SearchRequest countRequest = new SearchRequest(indexName).source(new SearchSourceBuilder().size(0));
+        return getSearchResponse(countRequest).getHits().getTotalHits() == 0;
+    }
+
+    /**
+     * The shard failures of a search are parsed as the causes and suppressed exceptions of the search error.
+     */
+    private static boolean hasNoMappingReason(Throwable ex) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (t.getMessage() != null && t.getMessage().contains(noMappingReason)) {
+                return true;
+            }
+            for (Throwable suppressed : t.getSuppressed()) {
+                if (suppressed.getMessage() != null && suppressed.getMessage().contains(noMappingReason)) {
+                    return true;
+                }
             }
-            return isIndexEmpty[0] == '0';
         }
-        catch (IOException io){
-            throw new ElasticsearchException("Error while executing search request.");
+        return false;
+    }
+
+    /**
+     * Records the documents that were indexed or deleted by a bulk request.
+     * @param response BulkResponse
+     */
+    private void recordBulkResponse(BulkResponse response) {
+        for (BulkItemResponse item : response.getItems()) {
+            if (item.isFailed()) {
+                continue;
+            }
+            if (item.getOpType() == DocWriteRequest.OpType.DELETE) {
+                indexState.documentDeleted(item.getIndex());
+            } else {
+                indexState.documentIndexed(item.getIndex());
+            }
         }
     }
 
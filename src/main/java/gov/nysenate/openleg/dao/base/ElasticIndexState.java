@@ -0,0 +1,175 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks whether each search index is known to be empty, based on the index lifecycle events seen by this process.
+ *
+ * Searching an empty index fails when the query sorts on a field that has not been mapped yet. Rather than asking
+ * elasticsearch for a document count before every search, {@link ElasticBaseDao} records index creation, indexing,
+ * and deletion here. Searches against an index known to be empty are answered without a request, and all others
+ * are sent as a single request.
+ *
+ * Also records search latencies, which are used to report how much time is saved by no longer probing indices.
+ */
+@Component
+public class ElasticIndexState
+{
+    public enum Contents
+    {
+        /** The index was created by this process and nothing has been indexed in it since. */
+        EMPTY,
+        /** Documents have been indexed in the index and none deleted since. */
+        NOT_EMPTY,
+        /** The index existed on startup or has had documents deleted. */
+        UNKNOWN
+    }
+
+    private final Map<String, Contents> indexContents = new ConcurrentHashMap<>();
+
+    private final LongAdder searchCount = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder skippedSearchCount = new LongAdder();
+    private final LongAdder emptyIndexErrorCount = new LongAdder();
+
+    /** --- Lifecycle Events --- */
+
+    /**
+     * Record that the index was just created and holds no documents.
+     */
+    public void indexCreated(String indexName) {
+        indexContents.put(indexName, Contents.EMPTY);
+    }
+
+    /**
+     * Record that the index already exists with unknown contents.
+     */
+    public void indexExists(String indexName) {
+        indexContents.putIfAbsent(indexName, Contents.UNKNOWN);
+    }
+
+    /**
+     * Record that the index no longer exists.
+     */
+    public void indexDeleted(String indexName) {
+        indexContents.remove(indexName);
+    }
+
+    /**
+     * Record that a document was successfully indexed in the index.
+     */
+    public void documentIndexed(String indexName) {
+        indexContents.put(indexName, Contents.NOT_EMPTY);
+    }
+
+    /**
+     * Record that a document was deleted from the index, which may have left it empty.
+     */
+    public void documentDeleted(String indexName) {
+        indexContents.replace(indexName, Contents.NOT_EMPTY, Contents.UNKNOWN);
+    }
+
+    /** --- Search Events --- */
+
+    /**
+     * Record a search request that was sent to elasticsearch.
+     *
+     * @param indexName String
+     * @param elapsedNanos long - the round trip time of the request
+     * @param totalHits long - the number of documents matched by the search
+     */
+    public void searchCompleted(String indexName, long elapsedNanos, long totalHits) {
+        searchCount.increment();
+        searchNanos.add(elapsedNanos);
+        if (totalHits > 0) {
+            indexContents.put(indexName, Contents.NOT_EMPTY);
+        }
+    }
+
+    /**
+     * Record a search request that failed because the index was missing or had no mappings yet.
+     *
+     * @param indexName String
+     * @param elapsedNanos long - the round trip time of the request
+     */
+    public void searchFoundEmptyIndex(String indexName, long elapsedNanos) {
+        searchCount.increment();
+        searchNanos.add(elapsedNanos);
+        emptyIndexErrorCount.increment();
+    }
+
+    /**
+     * Record a search that was answered without a request because the index is known to be empty.
+     */
+    public void searchSkipped() {
+        skippedSearchCount.increment();
+    }
+
+    /** --- Functional Getters --- */
+
+    /**
+     * @param indexName String
+     * @return boolean - true if the index is known to have no documents
+     */
+    public boolean isKnownEmpty(String indexName) {
+        return indexContents.get(indexName) == Contents.EMPTY;
+    }
+
+    /**
+     * @param indexName String
+     * @return Contents - what is known about the contents of the index
+     */
+    public Contents getContents(String indexName) {
+        return indexContents.getOrDefault(indexName, Contents.UNKNOWN);
+    }
+
+    /**
+     * @return double - the mean round trip time of search requests in milliseconds
+     */
+    public double getMeanSearchMillis() {
+        long count = searchCount.sum();
+        return count == 0 ? 0 : (double) searchNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Every search used to be preceded by a count request, so each search avoids one request.
+     *
+     * @return long - the number of index count requests that were not made
+     */
+    public long getAvoidedProbeCount() {
+        return searchCount.sum() + skippedSearchCount.sum();
+    }
+
+    /**
+     * Estimates the latency saved by not probing indices, assuming that a count request costs as much as
+     * the mean search round trip.
+     *
+     * @return double - the estimated total time saved in milliseconds
+     */
+    public double getEstimatedSavedMillis() {
+        return getAvoidedProbeCount() * getMeanSearchMillis();
+    }
+
+    /** --- Basic Getters --- */
+
+    public Map<String, Contents> getIndexContents() {
+        return indexContents;
+    }
+
+    public long getSearchCount() {
+        return searchCount.sum();
+    }
+
+    public long getSkippedSearchCount() {
+        return skippedSearchCount.sum();
+    }
+
+    public long getEmptyIndexErrorCount() {
+        return emptyIndexErrorCount.sum();
+    }
+}
@@ -33,6 +33,24 @@ public class OrderBy
         this.sortColumns = ImmutableMap.of(k1, v1, k2, v2, k3, v3);
     }
 
+    /** --- Overrides --- */
+
+    /**
+     * Two orderings are equal if they sort by the same columns in the same order.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof OrderBy)) return false;
+        OrderBy orderBy = (OrderBy) o;
+        return sortColumns.entrySet().asList().equals(orderBy.sortColumns.entrySet().asList());
+    }
+
+    @Override
+    public int hashCode() {
+        return sortColumns.entrySet().asList().hashCode();
+    }
+
     /** --- Basic Getters/Setters --- */
 
     public ImmutableMap<String, SortOrder> getSortColumns() {
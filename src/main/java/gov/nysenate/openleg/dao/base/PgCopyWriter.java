@@ -0,0 +1,116 @@
+package gov.nysenate.openleg.dao.base;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+
+/**
+ * Streams rows into a postgres COPY ... FROM STDIN WITH (FORMAT csv) statement.
+ *
+ * Rows are encoded as csv and sent to the server in buffered chunks as they are written, so the full
+ * data set is never held in memory. Nulls are written as unquoted empty values and every other value is
+ * quoted, which keeps empty strings distinct from nulls and allows any text, including line breaks.
+ */
+public class PgCopyWriter implements AutoCloseable
+{
+    private static final int bufferSize = 64 * 1024;
+
+    private final PGCopyOutputStream copyStream;
+    private final Writer writer;
+    private boolean finished = false;
+
+    /**
+     * Start a copy on the given connection.
+     *
+     * @param connection PGConnection
+     * @param copySql String - a COPY ... FROM STDIN statement using the csv format
+     * @throws SQLException if the copy could not be started
+     */
+    public PgCopyWriter(PGConnection connection, String copySql) throws SQLException {
+        this.copyStream = new PGCopyOutputStream(connection, copySql, bufferSize);
+        this.writer = new BufferedWriter(new OutputStreamWriter(copyStream, StandardCharsets.UTF_8), bufferSize);
+    }
+
+    /**
+     * Write a single row. The values must be in the order of the columns listed in the copy statement.
+     * Values are written using their string representation, which suits strings, numbers, booleans,
+     * and java.sql / java.time dates.
+     *
+     * @param values Object...
+     * @throws IOException if the row could not be sent
+     */
+    public void writeRow(Object... values) throws IOException {
+        writeCsvRow(writer, values);
+    }
+
+    /**
+     * Complete the copy.
+     *
+     * @return long - the number of rows copied
+     * @throws IOException if the remaining rows could not be sent
+     * @throws SQLException if the server rejected the data
+     */
+    public long finish() throws IOException, SQLException {
+        writer.flush();
+        finished = true;
+        return copyStream.endCopy();
+    }
+
+    /**
+     * Cancels the copy if it was not finished, discarding any rows written.
+     */
+    @Override
+    public void close() throws IOException {
+        if (!finished && copyStream.isActive()) {
+            try {
+                copyStream.cancelCopy();
+            } catch (SQLException ex) {
+                throw new IOException("Failed to cancel copy", ex);
+            }
+        }
+    }
+
+    /**
+     * Writes the rows for a single copy.
+     */
+    @FunctionalInterface
+    public interface RowSource
+    {
+        void writeRows(PgCopyWriter writer) throws IOException;
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Encodes a single row in the csv format read by COPY and writes it to the given writer.
+     */
+    static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writeQuoted(writer, values[i].toString());
+            }
+        }
+        writer.write('\n');
+    }
+
+    private static void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        int start = 0;
+        for (int i = value.indexOf('"'); i >= 0; i = value.indexOf('"', start)) {
+            writer.write(value, start, i + 1 - start);
+            writer.write('"');
+            start = i + 1;
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write('"');
+    }
+}
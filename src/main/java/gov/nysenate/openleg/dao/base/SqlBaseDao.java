@@ -1,24 +1,33 @@
 package gov.nysenate.openleg.dao.base;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.base.Splitter;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.model.base.BaseLegislativeContent;
 import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.util.DateUtils;
 import org.apache.commons.lang3.text.StrSubstitutor;
+import org.postgresql.PGConnection;
 import org.postgresql.util.PGInterval;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.PostConstruct;
+import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.*;
@@ -51,6 +60,34 @@ public abstract class SqlBaseDao
     @PostConstruct
     private void init() {}
 
+    /** --- Bulk Methods --- */
+
+    /**
+     * Runs a postgres COPY ... FROM STDIN WITH (FORMAT csv) statement on the current connection, streaming
+     * the rows produced by the given row source. When called within a transaction the copy is part of it,
+     * so the rows can be copied into a temporary staging table and merged by a following statement.
+     *
+     * @param copySql String - the copy statement
+     * @param rowSource PgCopyWriter.RowSource - writes the rows to copy
+     * @return long - the number of rows copied
+     */
+    protected long copyIn(String copySql, PgCopyWriter.RowSource rowSource) {
+        Long copied = jdbc.execute((ConnectionCallback<Long>) con -> {
+            try (PgCopyWriter writer = new PgCopyWriter(con.unwrap(PGConnection.class), copySql)) {
+                rowSource.writeRows(writer);
+                return writer.finish();
+            }
+            catch (IOException ex) {
+                // Let the jdbc template translate the underlying driver error when there is one
+                if (ex.getCause() instanceof SQLException) {
+                    throw (SQLException) ex.getCause();
+                }
+                throw new SQLException("Failed to copy rows: " + ex.getMessage(), ex);
+            }
+        });
+        return copied != null ? copied : 0;
+    }
+
     /** --- Common Param Methods --- */
 
     /**
@@ -212,6 +249,75 @@ public abstract class SqlBaseDao
         return orderBy;
     }
 
+    /**
+     * Orders change log rows by update date time and change log id, matching the order used by update cursors.
+     * The change log tables are indexed on these columns so each cursor page is an index range scan.
+     */
+    protected OrderBy getUpdateCursorOrderBy(UpdateType updateType, SortOrder sortOrder) {
+        return new OrderBy(getDateColumnForUpdateType(updateType), sortOrder, "id", sortOrder);
+    }
+
+    /**
+     * Generates a sql fragment to be used in the 'where clause' of a change log query that restricts the rows
+     * to those that follow the given cursor. Update digests are ordered by update date time, content type and
+     * change log id, so rows of a different content type than the cursor's are compared by date time alone.
+     * Returns an empty string if the cursor is null.
+     *
+     * @param cursor UpdateCursor - may be null
+     * @param contentType UpdateContentType - the content type of the change log being queried
+     * @param updateType UpdateType
+     * @param sortOrder SortOrder
+     * @return String
+     */
+    protected String getUpdateCursorClause(UpdateCursor cursor, UpdateContentType contentType,
+                                           UpdateType updateType, SortOrder sortOrder) {
+        if (cursor == null) {
+            return "";
+        }
+        String dateColumn = getDateColumnForUpdateType(updateType);
+        boolean ascending = sortOrder != SortOrder.DESC;
+        String operator = ascending ? ">" : "<";
+        int typeComparison = contentType.name().compareTo(cursor.getContentType().name());
+        if (typeComparison == 0) {
+            return "AND (" + dateColumn + ", id) " + operator + " (:cursorDateTime, :cursorId)";
+        }
+        // Rows with the cursor's date time follow the cursor only if their content type sorts after it
+        if (typeComparison > 0 == ascending) {
+            return "AND " + dateColumn + " " + operator + "= :cursorDateTime";
+        }
+        return "AND " + dateColumn + " " + operator + " :cursorDateTime";
+    }
+
+    /**
+     * Adds the parameters referenced by {@link #getUpdateCursorClause}.
+     */
+    protected static void addUpdateCursorParams(MapSqlParameterSource params, UpdateCursor cursor) {
+        if (cursor != null) {
+            params.addValue("cursorDateTime", toDate(cursor.getDateTime()));
+            params.addValue("cursorId", cursor.getChangeId());
+        }
+    }
+
+    /**
+     * Returns the query planner's estimate of the number of rows returned by the given query.
+     * This avoids executing the query, so it is cheap regardless of the number of rows but may be inaccurate.
+     *
+     * @param sql String - the query, without a limit clause
+     * @param params MapSqlParameterSource
+     * @return int - the estimated row count
+     */
+    protected int getEstimatedRowCount(String sql, MapSqlParameterSource params) {
+        String plan = jdbcNamed.queryForObject("EXPLAIN (FORMAT JSON) " + sql, params, String.class);
+        try {
+            JsonNode planRows = new ObjectMapper().readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return (int) Math.min(planRows.asLong(), Integer.MAX_VALUE);
+        }
+        catch (IOException ex) {
+            logger.warn("Could not parse query plan: {}", ex.getMessage());
+            return -1;
+        }
+    }
+
     /** --- Date Methods -- */
 
     /**
@@ -295,6 +401,24 @@ public abstract class SqlBaseDao
         return new SessionYear(rs.getInt(column));
     }
 
+    /**
+     * Returns params containing parallel arrays of the print nos and session years of the distinct base bill ids
+     * of the given bill ids, for use with queries that filter on
+     * '(bill_print_no, bill_session_year) IN (SELECT * FROM unnest(...print nos..., ...session years...))'.
+     */
+    protected static MapSqlParameterSource getBillIdArrayParams(Collection<? extends BillId> billIds,
+                                                                String printNoParam, String sessionYearParam) {
+        List<BaseBillId> baseBillIds = billIds.stream()
+                .map(BillId::getBaseId)
+                .distinct()
+                .collect(Collectors.toList());
+        return new MapSqlParameterSource()
+                .addValue(printNoParam, toPostgresArray(baseBillIds.stream()
+                        .map(BillId::getBasePrintNo).collect(Collectors.toList())))
+                .addValue(sessionYearParam, toPostgresArray(baseBillIds.stream()
+                        .map(id -> id.getSession().getYear()).collect(Collectors.toList())));
+    }
+
     public static String toPostgresArray(Collection<?> objects) {
         String commaSeparatedList = objects.stream()
                 .map(String::valueOf)
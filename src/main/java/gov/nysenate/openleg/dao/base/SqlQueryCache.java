@@ -0,0 +1,150 @@
+package gov.nysenate.openleg.dao.base;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the resolved sql of {@link BasicSqlQuery} enum constants, i.e. the query text with its schema
+ * placeholders substituted and its order by clause appended.
+ *
+ * Entries are keyed by the query, schema and ordering. The limit and offset vary from request to request,
+ * so the short limit clause is appended to the cached sql on every call rather than becoming part of the key.
+ * Queries that are not enum constants may build their sql dynamically and are never cached.
+ */
+public final class SqlQueryCache
+{
+    /** Orderings can come from api requests, so the number of cached statements is capped. */
+    private static final int maxEntries = 10000;
+
+    private static final SqlQueryCache instance = new SqlQueryCache(maxEntries);
+
+    private final int capacity;
+    private final Map<Key, String> resolvedSql = new ConcurrentHashMap<>();
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    SqlQueryCache(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return SqlQueryCache - the cache used by the {@link BasicSqlQuery} getSql methods
+     */
+    public static SqlQueryCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the sql for the given query, with the schema applied and the order by and limit clauses appended.
+     * The result is identical to {@link SqlQueryUtils#getSqlWithSchema(String, String, OrderBy, LimitOffset)}.
+     *
+     * @param query BasicSqlQuery
+     * @param schema String
+     * @param orderBy OrderBy - may be null
+     * @param limitOffset LimitOffset - may be null
+     * @return String
+     */
+    public String getSql(BasicSqlQuery query, String schema, OrderBy orderBy, LimitOffset limitOffset) {
+        return getSql(query, schema, orderBy) + SqlQueryUtils.getLimitOffsetClause(limitOffset);
+    }
+
+    /**
+     * Get the sql for the given query, with the schema applied and the order by clause appended.
+     *
+     * @param query BasicSqlQuery
+     * @param schema String
+     * @param orderBy OrderBy - may be null
+     * @return String
+     */
+    public String getSql(BasicSqlQuery query, String schema, OrderBy orderBy) {
+        if (!(query instanceof Enum)) {
+            return resolve(query, schema, orderBy);
+        }
+        Key key = new Key(query, schema, orderBy);
+        String sql = resolvedSql.get(key);
+        if (sql != null) {
+            hitCount.increment();
+            return sql;
+        }
+        missCount.increment();
+        sql = resolve(query, schema, orderBy);
+        if (resolvedSql.size() < capacity) {
+            resolvedSql.putIfAbsent(key, sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Removes all cached statements and resets the hit and miss counts.
+     */
+    public void clear() {
+        resolvedSql.clear();
+        hitCount.reset();
+        missCount.reset();
+    }
+
+    /** --- Internal Methods --- */
+
+    private static String resolve(BasicSqlQuery query, String schema, OrderBy orderBy) {
+        return SqlQueryUtils.getSqlWithSchema(query.getSql(), schema) + SqlQueryUtils.getOrderByClause(orderBy);
+    }
+
+    private static final class Key
+    {
+        private final BasicSqlQuery query;
+        private final String schema;
+        private final OrderBy orderBy;
+        private final int hash;
+
+        Key(BasicSqlQuery query, String schema, OrderBy orderBy) {
+            this.query = query;
+            this.schema = schema;
+            this.orderBy = orderBy;
+            this.hash = Objects.hash(query, schema, orderBy);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return query == key.query && Objects.equals(schema, key.schema) && Objects.equals(orderBy, key.orderBy);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return "sqlQuery";
+    }
+
+    public int getSize() {
+        return resolvedSql.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
@@ -0,0 +1,61 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects a page of update digest rows and tracks the cursor of the last row, to be used for retrieving the
+ * next page. The query should request one row more than the limit so that the handler can tell whether
+ * another page exists.
+ *
+ * Rows must contain a 'change_id' column along with the 'last_processed_date_time' and
+ * 'last_published_date_time' columns. Rows must also have a 'content_type' column if no content type is given.
+ * @param <T>
+ */
+public class UpdateCursorRowHandler<T> implements RowCallbackHandler
+{
+    private int limit;
+    private String dateTimeColumn;
+    private UpdateContentType contentType;
+    private RowMapper<T> rowMapper;
+    private List<T> results = new ArrayList<>();
+    private UpdateCursor lastCursor;
+    private boolean hasMore = false;
+
+    public UpdateCursorRowHandler(int limit, UpdateType updateType, UpdateContentType contentType,
+                                  RowMapper<T> rowMapper) {
+        this.limit = limit;
+        this.dateTimeColumn = updateType == UpdateType.PUBLISHED_DATE
+                ? "last_published_date_time" : "last_processed_date_time";
+        this.contentType = contentType;
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+        if (results.size() >= limit) {
+            hasMore = true;
+            return;
+        }
+        results.add(rowMapper.mapRow(rs, results.size() + 1));
+        lastCursor = new UpdateCursor(SqlBaseDao.getLocalDateTimeFromRs(rs, dateTimeColumn),
+                contentType != null ? contentType : UpdateContentType.getValue(rs.getString("content_type")),
+                rs.getInt("change_id"));
+    }
+
+    /**
+     * @param total int - the (estimated) total number of rows, -1 if unknown
+     * @return CursorPaginatedList<T>
+     */
+    public CursorPaginatedList<T> getList(int total) {
+        return new CursorPaginatedList<>(total, limit, results, hasMore ? lastCursor : null);
+    }
+}
@@ -6,7 +6,9 @@ import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
 import org.springframework.dao.DataAccessException;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ApprovalDao {
 
@@ -26,6 +28,15 @@ public interface ApprovalDao {
      */
     public ApprovalMessage getApprovalMessage(BaseBillId baseBillId) throws DataAccessException;
 
+    /**
+     * Retrieves the approval messages for a batch of base bills in a single query.
+     * Bills that were not approved will not have an entry in the returned map.
+     * @param baseBillIds
+     * @return
+     * @throws DataAccessException
+     */
+    public Map<BaseBillId, ApprovalMessage> getApprovalMessages(Collection<BaseBillId> baseBillIds) throws DataAccessException;
+
     /**
      * Gets all approval messages for the given year ordered by approval id number
      * @param year
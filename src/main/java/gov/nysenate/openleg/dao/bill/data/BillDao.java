@@ -6,9 +6,13 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import org.apache.commons.lang3.tuple.Pair;
 import org.springframework.dao.DataAccessException;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -27,6 +31,17 @@ public interface BillDao
      */
     Bill getBill(BillId billId, Set<BillTextFormat> textFormats) throws DataAccessException;
 
+    /**
+     * Retrieves full Bills for each of the given ids. Each child table is queried once for the entire
+     * batch rather than once per bill, which makes this considerably cheaper than repeated calls to
+     * {@link #getBill(BillId, Set)} when many bills are needed at once.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @param textFormats {@link Set<BillTextFormat>} - specifies which text formats are loaded for the bills
+     * @return {@link Map<BaseBillId, Bill>} - ordered by the given ids. Ids with no matching bill are omitted.
+     */
+    Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> textFormats);
+
     /**
      * Retrieves a BillInfo for the given BillId. The query time for a BillInfo will be less than that
      * of a full bill retrieval because it has significantly fewer pieces of data to gather.
@@ -37,6 +52,23 @@ public interface BillDao
      */
     BillInfo getBillInfo(BillId billId) throws DataAccessException;
 
+    /**
+     * Retrieves BillInfos for each of the given ids. The bills and their sponsors, milestones and actions
+     * are each queried once for the entire batch rather than once per bill.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @return {@link Map<BaseBillId, BillInfo>} - ordered by the given ids. Ids with no matching bill are omitted.
+     */
+    Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds);
+
+    /**
+     * Retrieves the saved modified date time of each of the given bills with a single query.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @return {@link Map<BaseBillId, LocalDateTime>} - Ids with no matching bill or no modified date time are omitted.
+     */
+    Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds);
+
     /**
      * This method applies the memo and full text for all amendments contained in the given Bill object.
      * This can be used by caching implementations where the bill object is kept in memory but the references
@@ -50,6 +82,15 @@ public interface BillDao
      */
     void applyText(Bill strippedBill, Set<BillTextFormat> fullTextFormats) throws DataAccessException;
 
+    /**
+     * Batch version of {@link #applyText(Bill, Set)} that applies text to all given bills using a single query.
+     *
+     * @param strippedBills {@link Collection<Bill>} - The stripped Bill objects.
+     * @param fullTextFormats {@link Set<BillTextFormat>} will apply texts for these formats.
+     * @throws DataAccessException
+     */
+    void applyText(Collection<Bill> strippedBills, Set<BillTextFormat> fullTextFormats) throws DataAccessException;
+
     /**
      * Gets a List of BaseBillIds for the given session year with options to order and limit the results.
      *
@@ -104,6 +145,15 @@ public interface BillDao
      */
     void updateBill(Bill bill, LegDataFragment legDataFragment) throws DataAccessException;
 
+    /**
+     * Updates or inserts a batch of bills within a single transaction. Each bill is paired with
+     * the LegDataFragment that triggered its update (null if not applicable).
+     *
+     * @param bills Collection<Pair<Bill, LegDataFragment>>
+     * @throws DataAccessException - If there was an error while trying to save the Bills.
+     */
+    void updateBills(Collection<Pair<Bill, LegDataFragment>> bills) throws DataAccessException;
+
     /**
      * Queries for budget bills that don't have full text or an alternate pdf entry, returning their ids.
      *
@@ -1,9 +1,13 @@
 package gov.nysenate.openleg.dao.bill.data;
 
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.ListMultimap;
 import com.google.common.collect.MapDifference;
 import com.google.common.collect.Maps;
+import com.google.common.collect.MultimapBuilder;
 import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.dao.common.BillVoteRowHandler;
 import gov.nysenate.openleg.model.agenda.AgendaId;
@@ -21,6 +25,7 @@ import gov.nysenate.openleg.service.bill.data.VetoDataService;
 import gov.nysenate.openleg.service.bill.data.VetoNotFoundException;
 import gov.nysenate.openleg.service.entity.member.data.MemberService;
 import org.apache.commons.lang3.text.StrSubstitutor;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -31,6 +36,7 @@ import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -56,6 +62,33 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                     .put(HTML, "full_text_html")
                     .build();
 
+    /** Maps the base bill id of a result row from its bill_print_no and bill_session_year columns */
+    private static final RowMapper<BaseBillId> baseBillIdMapper = (rs, rowNum) ->
+            new BaseBillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"));
+
+    /** Maps the amendment bill id of a result row, which additionally requires the bill_amend_version column */
+    private static final RowMapper<BillId> amendmentIdMapper = (rs, rowNum) ->
+            new BillId(rs.getString("bill_print_no"), rs.getInt("bill_session_year"), rs.getString("bill_amend_version"));
+
+    /** Maps the session member id of a co/multi sponsor row */
+    private static final RowMapper<Integer> sessionMemberIdMapper = (rs, rowNum) -> rs.getInt("session_member_id");
+
+    /**
+     * The order in which the statements of a batch update are run. Rows are deleted before their
+     * replacements are inserted, and vote info rows are inserted before their roll calls.
+     */
+    private static final ImmutableSet<SqlBillQuery> batchUpdateOrder = ImmutableSet.of(
+            UPDATE_BILL_AMEND_PUBLISH_STATUS, INSERT_BILL_AMEND_PUBLISH_STATUS,
+            DELETE_SAME_AS, INSERT_BILL_SAME_AS,
+            DELETE_BILL_COSPONSOR, UPDATE_BILL_COSPONSOR, INSERT_BILL_COSPONSOR,
+            DELETE_BILL_MULTISPONSOR, UPDATE_BILL_MULTISPONSOR, INSERT_BILL_MULTISPONSOR,
+            DELETE_BILL_VOTES_INFO, INSERT_BILL_VOTES_INFO, INSERT_BILL_VOTES_ROLL,
+            DELETE_BILL_SPONSOR,
+            DELETE_BILL_MILESTONES, INSERT_BILL_MILESTONE,
+            DELETE_BILL_ACTION, INSERT_BILL_ACTION,
+            DELETE_BILL_PREVIOUS_VERSION,
+            DELETE_BILL_COMMITTEE, INSERT_BILL_COMMITTEE);
+
     @Autowired private MemberService memberService;
     @Autowired private VetoDataService vetoDataService;
     @Autowired private ApprovalDataService approvalDataService;
@@ -113,6 +146,106 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         return bill;
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> textFormats) {
+        Map<BaseBillId, Bill> bills = new LinkedHashMap<>();
+        if (billIds.isEmpty()) {
+            return bills;
+        }
+        logger.trace("Fetching batch of {} bills from database...", billIds.size());
+        final ImmutableParams batchParams = ImmutableParams.from(getBillIdArrayParams(billIds, "printNos", "sessionYears"));
+        // Retrieve the base Bill objects
+        Map<BaseBillId, Bill> baseBills = new HashMap<>();
+        for (Bill bill : jdbcNamed.query(SELECT_BILLS_BATCH.getSql(schema()), batchParams, new BillRowMapper())) {
+            baseBills.put(bill.getBaseBillId(), bill);
+        }
+        if (baseBills.isEmpty()) {
+            return bills;
+        }
+        final List<BaseBillId> foundIds = new ArrayList<>(baseBills.keySet());
+        // Fetch each of the child tables once for the whole batch
+        final String amendQuery = applyFullTextFields(SELECT_BILL_AMENDMENTS_BATCH_TEMPLATE.getSql(schema()), textFormats);
+        Map<BaseBillId, List<BillAmendment>> amendments =
+                queryByBill(amendQuery, batchParams, baseBillIdMapper, new BillAmendmentRowMapper(textFormats));
+        Map<BillId, List<BillId>> sameAs = queryByBill(SELECT_BILL_SAME_AS_BATCH.getSql(schema()), batchParams,
+                amendmentIdMapper, new BillSameAsRowMapper());
+        Map<BillId, List<SessionMember>> coSponsors = queryByBill(SELECT_BILL_COSPONSORS_BATCH.getSql(schema()),
+                batchParams, amendmentIdMapper, new BillMemberRowMapper(memberService));
+        Map<BillId, List<SessionMember>> multiSponsors = queryByBill(SELECT_BILL_MULTISPONSORS_BATCH.getSql(schema()),
+                batchParams, amendmentIdMapper, new BillMemberRowMapper(memberService));
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SELECT_BILL_VOTES_BATCH.getSql(schema()), batchParams, voteHandler);
+        Map<BillId, List<BillVote>> votes = voteHandler.getBillVotes().stream()
+                .collect(Collectors.groupingBy(BillVote::getBillId));
+        Map<BaseBillId, List<BillAmendPublishStatusRow>> publishStatuses =
+                queryByBill(SELECT_BILL_AMEND_PUBLISH_STATUSES_BATCH.getSql(schema()), batchParams, baseBillIdMapper,
+                        (rs, rowNum) -> new BillAmendPublishStatusRow(rs));
+        Map<BaseBillId, List<BillSponsor>> sponsors = queryByBill(SELECT_BILL_SPONSORS_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillSponsorRowMapper(memberService));
+        Map<BaseBillId, List<SessionMember>> additionalSponsors = queryByBill(
+                SELECT_ADDTL_BILL_SPONSORS_BATCH.getSql(schema(), new OrderBy("sequence_no", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillMemberRowMapper(memberService));
+        Map<BaseBillId, List<BillStatus>> milestones = queryByBill(
+                GET_BILL_MILESTONES_BATCH.getSql(schema(), new OrderBy("rank", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillMilestoneRowMapper());
+        Map<BaseBillId, List<BillAction>> actions = queryByBill(
+                SELECT_BILL_ACTIONS_BATCH.getSql(schema(), new OrderBy("sequence_no", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillActionRowMapper());
+        Map<BaseBillId, List<BillId>> directPrevVersions = queryByBill(
+                SELECT_BILL_PREVIOUS_VERSIONS_BATCH.getSql(schema(), new OrderBy("bill_session_year", SortOrder.DESC)),
+                batchParams, baseBillIdMapper, new BillPreviousVersionRowMapper());
+        Map<BaseBillId, List<BillId>> allPrevVersions = queryByBill(
+                SELECT_ALL_BILL_PREVIOUS_VERSIONS_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillPreviousVersionRowMapper());
+        Map<BaseBillId, List<CommitteeVersionId>> committees = queryByBill(SELECT_BILL_COMMITTEES_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillCommitteeRowMapper());
+        Map<BaseBillId, List<CommitteeAgendaId>> commAgendas = queryByBill(
+                SELECT_COMM_AGENDA_IDS_BATCH.getSql(schema(), new OrderBy("aic.meeting_date_time", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new CommitteeAgendaIdRowMapper());
+        Map<BaseBillId, List<CalendarId>> calendars = queryByBill(
+                SELECT_CALENDAR_IDS_BATCH.getSql(schema(),
+                        new OrderBy("cs.calendar_year", ASC, "cs.calendar_no", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new CalendarIdRowMapper());
+        Map<BaseBillId, Map<VetoId, VetoMessage>> vetoes = vetoDataService.getBillVetoes(foundIds);
+        Map<BaseBillId, ApprovalMessage> approvals = approvalDataService.getApprovalMessages(foundIds);
+
+        // Assemble the bills in the order they were requested
+        for (BaseBillId billId : billIds) {
+            Bill bill = baseBills.get(billId);
+            if (bill == null) {
+                continue;
+            }
+            List<BillAmendment> billAmendments = amendments.getOrDefault(billId, Collections.emptyList());
+            for (BillAmendment amendment : billAmendments) {
+                BillId amendId = amendment.getBillId();
+                amendment.setSameAs(new HashSet<>(sameAs.getOrDefault(amendId, Collections.emptyList())));
+                amendment.setCoSponsors(coSponsors.getOrDefault(amendId, new ArrayList<>()));
+                amendment.setMultiSponsors(multiSponsors.getOrDefault(amendId, new ArrayList<>()));
+                amendment.setVotesMap(votes.getOrDefault(amendId, Collections.emptyList()));
+            }
+            bill.addAmendments(billAmendments);
+            EnumMap<Version, PublishStatus> publishStatusMap = new EnumMap<>(Version.class);
+            publishStatuses.getOrDefault(billId, Collections.emptyList())
+                    .forEach(row -> publishStatusMap.put(row.version, row.publishStatus));
+            bill.setPublishStatuses(publishStatusMap);
+            bill.setSponsor(sponsors.getOrDefault(billId, Collections.emptyList()).stream().findFirst().orElse(null));
+            bill.setAdditionalSponsors(additionalSponsors.getOrDefault(billId, new ArrayList<>()));
+            bill.setMilestones(new LinkedList<>(milestones.getOrDefault(billId, Collections.emptyList())));
+            bill.setActions(actions.getOrDefault(billId, new ArrayList<>()));
+            bill.setDirectPreviousVersion(
+                    directPrevVersions.getOrDefault(billId, Collections.emptyList()).stream().findFirst().orElse(null));
+            bill.setAllPreviousVersions(new TreeSet<>(allPrevVersions.getOrDefault(billId, Collections.emptyList())));
+            bill.setPastCommittees(new TreeSet<>(committees.getOrDefault(billId, Collections.emptyList())));
+            bill.setVetoMessages(vetoes.getOrDefault(billId, new HashMap<>()));
+            bill.setApprovalMessage(approvals.get(billId));
+            bill.setCommitteeAgendas(commAgendas.getOrDefault(billId, new ArrayList<>()));
+            bill.setCalendars(calendars.getOrDefault(billId, new ArrayList<>()));
+            bills.put(billId, bill);
+        }
+        return bills;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BillId billId) throws DataAccessException {
@@ -126,6 +259,63 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         return bill.getBillInfo();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds) {
+        Map<BaseBillId, BillInfo> billInfos = new LinkedHashMap<>();
+        if (billIds.isEmpty()) {
+            return billInfos;
+        }
+        logger.trace("Fetching batch of {} BillInfos from database...", billIds.size());
+        final ImmutableParams batchParams = ImmutableParams.from(getBillIdArrayParams(billIds, "printNos", "sessionYears"));
+        // Retrieve the base Bill objects
+        Map<BaseBillId, Bill> baseBills = new HashMap<>();
+        for (Bill bill : jdbcNamed.query(SELECT_BILLS_BATCH.getSql(schema()), batchParams, new BillRowMapper())) {
+            baseBills.put(bill.getBaseBillId(), bill);
+        }
+        if (baseBills.isEmpty()) {
+            return billInfos;
+        }
+        Map<BaseBillId, List<BillSponsor>> sponsors = queryByBill(SELECT_BILL_SPONSORS_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillSponsorRowMapper(memberService));
+        Map<BaseBillId, List<BillStatus>> milestones = queryByBill(
+                GET_BILL_MILESTONES_BATCH.getSql(schema(), new OrderBy("rank", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillMilestoneRowMapper());
+        Map<BaseBillId, List<BillAction>> actions = queryByBill(
+                SELECT_BILL_ACTIONS_BATCH.getSql(schema(), new OrderBy("sequence_no", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillActionRowMapper());
+
+        // Assemble the bill infos in the order they were requested
+        for (BaseBillId billId : billIds) {
+            Bill bill = baseBills.get(billId);
+            if (bill == null || billInfos.containsKey(billId)) {
+                continue;
+            }
+            bill.setSponsor(sponsors.getOrDefault(billId, Collections.emptyList()).stream().findFirst().orElse(null));
+            bill.setMilestones(new LinkedList<>(milestones.getOrDefault(billId, Collections.emptyList())));
+            bill.setActions(actions.getOrDefault(billId, new ArrayList<>()));
+            billInfos.put(billId, bill.getBillInfo());
+        }
+        return billInfos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, LocalDateTime> getModifiedDateTimes(Collection<BaseBillId> billIds) {
+        Map<BaseBillId, LocalDateTime> modifiedDateTimes = new HashMap<>();
+        if (billIds.isEmpty()) {
+            return modifiedDateTimes;
+        }
+        final ImmutableParams batchParams = ImmutableParams.from(getBillIdArrayParams(billIds, "printNos", "sessionYears"));
+        jdbcNamed.query(SELECT_BILL_MODIFIED_DATE_TIMES_BATCH.getSql(schema()), batchParams, (ResultSet rs) -> {
+            LocalDateTime modifiedDateTime = getLocalDateTimeFromRs(rs, "modified_date_time");
+            if (modifiedDateTime != null) {
+                modifiedDateTimes.put(baseBillIdMapper.mapRow(rs, rs.getRow()), modifiedDateTime);
+            }
+        });
+        return modifiedDateTimes;
+    }
+
     /** {@inheritDoc} */
     @Override
     public void applyText(Bill strippedBill, Set<BillTextFormat> fullTextFormats) throws DataAccessException {
@@ -145,6 +335,30 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         });
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void applyText(Collection<Bill> strippedBills, Set<BillTextFormat> fullTextFormats) throws DataAccessException {
+        if (strippedBills.isEmpty()) {
+            return;
+        }
+        Map<BaseBillId, Bill> billMap = new HashMap<>();
+        strippedBills.forEach(bill -> billMap.put(bill.getBaseBillId(), bill));
+        MapSqlParameterSource billParams = getBillIdArrayParams(billMap.keySet(), "printNos", "sessionYears");
+        final String queryTemplate = SELECT_BILL_TEXT_BATCH_TEMPLATE.getSql(schema());
+        final String query = applyFullTextFields(queryTemplate, fullTextFormats);
+        jdbcNamed.query(query, billParams, (ResultSet rs) -> {
+            Bill bill = billMap.get(baseBillIdMapper.mapRow(rs, rs.getRow()));
+            Version version = Version.of(rs.getString("bill_amend_version"));
+            if (bill != null && bill.hasAmendment(version)) {
+                BillAmendment ba = bill.getAmendment(version);
+                ba.setMemo(rs.getString("sponsor_memo"));
+                for (BillTextFormat format : fullTextFormats) {
+                    ba.setFullText(format, rs.getString(fullTextFields.get(format)));
+                }
+            }
+        });
+    }
+
     /**
      * {@inheritDoc}
      * <p>
@@ -194,6 +408,116 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         updateApprovalMessage(bill, legDataFragment);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The existing child rows for the whole batch are read with one query per table, and the changes to each
+     * bill are worked out in memory. The changes are then written with one jdbc batch per statement, all within
+     * a single transaction. This makes the same changes as calling {@link #updateBill(Bill, LegDataFragment)}
+     * for each bill.
+     */
+    @Override
+    @Transactional
+    public void updateBills(Collection<Pair<Bill, LegDataFragment>> bills) {
+        if (bills.isEmpty()) {
+            return;
+        }
+        logger.trace("Updating batch of {} bills in database...", bills.size());
+        // Update or insert the bill and amendment records
+        List<SqlParameterSource> billParams = new ArrayList<>();
+        List<SqlParameterSource> amendParams = new ArrayList<>();
+        for (Pair<Bill, LegDataFragment> entry : bills) {
+            billParams.add(getBillParams(entry.getLeft(), entry.getRight()));
+            for (BillAmendment amendment : entry.getLeft().getAmendmentList()) {
+                amendParams.add(getBillAmendmentParams(amendment, entry.getRight()));
+            }
+        }
+        batchUpsert(UPDATE_BILL, INSERT_BILL, billParams);
+        batchUpsert(UPDATE_BILL_AMENDMENT, INSERT_BILL_AMENDMENT, amendParams);
+
+        // Fetch the existing child rows for the whole batch
+        final List<BaseBillId> billIds = bills.stream()
+                .map(entry -> entry.getLeft().getBaseBillId())
+                .collect(Collectors.toList());
+        final ImmutableParams batchParams = ImmutableParams.from(getBillIdArrayParams(billIds, "printNos", "sessionYears"));
+        Map<BillId, List<BillId>> sameAs = queryByBill(SELECT_BILL_SAME_AS_BATCH.getSql(schema()), batchParams,
+                amendmentIdMapper, new BillSameAsRowMapper());
+        Map<BillId, List<Integer>> coSponsorIds = queryByBill(SELECT_BILL_COSPONSORS_BATCH.getSql(schema()),
+                batchParams, amendmentIdMapper, sessionMemberIdMapper);
+        Map<BillId, List<Integer>> multiSponsorIds = queryByBill(SELECT_BILL_MULTISPONSORS_BATCH.getSql(schema()),
+                batchParams, amendmentIdMapper, sessionMemberIdMapper);
+        BillVoteRowHandler voteHandler = new BillVoteRowHandler(memberService);
+        jdbcNamed.query(SELECT_BILL_VOTES_BATCH.getSql(schema()), batchParams, voteHandler);
+        Map<BillId, List<BillVote>> votes = voteHandler.getBillVotes().stream()
+                .collect(Collectors.groupingBy(BillVote::getBillId));
+        Map<BaseBillId, List<BillAmendPublishStatusRow>> publishStatuses =
+                queryByBill(SELECT_BILL_AMEND_PUBLISH_STATUSES_BATCH.getSql(schema()), batchParams, baseBillIdMapper,
+                        (rs, rowNum) -> new BillAmendPublishStatusRow(rs));
+        Map<BaseBillId, List<BillStatus>> milestones = queryByBill(
+                GET_BILL_MILESTONES_BATCH.getSql(schema(), new OrderBy("rank", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillMilestoneRowMapper());
+        Map<BaseBillId, List<BillAction>> actions = queryByBill(
+                SELECT_BILL_ACTIONS_BATCH.getSql(schema(), new OrderBy("sequence_no", ASC), LimitOffset.ALL),
+                batchParams, baseBillIdMapper, new BillActionRowMapper());
+        Map<BaseBillId, List<CommitteeVersionId>> committees = queryByBill(SELECT_BILL_COMMITTEES_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillCommitteeRowMapper());
+
+        // Work out the changes to each bill
+        ListMultimap<SqlBillQuery, SqlParameterSource> changes =
+                MultimapBuilder.enumKeys(SqlBillQuery.class).arrayListValues().build();
+        List<SqlParameterSource> sponsorParams = new ArrayList<>();
+        List<SqlParameterSource> prevVersionParams = new ArrayList<>();
+        for (Pair<Bill, LegDataFragment> entry : bills) {
+            Bill bill = entry.getLeft();
+            LegDataFragment fragment = entry.getRight();
+            BaseBillId billId = bill.getBaseBillId();
+            for (BillAmendment amendment : bill.getAmendmentList()) {
+                BillId amendId = amendment.getBillId();
+                addSameAsChanges(amendment, fragment, sameAs.getOrDefault(amendId, Collections.emptyList()), changes);
+                addMemberListChanges(amendment, fragment, amendment.getCoSponsors(),
+                        coSponsorIds.getOrDefault(amendId, Collections.emptyList()),
+                        DELETE_BILL_COSPONSOR, UPDATE_BILL_COSPONSOR, INSERT_BILL_COSPONSOR, changes);
+                addMemberListChanges(amendment, fragment, amendment.getMultiSponsors(),
+                        multiSponsorIds.getOrDefault(amendId, Collections.emptyList()),
+                        DELETE_BILL_MULTISPONSOR, UPDATE_BILL_MULTISPONSOR, INSERT_BILL_MULTISPONSOR, changes);
+                addVoteChanges(amendment, fragment, votes.getOrDefault(amendId, Collections.emptyList()), changes);
+            }
+            EnumMap<Version, PublishStatus> existingPubStatus = new EnumMap<>(Version.class);
+            publishStatuses.getOrDefault(billId, Collections.emptyList())
+                    .forEach(row -> existingPubStatus.put(row.version, row.publishStatus));
+            addPublishStatusChanges(bill, fragment, existingPubStatus, changes);
+            if (bill.getSponsor() != null) {
+                sponsorParams.add(getBillSponsorParams(bill, fragment));
+            } else {
+                changes.put(DELETE_BILL_SPONSOR, getBaseParams(billId));
+            }
+            addMilestoneChanges(bill, fragment, milestones.getOrDefault(billId, Collections.emptyList()), changes);
+            addActionChanges(bill, fragment, actions.getOrDefault(billId, Collections.emptyList()), changes);
+            if (bill.getDirectPreviousVersion() == null) {
+                changes.put(DELETE_BILL_PREVIOUS_VERSION, getBaseParams(billId));
+            } else {
+                prevVersionParams.add(getBillPrevVersionParams(bill, fragment));
+            }
+            addCommitteeChanges(bill, fragment, committees.getOrDefault(billId, Collections.emptyList()), changes);
+        }
+        batchUpdate(changes);
+        batchUpsert(UPDATE_BILL_SPONSOR, INSERT_BILL_SPONSOR, sponsorParams);
+        batchUpsert(UPDATE_BILL_PREVIOUS_VERSION, INSERT_BILL_PREVIOUS_VERSION, prevVersionParams);
+
+        // Update the bill objects to include any indirect previous versions resulting from the new prev versions
+        Map<BaseBillId, List<BillId>> allPrevVersions = queryByBill(
+                SELECT_ALL_BILL_PREVIOUS_VERSIONS_BATCH.getSql(schema()),
+                batchParams, baseBillIdMapper, new BillPreviousVersionRowMapper());
+        for (Pair<Bill, LegDataFragment> entry : bills) {
+            Bill bill = entry.getLeft();
+            bill.setAllPreviousVersions(
+                    new TreeSet<>(allPrevVersions.getOrDefault(bill.getBaseBillId(), Collections.emptyList())));
+            // Vetoes and approvals are rare, so they are still saved through their own services
+            updateVetoMessages(bill, entry.getRight());
+            updateApprovalMessage(bill, entry.getRight());
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public List<BaseBillId> getBillIds(SessionYear sessionYear, LimitOffset limOff, SortOrder billIdSort) throws DataAccessException {
@@ -322,13 +646,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     public LinkedList<BillStatus> getBillMilestones(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("rank", ASC);
         return new LinkedList<>(jdbcNamed.query(SqlBillQuery.GET_BILL_MILESTONES.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-                (rs, rowNum) -> {
-                    BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
-                    status.setActionSequenceNo(rs.getInt("action_sequence_no"));
-                    status.setCommitteeId(getCommitteeIdFromRs(rs));
-                    status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
-                    return status;
-                }));
+                new BillMilestoneRowMapper()));
     }
 
     /**
@@ -397,10 +715,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     public List<CommitteeAgendaId> getCommitteeAgendas(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("aic.meeting_date_time", ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_COMM_AGENDA_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-                (rs, rowNum) ->
-                        new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
-                                new CommitteeId(Chamber.SENATE, rs.getString("committee_name")))
-        );
+                new CommitteeAgendaIdRowMapper());
     }
 
     /**
@@ -409,9 +724,7 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
     public List<CalendarId> getCalendars(ImmutableParams baseParams) {
         OrderBy orderBy = new OrderBy("cs.calendar_year", ASC, "cs.calendar_no", ASC);
         return jdbcNamed.query(SqlBillQuery.SELECT_CALENDAR_IDS.getSql(schema(), orderBy, LimitOffset.ALL), baseParams,
-                (rs, rowNum) -> {
-                    return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
-                });
+                new CalendarIdRowMapper());
     }
 
     /**
@@ -673,6 +986,187 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
                 ));
     }
 
+    /**
+     * Runs a batch query and groups the mapped rows by the bill id mapped from the same row.
+     * The order of the rows within each group is preserved.
+     */
+    private <K, T> Map<K, List<T>> queryByBill(String sql, SqlParameterSource params,
+                                               RowMapper<K> keyMapper, RowMapper<T> rowMapper) {
+        Map<K, List<T>> grouped = new HashMap<>();
+        jdbcNamed.query(sql, params, (ResultSet rs) -> {
+            int rowNum = rs.getRow();
+            grouped.computeIfAbsent(keyMapper.mapRow(rs, rowNum), k -> new ArrayList<>())
+                    .add(rowMapper.mapRow(rs, rowNum));
+        });
+        return grouped;
+    }
+
+    /* --- Batch Update Methods --- */
+
+    /**
+     * Adds the inserts and deletes needed to bring the existing same as bill ids up to date.
+     */
+    private static void addSameAsChanges(BillAmendment amendment, LegDataFragment fragment, List<BillId> existing,
+                                         ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        Set<BillId> existingSameAs = new HashSet<>(existing);
+        if (!existingSameAs.equals(amendment.getSameAs())) {
+            Sets.difference(existingSameAs, amendment.getSameAs()).forEach(billId ->
+                    changes.put(DELETE_SAME_AS, getBillSameAsParams(amendment, billId, fragment)));
+            Sets.difference(amendment.getSameAs(), existingSameAs).forEach(billId ->
+                    changes.put(INSERT_BILL_SAME_AS, getBillSameAsParams(amendment, billId, fragment)));
+        }
+    }
+
+    /**
+     * Adds the deletes, re-orderings, and inserts needed to bring an existing co/multi sponsor list up to date.
+     */
+    private static void addMemberListChanges(BillAmendment amendment, LegDataFragment fragment,
+                                             List<SessionMember> members, List<Integer> existingIds,
+                                             SqlBillQuery deleteQuery, SqlBillQuery updateQuery, SqlBillQuery insertQuery,
+                                             ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        List<Integer> newIds = members.stream()
+                .map(SessionMember::getSessionMemberId)
+                .collect(Collectors.toList());
+        MapDifference<Integer, Integer> diff = difference(existingIds, newIds, 1);
+        diff.entriesOnlyOnLeft().forEach((smid, ordinal) ->
+                changes.put(deleteQuery, getCoMultiSponsorParams(amendment, smid, ordinal, fragment)));
+        diff.entriesDiffering().forEach((smid, ordinal) ->
+                changes.put(updateQuery, getCoMultiSponsorParams(amendment, smid, ordinal.rightValue(), fragment)));
+        diff.entriesOnlyOnRight().forEach((smid, ordinal) ->
+                changes.put(insertQuery, getCoMultiSponsorParams(amendment, smid, ordinal, fragment)));
+    }
+
+    /**
+     * Adds the statements that delete outdated votes and insert new or updated votes along with their roll calls.
+     */
+    private static void addVoteChanges(BillAmendment amendment, LegDataFragment fragment, List<BillVote> existing,
+                                       ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        List<BillVote> newBillVotes = new ArrayList<>(amendment.getVotesList());
+        List<BillVote> oldBillVotes = new ArrayList<>(existing);
+        newBillVotes.removeAll(existing);
+        oldBillVotes.removeAll(amendment.getVotesList());
+        for (BillVote billVote : oldBillVotes) {
+            changes.put(DELETE_BILL_VOTES_INFO, getBillVoteInfoParams(amendment, billVote, fragment));
+        }
+        for (BillVote billVote : newBillVotes) {
+            MapSqlParameterSource voteParams = getBillVoteInfoParams(amendment, billVote, fragment);
+            changes.put(INSERT_BILL_VOTES_INFO, voteParams);
+            for (BillVoteCode voteCode : billVote.getMemberVotes().keySet()) {
+                for (SessionMember member : billVote.getMembersByVote(voteCode)) {
+                    changes.put(INSERT_BILL_VOTES_ROLL, new MapSqlParameterSource(voteParams.getValues())
+                            .addValue("voteCode", voteCode.name().toLowerCase())
+                            .addValue("sessionMemberId", member.getSessionMemberId())
+                            .addValue("memberShortName", member.getLbdcShortName()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the publish status changes, following the same rules as
+     * {@link #updateBillAmendPublishStatus(Bill, LegDataFragment, ImmutableParams)}.
+     */
+    private static void addPublishStatusChanges(Bill bill, LegDataFragment fragment,
+                                                Map<Version, PublishStatus> existingPubStatus,
+                                                ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        MapDifference<Version, PublishStatus> diff = Maps.difference(existingPubStatus, bill.getAmendPublishStatusMap());
+        diff.entriesOnlyOnLeft().forEach((version, pubStatus) -> {
+            if (!pubStatus.isOverride() && pubStatus.isPublished()) {
+                LocalDateTime dateTime = (fragment != null) ? fragment.getPublishedDateTime() : LocalDateTime.now();
+                PublishStatus unPubStatus = new PublishStatus(false, dateTime, false, "No longer referenced");
+                changes.put(UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                        getBillPublishStatusParams(bill, version, unPubStatus, fragment));
+            }
+        });
+        diff.entriesDiffering().forEach((version, pubStatus) -> {
+            if (!pubStatus.leftValue().isOverride()) {
+                changes.put(UPDATE_BILL_AMEND_PUBLISH_STATUS,
+                        getBillPublishStatusParams(bill, version, pubStatus.rightValue(), fragment));
+            }
+        });
+        diff.entriesOnlyOnRight().forEach((version, pubStatus) ->
+                changes.put(INSERT_BILL_AMEND_PUBLISH_STATUS, getBillPublishStatusParams(bill, version, pubStatus, fragment)));
+    }
+
+    /**
+     * Replaces all of the milestones if they have changed.
+     */
+    private void addMilestoneChanges(Bill bill, LegDataFragment fragment, List<BillStatus> existing,
+                                     ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        if (!existing.equals(bill.getMilestones())) {
+            changes.put(DELETE_BILL_MILESTONES, getBaseParams(bill.getBaseBillId()));
+            int rank = 1;
+            for (BillStatus status : bill.getMilestones()) {
+                changes.put(INSERT_BILL_MILESTONE, getMilestoneParams(bill, status, rank++, fragment));
+            }
+        }
+    }
+
+    /**
+     * Adds the inserts and deletes needed to bring the existing actions up to date.
+     * Individual actions are never updated.
+     */
+    private static void addActionChanges(Bill bill, LegDataFragment fragment, List<BillAction> existing,
+                                         ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        List<BillAction> newBillActions = new ArrayList<>(bill.getActions());
+        List<BillAction> oldBillActions = new ArrayList<>(existing);
+        newBillActions.removeAll(existing);
+        oldBillActions.removeAll(bill.getActions());
+        oldBillActions.forEach(action -> changes.put(DELETE_BILL_ACTION, getBillActionParams(action, fragment)));
+        newBillActions.forEach(action -> changes.put(INSERT_BILL_ACTION, getBillActionParams(action, fragment)));
+    }
+
+    /**
+     * Adds the inserts and deletes needed to bring the existing committee references up to date.
+     */
+    private static void addCommitteeChanges(Bill bill, LegDataFragment fragment, List<CommitteeVersionId> existing,
+                                            ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        Set<CommitteeVersionId> existingComms = new TreeSet<>(existing);
+        if (!existingComms.equals(bill.getPastCommittees())) {
+            Sets.difference(existingComms, bill.getPastCommittees()).forEach(cvid ->
+                    changes.put(DELETE_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, fragment)));
+            Sets.difference(bill.getPastCommittees(), existingComms).forEach(cvid ->
+                    changes.put(INSERT_BILL_COMMITTEE, getBillCommitteeParams(bill, cvid, fragment)));
+        }
+    }
+
+    /**
+     * Runs each of the given statements as a single jdbc batch, in the order of {@link #batchUpdateOrder}.
+     */
+    private void batchUpdate(ListMultimap<SqlBillQuery, SqlParameterSource> changes) {
+        Set<SqlBillQuery> unordered = Sets.difference(changes.keySet(), batchUpdateOrder);
+        if (!unordered.isEmpty()) {
+            throw new IllegalArgumentException("No batch update order is defined for " + unordered);
+        }
+        for (SqlBillQuery query : batchUpdateOrder) {
+            List<SqlParameterSource> params = changes.get(query);
+            if (!params.isEmpty()) {
+                jdbcNamed.batchUpdate(query.getSql(schema()), params.toArray(new SqlParameterSource[0]));
+            }
+        }
+    }
+
+    /**
+     * Runs the update statement as a single jdbc batch, and then inserts the rows that were not updated
+     * as a second batch.
+     */
+    private void batchUpsert(SqlBillQuery updateQuery, SqlBillQuery insertQuery, List<SqlParameterSource> params) {
+        if (params.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] paramArray = params.toArray(new SqlParameterSource[0]);
+        int[] updateCounts = jdbcNamed.batchUpdate(updateQuery.getSql(schema()), paramArray);
+        List<SqlParameterSource> inserts = new ArrayList<>();
+        for (int i = 0; i < updateCounts.length; i++) {
+            if (updateCounts[i] == 0) {
+                inserts.add(paramArray[i]);
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcNamed.batchUpdate(insertQuery.getSql(schema()), inserts.toArray(new SqlParameterSource[0]));
+        }
+    }
+
     /* --- Helper Classes --- */
 
     private List<Integer> getCoSponsorIds(SqlParameterSource params) {
@@ -757,6 +1251,46 @@ public class SqlBillDao extends SqlBaseDao implements BillDao {
         }
     }
 
+    /** A publish status row, used when publish statuses are retrieved for a batch of bills. */
+    private static class BillAmendPublishStatusRow
+    {
+        final Version version;
+        final PublishStatus publishStatus;
+
+        BillAmendPublishStatusRow(ResultSet rs) throws SQLException {
+            this.version = Version.of(rs.getString("bill_amend_version"));
+            this.publishStatus = new PublishStatus(
+                    rs.getBoolean("published"), getLocalDateTimeFromRs(rs, "effect_date_time"),
+                    rs.getBoolean("override"), rs.getString("notes"));
+        }
+    }
+
+    private static class BillMilestoneRowMapper implements RowMapper<BillStatus> {
+        @Override
+        public BillStatus mapRow(ResultSet rs, int rowNum) throws SQLException {
+            BillStatus status = new BillStatus(BillStatusType.valueOf(rs.getString("status")), getLocalDateFromRs(rs, "date"));
+            status.setActionSequenceNo(rs.getInt("action_sequence_no"));
+            status.setCommitteeId(getCommitteeIdFromRs(rs));
+            status.setCalendarNo((rs.getInt("cal_no") != 0) ? rs.getInt("cal_no") : null);
+            return status;
+        }
+    }
+
+    private static class CommitteeAgendaIdRowMapper implements RowMapper<CommitteeAgendaId> {
+        @Override
+        public CommitteeAgendaId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CommitteeAgendaId(new AgendaId(rs.getInt("agenda_no"), rs.getInt("year")),
+                    new CommitteeId(Chamber.SENATE, rs.getString("committee_name")));
+        }
+    }
+
+    private static class CalendarIdRowMapper implements RowMapper<CalendarId> {
+        @Override
+        public CalendarId mapRow(ResultSet rs, int rowNum) throws SQLException {
+            return new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year"));
+        }
+    }
+
     private static class BillActionRowMapper implements RowMapper<BillAction> {
         @Override
         public BillAction mapRow(ResultSet rs, int rowNum) throws SQLException {
@@ -359,6 +359,105 @@ public enum SqlBillQuery implements BasicSqlQuery
         "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
         "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
         "WHERE bill_print_no = :printNo AND bill_session_year = :sessionYear"
+    ),
+
+    /** --- Batch Retrieval --- */
+
+    // These select the rows for a whole batch of bills at once, matching each (print no, session year) pair
+    // of the parallel print no and session year arrays.
+
+    SELECT_BILLS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_MODIFIED_DATE_TIMES_BATCH(
+        "SELECT bill_print_no, bill_session_year, modified_date_time FROM ${schema}." + SqlTable.BILL + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_AMENDMENTS_BATCH_TEMPLATE(
+        "SELECT bill_print_no, bill_session_year, bill_amend_version,\n" +
+        "       sponsor_memo, act_clause, stricken, uni_bill, law_section, law_code\n" +
+        "       ${fullTextFields}\n" +
+        "FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_TEXT_BATCH_TEMPLATE(
+        "SELECT bill_print_no, bill_session_year, bill_amend_version, sponsor_memo ${fullTextFields}\n" +
+        "FROM ${schema}." + SqlTable.BILL_AMENDMENT + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_AMEND_PUBLISH_STATUSES_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_PUBLISH_STATUS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_SPONSORS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_ADDTL_BILL_SPONSORS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_ADDITIONAL_SPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_COSPONSORS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_COSPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))" + "\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_MULTISPONSORS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_MULTISPONSOR + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))" + "\n" +
+        "ORDER BY sequence_no ASC"
+    ),
+    SELECT_BILL_VOTES_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_INFO + " info \n" +
+        "JOIN ${schema}." + SqlTable.BILL_AMENDMENT_VOTE_ROLL + " roll ON info.id = roll.vote_id\n" +
+        "WHERE (info.bill_print_no, info.bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_ACTIONS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_ACTION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_SAME_AS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_AMENDMENT_SAME_AS + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_COMMITTEES_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_COMMITTEE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_BILL_PREVIOUS_VERSIONS_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_PREVIOUS_VERSION + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_ALL_BILL_PREVIOUS_VERSIONS_BATCH(
+        "WITH RECURSIVE prev_version(origin_print_no, origin_session_year, bill_id, amend_version, session_year) AS ( \n" +
+        "    SELECT bill_print_no, bill_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM ${schema}.bill_previous_version \n" +
+        "    WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[])) \n" +
+        "    UNION \n" +
+        "    SELECT origin_print_no, origin_session_year, prev_bill_print_no, prev_amend_version, prev_bill_session_year \n" +
+        "    FROM prev_version, ${schema}.bill_previous_version \n" +
+        "    WHERE bill_print_no = bill_id AND bill_session_year = session_year) \n" +
+        "SELECT origin_print_no AS bill_print_no, origin_session_year AS bill_session_year, \n" +
+        "       bill_id AS prev_bill_print_no, amend_version AS prev_amend_version, " +
+        "       session_year AS prev_bill_session_year \n" +
+        "FROM prev_version"
+    ),
+    GET_BILL_MILESTONES_BATCH(
+        "SELECT * FROM ${schema}." + SqlTable.BILL_MILESTONE + "\n" +
+        "WHERE (bill_print_no, bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_COMM_AGENDA_IDS_BATCH(
+        "SELECT aici.bill_print_no, aici.bill_session_year, aic.agenda_no, aic.year, aic.committee_name \n" +
+        "FROM ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE_ITEM + " aici\n" +
+        "JOIN ${schema}." + SqlTable.AGENDA_INFO_COMMITTEE + " aic ON aici.info_committee_id = aic.id\n" +
+        "WHERE (aici.bill_print_no, aici.bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
+    ),
+    SELECT_CALENDAR_IDS_BATCH(
+        "SELECT cse.bill_print_no, cse.bill_session_year, cs.calendar_no, cs.calendar_year \n" +
+        "FROM ${schema}." + SqlTable.CALENDAR_SUP_ENTRY + " cse\n" +
+        "JOIN ${schema}." + SqlTable.CALENDAR_SUPPLEMENTAL + " cs ON cse.calendar_sup_id = cs.id\n" +
+        "WHERE (cse.bill_print_no, cse.bill_session_year) IN (SELECT * FROM unnest(:printNos::text[], :sessionYears::int[]))"
     );
 
     private String sql;
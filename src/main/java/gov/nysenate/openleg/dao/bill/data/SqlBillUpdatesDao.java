@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillUpdateField;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -21,6 +22,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_DIGESTS;
+import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_DIGESTS_AFTER_CURSOR;
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_BILL_UPDATE_TOKENS;
 import static gov.nysenate.openleg.dao.bill.data.SqlBillUpdatesQuery.SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_BILL;
 import static gov.nysenate.openleg.model.bill.BillUpdateField.*;
@@ -94,6 +96,24 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CursorPaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdatesAfter(
+            Range<LocalDateTime> dateTimeRange, UpdateType type, BillUpdateField filter, SortOrder dateOrder,
+            UpdateCursor cursor, int limit, boolean estimateTotal) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, cursor);
+
+        String sqlQuery = getCursorSqlQuery(type, filter, dateOrder, cursor, limit);
+        UpdateCursorRowHandler<UpdateDigest<BaseBillId>> handler =
+            new UpdateCursorRowHandler<>(limit, type, UpdateContentType.BILL, new BillUpdateDigestMapper(filter));
+        jdbcNamed.query(sqlQuery, params, handler);
+        int total = estimateTotal
+                ? getEstimatedRowCount(getCursorSqlQuery(type, filter, dateOrder, null, 0), params) : -1;
+        return handler.getList(total);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PaginatedList<UpdateDigest<BaseBillId>> getDetailedUpdatesForBill(
@@ -132,6 +152,22 @@ public class SqlBillUpdatesDao extends SqlBaseDao implements BillUpdatesDao
         return sqlQuery;
     }
 
+    /**
+     * Generates a query for the digests following the given cursor.
+     * An extra row is requested so that the row handler can determine if there is a next page.
+     */
+    private String getCursorSqlQuery(UpdateType updateType, BillUpdateField fieldFilter, SortOrder sortOrder,
+                                     UpdateCursor cursor, int limit) {
+        LimitOffset limOff = limit > 0 ? new LimitOffset(limit + 1) : LimitOffset.ALL;
+        String sqlQuery = SELECT_BILL_UPDATE_DIGESTS_AFTER_CURSOR.getSql(
+                schema(), getUpdateCursorOrderBy(updateType, sortOrder), limOff);
+        sqlQuery = queryReplace(sqlQuery, "cursorClause",
+                getUpdateCursorClause(cursor, UpdateContentType.BILL, updateType, sortOrder));
+        sqlQuery = queryReplace(sqlQuery, "dateColumn", getDateColumnForUpdateType(updateType));
+        sqlQuery = queryReplace(sqlQuery, "updateFieldFilter", getUpdateFieldFilter(fieldFilter));
+        return sqlQuery;
+    }
+
     /**
      * Generates a sql fragment to be used in the 'where clause' based on the BillUpdateField.
      * E.g. given BillUpdateField.STATUS, it will return something like "table_name = 'bill' AND defined(data, 'status')"
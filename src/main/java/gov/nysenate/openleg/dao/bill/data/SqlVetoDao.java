@@ -19,9 +19,7 @@ import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 import static gov.nysenate.openleg.util.DateUtils.toDate;
 
@@ -51,6 +49,22 @@ public class SqlVetoDao extends SqlBaseDao implements VetoDao
         return vetoMap;
     }
 
+    /** @inheritDoc */
+    @Override
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds) throws DataAccessException {
+        Map<BaseBillId, Map<VetoId,VetoMessage>> vetoMaps = new HashMap<>();
+        if (baseBillIds.isEmpty()) {
+            return vetoMaps;
+        }
+        MapSqlParameterSource params = getBillIdArrayParams(baseBillIds, "printNums", "sessionYears");
+        OrderBy orderBy = new OrderBy("year", SortOrder.ASC, "veto_number", SortOrder.ASC);
+        jdbcNamed.query(SqlVetoQuery.SELECT_BILLS_VETOES_BATCH_SQL.getSql(schema(), orderBy, LimitOffset.ALL), params,
+                new VetoRowMapper()).stream()
+            .forEach(vetoMessage -> vetoMaps.computeIfAbsent(vetoMessage.getBillId(), id -> new HashMap<>())
+                    .put(vetoMessage.getVetoId(), vetoMessage));
+        return vetoMaps;
+    }
+
     /** @inheritDoc */
     @Override
     public void updateVetoMessage(VetoMessage vetoMessage, LegDataFragment legDataFragment) throws DataAccessException {
@@ -29,6 +29,20 @@ public interface BillSearchDao
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, QueryBuilder filter, RescorerBuilder rescorer,
                                                  List<SortBuilder> sort, LimitOffset limOff);
 
+    /**
+     * Performs the same search as {@link #searchBills}, but reads the bill info of each result from the
+     * source of the indexed document instead of returning only the id.
+     *
+     * @param query String - Query Builder
+     * @param filter FilterBuilder - Filter result set
+     * @param rescorer RescoreBuilder.Rescorer - Fine tune the ranking
+     * @param sort String - Sort String
+     * @param limOff LimitOffset - Limit the result set
+     * @return SearchResults<IndexedBillInfo>
+     */
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, QueryBuilder filter, RescorerBuilder rescorer,
+                                                          List<SortBuilder> sort, LimitOffset limOff);
+
     /**
      * Update the bill index with the content of the supplied bill.
      *
@@ -1,6 +1,9 @@
 package gov.nysenate.openleg.dao.bill.search;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.client.view.bill.BillView;
 import gov.nysenate.openleg.dao.base.ElasticBaseDao;
 import gov.nysenate.openleg.dao.base.LimitOffset;
@@ -12,11 +15,13 @@ import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.common.settings.Settings;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.fetch.subphase.highlight.HighlightBuilder;
 import org.elasticsearch.search.rescore.RescorerBuilder;
 import org.elasticsearch.search.sort.SortBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.context.request.WebRequest;
@@ -26,7 +31,9 @@ import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
 
@@ -56,6 +63,18 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
                       new HighlightBuilder.Field("printNo").numOfFragments(0),
                       new HighlightBuilder.Field("title").numOfFragments(0));
 
+    /** Indexed field holding the modified date time of the bill */
+    private static final String modifiedDateTimeField = "modifiedDateTime";
+
+    /** The indexed fields needed to read a {@link BillInfoView} from a bill document */
+    private static final String[] billInfoSourceFields = {
+            "basePrintNo", "session", "basePrintNoStr", "printNo", "billType", "title", "activeVersion", "year",
+            "publishedDateTime", "substitutedBy", "sponsor", "reprintOf", "summary", "signed", "adopted", "vetoed",
+            "status", "milestones", "actions", "publishStatusMap", "programInfo", modifiedDateTimeField
+    };
+
+    @Autowired private ObjectMapper objectMapper;
+
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(QueryBuilder query, QueryBuilder postFilter, RescorerBuilder rescorer,
@@ -65,6 +84,16 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
                 false, this::getBaseBillIdFromHit);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<IndexedBillInfo> searchBillInfos(QueryBuilder query, QueryBuilder postFilter,
+                                                          RescorerBuilder rescorer, List<SortBuilder> sort,
+                                                          LimitOffset limOff) {
+        return search(billIndexName, query, postFilter,
+                highlightedFields, rescorer, sort, limOff,
+                new FetchSourceContext(true, billInfoSourceFields, null), this::getBillInfoFromHit);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Bill bill) {
@@ -74,12 +103,32 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
     /** {@inheritDoc} */
     @Override
     public void updateBillIndex(Collection<Bill> bills) {
+        executeBulkRequest(getBillBulkRequest(bills));
+    }
+
+    /**
+     * Serializes the given bills into a bulk index request without executing it.
+     * This allows serialization and indexing to be performed by separate threads.
+     *
+     * @param bills Collection<Bill>
+     * @return BulkRequest
+     */
+    public BulkRequest getBillBulkRequest(Collection<Bill> bills) {
         BulkRequest bulkRequest = new BulkRequest();
         bills.stream()
                 .map(this::stripNonPlainText)
-                .map(BillView::new)
+                .map(BillIndexView::new)
                 .map(bv -> getJsonIndexRequest(billIndexName, toElasticId(bv.toBaseBillId()), bv))
                 .forEach(bulkRequest::add);
+        return bulkRequest;
+    }
+
+    /**
+     * Executes a bulk request generated by {@link #getBillBulkRequest(Collection)}.
+     *
+     * @param bulkRequest BulkRequest
+     */
+    public void executeBulkRequest(BulkRequest bulkRequest) {
         safeBulkRequestExecute(bulkRequest);
     }
 
@@ -181,6 +230,32 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
         return new BaseBillId(IDparts[1], Integer.parseInt(IDparts[0]));
     }
 
+    private IndexedBillInfo getBillInfoFromHit(SearchHit hit) {
+        Map<String, Object> source = hit.getSourceAsMap();
+        Object modifiedDateTime = source.remove(modifiedDateTimeField);
+        restoreMapView(source, "publishStatusMap", "version");
+        BillInfoView billInfoView = objectMapper.convertValue(source, BillInfoView.class);
+        return new IndexedBillInfo(getBaseBillIdFromHit(hit), billInfoView,
+                modifiedDateTime != null ? LocalDateTime.parse(modifiedDateTime.toString()) : null);
+    }
+
+    /**
+     * Map views are indexed as a list of their values (see {@link gov.nysenate.openleg.util.MapViewSerializer}).
+     * Turns the indexed list back into a map, keyed by the given property of each value.
+     */
+    @SuppressWarnings("unchecked")
+    private static void restoreMapView(Map<String, Object> source, String field, String keyProperty) {
+        Object mapView = source.get(field);
+        if (!(mapView instanceof Map) || !(((Map<String, Object>) mapView).get("items") instanceof List)) {
+            return;
+        }
+        Map<String, Object> items = new LinkedHashMap<>();
+        for (Object item : (List<Object>) ((Map<String, Object>) mapView).get("items")) {
+            items.put(String.valueOf(((Map<String, Object>) item).get(keyProperty)), item);
+        }
+        source.put(field, ImmutableMap.of("items", items, "size", items.size()));
+    }
+
     private String toElasticId(BaseBillId baseBillId) {
         return baseBillId.getSession() + "-" +
                 baseBillId.getBasePrintNo();
@@ -214,4 +289,22 @@ public class ElasticBillSearchDao extends ElasticBaseDao implements BillSearchDa
             throw new IllegalStateException(e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The document indexed for each bill. Includes the modified date time of the bill,
+     * so that the freshness of bill info read from the index can be checked.
+     */
+    private static class BillIndexView extends BillView
+    {
+        private final LocalDateTime modifiedDateTime;
+
+        BillIndexView(Bill bill) {
+            super(bill);
+            this.modifiedDateTime = bill.getModifiedDateTime();
+        }
+
+        public LocalDateTime getModifiedDateTime() {
+            return modifiedDateTime;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package gov.nysenate.openleg.dao.bill.search;
+
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+
+import java.time.LocalDateTime;
+
+/**
+ * Bill info read from the source of a bill search index document, along with the
+ * modified date time of the bill at the time it was indexed.
+ */
+public class IndexedBillInfo
+{
+    private final BaseBillId baseBillId;
+    private final BillInfoView billInfoView;
+
+    /** The modified date time of the indexed bill, null for documents indexed before it was recorded. */
+    private final LocalDateTime modifiedDateTime;
+
+    public IndexedBillInfo(BaseBillId baseBillId, BillInfoView billInfoView, LocalDateTime modifiedDateTime) {
+        this.baseBillId = baseBillId;
+        this.billInfoView = billInfoView;
+        this.modifiedDateTime = modifiedDateTime;
+    }
+
+    /** --- Basic Getters --- */
+
+    public BaseBillId getBaseBillId() {
+        return baseBillId;
+    }
+
+    public BillInfoView getBillInfoView() {
+        return billInfoView;
+    }
+
+    public LocalDateTime getModifiedDateTime() {
+        return modifiedDateTime;
+    }
+}
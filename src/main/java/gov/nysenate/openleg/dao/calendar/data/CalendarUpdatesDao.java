@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.dao.calendar.data;
 
 import com.google.common.collect.Range;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -36,6 +38,20 @@ public interface CalendarUpdatesDao
     public PaginatedList<UpdateDigest<CalendarId>> getDetailedUpdates(
         UpdateType updateType, Range<LocalDateTime> dateTimeRange, SortOrder dateOrder, LimitOffset limitOffset);
 
+    /**
+     * Retrieves the update digests that follow the given cursor, ordered by update date time and change id.
+     * Unlike {@link #getDetailedUpdates}, the cost of retrieving a page does not grow with its depth into the range.
+     *
+     * @param cursor UpdateCursor - continue from this cursor, or start at the beginning of the range if null
+     * @param limit int - the maximum number of digests to return
+     * @param estimateTotal boolean - include an estimate of the total number of digests in the range if true
+     * @see #getDetailedUpdates for other param details.
+     * @return CursorPaginatedList<UpdateDigest<CalendarId>>
+     */
+    public CursorPaginatedList<UpdateDigest<CalendarId>> getDetailedUpdatesAfter(
+        UpdateType updateType, Range<LocalDateTime> dateTimeRange, SortOrder dateOrder,
+        UpdateCursor cursor, int limit, boolean estimateTotal);
+
     /**
      * Gets a list of calendar update digests for a given calendar that detail the changes made to that calendar
      * over the given date time range.
@@ -4,6 +4,7 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.calendar.CalendarId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -49,6 +50,23 @@ public class SqlCalendarUpdatesDao extends SqlBaseDao implements CalendarUpdates
         return rowHandler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CursorPaginatedList<UpdateDigest<CalendarId>> getDetailedUpdatesAfter(
+        UpdateType updateType, Range<LocalDateTime> dateTimeRange, SortOrder dateOrder,
+        UpdateCursor cursor, int limit, boolean estimateTotal) {
+
+        MapSqlParameterSource params = getDateTimeRangeParams(dateTimeRange);
+        addUpdateCursorParams(params, cursor);
+        String queryString = getCursorSqlQuery(updateType, dateOrder, cursor, limit);
+        UpdateCursorRowHandler<UpdateDigest<CalendarId>> rowHandler =
+            new UpdateCursorRowHandler<>(limit, updateType, UpdateContentType.CALENDAR, calendarUpdateDigestRowMapper);
+        jdbcNamed.query(queryString, params, rowHandler);
+        int total = estimateTotal
+                ? getEstimatedRowCount(getCursorSqlQuery(updateType, dateOrder, null, 0), params) : -1;
+        return rowHandler.getList(total);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PaginatedList<UpdateDigest<CalendarId>> getDetailedUpdatesForCalendar(
@@ -84,6 +102,19 @@ public class SqlCalendarUpdatesDao extends SqlBaseDao implements CalendarUpdates
         return sqlQuery;
     }
 
+    /**
+     * Generates a query for the digests following the given cursor.
+     * An extra row is requested so that the row handler can determine if there is a next page.
+     */
+    private String getCursorSqlQuery(UpdateType updateType, SortOrder sortOrder, UpdateCursor cursor, int limit) {
+        LimitOffset limOff = limit > 0 ? new LimitOffset(limit + 1) : LimitOffset.ALL;
+        String sqlQuery = SELECT_CALENDAR_UPDATE_DIGESTS_AFTER_CURSOR.getSql(
+                schema(), getUpdateCursorOrderBy(updateType, sortOrder), limOff);
+        sqlQuery = queryReplace(sqlQuery, "cursorClause",
+                getUpdateCursorClause(cursor, UpdateContentType.CALENDAR, updateType, sortOrder));
+        return queryReplace(sqlQuery, "dateColumn", getDateColumnForUpdateType(updateType));
+    }
+
     private static RowMapper<UpdateToken<CalendarId>> calendarUpdateTokenRowMapper = (rs, rowNum) ->
         new UpdateToken<>(
             new CalendarId(rs.getInt("calendar_no"), rs.getInt("calendar_year")), UpdateContentType.CALENDAR,
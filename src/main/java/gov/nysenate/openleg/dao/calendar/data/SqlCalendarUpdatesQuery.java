@@ -19,6 +19,12 @@ public enum SqlCalendarUpdatesQuery implements BasicSqlQuery
         "table_name, action, hstore_to_array(data) AS data\n"
     ),
 
+    SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT(
+        "id AS change_id, leg_data_fragment_id AS last_fragment_id, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
+        "table_name, action, hstore_to_array(data) AS data\n"
+    ),
+
     SELECT_CALENDAR_UPDATE_TOKENS(
         String.format(SELECT_CALENDAR_UPDATES_FRAGMENT.sql,
         // Select columns
@@ -36,6 +42,12 @@ public enum SqlCalendarUpdatesQuery implements BasicSqlQuery
             "", "")
     ),
 
+    SELECT_CALENDAR_UPDATE_DIGESTS_AFTER_CURSOR(
+        String.format(SELECT_CALENDAR_UPDATES_FRAGMENT.sql,
+            SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT.sql,
+            "${cursorClause}", "")
+    ),
+
     SELECT_UPDATE_DIGESTS_FOR_SPECIFIC_CALENDAR(
         String.format(SELECT_CALENDAR_UPDATES_FRAGMENT.sql,
             SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
@@ -6,6 +6,7 @@ import org.springframework.dao.DataAccessException;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -83,6 +84,36 @@ public interface LawDataDao
      */
     public Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishDate) throws DataAccessException;
 
+    /**
+     * Retrieve the law documents (with greatest pub date that is <= 'endPublishDate') for the given document ids.
+     * Documents that do not exist are omitted from the returned map of document id to LawDocument.
+     *
+     * @param documentIds Collection<String> - The document ids.
+     * @param endPublishDate LocalDate
+     * @return Map<String, LawDocument>
+     * @throws DataAccessException
+     */
+    public Map<String, LawDocument> getLawDocuments(Collection<String> documentIds, LocalDate endPublishDate)
+            throws DataAccessException;
+
+    /**
+     * Retrieve every published version of a law document.
+     *
+     * @param documentId String - The LBDC document id
+     * @return LawDocVersions - with no versions if the document does not exist
+     * @throws DataAccessException
+     */
+    public LawDocVersions getLawDocVersions(String documentId) throws DataAccessException;
+
+    /**
+     * Retrieve every published version of every document in a law.
+     *
+     * @param lawId String - The three letter law id.
+     * @return Map<String, LawDocVersions> - Map of document id to the versions of that document
+     * @throws DataAccessException
+     */
+    public Map<String, LawDocVersions> getAllLawDocVersions(String lawId) throws DataAccessException;
+
     /**
      * Updates or inserts a LawDocument into the database, using the document id and published date as the
      * unique identifiers.
@@ -92,6 +123,16 @@ public interface LawDataDao
      */
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument);
 
+    /**
+     * Updates or inserts a collection of LawDocuments into the database in bulk, using the document id and
+     * published date as the unique identifiers. If the collection has several documents with the same
+     * identifiers, the last one is persisted.
+     *
+     * @param lawFile LawFile - The law file source that triggered the update.
+     * @param lawDocuments Collection<LawDocument> - The law documents to persist.
+     */
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
+
     /**
      * Updates or inserts the tree structure for the laws via the given LawTree. The law id and the published date
      * in the LawTree will be used as the unique identifiers for the tree.
@@ -1,11 +1,13 @@
 package gov.nysenate.openleg.dao.law.data;
 
 import com.google.common.collect.Range;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -34,6 +36,20 @@ public interface LawUpdatesDao
     PaginatedList<UpdateDigest<LawDocId>> getDetailedUpdates(
             Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder, LimitOffset limitOffset);
 
+    /**
+     * Retrieves the update digests that follow the given cursor, ordered by update date time and change id.
+     * Unlike {@link #getDetailedUpdates}, the cost of retrieving a page does not grow with its depth into the range.
+     *
+     * @param cursor UpdateCursor - continue from this cursor, or start at the beginning of the range if null
+     * @param limit int - the maximum number of digests to return
+     * @param estimateTotal boolean - include an estimate of the total number of digests in the range if true
+     * @see #getUpdates for other param details.
+     * @return CursorPaginatedList<UpdateDigest<LawDocId>>
+     */
+    CursorPaginatedList<UpdateDigest<LawDocId>> getDetailedUpdatesAfter(
+            Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+            UpdateCursor cursor, int limit, boolean estimateTotal);
+
     /**
      * Returns a list of update digests for law documents that have been updated for a given law.
      *
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.dao.law.data;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
@@ -15,11 +16,13 @@ import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -103,6 +106,40 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         return Maps.uniqueIndex(docs, LawDocument::getDocumentId);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public LawDocVersions getLawDocVersions(String documentId) throws DataAccessException {
+        ImmutableParams docIdParam = ImmutableParams.from(new MapSqlParameterSource("docId", documentId));
+        return new LawDocVersions(documentId,
+            jdbcNamed.query(SqlLawDataQuery.SELECT_LAW_DOCUMENT_VERSIONS.getSql(schema()), docIdParam, lawDocRowMapper));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, LawDocVersions> getAllLawDocVersions(String lawId) throws DataAccessException {
+        ImmutableParams lawIdParam = ImmutableParams.from(new MapSqlParameterSource("lawId", lawId));
+        List<LawDocument> docs =
+            jdbcNamed.query(SqlLawDataQuery.SELECT_LAW_DOCUMENT_VERSIONS_BY_LAW.getSql(schema()), lawIdParam, lawDocRowMapper);
+        return docs.stream()
+            .collect(Collectors.groupingBy(LawDocument::getDocumentId))
+            .entrySet().stream()
+            .collect(Collectors.toMap(Map.Entry::getKey, e -> new LawDocVersions(e.getKey(), e.getValue())));
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, LawDocument> getLawDocuments(Collection<String> documentIds, LocalDate endPublishDate)
+            throws DataAccessException {
+        if (documentIds.isEmpty()) {
+            return ImmutableMap.of();
+        }
+        ImmutableParams lawDocParams = ImmutableParams.from(new MapSqlParameterSource()
+            .addValue("docIds", documentIds)
+            .addValue("endPublishedDate", toDate(endPublishDate)));
+        List<LawDocument> docs = jdbcNamed.query(SqlLawDataQuery.SELECT_LAW_DOCUMENTS_BY_ID.getSql(schema()), lawDocParams, lawDocRowMapper);
+        return Maps.uniqueIndex(docs, LawDocument::getDocumentId);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateLawDocument(LawFile lawFile, LawDocument lawDocument) {
@@ -112,8 +149,37 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         }
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     *
+     * The documents are copied into a temporary staging table and merged into the law document table
+     * using a single statement.
+     */
+    @Override
+    @Transactional
+    public void updateLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        // Staged rows must be unique on the primary key for the merge, so later duplicates replace earlier ones
+        Map<Pair<String, LocalDate>, LawDocument> uniqueDocs = new LinkedHashMap<>();
+        lawDocuments.forEach(d -> uniqueDocs.put(Pair.of(d.getDocumentId(), d.getPublishedDate()), d));
+        if (uniqueDocs.isEmpty()) {
+            return;
+        }
+        String lawFileName = (lawFile != null) ? lawFile.getFileName() : null;
+        jdbc.execute(SqlLawDataQuery.CREATE_LAW_DOCUMENT_STAGE.getSql(schema()));
+        copyIn(SqlLawDataQuery.COPY_LAW_DOCUMENT_STAGE.getSql(schema()), writer -> {
+            for (LawDocument doc : uniqueDocs.values()) {
+                writer.writeRow(doc.getDocumentId(), doc.getPublishedDate(), doc.getDocType().name(), doc.getLawId(),
+                    doc.getLocationId(), doc.getDocTypeId(), doc.getTitle(), doc.getText(), lawFileName);
+            }
+        });
+        jdbc.update(SqlLawDataQuery.MERGE_LAW_DOCUMENT_STAGE.getSql(schema()));
+    }
+
+    /** {@inheritDoc}
+     *
+     * The tree nodes are copied into a temporary staging table and inserted using a single statement.
+     */
     @Override
+    @Transactional
     public void updateLawTree(LawFile lawFile, LawTree lawTree) {
         ImmutableParams lawInfoParams = ImmutableParams.from(getLawInfoParams(lawTree.getLawInfo()));
         // Update the law info or insert it
@@ -124,10 +190,17 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
         // Delete the existing tree if it exists
         jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema()), treeIdParams);
         // Insert all the nodes in the tree
-        lawTree.getRootNode().getAllNodes().forEach(n -> {
-            ImmutableParams treeNodeParams = ImmutableParams.from(getLawTreeNodeParams(lawFile, lawTree, n));
-            jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_TREE.getSql(schema()), treeNodeParams);
+        jdbc.execute(SqlLawDataQuery.CREATE_LAW_TREE_STAGE.getSql(schema()));
+        copyIn(SqlLawDataQuery.COPY_LAW_TREE_STAGE.getSql(schema()), writer -> {
+            for (LawTreeNode node : lawTree.getRootNode().getAllNodes()) {
+                LawTreeNode parent = node.getParent();
+                writer.writeRow(lawTree.getLawId(), lawTree.getPublishedDate(),
+                    node.getDocumentId(), node.getPublishDate(),
+                    (parent != null) ? parent.getDocumentId() : null, (parent != null) ? parent.getPublishDate() : null,
+                    node.isRootNode(), node.getSequenceNo(), node.getRepealedDate(), lawFile.getFileName());
+            }
         });
+        jdbc.update(SqlLawDataQuery.INSERT_LAW_TREE_STAGE.getSql(schema()));
     }
 
     /**
@@ -247,18 +320,4 @@ public class SqlLawDataDao extends SqlBaseDao implements LawDataDao
             .addValue("lawId", lawTree.getLawId())
             .addValue("publishedDate", toDate(lawTree.getPublishedDate()));
     }
-
-    protected MapSqlParameterSource getLawTreeNodeParams(LawFile lawFile, LawTree lawTree, LawTreeNode lawTreeNode) {
-        return getLawTreeParams(lawTree)
-            .addValue("docId", lawTreeNode.getDocumentId())
-            .addValue("docPublishedDate", toDate(lawTreeNode.getPublishDate()))
-            .addValue("parentDocId", (lawTreeNode.getParent() != null) ?
-                                      lawTreeNode.getParent().getDocumentId() : null)
-            .addValue("parentDocPublishedDate", (lawTreeNode.getParent() != null) ?
-                                                 toDate(lawTreeNode.getParent().getPublishDate()) : null)
-            .addValue("isRoot", lawTreeNode.isRootNode())
-            .addValue("sequenceNo", lawTreeNode.getSequenceNo())
-            .addValue("repealedDate", toDate(lawTreeNode.getRepealedDate()))
-            .addValue("lawFileName", lawFile.getFileName());
-    }
 }
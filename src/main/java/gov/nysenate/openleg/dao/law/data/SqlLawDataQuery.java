@@ -25,6 +25,24 @@ public enum SqlLawDataQuery implements BasicSqlQuery
         "SELECT * FROM ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
         "JOIN latest_laws USING (document_id, published_date)"
     ),
+    SELECT_LAW_DOCUMENTS_BY_ID(
+        "WITH latest_docs AS (\n" +
+        "    SELECT document_id, max(published_date) AS published_date " +
+        "    FROM ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
+        "    WHERE document_id IN (:docIds) AND published_date <= :endPublishedDate \n" +
+        "    GROUP BY document_id" +
+        ")\n" +
+        "SELECT * FROM ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
+        "JOIN latest_docs USING (document_id, published_date)"
+    ),
+    SELECT_LAW_DOCUMENT_VERSIONS(
+        "SELECT * FROM ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
+        "WHERE document_id = :docId"
+    ),
+    SELECT_LAW_DOCUMENT_VERSIONS_BY_LAW(
+        "SELECT * FROM ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
+        "WHERE law_id = :lawId"
+    ),
     INSERT_LAW_DOCUMENT(
         "INSERT INTO ${schema}." + SqlTable.LAW_DOCUMENT +
         "(document_id, published_date, document_type, law_id, location_id, document_type_id, title, text, law_file_name)\n" +
@@ -37,6 +55,39 @@ public enum SqlLawDataQuery implements BasicSqlQuery
         "WHERE document_id = :documentId AND published_date = :publishedDate"
     ),
 
+    /** Law documents are bulk loaded by copying them into a temporary staging table and merging them in. */
+
+    CREATE_LAW_DOCUMENT_STAGE(
+        "CREATE TEMPORARY TABLE IF NOT EXISTS law_document_stage\n" +
+        "(LIKE ${schema}." + SqlTable.LAW_DOCUMENT + " INCLUDING DEFAULTS) ON COMMIT DROP;\n" +
+        "TRUNCATE law_document_stage"
+    ),
+    COPY_LAW_DOCUMENT_STAGE(
+        "COPY law_document_stage\n" +
+        "(document_id, published_date, document_type, law_id, location_id, document_type_id, title, text, law_file_name)\n" +
+        "FROM STDIN WITH (FORMAT csv)"
+    ),
+    /** Updates the staged documents that already exist and inserts the rest, firing the same row triggers
+     *  as {@link #UPDATE_LAW_DOCUMENT} and {@link #INSERT_LAW_DOCUMENT}. */
+    MERGE_LAW_DOCUMENT_STAGE(
+        "WITH updated AS (\n" +
+        "    UPDATE ${schema}." + SqlTable.LAW_DOCUMENT + " d\n" +
+        "    SET document_type = s.document_type, law_id = s.law_id, location_id = s.location_id,\n" +
+        "        document_type_id = s.document_type_id, title = s.title, text = s.text, law_file_name = s.law_file_name\n" +
+        "    FROM law_document_stage s\n" +
+        "    WHERE d.document_id = s.document_id AND d.published_date = s.published_date\n" +
+        "    RETURNING d.document_id, d.published_date\n" +
+        ")\n" +
+        "INSERT INTO ${schema}." + SqlTable.LAW_DOCUMENT + "\n" +
+        "(document_id, published_date, document_type, law_id, location_id, document_type_id, title, text, law_file_name)\n" +
+        "SELECT s.document_id, s.published_date, s.document_type, s.law_id, s.location_id, s.document_type_id,\n" +
+        "       s.title, s.text, s.law_file_name\n" +
+        "FROM law_document_stage s\n" +
+        "WHERE NOT EXISTS (\n" +
+        "    SELECT 1 FROM updated u WHERE u.document_id = s.document_id AND u.published_date = s.published_date\n" +
+        ")"
+    ),
+
     /** --- Law Trees --- */
 
     SELECT_MAX_PUB_DATE(
@@ -77,12 +128,25 @@ public enum SqlLawDataQuery implements BasicSqlQuery
         "WHERE t.repealed_date IS NOT NULL" +
         "  AND created_date_time BETWEEN :startDateTime AND :endDateTime"
     ),
-    INSERT_LAW_TREE(
+    CREATE_LAW_TREE_STAGE(
+        "CREATE TEMPORARY TABLE IF NOT EXISTS law_tree_stage\n" +
+        "(LIKE ${schema}." + SqlTable.LAW_TREE + " INCLUDING DEFAULTS) ON COMMIT DROP;\n" +
+        "TRUNCATE law_tree_stage"
+    ),
+    COPY_LAW_TREE_STAGE(
+        "COPY law_tree_stage\n" +
+        "(law_id, published_date, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
+        " sequence_no, repealed_date, law_file)\n" +
+        "FROM STDIN WITH (FORMAT csv)"
+    ),
+    INSERT_LAW_TREE_STAGE(
         "INSERT INTO ${schema}." + SqlTable.LAW_TREE + "\n" +
         "(law_id, published_date, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
         " sequence_no, repealed_date, law_file)\n" +
-        "VALUES (:lawId, :publishedDate, :docId, :docPublishedDate, :parentDocId, :parentDocPublishedDate, :isRoot, " +
-        "        :sequenceNo, :repealedDate, :lawFileName)"
+        "SELECT law_id, published_date, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
+        "       sequence_no, repealed_date, law_file\n" +
+        "FROM law_tree_stage\n" +
+        "ORDER BY sequence_no"
     ),
     DELETE_TREE(
         "DELETE FROM ${schema}." + SqlTable.LAW_TREE + "\n" +
@@ -5,6 +5,7 @@ import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.law.LawDocId;
 import gov.nysenate.openleg.model.law.LawVersionId;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -44,6 +45,22 @@ public class SqlLawUpdatesDao extends SqlBaseDao implements LawUpdatesDao
         return handler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CursorPaginatedList<UpdateDigest<LawDocId>> getDetailedUpdatesAfter(
+        Range<LocalDateTime> dateTimeRange, UpdateType type, SortOrder dateOrder,
+        UpdateCursor cursor, int limit, boolean estimateTotal) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        addDateTimeRangeParams(params, dateTimeRange);
+        addUpdateCursorParams(params, cursor);
+        String sql = getCursorQuery(type, dateOrder, cursor, limit);
+        UpdateCursorRowHandler<UpdateDigest<LawDocId>> handler =
+            new UpdateCursorRowHandler<>(limit, type, UpdateContentType.LAW, lawDocIdUpdateDigestMapper);
+        jdbcNamed.query(sql, params, handler);
+        int total = estimateTotal ? getEstimatedRowCount(getCursorQuery(type, dateOrder, null, 0), params) : -1;
+        return handler.getList(total);
+    }
+
     /** {@inheritDoc} */
     @Override
     public PaginatedList<UpdateDigest<LawDocId>> getDetailedUpdatesForLaw(
@@ -87,6 +104,18 @@ public class SqlLawUpdatesDao extends SqlBaseDao implements LawUpdatesDao
         return queryReplace(sql, "dateColumn", dateColumn);
     }
 
+    /**
+     * Generates a query for the digests following the given cursor.
+     * An extra row is requested so that the row handler can determine if there is a next page.
+     */
+    private String getCursorQuery(UpdateType type, SortOrder dateOrder, UpdateCursor cursor, int limit) {
+        LimitOffset limitOffset = limit > 0 ? new LimitOffset(limit + 1) : LimitOffset.ALL;
+        String sql = SELECT_LAW_UPDATE_DIGESTS_AFTER_CURSOR.getSql(
+                schema(), getUpdateCursorOrderBy(type, dateOrder), limitOffset);
+        sql = queryReplace(sql, "cursorClause", getUpdateCursorClause(cursor, UpdateContentType.LAW, type, dateOrder));
+        return queryReplace(sql, "dateColumn", getDateColumnForUpdateType(type));
+    }
+
     private static final RowMapper<UpdateToken<LawVersionId>> lawIdUpdateTokenMapper = (rs, rowNum) -> {
         LocalDateTime lastPubDateTime = getLocalDateTimeFromRs(rs, "last_published_date_time");
         return new UpdateToken<>(new LawVersionId(rs.getString("law_id"), lastPubDateTime.toLocalDate()), UpdateContentType.LAW,
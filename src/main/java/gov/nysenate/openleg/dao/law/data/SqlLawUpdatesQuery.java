@@ -25,6 +25,12 @@ public enum SqlLawUpdatesQuery implements BasicSqlQuery
         "table_name, action\n"
     ),
 
+    SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT(
+        "id AS change_id, law_file_name AS last_source_file, action_date_time AS last_processed_date_time, \n" +
+        "published_date_time AS last_published_date_time,\n" +
+        "table_name, action\n"
+    ),
+
     SELECT_LAW_UPDATE_TOKENS(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
             "law_id, " + SELECT_COLUMNS_FOR_TOKEN_FRAGMENT.sql,
@@ -39,6 +45,13 @@ public enum SqlLawUpdatesQuery implements BasicSqlQuery
             "")
     ),
 
+    SELECT_LAW_UPDATE_DIGESTS_AFTER_CURSOR(
+        String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
+            "law_id, document_id, " + SELECT_COLUMNS_FOR_CURSOR_DIGEST_FRAGMENT.sql,
+            "${cursorClause}",
+            "")
+    ),
+
     SELECT_LAW_UPDATE_DIGESTS_FOR_LAW(
         String.format(SELECT_LAW_UPDATES_FRAGMENT.sql,
             "law_id, document_id, " + SELECT_COLUMNS_FOR_DIGEST_FRAGMENT.sql,
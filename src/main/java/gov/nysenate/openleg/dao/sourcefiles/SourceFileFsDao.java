@@ -37,6 +37,13 @@ public interface SourceFileFsDao<FileType extends SourceFile> {
      */
     List<FileType> getIncomingSourceFiles(SortOrder sortByFileName, LimitOffset limOff) throws IOException;
 
+    /**
+     * Lists the incoming directory again before the next call to {@link #getIncomingSourceFiles}.
+     * Between rescans, files that arrive or are removed are tracked incrementally, which may miss changes
+     * made by other hosts on shared file systems.
+     */
+    void rescanIncomingSourceFiles();
+
     /**
      * Archives the given source file, ensuring that it is no longer in the incoming directory
      * and placing it in the archive directory
@@ -6,21 +6,21 @@ import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.dao.sourcefiles.SourceFileFsDao;
 import gov.nysenate.openleg.model.sourcefiles.SourceType;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFile;
+import gov.nysenate.openleg.util.IncomingFileIndex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
-import static gov.nysenate.openleg.util.FileIOUtils.getSortedFiles;
 import static gov.nysenate.openleg.util.FileIOUtils.moveFile;
 
 /**
@@ -44,10 +44,21 @@ public class FsSobiDao implements SourceFileFsDao<SobiFile> {
      */
     private File archiveSobiDir;
 
+    /**
+     * Sorted index of the files in the incoming sobi directory.
+     */
+    private IncomingFileIndex incomingFiles;
+
     @PostConstruct
     protected void init() {
         incomingSobiDir = new File(environment.getStagingDir(), "sobis");
         archiveSobiDir = new File(environment.getArchiveDir(), "sobis");
+        incomingFiles = new IncomingFileIndex(incomingSobiDir);
+    }
+
+    @PreDestroy
+    protected void shutdown() throws IOException {
+        incomingFiles.close();
     }
 
     /** --- Implemented Methods --- */
@@ -63,11 +74,7 @@ public class FsSobiDao implements SourceFileFsDao<SobiFile> {
     @Override
     public List<SobiFile> getIncomingSourceFiles(SortOrder sortByFileName,
                                                  LimitOffset limitOffset) throws IOException {
-        List<File> files = new ArrayList<>(getSortedFiles(incomingSobiDir, false, null));
-        if (sortByFileName == SortOrder.DESC) {
-            Collections.reverse(files);
-        }
-        files = LimitOffset.limitList(files, limitOffset);
+        List<File> files = incomingFiles.getSortedFiles(sortByFileName, limitOffset);
         List<SobiFile> sobiFiles = new ArrayList<>();
         for (File file : files) {
             sobiFiles.add(new SobiFile(file));
@@ -75,6 +82,14 @@ public class FsSobiDao implements SourceFileFsDao<SobiFile> {
         return sobiFiles;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rescanIncomingSourceFiles() {
+        incomingFiles.rescan();
+    }
+
     /**
      * Method archives SobiFile. Moves SourceFile from staging to archive.
      *
@@ -89,6 +104,7 @@ public class FsSobiDao implements SourceFileFsDao<SobiFile> {
             File archiveFile = getFileInArchiveDir(sourceFile.getFileName(),
                     sourceFile.getPublishedDateTime());
             moveFile(stageFile, archiveFile);
+            incomingFiles.remove(stageFile);
             sourceFile.setFile(archiveFile);
             sourceFile.setArchived(true);
         } else {
@@ -7,22 +7,21 @@ import gov.nysenate.openleg.dao.sourcefiles.SourceFileFsDao;
 import gov.nysenate.openleg.model.sourcefiles.SourceType;
 import gov.nysenate.openleg.model.sourcefiles.xml.XmlFile;
 import gov.nysenate.openleg.util.FileIOUtils;
+import gov.nysenate.openleg.util.IncomingFileIndex;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
-import static gov.nysenate.openleg.util.FileIOUtils.getSortedFiles;
-
 /**
  * Created by Robert Bebber on 4/12/17.
  */
@@ -36,6 +35,7 @@ public class FsXmlDao implements SourceFileFsDao<XmlFile> {
     protected Environment environment;
     private File incomingSourceDir;
     private File archiveSourceDir;
+    private IncomingFileIndex incomingFiles;
     private Pattern xmlType = Pattern.compile("(?:_)(\\w+)(?:_)");
 
     /**
@@ -45,6 +45,12 @@ public class FsXmlDao implements SourceFileFsDao<XmlFile> {
     protected void init() {
         incomingSourceDir = new File(environment.getStagingDir(), "xmls");
         archiveSourceDir = new File(environment.getArchiveDir(), "xmls");
+        incomingFiles = new IncomingFileIndex(incomingSourceDir);
+    }
+
+    @PreDestroy
+    protected void shutdown() throws IOException {
+        incomingFiles.close();
     }
 
     @Override
@@ -58,11 +64,7 @@ public class FsXmlDao implements SourceFileFsDao<XmlFile> {
     @Override
     public List<XmlFile> getIncomingSourceFiles(SortOrder sortByFileName,
                                                LimitOffset limitOffset) throws IOException {
-        List<File> files = new ArrayList<>(getSortedFiles(incomingSourceDir, false, null));
-        if (sortByFileName == SortOrder.DESC) {
-            Collections.reverse(files);
-        }
-        files = LimitOffset.limitList(files, limitOffset);
+        List<File> files = incomingFiles.getSortedFiles(sortByFileName, limitOffset);
         List<XmlFile> xmlFile = new ArrayList<>();
         for (File file : files) {
             xmlFile.add(toXmlFile(file));
@@ -70,6 +72,14 @@ public class FsXmlDao implements SourceFileFsDao<XmlFile> {
         return xmlFile;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void rescanIncomingSourceFiles() {
+        incomingFiles.rescan();
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -81,6 +91,7 @@ public class FsXmlDao implements SourceFileFsDao<XmlFile> {
             File archiveFile = getFileInArchiveDir(xmlFile.getFileName(),
                     xmlFile.getPublishedDateTime());
             FileIOUtils.moveFile(stageFile, archiveFile);
+            incomingFiles.remove(stageFile);
             xmlFile.setFile(archiveFile);
             xmlFile.setArchived(true);
         } else {
@@ -1,5 +1,6 @@
 package gov.nysenate.openleg.dao.spotcheck;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.base.SessionYear;
@@ -9,6 +10,7 @@ import gov.nysenate.openleg.service.spotcheck.base.MismatchUtils;
 import gov.nysenate.openleg.util.SpotCheckReportUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -36,6 +38,10 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
         implements SpotCheckReportDao<ContentKey> {
     private static final Logger logger = LoggerFactory.getLogger(AbstractSpotCheckReportDao.class);
 
+    /** The number of observed content keys that are reconciled and saved together. */
+    @Value("${spotcheck.report.save.chunk.size:1000}")
+    private int saveChunkSize;
+
     /** --- Abstract Methods --- */
 
     /**
@@ -164,6 +170,11 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
 
     /**
      * {@inheritDoc}
+     *
+     * The observed content keys are saved in chunks of {@link #saveChunkSize} keys.  Each chunk loads the saved
+     * mismatches for its own keys, reconciles them with the chunk's new mismatches and inserts the result, so the
+     * memory used while saving does not grow with the report.  The chunks are saved one after another on the calling
+     * thread so that every insert joins the caller's transaction along with the report row they reference.
      */
     @Override
     public void saveReport(SpotCheckReport<ContentKey> report) {
@@ -175,27 +186,32 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
             return;
         }
 
-        List<DeNormSpotCheckMismatch> reportMismatches = reportToDeNormMismatches(report);
-        List<DeNormSpotCheckMismatch> savedMismatches = getRelevantSavedMismatches(report);
+        Lists.partition(new ArrayList<>(report.getObservations().keySet()), Math.max(saveChunkSize, 1))
+                .forEach(keys -> saveReportChunk(report, keys));
+    }
 
-        reportMismatches.addAll(MismatchUtils.deriveClosedMismatches(reportMismatches, savedMismatches, report));
-        reportMismatches = MismatchUtils.copyIgnoreStatuses(savedMismatches, reportMismatches);
-        reportMismatches = MismatchUtils.updateIgnoreStatus(reportMismatches);
-        reportMismatches = MismatchUtils.updateFirstSeenDateTime(reportMismatches, savedMismatches);
+    /**
+     * Reconciles and saves the mismatches for the given subset of the report's observed keys.
+     */
+    private void saveReportChunk(SpotCheckReport<ContentKey> report, List<ContentKey> keys) {
+        Set<ContentKey> checkedKeys = new HashSet<>(keys);
+        List<DeNormSpotCheckMismatch> reportMismatches = reportToDeNormMismatches(report, keys);
+        List<DeNormSpotCheckMismatch> savedMismatches = getRelevantSavedMismatches(report, checkedKeys);
 
-        insertMismatches(reportMismatches);
+        insertMismatches(MismatchUtils.reconcile(reportMismatches, savedMismatches, report, checkedKeys));
     }
 
     /**
-     * Gets any open mismatches for the content observed in the report
+     * Gets any open mismatches for the given content keys observed in the report
      */
-    private List<DeNormSpotCheckMismatch> getRelevantSavedMismatches(SpotCheckReport<ContentKey> report) {
+    private List<DeNormSpotCheckMismatch> getRelevantSavedMismatches(SpotCheckReport<ContentKey> report,
+                                                                     Set<ContentKey> keys) {
         MismatchQuery<ContentKey> query = new MismatchQuery<ContentKey>(report.getReportDateTime().toLocalDate(),
                                                 report.getReferenceType().getDataSource(),
                                                 MismatchStatus.OPEN,
                                                 Sets.newHashSet(report.getReferenceType().getContentType()))
                 .withIgnoredStatuses(EnumSet.allOf(SpotCheckMismatchIgnore.class))
-                .withKeys(report.getCheckedKeys());
+                .withKeys(keys);
         return getMismatches(query, LimitOffset.ALL).getResults();
     }
 
@@ -207,11 +223,14 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
     }
 
     private void insertMismatches(List<DeNormSpotCheckMismatch> mismatches) {
-        List<MapSqlParameterSource> params = mismatches.stream()
+        if (mismatches.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] params = mismatches.stream()
                 .map(this::mismatchParams)
-                .collect(Collectors.toList());
+                .toArray(MapSqlParameterSource[]::new);
         String sql = INSERT_MISMATCH.getSql(schema());
-        jdbcNamed.batchUpdate(sql, params.stream().toArray(MapSqlParameterSource[]::new));
+        jdbcNamed.batchUpdate(sql, params);
     }
 
     /**
@@ -245,12 +264,14 @@ public abstract class AbstractSpotCheckReportDao<ContentKey> extends SqlBaseDao
     }
 
     /**
-     * Converts SpotCheckMismatches in a SpotCheckReport into DeNormSpotCheckMismaches.
+     * Converts SpotCheckMismatches in a SpotCheckReport for the given keys into DeNormSpotCheckMismaches.
      * Initializes firstSeenDateTime to the observedDateTime.
      */
-    private List<DeNormSpotCheckMismatch> reportToDeNormMismatches(SpotCheckReport<ContentKey> report) {
+    private List<DeNormSpotCheckMismatch> reportToDeNormMismatches(SpotCheckReport<ContentKey> report,
+                                                                   List<ContentKey> keys) {
         List<DeNormSpotCheckMismatch> mismatches = new ArrayList<>();
-        for (SpotCheckObservation<ContentKey> ob : report.getObservations().values()) {
+        for (ContentKey key : keys) {
+            SpotCheckObservation<ContentKey> ob = report.getObservations().get(key);
             // Skip if no mismatches in the observation
             if (ob.getMismatches().size() == 0) {
                 continue;
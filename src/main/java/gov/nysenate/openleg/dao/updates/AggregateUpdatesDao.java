@@ -1,10 +1,12 @@
 package gov.nysenate.openleg.dao.updates;
 
 import com.google.common.collect.Range;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.PaginatedList;
 import gov.nysenate.openleg.dao.base.SortOrder;
 import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
 import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateToken;
 import gov.nysenate.openleg.model.updates.UpdateType;
@@ -49,6 +51,23 @@ public interface AggregateUpdatesDao {
                                                                              SortOrder order, LimitOffset limitOffset,
                                                                              boolean detail);
 
+    /**
+     * Gets the update digests that follow the given cursor, for all content items of the requested types that fall
+     *  within the given time range.  Digests are ordered by update date time, content type and change id.
+     *  Unlike {@link #getUpdateDigests}, the cost of retrieving a page does not grow with its depth into the range.
+     *
+     * @param cursor UpdateCursor - continue from this cursor, or start at the beginning of the range if null
+     * @param limit int - the maximum number of digests to return
+     * @param detail boolean - will return detailed update digests if set to true
+     * @param estimateTotal boolean - include an estimate of the total number of digests in the range if true
+     * @see #getUpdateDigests for other param details
+     * @return CursorPaginatedList<UpdateDigest<Map<String, String>>>
+     */
+    public CursorPaginatedList<UpdateDigest<Map<String, String>>> getUpdateDigestsAfter(Range<LocalDateTime> dateTimeRange,
+                                                                                        Set<UpdateContentType> types, UpdateType updateType,
+                                                                                        SortOrder order, UpdateCursor cursor, int limit,
+                                                                                        boolean detail, boolean estimateTotal);
+
     /**
      * An override of getUpdateDigests that does not return detailed digests
      * @see #getUpdateDigests
@@ -5,10 +5,12 @@ import com.google.common.collect.Range;
 import gov.nysenate.openleg.dao.base.*;
 import gov.nysenate.openleg.model.updates.*;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.stereotype.Repository;
 
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -42,6 +44,42 @@ public class SqlAggregateUpdatesDao extends SqlBaseDao implements AggregateUpdat
         return rowHandler.getList();
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public CursorPaginatedList<UpdateDigest<Map<String, String>>> getUpdateDigestsAfter(
+            Range<LocalDateTime> dateTimeRange, Set<UpdateContentType> types, UpdateType updateType, SortOrder order,
+            UpdateCursor cursor, int limit, boolean detail, boolean estimateTotal) {
+        MapSqlParameterSource params = getDateTimeRangeParams(dateTimeRange);
+        addUpdateCursorParams(params, cursor);
+        String query = buildCursorQuery(schema(), order, getCursorClauses(cursor, types, updateType, order),
+                limit + 1, detail, updateType);
+        UpdateCursorRowHandler<UpdateDigest<Map<String, String>>> rowHandler =
+                new UpdateCursorRowHandler<>(limit, updateType, null, aggregateUpdateDigestRowMapper);
+        jdbcNamed.query(query, params, rowHandler);
+        int total = -1;
+        if (estimateTotal) {
+            String countQuery = buildCursorQuery(schema(), order, getCursorClauses(null, types, updateType, order),
+                    0, detail, updateType);
+            total = getEstimatedRowCount(countQuery, params);
+        }
+        return rowHandler.getList(total);
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Gets a where clause for each of the given content types' change logs that restricts them to rows
+     * following the cursor.
+     */
+    private Map<UpdateContentType, String> getCursorClauses(UpdateCursor cursor, Set<UpdateContentType> types,
+                                                            UpdateType updateType, SortOrder order) {
+        Map<UpdateContentType, String> cursorClauses = new EnumMap<>(UpdateContentType.class);
+        for (UpdateContentType type : types) {
+            cursorClauses.put(type, getUpdateCursorClause(cursor, type, updateType, order));
+        }
+        return cursorClauses;
+    }
+
     protected static final RowMapper<UpdateToken<Map<String, String>>> aggregateUpdateTokenRowMapper = (rs, num) ->
             new UpdateToken<>(getHstoreMap(rs, "id"),
                     UpdateContentType.getValue(rs.getString("content_type")),
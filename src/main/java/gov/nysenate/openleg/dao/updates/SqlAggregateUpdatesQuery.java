@@ -9,6 +9,7 @@ import org.apache.commons.lang3.text.StrSubstitutor;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
 
@@ -19,6 +20,13 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         ") AS aggregate_query\n"
     ),
 
+    SELECT_AGGREGATE_UPDATES_AFTER_CURSOR(
+        "SELECT *\n" +
+        "FROM (\n" +
+            "%s\n" +
+        ") AS aggregate_query\n"
+    ),
+
     /** --- Standard Table Templates --- */
 
     STANDARD_UPDATE_SUBQUERY(
@@ -32,6 +40,9 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         "\t\tpublished_date_time AS last_published_date_time,\n" +
         "\t\ttable_name, action"
     ),
+    CURSOR_COLUMNS(
+        "id AS change_id, "
+    ),
     STANDARD_TOKEN_COLUMNS(
         "MAX(%s) AS last_source_id, MAX(action_date_time) AS last_processed_date_time, \n" +
         "\t\tMAX(published_date_time) AS last_published_date_time"
@@ -139,43 +150,97 @@ public enum SqlAggregateUpdatesQuery implements BasicSqlQuery {
         return aggregateQuery;
     }
 
+    /**
+     * Generates a query for the update digests that follow a cursor.
+     *
+     * Each content type's change log is queried separately for the digests following its cursor clause,
+     * in update date time and change id order, limited to the requested count.  This allows each subquery to be
+     * an index range scan, whose results are then merged by the outer query.
+     *
+     * @param schema String - The name of the master schema
+     * @param order SortOrder - Ordering for the query
+     * @param cursorClauses Map<UpdateContentType, String> - Where clauses restricting each content type's
+     *                      change log to rows after the cursor, mapped for each content type to be retrieved
+     * @param limit int - The maximum number of rows to return, 0 for no limit
+     * @param detail boolean - Retrieve detailed digests if true
+     * @param updateType UpdateType - Determines which date column is used in the query
+     * @return String - An aggregate update digests query string
+     */
+    public static String buildCursorQuery(String schema, SortOrder order, Map<UpdateContentType, String> cursorClauses,
+                                          int limit, boolean detail, UpdateType updateType) {
+        String dateColumn = updateType == UpdateType.PROCESSED_DATE ? "action_date_time" : "published_date_time";
+        UpdateReturnType returnType = detail ? UpdateReturnType.DETAIL_DIGEST : UpdateReturnType.DIGEST;
+        LimitOffset limOff = limit > 0 ? new LimitOffset(limit) : LimitOffset.ALL;
+        String subquery = cursorClauses.entrySet().stream()
+                .map(entry -> "(" + getUpdateSubquery(entry.getKey(), returnType, schema) + "\n\t" +
+                        entry.getValue() + getCursorOrderByClause(entry.getKey(), dateColumn, order) +
+                        SqlQueryUtils.getLimitOffsetClause(limOff) + ")")
+                .collect(Collectors.joining("\nUNION ALL\n"));
+        OrderBy orderBy = new OrderBy(
+                updateType == UpdateType.PROCESSED_DATE ? "last_processed_date_time" : "last_published_date_time", order,
+                "content_type", order, "change_id", order);
+        String aggregateQuery = String.format(
+                SELECT_AGGREGATE_UPDATES_AFTER_CURSOR.getSql(schema, orderBy, limOff), subquery);
+        Map<String, String> replaceMap = ImmutableMap.<String, String>builder()
+                .put("legDataColumns", CURSOR_COLUMNS.sql + getColumnReplaceMap(returnType).get("legDataColumns"))
+                .put("lawColumns", CURSOR_COLUMNS.sql + getColumnReplaceMap(returnType).get("lawColumns"))
+                .put("dateColumn", dateColumn)
+                .build();
+        return StrSubstitutor.replace(aggregateQuery, replaceMap);
+    }
+
     /**
      * Generates a subquery containing the union of updates queries for each represented content type
      */
     private static String generateSubquery(Set<UpdateContentType> contentTypes, UpdateReturnType returnType, String schema) {
-        StringBuilder subqueryBuilder = new StringBuilder();
-        boolean first = true;
-        for (UpdateContentType contentType : contentTypes) {
-            if (first) { first = false; }
-            else { subqueryBuilder.append("\nUNION ALL\n"); }
-            switch (contentType) {
-                case AGENDA:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(AGENDA_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(AGENDA_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case BILL:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(BILL_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(BILL_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case CALENDAR:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(CALENDAR_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(CALENDAR_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-                case LAW:
-                    if (returnType == UpdateReturnType.TOKEN) {
-                        subqueryBuilder.append(LAW_UPDATE_TOKEN_SUBQUERY.getSql(schema));
-                    } else {
-                        subqueryBuilder.append(LAW_UPDATE_SUBQUERY.getSql(schema));
-                    } break;
-            }
+        return contentTypes.stream()
+                .map(contentType -> getUpdateSubquery(contentType, returnType, schema))
+                .collect(Collectors.joining("\nUNION ALL\n"));
+    }
+
+    /**
+     * Returns the updates query for a single content type
+     */
+    private static String getUpdateSubquery(UpdateContentType contentType, UpdateReturnType returnType, String schema) {
+        boolean token = returnType == UpdateReturnType.TOKEN;
+        switch (contentType) {
+            case AGENDA:
+                return (token ? AGENDA_UPDATE_TOKEN_SUBQUERY : AGENDA_UPDATE_SUBQUERY).getSql(schema);
+            case BILL:
+                return (token ? BILL_UPDATE_TOKEN_SUBQUERY : BILL_UPDATE_SUBQUERY).getSql(schema);
+            case CALENDAR:
+                return (token ? CALENDAR_UPDATE_TOKEN_SUBQUERY : CALENDAR_UPDATE_SUBQUERY).getSql(schema);
+            case LAW:
+                return (token ? LAW_UPDATE_TOKEN_SUBQUERY : LAW_UPDATE_SUBQUERY).getSql(schema);
+        }
+        throw new IllegalArgumentException("Unknown update content type: " + contentType);
+    }
+
+    /**
+     * Returns the order by clause for a content type's cursor subquery, which orders by the update date time and
+     * the change log id that the cursor clause compares against.  The change log id must be qualified with the
+     * table name, since an unqualified "id" refers to the subquery's content id array.
+     */
+    private static String getCursorOrderByClause(UpdateContentType contentType, String dateColumn, SortOrder order) {
+        return SqlQueryUtils.getOrderByClause(
+                new OrderBy(dateColumn, order, getChangeLogTable(contentType) + ".id", order));
+    }
+
+    /**
+     * Returns the change log table for a single content type
+     */
+    private static SqlTable getChangeLogTable(UpdateContentType contentType) {
+        switch (contentType) {
+            case AGENDA:
+                return SqlTable.AGENDA_CHANGE_LOG;
+            case BILL:
+                return SqlTable.BILL_CHANGE_LOG;
+            case CALENDAR:
+                return SqlTable.CALENDAR_CHANGE_LOG;
+            case LAW:
+                return SqlTable.LAW_CHANGE_LOG;
         }
-        return subqueryBuilder.toString();
+        throw new IllegalArgumentException("Unknown update content type: " + contentType);
     }
 
     /**
@@ -17,6 +17,9 @@ public class BaseBillId extends BillId implements Serializable
 
     public static String basePrintNumberRegex = "([ASLREJKBC])([0-9]{1,5})";
 
+    /** The largest print number that fits in the 24 bits reserved for it in a packed key. */
+    public static final int MAX_PACKED_NUMBER = 0xFFFFFF;
+
     public BaseBillId(String printNo, int session) {
         this(printNo, SessionYear.of(session));
     }
@@ -43,6 +46,50 @@ public class BaseBillId extends BillId implements Serializable
         return new BillId(this.basePrintNo, this.session, version);
     }
 
+    /**
+     * Indicates if this bill id can be packed via {@link #toPackedKey()}, i.e. if its print number
+     * fits within {@link #MAX_PACKED_NUMBER}.
+     *
+     * @return boolean
+     */
+    @JsonIgnore
+    public boolean hasPackedKey() {
+        // Leading zeros are trimmed from print numbers, so a number with more than 8 digits is out of range
+        String digits = basePrintNo.substring(1);
+        return !digits.isEmpty() && digits.length() <= 8 && Integer.parseInt(digits) <= MAX_PACKED_NUMBER;
+    }
+
+    /**
+     * Packs this bill id into a single long, e.g. for use as a primitive cache key.
+     * The session year occupies the upper 32 bits, the bill type ordinal the next 8 and
+     * the print number the lower 24 bits. The packed value can be converted back via {@link #fromPackedKey(long)}.
+     *
+     * @return long
+     * @throws IllegalArgumentException if the print number is larger than {@link #MAX_PACKED_NUMBER},
+     *                                  see {@link #hasPackedKey()}
+     */
+    @JsonIgnore
+    public long toPackedKey() {
+        if (!hasPackedKey()) {
+            throw new IllegalArgumentException("Cannot pack bill id " + this + ": print number exceeds " + MAX_PACKED_NUMBER);
+        }
+        int number = Integer.parseInt(basePrintNo.substring(1));
+        return ((long) session.getYear() << 32) | ((long) getBillType().ordinal() << 24) | number;
+    }
+
+    /**
+     * Reverses {@link #toPackedKey()}.
+     *
+     * @param packedKey long
+     * @return BaseBillId
+     */
+    public static BaseBillId fromPackedKey(long packedKey) {
+        int year = (int) (packedKey >>> 32);
+        BillType billType = BillType.values()[(int) ((packedKey >>> 24) & 0xFF)];
+        int number = (int) (packedKey & 0xFFFFFFL);
+        return new BaseBillId(billType.name() + number, year);
+    }
+
     /**
      * Return the base version by default since version info is to be ignored.
      */
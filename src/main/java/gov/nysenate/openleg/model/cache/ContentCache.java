@@ -14,6 +14,7 @@ public enum ContentCache
     AGENDA,
     CALENDAR,
     LAW,
+    LAW_DOC,
     COMMITTEE,
     SESSION_MEMBER, //Session Member
     FULL_MEMBER, //Member
@@ -0,0 +1,76 @@
+package gov.nysenate.openleg.model.law;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The published versions of a single law document, sorted by published date.
+ *
+ * Each version is in effect from its published date until the published date of the next version,
+ * so the version of the document as of any date can be found with a binary search over the dates.
+ */
+public class LawDocVersions
+{
+    /** The document id of the law document. */
+    private final String documentId;
+
+    /** The published dates of the versions, in ascending order. */
+    private final LocalDate[] publishedDates;
+
+    /** The versions, in the same order as their published dates. */
+    private final LawDocument[] versions;
+
+    /** --- Constructors --- */
+
+    /**
+     * @param documentId String
+     * @param versions List<LawDocument> - all versions of the document, in any order
+     */
+    public LawDocVersions(String documentId, List<LawDocument> versions) {
+        this.documentId = documentId;
+        this.versions = versions.stream()
+                .sorted(Comparator.comparing(LawDocument::getPublishedDate))
+                .toArray(LawDocument[]::new);
+        this.publishedDates = new LocalDate[this.versions.length];
+        for (int i = 0; i < this.versions.length; i++) {
+            publishedDates[i] = this.versions[i].getPublishedDate();
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Gets the version of the document as of the given date, i.e. the version with the latest published date
+     * that is on or before the date.
+     *
+     * @param endPublishedDate LocalDate
+     * @return Optional<LawDocument> - empty if the document was not published on or before the date
+     */
+    public Optional<LawDocument> getVersion(LocalDate endPublishedDate) {
+        int low = 0;
+        int high = publishedDates.length - 1;
+        // Find the last published date that is <= endPublishedDate
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (publishedDates[mid].isAfter(endPublishedDate)) {
+                high = mid - 1;
+            }
+            else {
+                low = mid + 1;
+            }
+        }
+        return (high >= 0) ? Optional.of(versions[high]) : Optional.empty();
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getDocumentId() {
+        return documentId;
+    }
+
+    public int getVersionCount() {
+        return versions.length;
+    }
+}
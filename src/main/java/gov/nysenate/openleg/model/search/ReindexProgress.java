@@ -0,0 +1,99 @@
+package gov.nysenate.openleg.model.search;
+
+import com.google.common.collect.ImmutableList;
+import gov.nysenate.openleg.dao.base.SearchIndex;
+import gov.nysenate.openleg.util.pipeline.Pipeline;
+import gov.nysenate.openleg.util.pipeline.PipelineStageStats;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tracks the progress of a pipelined search index rebuild.
+ */
+public class ReindexProgress
+{
+    /** The index being rebuilt */
+    private final SearchIndex searchIndex;
+
+    /** The number of items that were queued for indexing */
+    private final int totalItems;
+
+    /** The number of documents sent to the index so far */
+    private final AtomicLong indexedDocs = new AtomicLong();
+
+    private final LocalDateTime startDateTime;
+    private volatile LocalDateTime endDateTime;
+    private volatile boolean failed = false;
+
+    /** The pipeline performing the reindex, used to report stage statistics */
+    private volatile Pipeline<?> pipeline;
+
+    public ReindexProgress(SearchIndex searchIndex, int totalItems) {
+        this.searchIndex = searchIndex;
+        this.totalItems = totalItems;
+        this.startDateTime = LocalDateTime.now();
+    }
+
+    /** --- Methods --- */
+
+    public void addIndexedDocs(long count) {
+        indexedDocs.addAndGet(count);
+    }
+
+    public void finish(boolean failed) {
+        this.failed = failed;
+        this.endDateTime = LocalDateTime.now();
+    }
+
+    public boolean isRunning() {
+        return endDateTime == null;
+    }
+
+    /**
+     * @return double - the average number of documents indexed per second since the reindex started
+     */
+    public double getDocsPerSecond() {
+        LocalDateTime end = endDateTime != null ? endDateTime : LocalDateTime.now();
+        long elapsedMs = Duration.between(startDateTime, end).toMillis();
+        return elapsedMs == 0 ? 0 : getIndexedDocs() * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * @return {@link ImmutableList<PipelineStageStats>} - statistics for each reindex stage, if a pipeline is set
+     */
+    public ImmutableList<PipelineStageStats> getStageStats() {
+        return pipeline != null ? pipeline.getStageStats() : ImmutableList.of();
+    }
+
+    /** --- Getters / Setters --- */
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public int getTotalItems() {
+        return totalItems;
+    }
+
+    public long getIndexedDocs() {
+        return indexedDocs.get();
+    }
+
+    public LocalDateTime getStartDateTime() {
+        return startDateTime;
+    }
+
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+
+    public void setPipeline(Pipeline<?> pipeline) {
+        this.pipeline = pipeline;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.google.common.base.MoreObjects;
 
 import gov.nysenate.openleg.dao.base.SqlBaseDao;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiBlockReader;
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,6 +84,22 @@ public abstract class BaseSourceFile implements SourceFile {
         }
     }
     
+    /**
+     * Memory maps the file, decoding its text as it is read.
+     *
+     * @see SobiBlockReader#mapFile(File, String)
+     */
+    @Override
+    @JsonIgnore
+    public CharSequence getTextSequence() {
+        try {
+            return SobiBlockReader.mapFile(file, encoding);
+        }
+        catch (IOException e) {
+            throw new UnreadableLegDataEx(this, e);
+        }
+    }
+
     @Override
     public LocalDateTime getPublishedDateTime() throws InvalidLegDataFileNameEx {
         return null;
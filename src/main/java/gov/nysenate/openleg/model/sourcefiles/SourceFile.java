@@ -14,6 +14,15 @@ public interface SourceFile {
     @JsonIgnore
     String getText();
 
+    /**
+     * The text of the file as a character sequence, which may be read directly from the file
+     * rather than copied into memory. Suited to scanning the text once.
+     */
+    @JsonIgnore
+    default CharSequence getTextSequence() {
+        return getText();
+    }
+
     LocalDateTime getStagedDateTime();
 
     void setStagedDateTime(LocalDateTime l);
@@ -0,0 +1,83 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * A read only view of text in a single byte encoding, backed by a buffer such as a memory mapped file.
+ * Characters are decoded from the buffer as they are read, so no copy of the text is made until
+ * {@link #toString()} is called.
+ */
+final class MappedSobiText implements CharSequence
+{
+    private final ByteBuffer buffer;
+    private final char[] decodeTable;
+    private final int offset;
+    private final int length;
+
+    MappedSobiText(ByteBuffer buffer, Charset charset) {
+        this(buffer, decodeTable(charset), buffer.position(), buffer.remaining());
+    }
+
+    private MappedSobiText(ByteBuffer buffer, char[] decodeTable, int offset, int length) {
+        this.buffer = buffer;
+        this.decodeTable = decodeTable;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @param charset Charset
+     * @return boolean - true if every character of the charset is encoded as exactly one byte
+     */
+    static boolean isSingleByte(Charset charset) {
+        try {
+            return charset.newDecoder().maxCharsPerByte() == 1 && charset.newEncoder().maxBytesPerChar() == 1;
+        } catch (UnsupportedOperationException ex) {
+            return false;
+        }
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("index " + index + " length " + length);
+        }
+        return decodeTable[buffer.get(offset + index) & 0xFF];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end) {
+            throw new IndexOutOfBoundsException("start " + start + " end " + end + " length " + length);
+        }
+        return new MappedSobiText(buffer, decodeTable, offset + start, end - start);
+    }
+
+    @Override
+    public String toString() {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = decodeTable[buffer.get(offset + i) & 0xFF];
+        }
+        return new String(chars);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Decodes every byte value with the charset, giving the same characters as decoding a whole file.
+     */
+    private static char[] decodeTable(Charset charset) {
+        char[] table = new char[256];
+        for (int b = 0; b < table.length; b++) {
+            table[b] = new String(new byte[] {(byte) b}, charset).charAt(0);
+        }
+        return table;
+    }
+}
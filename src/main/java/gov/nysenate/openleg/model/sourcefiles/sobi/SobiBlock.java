@@ -106,6 +106,25 @@ public class SobiBlock
         setStartLineNo(startLineNo);
     }
 
+    /**
+     * Construct a block from its already parsed parts, as read by {@link SobiBlockReader}.
+     */
+    SobiBlock(String fragmentFileName, LegDataFragmentType fragmentType, LocalDateTime publishedDateTime,
+              int startLineNo, int endLineNo, String header, BillId billId, SobiLineType type, String data,
+              boolean multiline) {
+        this.fragmentFileName = fragmentFileName;
+        this.fragmentType = fragmentType;
+        this.publishedDateTime = publishedDateTime;
+        setStartLineNo(startLineNo);
+        setEndLineNo(endLineNo);
+        setHeader(header);
+        setBillHeader(header.substring(0, 11));
+        setBillId(billId);
+        setType(type);
+        setData(data);
+        this.multiline = multiline;
+    }
+
     /* --- Methods --- */
 
     /**
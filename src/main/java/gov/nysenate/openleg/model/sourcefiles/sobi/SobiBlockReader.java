@@ -0,0 +1,214 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Reads SOBI text into {@link SobiBlockView}s in a single pass, without splitting the text into line strings.
+ *
+ * Lines are located by scanning for line breaks and SOBI headers are recognized by checking their fixed width
+ * columns directly, which gives the same blocks as matching each line against {@link SobiBlock#blockPattern}.
+ * The text can be any CharSequence, including a memory mapped SOBI file from {@link #mapFile(File, String)},
+ * so a file can be scanned without decoding it into a string first.
+ *
+ * Lines are separated by '\n' or "\r\n". Null characters are read as spaces.
+ */
+public final class SobiBlockReader
+{
+    private SobiBlockReader() {}
+
+    /**
+     * Reads the blocks of SOBI text.  Lines that are not in the SOBI format end the current block and are skipped.
+     *
+     * @param text CharSequence - SOBI text
+     * @return List<SobiBlockView> - the blocks in the order they occur
+     */
+    public static List<SobiBlockView> readBlocks(CharSequence text) {
+        List<SobiBlockView> blocks = new ArrayList<>();
+        SobiBlockView block = null;
+        int lineNo = 0;
+        for (int lineStart = 0; lineStart < text.length(); lineNo++) {
+            int lineEnd = lineContentEnd(text, lineStart);
+            if (isSobiLine(text, lineStart, lineEnd)) {
+                if (block == null) {
+                    // No active block with a new matching line: create new block
+                    block = new SobiBlockView(text, lineStart, lineEnd, lineNo);
+                }
+                else if (block.isMultiline() && block.hasHeader(lineStart)) {
+                    // Active multi-line block with a new matching line: extend block
+                    block.extend(lineEnd);
+                }
+                else {
+                    // Active block does not match new line or can't be extended: create new block
+                    block.setEndLineNo(lineNo - 1);
+                    blocks.add(block);
+                    SobiBlockView newBlock = new SobiBlockView(text, lineStart, lineEnd, lineNo);
+                    // The law code line can be omitted when blank but it always precedes the 'C' line
+                    if (newBlock.getType() == SobiLineType.SUMMARY && block.getType() != SobiLineType.LAW
+                            && newBlock.hasBillHeader(block)) {
+                        blocks.add(SobiBlockView.blankLawBlock(newBlock));
+                    }
+                    block = newBlock;
+                }
+            }
+            else if (block != null) {
+                // Active block with non-matching line: end the current block.
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
+                block = null;
+            }
+            lineStart = nextLineStart(text, lineEnd);
+        }
+        if (block != null) {
+            block.setEndLineNo(lineNo - 1);
+            blocks.add(block);
+        }
+        return blocks;
+    }
+
+    /**
+     * Iterates over the lines of the text, with null characters replaced by spaces.
+     * Like {@link String#split(String)}, trailing empty lines are omitted.
+     *
+     * @param text CharSequence
+     * @return Iterator<String>
+     */
+    public static Iterator<String> lines(CharSequence text) {
+        int lastContent = text.length();
+        while (lastContent > 0 && text.charAt(lastContent - 1) == '\n') {
+            lastContent--;
+            if (lastContent > 0 && text.charAt(lastContent - 1) == '\r') {
+                lastContent--;
+            }
+        }
+        final int textEnd = lastContent;
+        return new Iterator<String>() {
+            private int lineStart = 0;
+
+            @Override
+            public boolean hasNext() {
+                return lineStart < textEnd;
+            }
+
+            @Override
+            public String next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                int lineEnd = lineContentEnd(text, lineStart);
+                char[] line = new char[lineEnd - lineStart];
+                for (int i = 0; i < line.length; i++) {
+                    char c = text.charAt(lineStart + i);
+                    line[i] = c == '\0' ? ' ' : c;
+                }
+                lineStart = nextLineStart(text, lineEnd);
+                return new String(line);
+            }
+        };
+    }
+
+    /**
+     * Memory maps a SOBI file for reading.  Files in a single byte encoding, such as the CP850 encoding of SOBI files,
+     * are decoded as they are read from the mapped file.  Files in other encodings are read into a string.
+     *
+     * @param file File
+     * @param encoding String - the name of the file's encoding
+     * @return CharSequence - the text of the file
+     * @throws IOException if the file cannot be read
+     */
+    public static CharSequence mapFile(File file, String encoding) throws IOException {
+        Charset charset = Charset.forName(encoding);
+        if (!MappedSobiText.isSingleByte(charset)) {
+            return FileUtils.readFileToString(file, charset);
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            // The mapping remains valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappedSobiText(buffer, charset);
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * @return int - the end of the line starting at the given offset, excluding its line break
+     */
+    static int lineContentEnd(CharSequence text, int lineStart) {
+        int length = text.length();
+        for (int i = lineStart; i < length; i++) {
+            if (text.charAt(i) == '\n') {
+                return i > lineStart && text.charAt(i - 1) == '\r' ? i - 1 : i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * @return int - the start of the line following a line that ends at the given offset
+     */
+    static int nextLineStart(CharSequence text, int lineEnd) {
+        if (lineEnd < text.length() && text.charAt(lineEnd) == '\r') {
+            lineEnd++;
+        }
+        return lineEnd + 1;
+    }
+
+    /**
+     * Compares two regions of the text, treating null characters as spaces.
+     */
+    static boolean regionMatches(CharSequence text, int offset1, int offset2, int length) {
+        for (int i = 0; i < length; i++) {
+            if (normalize(text.charAt(offset1 + i)) != normalize(text.charAt(offset2 + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks the header columns of a line, equivalent to matching {@link SobiBlock#blockPattern}.
+     */
+    private static boolean isSobiLine(CharSequence text, int lineStart, int lineEnd) {
+        if (lineEnd - lineStart < SobiBlockView.headerLength) {
+            return false;
+        }
+        for (int i = 0; i < 4; i++) {
+            if (!isDigit(text.charAt(lineStart + i))) {
+                return false;
+            }
+        }
+        if (!isUpper(text.charAt(lineStart + 4))) {
+            return false;
+        }
+        for (int i = 5; i < 10; i++) {
+            if (!isDigit(text.charAt(lineStart + i))) {
+                return false;
+            }
+        }
+        char version = normalize(text.charAt(lineStart + 10));
+        char lineType = text.charAt(lineStart + 11);
+        return (version == ' ' || isUpper(version)) && ((lineType >= '1' && lineType <= '9') || isUpper(lineType));
+    }
+
+    private static char normalize(char c) {
+        return c == '\0' ? ' ' : c;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isUpper(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+}
@@ -0,0 +1,205 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A lightweight view of a {@link SobiBlock} within SOBI text, as produced by {@link SobiBlockReader}.
+ *
+ * The view holds only the offsets of the block within the text and its parsed line type.
+ * The header and data strings are copied out of the text only when requested.
+ * Null characters in the text are read as spaces.
+ */
+public final class SobiBlockView
+{
+    /** The length of the header at the start of every SOBI line. */
+    static final int headerLength = 12;
+
+    private final CharSequence text;
+
+    /** The offset of the header that identifies the block. */
+    private final int headerOffset;
+
+    /** The offset of the first line of the block, and the end of the last line excluding the line break.
+     *  Both are -1 for a blank law block, which has no lines of its own. */
+    private final int start;
+    private int end;
+
+    private final int startLineNo;
+    private int endLineNo;
+
+    private final SobiLineType type;
+
+    /** True if the block may be extended by the following lines, see {@link SobiBlock#isMultiline()}. */
+    private final boolean multiline;
+
+    /** --- Constructors --- */
+
+    SobiBlockView(CharSequence text, int start, int end, int lineNo) {
+        this.text = text;
+        this.headerOffset = start;
+        this.start = start;
+        this.end = end;
+        this.startLineNo = lineNo;
+        this.type = SobiLineType.valueOfCode(text.charAt(start + headerLength - 1));
+        this.multiline = !SobiBlock.oneLineBlocks.contains(type) && !isDelete(text, start + headerLength, end);
+    }
+
+    /**
+     * Creates the law block that is implied when a bill's law line is omitted before its summary.
+     */
+    private SobiBlockView(CharSequence text, int headerOffset, int lineNo) {
+        this.text = text;
+        this.headerOffset = headerOffset;
+        this.start = -1;
+        this.end = -1;
+        this.startLineNo = lineNo;
+        this.type = SobiLineType.LAW;
+        this.multiline = true;
+    }
+
+    static SobiBlockView blankLawBlock(SobiBlockView summaryBlock) {
+        return new SobiBlockView(summaryBlock.text, summaryBlock.headerOffset, summaryBlock.startLineNo);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Creates a full {@link SobiBlock} from this view, for the given fragment.
+     */
+    public SobiBlock toSobiBlock(String fragmentFileName, LegDataFragmentType fragmentType, LocalDateTime publishedDateTime) {
+        return new SobiBlock(fragmentFileName, fragmentType, publishedDateTime, startLineNo, endLineNo,
+                getHeader(), getBillId(), type, getData(), multiline);
+    }
+
+    /**
+     * @return String - the block's data, with the data of each line separated by a '\n' character
+     */
+    public String getData() {
+        if (start < 0) {
+            return "";
+        }
+        StringBuilder data = new StringBuilder(end - start);
+        int lineStart = start;
+        while (true) {
+            int lineEnd = SobiBlockReader.lineContentEnd(text, lineStart);
+            appendText(data, lineStart + headerLength, lineEnd);
+            if (lineEnd >= end) {
+                return data.toString();
+            }
+            data.append('\n');
+            lineStart = SobiBlockReader.nextLineStart(text, lineEnd);
+        }
+    }
+
+    /**
+     * @return String - the full 12 character header, e.g. 2013A03006D3
+     */
+    public String getHeader() {
+        StringBuilder header = new StringBuilder(headerLength);
+        if (start < 0) {
+            appendText(header, headerOffset, headerOffset + headerLength - 1);
+            return header.append(SobiLineType.LAW.getTypeCode()).toString();
+        }
+        appendText(header, headerOffset, headerOffset + headerLength);
+        return header.toString();
+    }
+
+    /**
+     * @return BillId - the id of the bill amendment identified by the header
+     */
+    public BillId getBillId() {
+        StringBuilder printNo = new StringBuilder(6);
+        appendText(printNo, headerOffset + 4, headerOffset + 10);
+        StringBuilder version = new StringBuilder(1);
+        appendText(version, headerOffset + 10, headerOffset + 11);
+        return new BillId(printNo.toString(), getSessionYear(), version.toString());
+    }
+
+    /**
+     * @return int - the session year parsed from the header
+     */
+    public int getSessionYear() {
+        int year = 0;
+        for (int i = headerOffset; i < headerOffset + 4; i++) {
+            year = year * 10 + (text.charAt(i) - '0');
+        }
+        return year;
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Extends the block to the end of a following line with the same header.
+     */
+    void extend(int lineEnd) {
+        this.end = lineEnd;
+    }
+
+    /**
+     * @return boolean - true if the line at the given offset has the same header as this block
+     */
+    boolean hasHeader(int lineStart) {
+        return SobiBlockReader.regionMatches(text, headerOffset, lineStart, headerLength);
+    }
+
+    /**
+     * @return boolean - true if the other block is for the same bill as this block
+     */
+    boolean hasBillHeader(SobiBlockView other) {
+        return SobiBlockReader.regionMatches(text, headerOffset, other.headerOffset, headerLength - 1);
+    }
+
+    private void appendText(StringBuilder builder, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            builder.append(c == '\0' ? ' ' : c);
+        }
+    }
+
+    /**
+     * @return boolean - true if the given data, trimmed of whitespace, is DELETE
+     */
+    private static boolean isDelete(CharSequence text, int from, int to) {
+        while (from < to && text.charAt(from) <= ' ') {
+            from++;
+        }
+        while (to > from && text.charAt(to - 1) <= ' ') {
+            to--;
+        }
+        String delete = "DELETE";
+        if (to - from != delete.length()) {
+            return false;
+        }
+        for (int i = 0; i < delete.length(); i++) {
+            if (text.charAt(from + i) != delete.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** --- Basic Getters/Setters --- */
+
+    public SobiLineType getType() {
+        return type;
+    }
+
+    public boolean isMultiline() {
+        return multiline;
+    }
+
+    public int getStartLineNo() {
+        return startLineNo;
+    }
+
+    public int getEndLineNo() {
+        return endLineNo;
+    }
+
+    void setEndLineNo(int endLineNo) {
+        this.endLineNo = Math.max(endLineNo, 0);
+    }
+}
@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.model.spotcheck;
 
 import gov.nysenate.openleg.util.StringDiffer;
+import gov.nysenate.openleg.util.TextDiffer;
 
 import java.util.*;
 
@@ -60,12 +61,8 @@ public class SpotCheckMismatch
      * @return LinkedList<StringDiffer.Diff>
      */
     public LinkedList<StringDiffer.Diff> getDiff(boolean simple) {
-        StringDiffer stringDiffer = new StringDiffer();
-        LinkedList<StringDiffer.Diff> diffs = stringDiffer.diff_main(referenceData, observedData);
-        if (simple) {
-            stringDiffer.diff_cleanupSemantic(diffs);
-        }
-        return diffs;
+        return TextDiffer.getInstance().diff(referenceData, observedData,
+                simple ? TextDiffer.Mode.SEMANTIC : TextDiffer.Mode.RAW);
     }
 
     /** --- Functional Getters / Setters --- */
@@ -0,0 +1,113 @@
+package gov.nysenate.openleg.model.updates;
+
+import com.google.common.base.Splitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Marks a position within a list of update digests, ordered by update date time, content type and change log id.
+ * Requesting the digests that follow a cursor allows clients to page through a large date range with an
+ * index range scan per page, rather than scanning and discarding all rows before a growing offset.
+ *
+ * Cursors are handed to clients as opaque strings via {@link #encode()}.
+ */
+public class UpdateCursor
+{
+    /** The cursor string that clients send to request the first page of digests. */
+    public static final String START = "*";
+
+    private static final String DELIMITER = "|";
+
+    /** The update (processed or published) date time of the last digest on the page. */
+    private final LocalDateTime dateTime;
+
+    /** The content type of the last digest on the page. */
+    private final UpdateContentType contentType;
+
+    /** The change log id of the last digest on the page. */
+    private final int changeId;
+
+    /** --- Constructors --- */
+
+    public UpdateCursor(LocalDateTime dateTime, UpdateContentType contentType, int changeId) {
+        this.dateTime = Objects.requireNonNull(dateTime);
+        this.contentType = Objects.requireNonNull(contentType);
+        this.changeId = changeId;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return String - an opaque, url safe representation of this cursor
+     */
+    public String encode() {
+        String raw = dateTime + DELIMITER + contentType.name() + DELIMITER + changeId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a cursor string produced by {@link #encode()}.
+     *
+     * @param cursor String
+     * @return UpdateCursor - null if the cursor is {@link #START}
+     * @throws IllegalArgumentException if the cursor string is not valid
+     */
+    public static UpdateCursor decode(String cursor) {
+        if (START.equals(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = Splitter.on(DELIMITER).splitToList(raw);
+            if (parts.size() != 3) {
+                throw new IllegalArgumentException("Malformed update cursor: " + cursor);
+            }
+            return new UpdateCursor(LocalDateTime.parse(parts.get(0)),
+                    UpdateContentType.valueOf(parts.get(1)), Integer.parseInt(parts.get(2)));
+        }
+        catch (DateTimeParseException | NullPointerException ex) {
+            throw new IllegalArgumentException("Malformed update cursor: " + cursor, ex);
+        }
+    }
+
+    /** --- Overrides --- */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        UpdateCursor that = (UpdateCursor) o;
+        return changeId == that.changeId &&
+                Objects.equals(dateTime, that.dateTime) &&
+                contentType == that.contentType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(dateTime, contentType, changeId);
+    }
+
+    @Override
+    public String toString() {
+        return dateTime + " " + contentType + " " + changeId;
+    }
+
+    /** --- Basic Getters --- */
+
+    public LocalDateTime getDateTime() {
+        return dateTime;
+    }
+
+    public UpdateContentType getContentType() {
+        return contentType;
+    }
+
+    public int getChangeId() {
+        return changeId;
+    }
+}
@@ -185,13 +185,10 @@ public abstract class AbstractDataProcessor
     protected void flushBillUpdates() {
         if (billIngestCache.getSize() > 0) {
             logger.info("Flushing {} bills", billIngestCache.getSize());
-            billIngestCache.getCurrentCache().forEach(entry ->
-                billDataService.saveBill(entry.getLeft(), entry.getRight(), false));
+            List<Bill> bills = billIngestCache.flush(entries -> billDataService.saveBills(entries, false))
+                .stream().map(Pair::getLeft).collect(Collectors.toList());
             logger.debug("Broadcasting bill updates...");
-            List<Bill> bills =
-                billIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkBillUpdateEvent(bills, LocalDateTime.now()));
-            billIngestCache.clearCache();
         }
     }
 
@@ -286,12 +283,10 @@ public abstract class AbstractDataProcessor
     protected void flushAgendaUpdates() {
         if (agendaIngestCache.getSize() > 0) {
             logger.info("Flushing {} agendas", agendaIngestCache.getSize());
-            agendaIngestCache.getCurrentCache().forEach(
-                entry -> agendaDataService.saveAgenda(entry.getLeft(), entry.getRight(), false));
-            List<Agenda> agendas =
-                agendaIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
+            List<Agenda> agendas = agendaIngestCache.flush(entries -> entries.forEach(
+                    entry -> agendaDataService.saveAgenda(entry.getLeft(), entry.getRight(), false)))
+                .stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkAgendaUpdateEvent(agendas, LocalDateTime.now()));
-            agendaIngestCache.clearCache();
         }
     }
 
@@ -329,12 +324,10 @@ public abstract class AbstractDataProcessor
     protected void flushCalendarUpdates() {
         if (calendarIngestCache.getSize() > 0) {
             logger.info("Flushing {} calendars", calendarIngestCache.getSize());
-            calendarIngestCache.getCurrentCache().forEach(
-                entry -> calendarDataService.saveCalendar(entry.getLeft(), entry.getRight(), false));
-            List<Calendar> calendars =
-                calendarIngestCache.getCurrentCache().stream().map(Pair::getLeft).collect(Collectors.toList());
+            List<Calendar> calendars = calendarIngestCache.flush(entries -> entries.forEach(
+                    entry -> calendarDataService.saveCalendar(entry.getLeft(), entry.getRight(), false)))
+                .stream().map(Pair::getLeft).collect(Collectors.toList());
             eventBus.post(new BulkCalendarUpdateEvent(calendars, LocalDateTime.now()));
-            calendarIngestCache.clearCache();
         }
     }
 
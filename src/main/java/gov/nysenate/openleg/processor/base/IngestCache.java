@@ -3,29 +3,67 @@ package gov.nysenate.openleg.processor.base;
 import org.apache.commons.lang3.tuple.Pair;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
 
 /**
  * A generic key-value pair cache to queue updates to the persistence layer so that they can be committed
  * to the file system more efficiently. The latest reference source data is associated with the cached item
  * since the persistence layer may want to know which pieces of source data the modifications came from.
  *
+ * Entries are partitioned by thread, so that each leg data worker thread queues its updates into its own
+ * cache and flushes them independently of the other workers. All operations apply to the partition of the
+ * calling thread.
+ *
+ * A partition exceeds its capacity when it holds more than the maximum number of entries, or when the
+ * estimated size of its entries, as given by the cache's weigher, is more than the maximum weight.
+ * Entries are weighed when they are set, so a value that is modified in the cache should be set again.
+ * The partition is flushed by the thread that fills it, so a processor that outruns the database waits
+ * for its own flush before it continues.
+ *
  * Key - The type for the key used to lookup values
  * Value - The type of values being stored
  * Source - The type that is used to encapsulate the source data
  */
 public class IngestCache<Key, Value, Source>
 {
-    private final Map<Key, Pair<Value, Source>> cache = new LinkedHashMap<>();
+    private final ThreadLocal<Partition> partitions = ThreadLocal.withInitial(Partition::new);
 
     private final int maxCapacity;
 
-    /** Keep a reference to the first source in case of processing exceptions. */
-    private Source firstSource;
+    private final long maxWeight;
+
+    private final ToLongFunction<? super Value> weigher;
+
+    /** --- Stats, shared by all partitions --- */
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder flushCount = new LongAdder();
+    private final LongAdder flushedEntryCount = new LongAdder();
+    private final LongAdder totalFlushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final LongAdder dirtyEntryCount = new LongAdder();
+    private final LongAdder dirtyWeight = new LongAdder();
 
     public IngestCache(int capacity) {
+        this(capacity, Long.MAX_VALUE, value -> 0);
+    }
+
+    /**
+     * @param capacity int - the maximum number of entries held by each thread
+     * @param maxWeight long - the maximum total weight of the entries held by each thread
+     * @param weigher ToLongFunction<Value> - estimates the size of a value, e.g. in bytes
+     */
+    public IngestCache(int capacity, long maxWeight, ToLongFunction<? super Value> weigher) {
         this.maxCapacity = capacity;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
     }
 
     /**
@@ -36,17 +74,20 @@ public class IngestCache<Key, Value, Source>
      * @return V
      */
     public Pair<Value, Source> get(Key key) {
-        return cache.get(key);
+        return partitions.get().cache.get(key);
     }
 
     /**
-     * Checks if the key is set in the cache.
+     * Checks if the key is set in the cache.  This is the lookup made before loading a value from
+     * the persistence layer, so it is counted as a cache hit or miss.
      *
      * @param key String - Unique Id
      * @return boolean - true if key is found, false otherwise.
      */
     public boolean has(Key key) {
-        return cache.containsKey(key);
+        boolean found = partitions.get().cache.containsKey(key);
+        (found ? hitCount : missCount).increment();
+        return found;
     }
 
     /**
@@ -55,7 +96,7 @@ public class IngestCache<Key, Value, Source>
      * @return int
      */
     public int getSize() {
-        return this.cache.size();
+        return partitions.get().cache.size();
     }
 
     /**
@@ -68,27 +109,54 @@ public class IngestCache<Key, Value, Source>
         return maxCapacity;
     }
 
+    /**
+     * Returns the total weight of the entries currently stored in the cache.
+     *
+     * @return long
+     */
+    public long getWeight() {
+        return partitions.get().weight;
+    }
+
+    /**
+     * Returns the maximum total weight of the entries this cache should try to hold.
+     * Like the maximum capacity, this limit must be managed externally.
+     *
+     * @return long
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
     /**
      * Indicates if the number of entries stored in the cache is greater than the
-     * set maximum capacity.
+     * set maximum capacity, or their total weight is greater than the maximum weight.
      *
      * @return boolean
      */
     public boolean exceedsCapacity() {
-        return (getSize() > getMaxCapacity());
+        return getSize() > getMaxCapacity() || getWeight() > getMaxWeight();
     }
 
     /**
-     * Puts a new entry into the cache.
+     * Puts a new entry into the cache, replacing the weight of any existing entry for the key.
      *
      * @param key Key
      * @param obj Value
      * @param ref Source
      */
     public void set(Key key, Value obj, Source ref) {
-        cache.put(key, Pair.of(obj, ref));
-        if (firstSource == null && ref != null) {
-            firstSource = ref;
+        Partition partition = partitions.get();
+        if (partition.cache.put(key, Pair.of(obj, ref)) == null) {
+            dirtyEntryCount.increment();
+        }
+        long weight = weigher.applyAsLong(obj);
+        Long previousWeight = partition.weights.put(key, weight);
+        long weightChange = weight - (previousWeight != null ? previousWeight : 0);
+        partition.weight += weightChange;
+        dirtyWeight.add(weightChange);
+        if (partition.firstSource == null && ref != null) {
+            partition.firstSource = ref;
         }
     }
 
@@ -98,14 +166,109 @@ public class IngestCache<Key, Value, Source>
      * @return Collection<Pair<Value, Source>>
      */
     public Collection<Pair<Value, Source>> getCurrentCache() {
-        return cache.values();
+        return partitions.get().cache.values();
+    }
+
+    /**
+     * Passes all entries in the cache to the given writer, recording how long it takes, and then clears the cache.
+     * The cache is left as is if the writer throws an exception.
+     *
+     * @param writer Consumer<Collection<Pair<Value, Source>>> - persists the entries
+     * @return Collection<Pair<Value, Source>> - the entries that were flushed
+     */
+    public Collection<Pair<Value, Source>> flush(Consumer<Collection<Pair<Value, Source>>> writer) {
+        Collection<Pair<Value, Source>> entries = getCurrentCache();
+        long startNanos = System.nanoTime();
+        writer.accept(entries);
+        long flushNanos = System.nanoTime() - startNanos;
+        flushCount.increment();
+        flushedEntryCount.add(entries.size());
+        totalFlushNanos.add(flushNanos);
+        maxFlushNanos.accumulateAndGet(flushNanos, Math::max);
+        clearCache();
+        return entries;
     }
 
     /**
      * Clears out all the entries in the cache.
      */
     public void clearCache() {
-        cache.clear();
-        firstSource = null;
+        Partition partition = partitions.get();
+        dirtyEntryCount.add(-partition.cache.size());
+        dirtyWeight.add(-partition.weight);
+        partitions.remove();
+    }
+
+    /** --- Stats --- */
+
+    /**
+     * @return long - the number of lookups that found the key in the calling thread's cache
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return long - the number of lookups that did not find the key in the calling thread's cache
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return double - the fraction of lookups that were hits, 0 if there have been no lookups
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long lookups = hits + getMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    public long getFlushCount() {
+        return flushCount.sum();
+    }
+
+    public long getFlushedEntryCount() {
+        return flushedEntryCount.sum();
+    }
+
+    public double getAvgFlushLatencyMs() {
+        long flushes = getFlushCount();
+        return flushes == 0 ? 0 : totalFlushNanos.sum() / 1e6 / flushes;
+    }
+
+    public double getMaxFlushLatencyMs() {
+        return maxFlushNanos.get() / 1e6;
+    }
+
+    /**
+     * @return long - the number of entries waiting to be flushed, over all threads
+     */
+    public long getDirtyEntryCount() {
+        return dirtyEntryCount.sum();
+    }
+
+    /**
+     * @return long - the total weight of the entries waiting to be flushed, over all threads
+     */
+    public long getDirtyWeight() {
+        return dirtyWeight.sum();
+    }
+
+    /**
+     * The cached entries of a single thread.
+     */
+    private class Partition
+    {
+        private final Map<Key, Pair<Value, Source>> cache = new LinkedHashMap<>();
+
+        /** The weight of each cached entry, as of when it was last set. */
+        private final Map<Key, Long> weights = new HashMap<>();
+
+        /** The total weight of the cached entries. */
+        private long weight;
+
+        /** Keep a reference to the first source in case of processing exceptions. */
+        private Source firstSource;
     }
-}
\ No newline at end of file
+}
@@ -10,18 +10,15 @@ import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.processor.legdata.LegDataProcessor;
 import gov.nysenate.openleg.service.bill.event.BillFieldUpdateEvent;
 import gov.nysenate.openleg.util.BillTextUtils;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.XmlFragmentReader;
+import gov.nysenate.openleg.util.XmlRecord;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.xml.sax.SAXException;
 
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
@@ -41,12 +38,10 @@ public class XmlBillTextProcessor extends AbstractDataProcessor implements LegDa
             ".*_BILLTEXT_(?<printNo>[A-Z][0-9]+[A-Z]?)\\.XML$", Pattern.CASE_INSENSITIVE
     );
 
-    private final XmlHelper xmlHelper;
     private final EventBus eventBus;
 
     @Autowired
-    public XmlBillTextProcessor(XmlHelper xmlHelper, EventBus eventBus) {
-        this.xmlHelper = xmlHelper;
+    public XmlBillTextProcessor(EventBus eventBus) {
         this.eventBus = eventBus;
     }
 
@@ -65,22 +60,22 @@ public class XmlBillTextProcessor extends AbstractDataProcessor implements LegDa
         logger.info("Processing " + legDataFragment.getFragmentId() + " (xml file).");
         DataProcessUnit unit = createProcessUnit(legDataFragment);
         try {
-            final Document doc = xmlHelper.parse(legDataFragment.getText());
-            final Node billTextNode = xmlHelper.getNode("billtext_html", doc);
-
-            final int sessionYear = xmlHelper.getInteger("@sessyr", billTextNode);
-            final String senhse = xmlHelper.getString("@senhse", billTextNode);
-            final String senno = xmlHelper.getString("@senno", billTextNode);
-            final String senamd = xmlHelper.getString("@senamd", billTextNode);
-            final String asmhse = xmlHelper.getString("@asmhse", billTextNode);
-            final String asmno = xmlHelper.getString("@asmno", billTextNode);
-            final String asmamd = xmlHelper.getString("@asmamd", billTextNode);
-            final String action = xmlHelper.getString("@action", billTextNode);
+            // Bill text fragments can be very large, so read them in a single pass without building a DOM
+            final XmlRecord billTextNode = XmlFragmentReader.read(legDataFragment.getText());
+
+            final int sessionYear = billTextNode.getIntAttribute("sessyr");
+            final String senhse = billTextNode.getAttribute("senhse");
+            final String senno = billTextNode.getAttribute("senno");
+            final String senamd = billTextNode.getAttribute("senamd");
+            final String asmhse = billTextNode.getAttribute("asmhse");
+            final String asmno = billTextNode.getAttribute("asmno");
+            final String asmamd = billTextNode.getAttribute("asmamd");
+            final String action = billTextNode.getAttribute("action");
 
             // If remove action, set bill text to blank
             final String billText = "remove".equals(action)
                     ? ""
-                    : billTextNode.getTextContent();
+                    : billTextNode.getText();
             String strippedBillText = BillTextUtils.parseHTMLtext(billText);
 
             Set<BillId> updatedBills = new HashSet<>();
@@ -110,7 +105,7 @@ public class XmlBillTextProcessor extends AbstractDataProcessor implements LegDa
             updatedBills.forEach(billId ->
                     eventBus.post(new BillFieldUpdateEvent(LocalDateTime.now(),
                             BaseBillId.of(billId), BillUpdateField.FULLTEXT)));
-        } catch (IOException | SAXException | XPathExpressionException e) {
+        } catch (XMLStreamException | NumberFormatException e) {
             unit.addException("XML bill text parsing error", e);
             throw new ParseError("Error While Parsing Bill Text XML", e);
         } finally {
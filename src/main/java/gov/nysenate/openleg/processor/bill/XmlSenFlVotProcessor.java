@@ -10,18 +10,13 @@ import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
 import gov.nysenate.openleg.processor.base.AbstractDataProcessor;
 import gov.nysenate.openleg.processor.base.ParseError;
 import gov.nysenate.openleg.processor.legdata.LegDataProcessor;
-import gov.nysenate.openleg.util.XmlHelper;
+import gov.nysenate.openleg.util.XmlFragmentReader;
+import gov.nysenate.openleg.util.XmlRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
 
-import javax.xml.xpath.XPathExpressionException;
-import java.io.IOException;
+import javax.xml.stream.XMLStreamException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
@@ -34,9 +29,6 @@ public class XmlSenFlVotProcessor extends AbstractDataProcessor implements LegDa
     /** Date format found in SobiBlock[V] vote memo blocks. e.g. 02/05/2013 */
     protected static final DateTimeFormatter voteDateFormat = DateTimeFormatter.ofPattern("MM/dd/yyyy");
 
-    @Autowired
-    private XmlHelper xmlHelper;
-
     public XmlSenFlVotProcessor() {}
 
     @Override
@@ -56,16 +48,15 @@ public class XmlSenFlVotProcessor extends AbstractDataProcessor implements LegDa
         DataProcessUnit unit = createProcessUnit(legDataFragment);
         try {
             LocalDateTime date = legDataFragment.getPublishedDateTime();
-            final Document doc = xmlHelper.parse(legDataFragment.getText());
-            final Node senFloorVote = xmlHelper.getNode("senfloorvote", doc);
+            final XmlRecord senFloorVote = XmlFragmentReader.read(legDataFragment.getText());
             //File Print number
-            final Integer sessyr = xmlHelper.getInteger("@sessyr", senFloorVote);
-            final Integer seqno = xmlHelper.getInteger("@date_seqno", senFloorVote);
-            final String printNo = xmlHelper.getString("@no", senFloorVote).trim();
+            final Integer sessyr = senFloorVote.getIntAttribute("sessyr");
+            final Integer seqno = senFloorVote.getIntAttribute("date_seqno");
+            final String printNo = senFloorVote.getAttribute("no").trim();
             BillId billId = new BillId(printNo, sessyr);
             String version = billId.getVersion().toString();
-            final String action = xmlHelper.getString("@action", senFloorVote).trim();
-            final String dateofvote = xmlHelper.getString("@dateofvote", senFloorVote).trim();
+            final String action = senFloorVote.getAttribute("action").trim();
+            final String dateofvote = senFloorVote.getAttribute("dateofvote").trim();
 
             Bill baseBill = getOrCreateBaseBill(billId, legDataFragment);
             BillAmendment billAmendment;
@@ -96,11 +87,9 @@ public class XmlSenFlVotProcessor extends AbstractDataProcessor implements LegDa
             }
 
             //loop through xml vote list
-            NodeList memberVotes = doc.getElementsByTagName("member");
-            for (int index = 0; index < memberVotes.getLength(); index++) {
-                Node member = memberVotes.item(index);
-                final String howMemberVoted = xmlHelper.getString("vote",member);
-                final String shortName = xmlHelper.getString("name",member);
+            for (XmlRecord member : senFloorVote.getDescendants("member")) {
+                final String howMemberVoted = member.getChildText("vote");
+                final String shortName = member.getChildText("name");
 
                 BillVoteCode voteCode;
                 try {
@@ -119,7 +108,7 @@ public class XmlSenFlVotProcessor extends AbstractDataProcessor implements LegDa
             billIngestCache.set(baseBill.getBaseBillId(), baseBill, legDataFragment);
         }
 
-        catch (IOException | SAXException | XPathExpressionException | NullPointerException e) {
+        catch (XMLStreamException | NumberFormatException | NullPointerException e) {
             unit.addException("XML Sen Fl Vot parsing error", e);
             throw new ParseError("Error While Parsing XmlSenFlVotProcessor", e);
         }
@@ -1,6 +1,7 @@
 package gov.nysenate.openleg.processor.law;
 
 import com.google.common.collect.Sets;
+import gov.nysenate.openleg.model.law.LawDocument;
 import gov.nysenate.openleg.model.law.LawDocumentType;
 import gov.nysenate.openleg.model.law.LawFile;
 import gov.nysenate.openleg.model.law.LawTree;
@@ -11,16 +12,24 @@ import gov.nysenate.openleg.service.law.data.LawDataService;
 import gov.nysenate.openleg.service.law.data.LawTreeNotFoundEx;
 import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
 import gov.nysenate.openleg.service.law.event.LawTreeUpdateEvent;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -54,7 +63,12 @@ public class LawProcessor extends AbstractDataProcessor
     /** Set of law ids to only allow processing of. Overrides 'ignoreLaws'. */
     protected Set<String> onlyLaws = Sets.newHashSet();
 
+    /** The number of laws that are built and persisted at once. Laws are processed one at a time if 1 or less. */
+    @Value("${law.process.parallel.laws:1}")
+    protected int parallelLawCount;
+
     @Autowired private LawDataService lawDataService;
+    @Autowired private PlatformTransactionManager transactionManager;
 
     @Override
     public void init() {
@@ -107,6 +121,14 @@ public class LawProcessor extends AbstractDataProcessor
         this.onlyLaws = Sets.newHashSet(lawIds);
     }
 
+    public int getParallelLawCount() {
+        return parallelLawCount;
+    }
+
+    public void setParallelLawCount(int parallelLawCount) {
+        this.parallelLawCount = parallelLawCount;
+    }
+
     /** --- Internal Methods --- */
 
     /**
@@ -117,20 +139,9 @@ public class LawProcessor extends AbstractDataProcessor
      * @param lawBlocks List<LawBlock>
      */
     protected void processInitialLaws(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(new LawVersionId(block.getLawId(), block.getPublishedDate()), null);
-                lawBuilders.put(block.getLawId(), lawBuilder);
-                unit.addMessage("Processing initial docs for " + block.getLawId());
-            }
-            // Process the initial block
-            lawBuilders.get(block.getLawId()).addInitialBlock(block, true);
-        }
-        // Persist the results
-        persist(lawFile, lawBuilders);
+        Map<String, List<LawBlock>> lawBlocksByLaw = groupByLaw(lawBlocks);
+        lawBlocksByLaw.keySet().forEach(lawId -> unit.addMessage("Processing initial docs for " + lawId));
+        processLaws(lawFile, lawBlocksByLaw, true, unit);
     }
 
     /**
@@ -142,50 +153,144 @@ public class LawProcessor extends AbstractDataProcessor
      * @param lawBlocks List<LawBlock>
      */
     protected void processLawUpdates(LawFile lawFile, List<LawBlock> lawBlocks, DataProcessUnit unit) {
-        Map<String, LawBuilder> lawBuilders = new HashMap<>();
-        Map<String, LawTree> lawTrees = new HashMap<>();
+        processLaws(lawFile, groupByLaw(lawBlocks), false, unit);
+    }
+
+    /**
+     * Groups the blocks that should be processed by law id. The laws are ordered by their first block in the file,
+     * and the blocks of each law are kept in file order.
+     *
+     * @param lawBlocks List<LawBlock>
+     * @return Map<String, List<LawBlock>>
+     */
+    protected Map<String, List<LawBlock>> groupByLaw(List<LawBlock> lawBlocks) {
+        Map<String, List<LawBlock>> lawBlocksByLaw = new LinkedHashMap<>();
         for (LawBlock block : lawBlocks) {
-            if (!shouldProcessLaw(block)) continue;
-            LawVersionId lawVersionId = new LawVersionId(block.getLawId(), block.getPublishedDate());
-            logger.debug("Processing law version id: {}", lawVersionId);
+            if (shouldProcessLaw(block)) {
+                lawBlocksByLaw.computeIfAbsent(block.getLawId(), lawId -> new ArrayList<>()).add(block);
+            }
+        }
+        return lawBlocksByLaw;
+    }
+
+    /**
+     * Builds and persists each law. The laws are independent of one another, so if parallel law processing is
+     * enabled, up to that many laws are built and persisted at once. The outcome of each law is recorded in the
+     * data process unit in the order the laws appear in the file, so the unit reads the same either way.
+     *
+     * @param lawFile LawFile - Used to keep track of the source
+     * @param lawBlocksByLaw Map<String, List<LawBlock>> - The blocks of each law, in file order
+     * @param isInitial boolean - True if the blocks are from an initial dump
+     * @param unit DataProcessUnit
+     */
+    private void processLaws(LawFile lawFile, Map<String, List<LawBlock>> lawBlocksByLaw, boolean isInitial,
+                             DataProcessUnit unit) {
+        int lawCount = lawBlocksByLaw.size();
+        if (parallelLawCount <= 1 || lawCount <= 1) {
+            int lawNo = 0;
+            for (Map.Entry<String, List<LawBlock>> entry : lawBlocksByLaw.entrySet()) {
+                recordProcessedLaw(processLaw(lawFile, entry.getKey(), entry.getValue(), isInitial), ++lawNo, lawCount, unit);
+            }
+            return;
+        }
+        logger.info("Processing {} laws with {} threads", lawCount, parallelLawCount);
+        ExecutorService lawPool = Executors.newFixedThreadPool(Math.min(parallelLawCount, lawCount),
+                new OpenlegThreadFactory("law-process"));
+        List<Future<ProcessedLaw>> processedLaws = new ArrayList<>();
+        try {
+            lawBlocksByLaw.forEach((lawId, blocks) ->
+                    processedLaws.add(lawPool.submit(() -> processLaw(lawFile, lawId, blocks, isInitial))));
+            int lawNo = 0;
+            for (Future<ProcessedLaw> processedLaw : processedLaws) {
+                recordProcessedLaw(awaitProcessedLaw(processedLaw), ++lawNo, lawCount, unit);
+            }
+        }
+        finally {
+            // Laws that have not started are skipped if an earlier law failed, as they would be when run serially
+            processedLaws.forEach(processedLaw -> processedLaw.cancel(false));
+            lawPool.shutdown();
+        }
+    }
+
+    /**
+     * Builds a single law from its blocks and persists the result.
+     *
+     * @param lawFile LawFile
+     * @param lawId String
+     * @param blocks List<LawBlock> - The blocks of the law, in file order
+     * @param isInitial boolean - True if the blocks are from an initial dump
+     * @return ProcessedLaw
+     */
+    private ProcessedLaw processLaw(LawFile lawFile, String lawId, List<LawBlock> blocks, boolean isInitial) {
+        long startTime = System.currentTimeMillis();
+        List<String> exceptions = new ArrayList<>();
+        LawVersionId lawVersionId = new LawVersionId(lawId, blocks.get(0).getPublishedDate());
+        logger.debug("Processing law version id: {}", lawVersionId);
+        LawBuilder lawBuilder;
+        if (isInitial) {
+            lawBuilder = createLawBuilder(lawVersionId, null);
+            blocks.forEach(block -> lawBuilder.addInitialBlock(block, true));
+        }
+        else {
             // Retrieve the existing law tree if it exists.
-            if (!lawTrees.containsKey(block.getLawId())) {
-                try {
-                    LawTree lawTree = lawDataService.getLawTree(block.getLawId(), block.getPublishedDate());
-                    lawTrees.put(block.getLawId(), lawTree);
-                }
-                catch (LawTreeNotFoundEx ex) {
-                    lawTrees.put(block.getLawId(), null);
-                    unit.addException("Update received for a law " + block.getLawId() + " without an existing tree!", logger);
-                }
+            LawTree previousTree = null;
+            try {
+                previousTree = lawDataService.getLawTree(lawId, lawVersionId.getPublishedDate());
             }
-            // Create the law builder for the law id if it doesn't already exist.
-            if (!lawBuilders.containsKey(block.getLawId())) {
-                LawBuilder lawBuilder = createLawBuilder(lawVersionId, lawTrees.get(block.getLawId()));
-                lawBuilders.put(block.getLawId(), lawBuilder);
+            catch (LawTreeNotFoundEx ex) {
+                exceptions.add("Update received for a law " + lawId + " without an existing tree!");
             }
-            // Process the update block
-            lawBuilders.get(block.getLawId()).addUpdateBlock(block);
+            lawBuilder = createLawBuilder(lawVersionId, previousTree);
+            blocks.forEach(lawBuilder::addUpdateBlock);
         }
-        persist(lawFile, lawBuilders);
+        List<LawDocument> lawDocuments = lawBuilder.getProcessedLawDocuments();
+        LawTree lawTree = lawBuilder.getProcessedLawTree();
+        persistLaw(lawFile, lawId, lawDocuments, lawTree);
+        return new ProcessedLaw(lawId, lawDocuments.size(), lawTree.getRootNode().getAllNodes().size(),
+                System.currentTimeMillis() - startTime, exceptions);
     }
 
     /**
-     * Iterates over the law builders and persists the processed output.
+     * Persists the documents and tree of a single law in one transaction, and then posts their update events.
      *
      * @param lawFile LawFile - Used to keep track of the source
-     * @param lawBuilders Map<String, LawBuilder>
+     * @param lawId String
+     * @param lawDocuments List<LawDocument>
+     * @param lawTree LawTree
      */
-    private void persist(LawFile lawFile, Map<String, LawBuilder> lawBuilders) {
-        // Persist the results
-        lawBuilders.forEach((lawId, lawBuilder) ->{
-            logger.info("Persisting law documents for {}", lawId);
-            lawBuilder.getProcessedLawDocuments().forEach(d -> lawDataService.saveLawDocument(lawFile, d));
-            eventBus.post(new BulkLawUpdateEvent(lawBuilder.getProcessedLawDocuments()));
-            logger.info("Persisting law tree for {}", lawId);
-            lawDataService.saveLawTree(lawFile, lawBuilder.getProcessedLawTree());
-            eventBus.post(new LawTreeUpdateEvent(lawId));
+    protected void persistLaw(LawFile lawFile, String lawId, List<LawDocument> lawDocuments, LawTree lawTree) {
+        logger.info("Persisting {} law documents and the law tree for {}", lawDocuments.size(), lawId);
+        new TransactionTemplate(transactionManager).execute(status -> {
+            lawDataService.saveLawDocuments(lawFile, lawDocuments);
+            lawDataService.saveLawTree(lawFile, lawTree);
+            return null;
         });
+        eventBus.post(new BulkLawUpdateEvent(lawDocuments));
+        eventBus.post(new LawTreeUpdateEvent(lawId));
+    }
+
+    private void recordProcessedLaw(ProcessedLaw processedLaw, int lawNo, int lawCount, DataProcessUnit unit) {
+        processedLaw.exceptions.forEach(exception -> unit.addException(exception, logger));
+        unit.addMessage(String.format("Persisted %d documents and %d tree nodes for %s in %d ms (%d of %d laws)",
+            processedLaw.documentCount, processedLaw.nodeCount, processedLaw.lawId, processedLaw.elapsedMs,
+            lawNo, lawCount));
+    }
+
+    /**
+     * Waits for a law to be processed, rethrowing any exception raised while processing it.
+     */
+    private static ProcessedLaw awaitProcessedLaw(Future<ProcessedLaw> processedLaw) {
+        try {
+            return processedLaw.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while processing laws", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Failed to process law", ex.getCause());
+        }
     }
 
     /**
@@ -245,4 +350,24 @@ public class LawProcessor extends AbstractDataProcessor
             return new IdBasedLawBuilder(lawVersionId, previousTree);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * The outcome of processing a single law, to be recorded in the data process unit.
+     */
+    private static class ProcessedLaw
+    {
+        private final String lawId;
+        private final int documentCount;
+        private final int nodeCount;
+        private final long elapsedMs;
+        private final List<String> exceptions;
+
+        private ProcessedLaw(String lawId, int documentCount, int nodeCount, long elapsedMs, List<String> exceptions) {
+            this.lawId = lawId;
+            this.documentCount = documentCount;
+            this.nodeCount = nodeCount;
+            this.elapsedMs = elapsedMs;
+            this.exceptions = exceptions;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package gov.nysenate.openleg.processor.legdata;
+
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifies the single entity that a leg data fragment modifies, so that fragments can be partitioned
+ * across workers while fragments for the same entity are still processed in order.
+ *
+ * The entity is read from the attributes of the fragment's root element, without parsing the document.
+ * Fragments that can modify more than one entity (e.g. sobi bill fragments, bill text for a senate/assembly
+ * pair, agenda votes which also update bills, same as fragments that sync text with a uni-bill) have no partition
+ * entity and must be processed alone.
+ */
+final class LegDataFragmentPartitioner
+{
+    private static final Pattern rootElementPattern = Pattern.compile("<([a-z_]+)\\s([^>]*)>");
+    private static final Pattern attributePattern = Pattern.compile("([a-z_]+)\\s*=\\s*[\"']([^\"']*)[\"']");
+
+    /** Same as fragments with the uni-bill designator also copy text to or from the uni-bill. */
+    private static final Pattern uniBillSameAsPattern = Pattern.compile("Same as Uni\\.");
+
+    private LegDataFragmentPartitioner() {}
+
+    /**
+     * Get the id of the entity modified by the given fragment.
+     *
+     * @param fragment LegDataFragment
+     * @return Optional<Object> - A {@link BaseBillId}, {@link AgendaId} or {@link CalendarId},
+     *                            or empty if the fragment may modify more than one entity.
+     */
+    static Optional<Object> getEntityId(LegDataFragment fragment) {
+        try {
+            switch (fragment.getType()) {
+                case SAMEAS:
+                    if (uniBillSameAsPattern.matcher(fragment.getText()).find()) {
+                        return Optional.empty();
+                    }
+                    // Otherwise the fragment only modifies its own bill
+                case ANACT: case BILLSTAT: case LDBLURB: case LDSPON: case LDSUMM: case SENMEMO: {
+                    Map<String, String> attrs = getRootAttributes(fragment.getText());
+                    return Optional.of(new BaseBillId(attrs.get("billhse") + attrs.get("billno"),
+                            Integer.parseInt(attrs.get("sessyr"))));
+                }
+                case SENFLVOTE: {
+                    Map<String, String> attrs = getRootAttributes(fragment.getText());
+                    return Optional.of(BillId.getBaseId(
+                            new BillId(attrs.get("no"), Integer.parseInt(attrs.get("sessyr")))));
+                }
+                case AGENDA: {
+                    Map<String, String> attrs = getRootAttributes(fragment.getText());
+                    return Optional.of(new AgendaId(Integer.parseInt(attrs.get("no")),
+                            Integer.parseInt(attrs.get("year"))));
+                }
+                case CALENDAR: case CALENDAR_ACTIVE: {
+                    Map<String, String> attrs = getRootAttributes(fragment.getText());
+                    return Optional.of(new CalendarId(Integer.parseInt(attrs.get("no")),
+                            Integer.parseInt(attrs.get("year"))));
+                }
+                default:
+                    return Optional.empty();
+            }
+        }
+        // Missing or malformed ids will be reported by the processor, so just process the fragment alone.
+        catch (RuntimeException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    private static Map<String, String> getRootAttributes(String xmlText) {
+        Map<String, String> attrs = new HashMap<>();
+        Matcher rootMatcher = rootElementPattern.matcher(xmlText);
+        if (rootMatcher.find()) {
+            Matcher attrMatcher = attributePattern.matcher(rootMatcher.group(2));
+            while (attrMatcher.find()) {
+                attrs.put(attrMatcher.group(1), attrMatcher.group(2).trim());
+            }
+        }
+        return attrs;
+    }
+}
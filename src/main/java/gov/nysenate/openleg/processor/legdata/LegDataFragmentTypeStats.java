@@ -0,0 +1,98 @@
+package gov.nysenate.openleg.processor.legdata;
+
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live processing statistics for all leg data fragments of a single {@link LegDataFragmentType}.
+ */
+public class LegDataFragmentTypeStats
+{
+    private final LegDataFragmentType type;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong processingNanos = new AtomicLong();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    /** Wall clock bounds of the fragments processed, used to compute throughput. */
+    private final AtomicLong firstStartNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEndNanos = new AtomicLong(Long.MIN_VALUE);
+
+    LegDataFragmentTypeStats(LegDataFragmentType type) {
+        this.type = type;
+    }
+
+    /**
+     * Record that a fragment of this type was queued for a worker.
+     */
+    void queued() {
+        maxQueueDepth.accumulateAndGet(queueDepth.incrementAndGet(), Math::max);
+    }
+
+    /**
+     * Record that a queued fragment of this type was taken by a worker.
+     */
+    void dequeued() {
+        queueDepth.decrementAndGet();
+    }
+
+    /**
+     * Record the processing of a single fragment.
+     *
+     * @param startNanos long - {@link System#nanoTime()} when processing started
+     * @param endNanos long - {@link System#nanoTime()} when processing ended
+     */
+    void processed(long startNanos, long endNanos) {
+        long nanos = endNanos - startNanos;
+        processedCount.incrementAndGet();
+        processingNanos.addAndGet(nanos);
+        maxProcessingNanos.accumulateAndGet(nanos, Math::max);
+        firstStartNanos.accumulateAndGet(startNanos, Math::min);
+        lastEndNanos.accumulateAndGet(endNanos, Math::max);
+    }
+
+    /** --- Getters --- */
+
+    public LegDataFragmentType getType() {
+        return type;
+    }
+
+    /** @return int - the number of fragments of this type waiting on a worker */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /** @return double - the average time in ms spent processing a single fragment */
+    public double getAvgLatencyMs() {
+        long processed = getProcessedCount();
+        return processed == 0 ? 0 : (double) processingNanos.get() / processed / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** @return double - the longest time in ms spent processing a single fragment */
+    public double getMaxLatencyMs() {
+        return (double) maxProcessingNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * @return double - fragments processed per second of wall clock time between the start of the first
+     *                  and the end of the last fragment of this type
+     */
+    public double getFragmentsPerSecond() {
+        long elapsedNanos = lastEndNanos.get() - firstStartNanos.get();
+        return elapsedNanos <= 0 ? 0 : (double) getProcessedCount() / elapsedNanos * TimeUnit.SECONDS.toNanos(1);
+    }
+}
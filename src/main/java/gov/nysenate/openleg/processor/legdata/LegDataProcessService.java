@@ -7,6 +7,7 @@ import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentNotFoundEx;
 import gov.nysenate.openleg.model.sourcefiles.sobi.SobiProcessOptions;
 import gov.nysenate.openleg.processor.base.ProcessService;
 
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -61,4 +62,11 @@ public interface LegDataProcessService extends ProcessService
      */
     public void updatePendingProcessing(String fragmentId, boolean pendingProcessing)
                                         throws LegDataFragmentNotFoundEx;
+
+    /**
+     * Get throughput and queue depth stats for each fragment type, covering the current or most recent ingest.
+     *
+     * @return Collection<LegDataFragmentTypeStats>
+     */
+    public Collection<LegDataFragmentTypeStats> getFragmentTypeStats();
 }
@@ -0,0 +1,99 @@
+package gov.nysenate.openleg.processor.legdata;
+
+import com.google.common.base.Throwables;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A fixed set of single threaded workers for processing leg data fragments.
+ * Tasks for the same entity always go to the same worker and are run in the order they were submitted.
+ *
+ * Each worker thread queues its updates in its own partition of the ingest caches, so all workers
+ * must be flushed via {@link #runOnAllWorkers(Runnable)} before the updated entities are read elsewhere.
+ * This class is meant to be driven by a single thread at a time.
+ */
+class LegDataWorkerPool
+{
+    private final List<ExecutorService> workers = new ArrayList<>();
+
+    /** Tasks that have been submitted since the last call to {@link #awaitPending()} */
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    LegDataWorkerPool(int size) {
+        OpenlegThreadFactory threadFactory = new OpenlegThreadFactory("leg-data-worker");
+        for (int i = 0; i < size; i++) {
+            workers.add(Executors.newSingleThreadExecutor(threadFactory));
+        }
+    }
+
+    /**
+     * Queue a task on the worker assigned to the given entity.
+     *
+     * @param entityId Object - id of the entity that the task modifies
+     * @param task Runnable
+     */
+    void submit(Object entityId, Runnable task) {
+        pending.add(workers.get(getWorker(entityId)).submit(task));
+    }
+
+    /**
+     * @param entityId Object - id of an entity
+     * @return int - index of the worker that runs tasks for the entity
+     */
+    int getWorker(Object entityId) {
+        return Math.floorMod(entityId.hashCode(), workers.size());
+    }
+
+    /**
+     * Run the given task once on every worker, after each worker has finished its queued tasks,
+     * and wait for all workers to complete.
+     *
+     * @param task Runnable
+     */
+    void runOnAllWorkers(Runnable task) {
+        workers.forEach(worker -> pending.add(worker.submit(task)));
+        awaitPending();
+    }
+
+    /**
+     * Wait for all submitted tasks to complete.
+     * If any task failed, the first failure is rethrown once every task has completed.
+     */
+    void awaitPending() {
+        Throwable failure = null;
+        try {
+            for (Future<?> future : pending) {
+                try {
+                    future.get();
+                } catch (ExecutionException ex) {
+                    if (failure == null) {
+                        failure = ex.getCause();
+                    }
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting on leg data workers", ex);
+        } finally {
+            pending.clear();
+        }
+        if (failure != null) {
+            Throwables.throwIfUnchecked(failure);
+            throw new IllegalStateException("Leg data worker failed", failure);
+        }
+    }
+
+    int getSize() {
+        return workers.size();
+    }
+
+    void shutdown() {
+        workers.forEach(ExecutorService::shutdown);
+    }
+}
@@ -16,21 +16,33 @@ import gov.nysenate.openleg.model.process.DataProcessUnit;
 import gov.nysenate.openleg.model.process.DataProcessUnitEvent;
 import gov.nysenate.openleg.model.sourcefiles.*;
 import gov.nysenate.openleg.model.sourcefiles.sobi.*;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
 /**
  * This LegDataProcessService implementation processes every type of sobi fragment.
+ *
+ * If more than one worker is configured, fragments that modify a single bill, agenda or calendar are
+ * partitioned across the workers by that entity, so that each entity's fragments are still applied in order.
+ * All other fragments act as barriers: the workers are drained and flushed, and the fragment is processed
+ * on the calling thread.
  */
 @Service
 public class ManagedLegDataProcessService implements LegDataProcessService {
@@ -51,6 +63,15 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
     @Autowired
     private ProcessConfig processConfig;
 
+    /** The number of workers used to process fragments. Fragments are processed serially if this is 1. */
+    @Value("${leg.data.process.parallel.workers:1}")
+    private int workerCount;
+
+    /** The number of threads used to read source files and split them into fragments while collating.
+     *  Source files are read serially if this is 1. */
+    @Value("${leg.data.collate.parallel.readers:1}")
+    private int collateReaderCount;
+
     private boolean legDataProcessEnabled = true;
     /**
      * Map of source file types to daos.
@@ -66,6 +87,16 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
      */
     private ImmutableMap<LegDataFragmentType, LegDataProcessor> processorMap;
 
+    /** Null if fragments are processed serially. */
+    private LegDataWorkerPool workerPool;
+
+    /** Null if source files are read serially. */
+    private ExecutorService collateReaderPool;
+
+    /** Processing stats for the current or most recent ingest. */
+    private volatile ImmutableMap<LegDataFragmentType, LegDataFragmentTypeStats> fragmentTypeStats =
+            createFragmentTypeStats();
+
     @PostConstruct
     protected void init() {
         eventBus.register(this);
@@ -73,6 +104,25 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         processorMap = Maps.uniqueIndex(legDataProcessors, LegDataProcessor::getSupportedType);
 
         sourceFileDaoMap = Maps.uniqueIndex(sourceFileFsDaos, SourceFileFsDao::getSourceType);
+
+        if (workerCount > 1) {
+            logger.info("Processing leg data fragments with {} workers", workerCount);
+        }
+        setWorkerCount(workerCount);
+        if (collateReaderCount > 1) {
+            logger.info("Reading leg data source files with {} threads", collateReaderCount);
+            collateReaderPool = Executors.newFixedThreadPool(collateReaderCount, new OpenlegThreadFactory("leg-data-collate"));
+        }
+    }
+
+    @PreDestroy
+    protected void shutdown() {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        if (collateReaderPool != null) {
+            collateReaderPool.shutdownNow();
+        }
     }
 
     /** --- Implemented Methods --- */
@@ -105,19 +155,28 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
 
     /**
      * {@inheritDoc}
+     *
+     * The incoming directories are listed once per call, after which arriving files are tracked incrementally.
+     * The collation rates are recorded to the process run log.
      */
     @Override
     public int collateSourceFiles() {
         try {
+            sourceFileFsDaos.forEach(SourceFileFsDao::rescanIncomingSourceFiles);
+            DataProcessUnit summaryUnit = new DataProcessUnit("LEG_DATA", "collate", LocalDateTime.now(),
+                    DataProcessAction.COLLATE);
+            long startNanos = System.nanoTime();
             int totalCollated = 0;
+            int totalFragments = 0;
             List<SourceFile> newSources;
             do {
                 newSources = getIncomingSourceFiles();
-                for (SourceFile sourceFile : newSources) {
-                    collateSourceFile(sourceFile);
-                    totalCollated++;
-                }
+                totalFragments += collateSourceFiles(newSources);
+                totalCollated += newSources.size();
             } while (!newSources.isEmpty() && env.isProcessingEnabled());
+            if (totalCollated > 0) {
+                logCollateRates(summaryUnit, totalCollated, totalFragments, System.nanoTime() - startNanos);
+            }
             return totalCollated;
         } catch (IOException ex) {
             String errMessage = "Error encountered during collation of source files.";
@@ -147,22 +206,13 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         } else if (fragments.size() == 1 && filteredFragments.isEmpty()) {
             logger.info("Ignoring fragment {} due to process config.", fragments.get(0).getFragmentId());
         }
-        for (LegDataFragment fragment : filteredFragments) {
-            fragment.startProcessing();
-            legDataFragmentDao.updateLegDataFragment(fragment);
-            // Hand off processing to specific implementations based on fragment type.
-            if (processorMap.containsKey(fragment.getType())) {
-                LegDataProcessor currentProcessor = processorMap.get(fragment.getType());
-                currentProcessor.process(fragment);
-                currentProcessor.checkIngestCache();
-            } else {
-                logger.error("No processors have been registered to handle: " + fragment);
-            }
-            fragment.setProcessedCount(fragment.getProcessedCount() + 1);
-            fragment.setProcessedDateTime(LocalDateTime.now());
+        if (workerPool != null && filteredFragments.size() > 1) {
+            processFragmentsInParallel(filteredFragments);
+        } else {
+            filteredFragments.forEach(this::processFragment);
         }
         // Perform any necessary post-processing/cleanup
-        processorMap.values().forEach(LegDataProcessor::postProcess);
+        postProcess();
         // Set the fragments as processed and update
         legDataFragmentDao.setPendProcessingFalse(fragments);
         return fragments.size();
@@ -182,6 +232,10 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
             ImmutableSet<LegDataFragmentType> allowedTypes = options.getAllowedFragmentTypes();
             LimitOffset limOff = new LimitOffset(env.getLegDataBatchSize());
             fragments = legDataFragmentDao.getPendingLegDataFragments(allowedTypes, SortOrder.ASC, limOff);
+            // Start a fresh set of stats for this ingest, keeping the last ingest's stats if there is nothing to do
+            if (processCount == 0 && !fragments.isEmpty()) {
+                fragmentTypeStats = createFragmentTypeStats();
+            }
             // Process fragments in a batch, or one by one depending on sobi batch config.
             if (env.isLegDataBatchEnabled()) {
                 processCount += processFragments(fragments, options);
@@ -210,8 +264,103 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<LegDataFragmentTypeStats> getFragmentTypeStats() {
+        return fragmentTypeStats.values();
+    }
+
+    /**
+     * Sets the number of workers used to process fragments, replacing the current worker pool.
+     * Must not be called while fragments are being processed.
+     *
+     * @param workerCount int - fragments are processed serially if this is 1
+     */
+    void setWorkerCount(int workerCount) {
+        if (workerPool != null) {
+            workerPool.shutdown();
+        }
+        this.workerCount = workerCount;
+        this.workerPool = (workerCount > 1) ? new LegDataWorkerPool(workerCount) : null;
+    }
+
     /** --- Internal Methods --- */
 
+    /**
+     * Hands off the fragment to the processor that supports its type.
+     *
+     * @param fragment LegDataFragment
+     */
+    private void processFragment(LegDataFragment fragment) {
+        long startNanos = System.nanoTime();
+        fragment.startProcessing();
+        legDataFragmentDao.updateLegDataFragment(fragment);
+        // Hand off processing to specific implementations based on fragment type.
+        if (processorMap.containsKey(fragment.getType())) {
+            LegDataProcessor currentProcessor = processorMap.get(fragment.getType());
+            currentProcessor.process(fragment);
+            currentProcessor.checkIngestCache();
+        } else {
+            logger.error("No processors have been registered to handle: " + fragment);
+        }
+        fragment.setProcessedCount(fragment.getProcessedCount() + 1);
+        fragment.setProcessedDateTime(LocalDateTime.now());
+        fragmentTypeStats.get(fragment.getType()).processed(startNanos, System.nanoTime());
+    }
+
+    /**
+     * Processes the fragments on the worker pool, partitioned by the entity they modify.
+     * Fragments without a single entity are processed on this thread once the workers have finished
+     * and flushed everything that was queued before them.
+     *
+     * @param fragments List<LegDataFragment> - fragments in the order they must be applied
+     */
+    private void processFragmentsInParallel(List<LegDataFragment> fragments) {
+        // Set if this thread has ingest cache updates that the workers may need to read
+        boolean unflushedBarrier = false;
+        // Set if the workers may have ingest cache updates that this thread may need to read
+        boolean unflushedWorkers = false;
+        for (LegDataFragment fragment : fragments) {
+            Optional<Object> entityId = LegDataFragmentPartitioner.getEntityId(fragment);
+            if (entityId.isPresent()) {
+                if (unflushedBarrier) {
+                    postProcess();
+                    unflushedBarrier = false;
+                }
+                LegDataFragmentTypeStats stats = fragmentTypeStats.get(fragment.getType());
+                stats.queued();
+                workerPool.submit(entityId.get(), () -> {
+                    stats.dequeued();
+                    processFragment(fragment);
+                });
+                unflushedWorkers = true;
+            } else {
+                if (unflushedWorkers) {
+                    workerPool.runOnAllWorkers(this::postProcess);
+                    unflushedWorkers = false;
+                }
+                processFragment(fragment);
+                unflushedBarrier = true;
+            }
+        }
+        if (unflushedWorkers) {
+            workerPool.runOnAllWorkers(this::postProcess);
+        }
+    }
+
+    /**
+     * Flushes the ingest caches of the calling thread and performs any other post-processing.
+     */
+    private void postProcess() {
+        processorMap.values().forEach(LegDataProcessor::postProcess);
+    }
+
+    private static ImmutableMap<LegDataFragmentType, LegDataFragmentTypeStats> createFragmentTypeStats() {
+        return Maps.immutableEnumMap(Maps.toMap(EnumSet.allOf(LegDataFragmentType.class), LegDataFragmentTypeStats::new));
+    }
+
     /**
      * Gets incoming {@link SourceFile}s from multiple sources
      * @return {@link List<SourceFile>}
@@ -229,18 +378,85 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         return incomingSourceFiles;
     }
 
+    /**
+     * Collates the source files in order.  If more than one collate reader is configured, the files following
+     * the one being saved are read and split into fragments in parallel, up to two files ahead per reader.
+     *
+     * @param sourceFiles List<SourceFile> - source files in the order they were published
+     * @return int - the number of fragments saved
+     * @throws IOException
+     */
+    private int collateSourceFiles(List<SourceFile> sourceFiles) throws IOException {
+        int fragmentCount = 0;
+        if (collateReaderPool == null) {
+            for (SourceFile sourceFile : sourceFiles) {
+                fragmentCount += collateSourceFile(sourceFile, createFragments(sourceFile));
+            }
+            return fragmentCount;
+        }
+        int readAhead = collateReaderCount * 2;
+        Deque<Future<List<LegDataFragment>>> pendingReads = new ArrayDeque<>();
+        Iterator<SourceFile> readIterator = sourceFiles.iterator();
+        try {
+            for (SourceFile sourceFile : sourceFiles) {
+                while (readIterator.hasNext() && pendingReads.size() < readAhead) {
+                    SourceFile nextFile = readIterator.next();
+                    pendingReads.add(collateReaderPool.submit(() -> createFragments(nextFile)));
+                }
+                fragmentCount += collateSourceFile(sourceFile, awaitFragments(pendingReads.remove()));
+            }
+        } finally {
+            pendingReads.forEach(read -> read.cancel(true));
+        }
+        return fragmentCount;
+    }
+
+    /**
+     * Waits for a source file to be read into fragments, rethrowing any exception raised while reading it.
+     */
+    private static List<LegDataFragment> awaitFragments(Future<List<LegDataFragment>> read) throws IOException {
+        try {
+            return read.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading source files", ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Failed to read source file", ex.getCause());
+        }
+    }
+
+    /**
+     * Logs the number of files and fragments collated per second, and records them to the process run log.
+     */
+    private void logCollateRates(DataProcessUnit unit, int fileCount, int fragmentCount, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1) / 1e9;
+        String message = String.format("Collated %d files and %d fragments in %.1f seconds (%.1f files/sec, %.1f fragments/sec)",
+                fileCount, fragmentCount, seconds, fileCount / seconds, fragmentCount / seconds);
+        logger.info(message);
+        unit.addMessage(message);
+        unit.setEndDateTime(LocalDateTime.now());
+        eventBus.post(new DataProcessUnitEvent(unit));
+    }
+
     /**
      * Performs collate operations on a single source file
      * @param sourceFile
+     * @param fragments List<LegDataFragment> - the fragments created from the source file
+     * @return int - the number of fragments saved
      * @throws IOException
      */
-    private void collateSourceFile(SourceFile sourceFile) throws IOException {
+    private int collateSourceFile(SourceFile sourceFile, List<LegDataFragment> fragments) throws IOException {
         // Do some slightly different processing for SOBI and XML files
         DataProcessUnit unit = new DataProcessUnit(
                 sourceFile.getSourceType().name(), sourceFile.getFileName(),
                 LocalDateTime.now(), DataProcessAction.COLLATE);
 
-        List<LegDataFragment> fragments = createFragments(sourceFile); //When Switching to XML Only we can get rid of the list and save some memory
         logger.info("Created {} fragments", fragments.size());
 
         // Record the source file in the backing store.
@@ -258,6 +474,7 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         sourceFileRefDao.updateSourceFile(sourceFile);
         unit.setEndDateTime(LocalDateTime.now());
         eventBus.post(new DataProcessUnitEvent(unit));
+        return fragments.size();
     }
 
     /**
@@ -277,9 +494,8 @@ public class ManagedLegDataProcessService implements LegDataProcessService {
         // is always set to 0 to ensure that they are always processed first.
         int sequenceNo = 1; //TODO verify this is supposed to be 1
 
-        // Replace the null characters with spaces and split by newline.
-        List<String> lines = Arrays.asList(sourceFile.getText().replace('\0', ' ').split("\\r?\\n"));
-        Iterator<String> lineIterator = lines.iterator();
+        // Read the lines of the file, with null characters replaced by spaces.
+        Iterator<String> lineIterator = SobiBlockReader.lines(sourceFile.getTextSequence());
         while (lineIterator.hasNext()) {
             String line = lineIterator.next();
             // Check for a patch tag indicating a manual fix
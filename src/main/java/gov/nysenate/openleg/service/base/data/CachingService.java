@@ -8,6 +8,7 @@ import net.sf.ehcache.config.SizeOfPolicyConfiguration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.List;
 
 import static net.sf.ehcache.config.SizeOfPolicyConfiguration.MaxDepthExceededBehavior.CONTINUE;
@@ -26,6 +27,14 @@ public interface CachingService<ContentId>
      */
     public List<Ehcache> getCaches();
 
+    /**
+     * (Default Method)
+     * Returns any off heap cache tiers maintained alongside the heap caches.
+     */
+    public default List<OffHeapCache<?>> getOffHeapCaches() {
+        return Collections.emptyList();
+    }
+
     /**
      * Evicts a single item from the cache based on the given content id
      */
@@ -0,0 +1,300 @@
+package gov.nysenate.openleg.service.base.data;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A simple long-keyed cache that stores serialized values outside of the java heap.
+ *
+ * Values are serialized and compressed into a compact binary form and written into fixed size blocks
+ * that are carved out of a small number of direct byte buffer segments. Since the stored bytes live off-heap,
+ * they add nothing to GC pressure and there is no need to walk the object graph to account for their size.
+ * The cost is that every read has to deserialize a fresh copy of the value.
+ *
+ * When the byte budget is exhausted, the least recently accessed entries are evicted to make room.
+ *
+ * @param <V> Type of the cached values.
+ */
+public class OffHeapCache<V extends Serializable>
+{
+    private static final Logger logger = LoggerFactory.getLogger(OffHeapCache.class);
+
+    /** The size of a single storage block. Values occupy as many whole blocks as they need. */
+    public static final int DEFAULT_BLOCK_SIZE = 4096;
+
+    /** Upper bound on the size of a single direct buffer segment. */
+    private static final int MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private final String name;
+    private final Class<V> valueClass;
+    private final int blockSize;
+    private final int blocksPerSegment;
+    private final int totalBlocks;
+    private final ByteBuffer[] segments;
+
+    /** Stack of unused block indices. */
+    private final int[] freeBlocks;
+    private int freeBlockCount;
+
+    /** Maps packed keys to their stored entries. Access ordered so iteration starts at the LRU entry. */
+    private final LinkedHashMap<Long, StoredEntry> index = new LinkedHashMap<>(1024, 0.75f, true);
+
+    private long storedBytes = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong putCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /** Location of a stored value. */
+    private static class StoredEntry
+    {
+        final int[] blocks;
+        final int length;
+
+        StoredEntry(int[] blocks, int length) {
+            this.blocks = blocks;
+            this.length = length;
+        }
+    }
+
+    /** --- Constructors --- */
+
+    public OffHeapCache(String name, Class<V> valueClass, long maxBytes) {
+        this(name, valueClass, maxBytes, DEFAULT_BLOCK_SIZE);
+    }
+
+    public OffHeapCache(String name, Class<V> valueClass, long maxBytes, int blockSize) {
+        if (blockSize <= 0 || MAX_SEGMENT_SIZE % blockSize != 0) {
+            throw new IllegalArgumentException("Block size must evenly divide " + MAX_SEGMENT_SIZE);
+        }
+        if (maxBytes < blockSize) {
+            throw new IllegalArgumentException("Off heap cache " + name + " must be at least one block in size");
+        }
+        this.name = name;
+        this.valueClass = valueClass;
+        this.blockSize = blockSize;
+        this.blocksPerSegment = MAX_SEGMENT_SIZE / blockSize;
+        this.totalBlocks = (int) Math.min(Integer.MAX_VALUE, maxBytes / blockSize);
+        int segmentCount = (totalBlocks + blocksPerSegment - 1) / blocksPerSegment;
+        this.segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            int segmentBlocks = Math.min(blocksPerSegment, totalBlocks - i * blocksPerSegment);
+            segments[i] = ByteBuffer.allocateDirect(segmentBlocks * blockSize);
+        }
+        this.freeBlocks = new int[totalBlocks];
+        clear();
+        logger.info("Allocated {} MB off heap for the {} cache", ((long) totalBlocks * blockSize) / (1024 * 1024), name);
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Serialize and store the given value under the packed key, replacing any existing entry.
+     * Values that cannot be serialized or that exceed the total capacity are not stored.
+     *
+     * @param key long
+     * @param value V
+     * @return boolean - true if the value was stored
+     */
+    public boolean put(long key, V value) {
+        if (value == null) {
+            remove(key);
+            return false;
+        }
+        byte[] data;
+        try {
+            data = serialize(value);
+        }
+        catch (IOException ex) {
+            logger.warn("Could not serialize value for the {} off heap cache: {}", name, ex.getMessage());
+            rejectedCount.incrementAndGet();
+            remove(key);
+            return false;
+        }
+        int neededBlocks = Math.max(1, (data.length + blockSize - 1) / blockSize);
+        synchronized (this) {
+            removeEntry(key);
+            if (neededBlocks > totalBlocks) {
+                rejectedCount.incrementAndGet();
+                return false;
+            }
+            Iterator<Map.Entry<Long, StoredEntry>> lruIterator = index.entrySet().iterator();
+            while (freeBlockCount < neededBlocks && lruIterator.hasNext()) {
+                StoredEntry evicted = lruIterator.next().getValue();
+                lruIterator.remove();
+                releaseBlocks(evicted);
+                evictedCount.incrementAndGet();
+            }
+            int[] blocks = new int[neededBlocks];
+            for (int i = 0; i < neededBlocks; i++) {
+                blocks[i] = freeBlocks[--freeBlockCount];
+                int offset = i * blockSize;
+                writeBlock(blocks[i], data, offset, Math.min(blockSize, data.length - offset));
+            }
+            index.put(key, new StoredEntry(blocks, data.length));
+            storedBytes += data.length;
+            putCount.incrementAndGet();
+            return true;
+        }
+    }
+
+    /**
+     * Retrieve and deserialize the value stored under the packed key.
+     *
+     * @param key long
+     * @return Optional<V> - a fresh copy of the stored value, or empty if it is not cached
+     */
+    public Optional<V> get(long key) {
+        byte[] data;
+        synchronized (this) {
+            StoredEntry entry = index.get(key);
+            if (entry == null) {
+                missCount.incrementAndGet();
+                return Optional.empty();
+            }
+            data = new byte[entry.length];
+            for (int i = 0; i < entry.blocks.length; i++) {
+                int offset = i * blockSize;
+                readBlock(entry.blocks[i], data, offset, Math.min(blockSize, entry.length - offset));
+            }
+        }
+        try {
+            V value = deserialize(data);
+            hitCount.incrementAndGet();
+            return Optional.of(value);
+        }
+        catch (IOException | ClassNotFoundException ex) {
+            logger.warn("Could not deserialize value from the {} off heap cache: {}", name, ex.getMessage());
+            missCount.incrementAndGet();
+            remove(key);
+            return Optional.empty();
+        }
+    }
+
+    public synchronized boolean containsKey(long key) {
+        return index.containsKey(key);
+    }
+
+    public synchronized void remove(long key) {
+        removeEntry(key);
+    }
+
+    /**
+     * Removes all entries from the cache. The allocated memory is retained for reuse.
+     */
+    public synchronized void clear() {
+        index.clear();
+        storedBytes = 0;
+        for (int i = 0; i < totalBlocks; i++) {
+            freeBlocks[i] = totalBlocks - 1 - i;
+        }
+        freeBlockCount = totalBlocks;
+    }
+
+    /** --- Stats --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getSize() {
+        return index.size();
+    }
+
+    /** The number of serialized bytes currently stored. */
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    /** The number of bytes occupied by stored blocks, including unused space at the end of each value's last block. */
+    public synchronized long getUsedBytes() {
+        return (long) (totalBlocks - freeBlockCount) * blockSize;
+    }
+
+    public long getMaxBytes() {
+        return (long) totalBlocks * blockSize;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    public double getHitRatio() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public long getPutCount() {
+        return putCount.get();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    /** The number of values that were not stored because they could not be serialized or were too large. */
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /** --- Internal --- */
+
+    private void removeEntry(long key) {
+        StoredEntry entry = index.remove(key);
+        if (entry != null) {
+            releaseBlocks(entry);
+        }
+    }
+
+    private void releaseBlocks(StoredEntry entry) {
+        for (int block : entry.blocks) {
+            freeBlocks[freeBlockCount++] = block;
+        }
+        storedBytes -= entry.length;
+    }
+
+    private void writeBlock(int block, byte[] src, int srcOffset, int length) {
+        ByteBuffer buffer = segments[block / blocksPerSegment].duplicate();
+        buffer.position((block % blocksPerSegment) * blockSize);
+        buffer.put(src, srcOffset, length);
+    }
+
+    private void readBlock(int block, byte[] dest, int destOffset, int length) {
+        ByteBuffer buffer = segments[block / blocksPerSegment].duplicate();
+        buffer.position((block % blocksPerSegment) * blockSize);
+        buffer.get(dest, destOffset, length);
+    }
+
+    private byte[] serialize(V value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(blockSize);
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (ObjectOutputStream out = new ObjectOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            out.writeObject(value);
+        }
+        finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private V deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new InflaterInputStream(new ByteArrayInputStream(data)))) {
+            return valueClass.cast(in.readObject());
+        }
+    }
+}
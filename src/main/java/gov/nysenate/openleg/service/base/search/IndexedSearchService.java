@@ -2,8 +2,10 @@ package gov.nysenate.openleg.service.base.search;
 
 import gov.nysenate.openleg.model.search.ClearIndexEvent;
 import gov.nysenate.openleg.model.search.RebuildIndexEvent;
+import gov.nysenate.openleg.model.search.ReindexProgress;
 
 import java.util.Collection;
+import java.util.Optional;
 
 public interface IndexedSearchService<T>
 {
@@ -39,4 +41,11 @@ public interface IndexedSearchService<T>
      * by the implementation and clearing them from the backing store.
      */
     public void handleClearEvent(ClearIndexEvent event);
+
+    /**
+     * Get the progress of the current or most recent index rebuild, if the implementation tracks it.
+     */
+    public default Optional<ReindexProgress> getReindexProgress() {
+        return Optional.empty();
+    }
 }
\ No newline at end of file
@@ -5,9 +5,13 @@ import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.*;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import org.apache.commons.lang3.tuple.Pair;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -42,6 +46,19 @@ public interface BillDataService
      */
     Bill getBill(BaseBillId billId, Set<BillTextFormat> fullTextFormats) throws BillNotFoundEx;
 
+    /**
+     * Retrieve Bill instances for each of the given ids, loading any bills that are not cached
+     * as a single batch.
+     *
+     * Will only include bill texts for the given formats.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @param fullTextFormats {@link Set<BillTextFormat>} formats to include on the bills
+     * @return {@link List<Bill>} - in the same order as the given ids
+     * @throws BillNotFoundEx - If no Bill was found for one of the given ids.
+     */
+    List<Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> fullTextFormats) throws BillNotFoundEx;
+
     /**
      * Retrieve a BillInfo instance for the matching BillId. This contains
      * less information that the Bill for purposes of displaying in listings.
@@ -63,6 +80,36 @@ public interface BillDataService
      */
     BillInfo getBillInfoSafe(BaseBillId billId);
 
+    /**
+     * Retrieve BillInfo instances for each of the given ids. Cached bill infos are resolved first and
+     * any that are not cached are loaded as a single batch. This should be preferred over repeated calls to
+     * {@link #getBillInfo(BaseBillId)} when a view references many bills.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @return {@link Map<BaseBillId, BillInfo>} - ordered by the given ids. Ids with no matching bill are omitted.
+     */
+    Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds);
+
+    /**
+     * Batch version of {@link #getBillInfoSafe(BaseBillId)}. Retrieves BillInfo instances for each of the given
+     * ids, using a dummy BillInfo for any bill that is not found.
+     *
+     * @param billIds {@link Collection<BaseBillId>}
+     * @return {@link Map<BaseBillId, BillInfo>} - containing each of the given ids, ordered by the given ids.
+     */
+    Map<BaseBillId, BillInfo> getBillInfosSafe(Collection<BaseBillId> billIds);
+
+    /**
+     * Finds which of the given copies of bills, such as search index documents, are older than the saved
+     * version of the bill. The copies are compared against the modified date times stored with the bills.
+     * A copy is treated as outdated if its modified date time is unknown, or if the saved bill has no
+     * modified date time or does not exist.
+     *
+     * @param modifiedDateTimes Map<BaseBillId, LocalDateTime> - the modified date time of each copy, null if unknown
+     * @return Set<BaseBillId> - the ids of the outdated copies
+     */
+    Set<BaseBillId> getOutdatedBillIds(Map<BaseBillId, LocalDateTime> modifiedDateTimes);
+
     /**
      * Retrieve a list of BaseBillIds within the specified session year in ascending order.
      * This can be useful for functions that need to iterate over the entire collection of
@@ -95,6 +142,16 @@ public interface BillDataService
      */
     void saveBill(Bill bill, LegDataFragment fragment, boolean postUpdateEvent);
 
+    /**
+     * Saves a batch of Bills in the persistence layer, each paired with the LegDataFragment that
+     * triggered its update. This has the same effect as calling {@link #saveBill} for each bill.
+     *
+     * @param bills Collection<Pair<Bill, LegDataFragment>>
+     * @param postUpdateEvent boolean - Set to true if this method should post a BillUpdateEvent for each bill
+     *                                  to the event bus indicating to subscribers that the bill may have changed.
+     */
+    void saveBills(Collection<Pair<Bill, LegDataFragment>> bills, boolean postUpdateEvent);
+
     /**
      * Returns a closed Range containing the session years for which bill data exists.
      * If there are no bills in the database, an empty Optional will be returned instead.
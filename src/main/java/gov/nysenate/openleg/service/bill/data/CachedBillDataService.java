@@ -14,10 +14,13 @@ import gov.nysenate.openleg.model.cache.CacheWarmEvent;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
 import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.base.data.OffHeapCache;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import net.sf.ehcache.*;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
+import net.sf.ehcache.event.CacheEventListenerAdapter;
+import org.apache.commons.lang3.tuple.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -30,6 +33,7 @@ import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * Data service layer for retrieving and updating bill data. This implementation makes use of
@@ -46,10 +50,15 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 
     @Value("${bill.cache.size}") private long billCacheSizeMb;
     @Value("${bill-info.cache.size}") private long billInfoCacheSizeMb;
+    @Value("${bill.cache.offheap.size:0}") private long billOffHeapCacheSizeMb;
+    @Value("${leg.data.bill.batch.persist.enabled:false}") private boolean batchPersistEnabled;
 
     private Cache billCache;
     private Cache billInfoCache;
 
+    /** Optional second tier that holds serialized bills evicted from the heap bill cache. */
+    private OffHeapCache<Bill> billOffHeapCache;
+
     @PostConstruct
     private void init() {
         setupCaches();
@@ -83,6 +92,21 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         // This can only be called after the cache is added to the cache manager.
         this.billCache.setMemoryStoreEvictionPolicy(new BillCacheEvictionPolicy());
 
+        // Bills evicted from the heap cache are spilled into the off heap tier if it is enabled.
+        if (billOffHeapCacheSizeMb > 0) {
+            this.billOffHeapCache = new OffHeapCache<>(ContentCache.BILL.name() + "_OFFHEAP", Bill.class,
+                    billOffHeapCacheSizeMb * 1024 * 1024);
+            this.billCache.getCacheEventNotificationService().registerListener(new CacheEventListenerAdapter() {
+                @Override
+                public void notifyElementEvicted(Ehcache cache, Element element) {
+                    BaseBillId billId = (BaseBillId) element.getObjectKey();
+                    if (billId.hasPackedKey()) {
+                        billOffHeapCache.put(billId.toPackedKey(), (Bill) element.getObjectValue());
+                    }
+                }
+            });
+        }
+
         // Bill Info cache will store BillInfo instances to speed up search and listings.
         // If a bill is already stored in the billCache, it's BillInfo does not need to be stored here.
         this.billInfoCache = new Cache(new CacheConfiguration().name(ContentCache.BILL_INFO.name())
@@ -92,6 +116,24 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         cacheManager.addCache(this.billInfoCache);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        CachingService.super.evictCaches();
+        if (billOffHeapCache != null) {
+            logger.info("Clearing out {} cache", billOffHeapCache.getName());
+            billOffHeapCache.clear();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public List<OffHeapCache<?>> getOffHeapCaches() {
+        return billOffHeapCache != null
+                ? Collections.singletonList(billOffHeapCache)
+                : Collections.emptyList();
+    }
+
     /**
      * Pre-load the bill caches by clearing out each of their contents and then loading:
      * Bill Cache - Current session year bills only
@@ -143,6 +185,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         logger.debug("evicting {}", baseBillId);
         billInfoCache.remove(baseBillId);
         billCache.remove(baseBillId);
+        if (isOffHeapCacheable(baseBillId)) {
+            billOffHeapCache.remove(baseBillId.toPackedKey());
+        }
     }
 
     /** {@inheritDoc} */
@@ -163,7 +208,7 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
         try {
             Bill bill;
-            if (billCache.get(billId) != null) {
+            if (billCache.get(billId) != null || promoteFromOffHeapCache(billId)) {
                 bill = constructBillFromCache(billId, fullTextFormats);
                 logger.debug("Cache hit for bill {}", bill);
             }
@@ -182,6 +227,49 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public List<Bill> getBills(Collection<BaseBillId> billIds, Set<BillTextFormat> fullTextFormats) throws BillNotFoundEx {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, Bill> bills = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        try {
+            for (BaseBillId billId : new LinkedHashSet<>(billIds)) {
+                Element element = billCache.get(billId);
+                if (element == null && promoteFromOffHeapCache(billId)) {
+                    element = billCache.get(billId);
+                }
+                if (element != null) {
+                    bills.put(billId, ((Bill) element.getObjectValue()).shallowClone());
+                }
+                else {
+                    uncachedIds.add(billId);
+                }
+            }
+        }
+        catch (CloneNotSupportedException e) {
+            throw new CacheException("Failed to cache retrieved Bill: " + e.getMessage());
+        }
+        logger.debug("Bill batch of {}: {} cache hits, fetching {}..",
+                billIds.size(), bills.size(), uncachedIds.size());
+        billDao.applyText(bills.values(), fullTextFormats);
+        Map<BaseBillId, Bill> fetchedBills = billDao.getBills(uncachedIds, fullTextFormats);
+        fetchedBills.values().forEach(this::putStrippedBillInCache);
+        bills.putAll(fetchedBills);
+
+        List<Bill> billList = new ArrayList<>(billIds.size());
+        for (BaseBillId billId : billIds) {
+            Bill bill = bills.get(billId);
+            if (bill == null) {
+                throw new BillNotFoundEx(billId);
+            }
+            billList.add(bill);
+        }
+        return billList;
+    }
+
     /** {@inheritDoc} */
     @Override
     public BillInfo getBillInfo(BaseBillId billId) throws BillNotFoundEx {
@@ -189,11 +277,9 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         if (billId == null) {
             throw new IllegalArgumentException("BillId cannot be null");
         }
-        if (billCache.get(billId) != null) {
-            return new BillInfo((Bill) billCache.get(billId).getObjectValue());
-        }
-        if (billInfoCache.get(billId) != null) {
-            return (BillInfo) billInfoCache.get(billId).getObjectValue();
+        BillInfo cachedBillInfo = getCachedBillInfo(billId);
+        if (cachedBillInfo != null) {
+            return cachedBillInfo;
         }
         try {
             BillInfo billInfo = billDao.getBillInfo(billId);
@@ -211,13 +297,66 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         try {
             return getBillInfo(billId);
         } catch (BillNotFoundEx ex) {
-            BillInfo dummyInfo = new BillInfo();
-            dummyInfo.setBillId(billId);
-            String message = "Data is currently not available for this bill";
-            dummyInfo.setTitle(message);
-            dummyInfo.setSummary(message);
-            return dummyInfo;
+            return getDummyBillInfo(billId);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, BillInfo> getBillInfos(Collection<BaseBillId> billIds) {
+        if (billIds == null) {
+            throw new IllegalArgumentException("BillIds cannot be null");
+        }
+        Map<BaseBillId, BillInfo> billInfos = new HashMap<>();
+        List<BaseBillId> uncachedIds = new ArrayList<>();
+        for (BaseBillId billId : new LinkedHashSet<>(billIds)) {
+            BillInfo billInfo = getCachedBillInfo(billId);
+            if (billInfo != null) {
+                billInfos.put(billId, billInfo);
+            }
+            else {
+                uncachedIds.add(billId);
+            }
+        }
+        logger.debug("Bill info batch of {}: {} cache hits, fetching {}..",
+                billIds.size(), billInfos.size(), uncachedIds.size());
+        Map<BaseBillId, BillInfo> fetchedBillInfos = billDao.getBillInfos(uncachedIds);
+        fetchedBillInfos.forEach((billId, billInfo) -> billInfoCache.put(new Element(billId, billInfo)));
+        billInfos.putAll(fetchedBillInfos);
+
+        Map<BaseBillId, BillInfo> orderedBillInfos = new LinkedHashMap<>();
+        for (BaseBillId billId : billIds) {
+            BillInfo billInfo = billInfos.get(billId);
+            if (billInfo != null) {
+                orderedBillInfos.put(billId, billInfo);
+            }
         }
+        return orderedBillInfos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, BillInfo> getBillInfosSafe(Collection<BaseBillId> billIds) {
+        Map<BaseBillId, BillInfo> billInfos = getBillInfos(billIds);
+        Map<BaseBillId, BillInfo> safeBillInfos = new LinkedHashMap<>();
+        for (BaseBillId billId : billIds) {
+            safeBillInfos.put(billId, billInfos.containsKey(billId) ? billInfos.get(billId) : getDummyBillInfo(billId));
+        }
+        return safeBillInfos;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public Set<BaseBillId> getOutdatedBillIds(Map<BaseBillId, LocalDateTime> modifiedDateTimes) {
+        Map<BaseBillId, LocalDateTime> savedModifiedTimes = billDao.getModifiedDateTimes(modifiedDateTimes.keySet());
+        return modifiedDateTimes.entrySet().stream()
+                .filter(entry -> {
+                    LocalDateTime savedModifiedTime = savedModifiedTimes.get(entry.getKey());
+                    return entry.getValue() == null || savedModifiedTime == null
+                            || entry.getValue().isBefore(savedModifiedTime);
+                })
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toSet());
     }
 
     /** {@inheritDoc} */
@@ -252,6 +391,29 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         }
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * Unlike {@link #saveBill}, this is not synchronized, so that the parallel leg data workers can flush
+     * their ingest caches at the same time. Each worker only holds the bills of its own partition, and each
+     * batch is written in a single transaction by {@link BillDao#updateBills(Collection)}.
+     */
+    @Override
+    public void saveBills(Collection<Pair<Bill, LegDataFragment>> bills, boolean postUpdateEvent) {
+        if (!batchPersistEnabled) {
+            bills.forEach(entry -> saveBill(entry.getLeft(), entry.getRight(), postUpdateEvent));
+            return;
+        }
+        logger.debug("Persisting batch of {} bills", bills.size());
+        billDao.updateBills(bills);
+        for (Pair<Bill, LegDataFragment> entry : bills) {
+            putStrippedBillInCache(entry.getLeft());
+            if (postUpdateEvent) {
+                eventBus.post(new BillUpdateEvent(entry.getLeft(), LocalDateTime.now()));
+            }
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public Optional<Range<SessionYear>> activeSessionRange() {
@@ -276,6 +438,37 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
 
     /** --- Internal Methods --- */
 
+    /**
+     * Gets the BillInfo for the given bill from the bill cache, including its off heap tier,
+     * or from the bill info cache.
+     *
+     * @param billId BaseBillId
+     * @return BillInfo - null if the bill is not cached
+     */
+    private BillInfo getCachedBillInfo(BaseBillId billId) {
+        Element billElement = billCache.get(billId);
+        if (billElement == null && promoteFromOffHeapCache(billId)) {
+            billElement = billCache.get(billId);
+        }
+        if (billElement != null) {
+            return new BillInfo((Bill) billElement.getObjectValue());
+        }
+        Element billInfoElement = billInfoCache.get(billId);
+        return billInfoElement != null ? (BillInfo) billInfoElement.getObjectValue() : null;
+    }
+
+    /**
+     * Creates a BillInfo indicating that data is not available for the given bill.
+     */
+    private static BillInfo getDummyBillInfo(BaseBillId billId) {
+        BillInfo dummyInfo = new BillInfo();
+        dummyInfo.setBillId(billId);
+        String message = "Data is currently not available for this bill";
+        dummyInfo.setTitle(message);
+        dummyInfo.setSummary(message);
+        return dummyInfo;
+    }
+
     /**
      * Retrieves the bill from the cache. You must check that the bill exists prior to calling this
      * method. The fulltext and memo are put back into a copy of the cached bill.
@@ -292,6 +485,36 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
         return cachedBill;
     }
 
+    /**
+     * Checks the off heap cache tier for the given bill. If it is found there, it is moved back into
+     * the heap bill cache.
+     *
+     * @param billId BaseBillId
+     * @return boolean - true if the bill was found in the off heap cache and is now in the bill cache
+     */
+    private boolean promoteFromOffHeapCache(BaseBillId billId) {
+        if (!isOffHeapCacheable(billId)) {
+            return false;
+        }
+        long key = billId.toPackedKey();
+        Optional<Bill> offHeapBill = billOffHeapCache.get(key);
+        offHeapBill.ifPresent(bill -> {
+            billOffHeapCache.remove(key);
+            billCache.put(new Element(billId, bill));
+        });
+        return offHeapBill.isPresent();
+    }
+
+    /**
+     * Bills are only spilled into the off heap cache if it is enabled and their id can be packed into a key.
+     *
+     * @param billId BaseBillId
+     * @return boolean - true if the bill may be stored in the off heap cache
+     */
+    private boolean isOffHeapCacheable(BaseBillId billId) {
+        return billOffHeapCache != null && billId.hasPackedKey();
+    }
+
     /**
      * In order to cache bills effectively, we strip out the memos and full text from the bill first
      * to save some heap space.
@@ -306,12 +529,15 @@ public class CachedBillDataService implements BillDataService, CachingService<Ba
                     ba.clearFullTexts();
                 });
                 this.billCache.put(new Element(cacheBill.getBaseBillId(), cacheBill));
-                // Remove entry from the bill info cache if it exists
+                // Remove entry from the bill info cache and any stale off heap copy if they exist
                 this.billInfoCache.remove(cacheBill.getBaseBillId());
+                if (isOffHeapCacheable(cacheBill.getBaseBillId())) {
+                    this.billOffHeapCache.remove(cacheBill.getBaseBillId().toPackedKey());
+                }
             }
             catch (CloneNotSupportedException e) {
                 logger.error("Failed to cache bill!", e);
             }
         }
     }
-}
\ No newline at end of file
+}
@@ -11,6 +11,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Map;
 
 @Service
@@ -49,6 +50,15 @@ public class SimpleVetoDataService implements VetoDataService
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<BaseBillId, Map<VetoId,VetoMessage>> getBillVetoes(Collection<BaseBillId> baseBillIds) {
+        if (baseBillIds == null) {
+            throw new IllegalArgumentException("baseBillIds cannot be null!");
+        }
+        return vetoDao.getBillVetoes(baseBillIds);
+    }
+
     /** {@inheritDoc} */
     @Override
     public void updateVetoMessage(VetoMessage vetoMessage, LegDataFragment legDataFragment) {
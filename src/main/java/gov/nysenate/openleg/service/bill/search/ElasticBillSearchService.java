@@ -1,24 +1,31 @@
 package gov.nysenate.openleg.service.bill.search;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
 import com.google.common.eventbus.EventBus;
 import com.google.common.eventbus.Subscribe;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.config.Environment;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.base.SearchIndex;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
+import gov.nysenate.openleg.dao.bill.search.IndexedBillInfo;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.search.*;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
 import gov.nysenate.openleg.service.base.search.IndexedSearchService;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
 import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
-import gov.nysenate.openleg.util.AsyncUtils;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import gov.nysenate.openleg.util.pipeline.Pipeline;
+import gov.nysenate.openleg.util.pipeline.PipelineFactory;
 import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.TermQueryBuilder;
@@ -27,14 +34,14 @@ import org.elasticsearch.search.rescore.RescorerBuilder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
 
@@ -45,14 +52,25 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchService.class);
 
-    private static final int billReindexThreadCount = 4;
-    private static final int billReindexBatchSize = 100;
+    /** The number of bills that are loaded and indexed together during a reindex */
+    @Value("${bill.reindex.batch.size:100}") private int reindexBatchSize;
+    /** The number of bill batches that can wait between each reindex stage */
+    @Value("${bill.reindex.queue.size:8}") private int reindexQueueSize;
+    /** Thread counts for each stage of the reindex pipeline */
+    @Value("${bill.reindex.fetch.threads:4}") private int reindexFetchThreads;
+    @Value("${bill.reindex.serialize.threads:2}") private int reindexSerializeThreads;
+    @Value("${bill.reindex.index.threads:2}") private int reindexIndexThreads;
+    /** Read bill info for search results from the index instead of the bill data service */
+    @Value("${bill.search.source.hydration.enabled:true}") private boolean sourceHydrationEnabled;
 
     @Autowired protected Environment env;
     @Autowired protected EventBus eventBus;
     @Autowired protected ElasticBillSearchDao billSearchDao;
     @Autowired protected BillDataService billDataService;
-    @Autowired private AsyncUtils asyncUtils;
+    @Autowired private PipelineFactory pipelineFactory;
+
+    /** Progress of the current or most recent reindex */
+    private volatile ReindexProgress reindexProgress;
 
     @PostConstruct
     protected void init() {
@@ -64,31 +82,57 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(SessionYear session, String sort, LimitOffset limOff) throws SearchException {
-        return searchBills(
-            QueryBuilders.boolQuery()
-                    .must(QueryBuilders.matchAllQuery())
-                    .filter(QueryBuilders.termQuery("session", session.getYear())),
-            null, null, sort, limOff);
+        return searchBills(getSessionQuery(session), null, null, sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(String query, String sort, LimitOffset limOff) throws SearchException {
-        query = smartSearch(query);
-        QueryBuilder queryBuilder = QueryBuilders.queryStringQuery(query);
-        return searchBills(queryBuilder, null, null, sort, limOff);
+        return searchBills(getQuery(query), null, null, sort, limOff);
     }
 
     /** {@inheritDoc} */
     @Override
     public SearchResults<BaseBillId> searchBills(String query, SessionYear session, String sort, LimitOffset limOff) throws SearchException {
-        query = smartSearch(query);
+        return searchBills(getQuery(query, session), null, null, sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(String query, String sort, LimitOffset limOff)
+            throws SearchException {
+        return searchBillInfos(getQuery(query), sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(SessionYear session, String sort, LimitOffset limOff)
+            throws SearchException {
+        return searchBillInfos(getSessionQuery(session), sort, limOff);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public SearchResults<BillInfoView> searchBillInfos(String query, SessionYear session, String sort,
+                                                       LimitOffset limOff) throws SearchException {
+        return searchBillInfos(getQuery(query, session), sort, limOff);
+    }
+
+    private QueryBuilder getSessionQuery(SessionYear session) {
+        return QueryBuilders.boolQuery()
+                .must(QueryBuilders.matchAllQuery())
+                .filter(QueryBuilders.termQuery("session", session.getYear()));
+    }
+
+    private QueryBuilder getQuery(String query) {
+        return QueryBuilders.queryStringQuery(smartSearch(query));
+    }
+
+    private QueryBuilder getQuery(String query, SessionYear session) {
         TermQueryBuilder sessionFilter = QueryBuilders.termQuery("session", session.getYear());
-        return searchBills(
-            QueryBuilders.boolQuery()
-                    .must(QueryBuilders.queryStringQuery(query))
-                    .filter(sessionFilter),
-                null, null, sort, limOff);
+        return QueryBuilders.boolQuery()
+                .must(QueryBuilders.queryStringQuery(smartSearch(query)))
+                .filter(sessionFilter);
     }
 
     /**
@@ -110,6 +154,50 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
         }
     }
 
+    /**
+     * Searches for bill info, reading it from the index where possible.
+     * The info for bills saved since they were indexed, or indexed without a modified date time, is retrieved
+     * from the bill data service.
+     */
+    private SearchResults<BillInfoView> searchBillInfos(QueryBuilder query, String sort, LimitOffset limOff)
+        throws SearchException {
+        if (!sourceHydrationEnabled) {
+            SearchResults<BaseBillId> results = searchBills(query, null, null, sort, limOff);
+            return new SearchResults<>(results.getTotalResults(), results.getResults().stream()
+                    .map(r -> new SearchResult<>(new BillInfoView(billDataService.getBillInfo(r.getResult())),
+                            r.getRank(), r.getHighlights()))
+                    .collect(Collectors.toList()), results.getLimitOffset());
+        }
+        if (limOff == null) limOff = LimitOffset.TEN;
+        SearchResults<IndexedBillInfo> results;
+        try {
+            results = billSearchDao.searchBillInfos(query, null, null,
+                    ElasticSearchServiceUtils.extractSortBuilders(sort), limOff);
+        }
+        catch (SearchParseException ex) {
+            throw new SearchException("Invalid query string", ex);
+        }
+        catch (ElasticsearchException ex) {
+            throw new UnexpectedSearchException(ex.getMessage(), ex);
+        }
+        Map<BaseBillId, LocalDateTime> indexedModifiedTimes = new HashMap<>();
+        results.getResults().forEach(r ->
+                indexedModifiedTimes.put(r.getResult().getBaseBillId(), r.getResult().getModifiedDateTime()));
+        Set<BaseBillId> outdatedIds = billDataService.getOutdatedBillIds(indexedModifiedTimes);
+        Map<BaseBillId, BillInfo> outdatedInfos = billDataService.getBillInfosSafe(outdatedIds);
+        List<SearchResult<BillInfoView>> billInfos = new ArrayList<>(results.getResults().size());
+        for (SearchResult<IndexedBillInfo> result : results.getResults()) {
+            IndexedBillInfo indexedInfo = result.getResult();
+            BillInfoView billInfoView = outdatedInfos.containsKey(indexedInfo.getBaseBillId())
+                    ? new BillInfoView(outdatedInfos.get(indexedInfo.getBaseBillId()))
+                    : indexedInfo.getBillInfoView();
+            billInfos.add(new SearchResult<>(billInfoView, result.getRank(), result.getHighlights()));
+        }
+        logger.debug("Read {} of {} bill info search results from the index",
+                billInfos.size() - outdatedIds.size(), billInfos.size());
+        return new SearchResults<>(results.getTotalResults(), billInfos, results.getLimitOffset());
+    }
+
     private String smartSearch(String query) {
         if (query != null && !query.contains(":")) {
             Matcher matcher = BillId.billIdPattern.matcher(query.replaceAll("\\s", ""));
@@ -194,28 +282,26 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
             // Prep elasticsearch for heavy indexing.
             billSearchDao.reindexSetup();
 
-            // Load all bill ids into a queue
-            final LinkedBlockingQueue<BaseBillId> billIdQueue = new LinkedBlockingQueue<>();
+            // Load all bill ids and split them into batches
+            final List<BaseBillId> billIds = new ArrayList<>();
             for (SessionYear session = sessions.get().lowerEndpoint();
                  session.compareTo(SessionYear.current()) < 1;
                  session = session.next()) {
-                billIdQueue.addAll(billDataService.getBillIds(session, LimitOffset.ALL));
-            }
-
-            // Initialize and run several BillReindexWorkers to index bills from the queue
-            CompletableFuture[] futures = new CompletableFuture[billReindexThreadCount];
-            AtomicBoolean interrupted = new AtomicBoolean(false);
-            for (int workerNo = 0; workerNo < billReindexThreadCount; workerNo++) {
-                futures[workerNo] = asyncUtils.run(new BillReindexWorker(billIdQueue, interrupted));
+                billIds.addAll(billDataService.getBillIds(session, LimitOffset.ALL));
             }
-            CompletableFuture.allOf(futures).join();
-            logger.info("Finished bill reindex.");
+            runReindexPipeline(billIds);
         } finally {
             // Restore normal index settings.
             billSearchDao.reindexCleanup();
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Optional<ReindexProgress> getReindexProgress() {
+        return Optional.ofNullable(reindexProgress);
+    }
+
     /** {@inheritDoc} */
     @Override
     @Subscribe
@@ -248,46 +334,55 @@ public class ElasticBillSearchService implements BillSearchService, IndexedSearc
     }
 
     /**
-     * Runnable that loads and indexes bills from a bill id queue.
+     * Indexes the given bills using a pipeline of three stages, each with its own threads and bounded queue:
+     * bill batches are loaded from the data service, serialized into bulk index requests,
+     * and finally sent to elasticsearch.  This keeps the database and elasticsearch busy at the same time.
+     *
+     * @param billIds List<BaseBillId>
      */
-    private class BillReindexWorker implements Runnable {
+    private void runReindexPipeline(List<BaseBillId> billIds) {
+        final ReindexProgress progress = new ReindexProgress(SearchIndex.BILL, billIds.size());
+        reindexProgress = progress;
+        int threadCount = reindexFetchThreads + reindexSerializeThreads + reindexIndexThreads;
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount, new OpenlegThreadFactory("bill-reindex"));
+        boolean failed = true;
+        try {
+            Pipeline<Void> pipeline = pipelineFactory.pipelineBuilder(Lists.partition(billIds, reindexBatchSize), executor)
+                    .addTask("fetch", this::loadIndexableBills, reindexQueueSize, reindexFetchThreads)
+                    .addTask("serialize", this::serializeBills, reindexQueueSize, reindexSerializeThreads)
+                    .addTask("index", bulkRequest -> indexBills(bulkRequest, progress), -1, reindexIndexThreads)
+                    .build();
+            progress.setPipeline(pipeline);
+            logger.info("Reindexing {} bills with {} fetch, {} serialize and {} index threads",
+                    billIds.size(), reindexFetchThreads, reindexSerializeThreads, reindexIndexThreads);
+            pipeline.run().join();
+            failed = false;
+            logger.info("Finished bill reindex. Indexed {} bills at {} bills/s",
+                    progress.getIndexedDocs(), String.format("%.1f", progress.getDocsPerSecond()));
+        } finally {
+            progress.finish(failed);
+            executor.shutdownNow();
+        }
+    }
 
-        /** Job queue of bill ids of bills to be indexed */
-        private final BlockingQueue<BaseBillId> billIdQueue;
-        /** Flag shared between workers that is set to true if one worker experiences an error */
-        private final AtomicBoolean interrupted;
+    /** --- Reindex pipeline stages --- */
 
-        BillReindexWorker(BlockingQueue<BaseBillId> billIdQueue, AtomicBoolean interrupted) {
-            this.billIdQueue = billIdQueue;
-            this.interrupted = interrupted;
-        }
+    private Collection<List<Bill>> loadIndexableBills(List<BaseBillId> billIdBatch) {
+        billSearchDao.reaffirmReindexing();
+        List<Bill> bills = billDataService.getBills(billIdBatch, Collections.singleton(PLAIN)).stream()
+                .filter(this::isBillIndexable)
+                .collect(Collectors.toList());
+        return bills.isEmpty() ? Collections.emptyList() : Collections.singletonList(bills);
+    }
 
-        @Override
-        public void run() {
-            List<BaseBillId> billIdBatch;
-            try {
-                do {
-                    if (interrupted.get()) {
-                        logger.info("Terminating reindex job due to exception in other worker");
-                        return;
-                    }
-                    billSearchDao.reaffirmReindexing();
-
-                    billIdBatch = new ArrayList<>(billReindexBatchSize);
-                    billIdQueue.drainTo(billIdBatch, billReindexBatchSize);
-
-                    List<Bill> bills = billIdBatch.stream()
-                            .map((billId) -> billDataService.getBill(billId, Collections.singleton(PLAIN)))
-                            .collect(Collectors.toCollection(() -> new ArrayList<>(billReindexBatchSize)));
-
-                    updateIndex(bills);
-                } while (!billIdBatch.isEmpty());
-            } catch (Throwable ex) {
-                // Set the interrupted flag if an exception occurs
-                interrupted.set(true);
-                throw ex;
-            }
-        }
+    private Collection<BulkRequest> serializeBills(List<Bill> bills) {
+        return Collections.singletonList(billSearchDao.getBillBulkRequest(bills));
+    }
+
+    private Collection<Void> indexBills(BulkRequest bulkRequest, ReindexProgress progress) {
+        billSearchDao.executeBulkRequest(bulkRequest);
+        progress.addIndexedDocs(bulkRequest.numberOfActions());
+        return Collections.emptyList();
     }
 
     /**
@@ -10,9 +10,12 @@ import gov.nysenate.openleg.model.cache.CacheWarmEvent;
 import gov.nysenate.openleg.model.cache.ContentCache;
 import gov.nysenate.openleg.model.law.*;
 import gov.nysenate.openleg.service.base.data.CachingService;
+import gov.nysenate.openleg.service.law.event.BulkLawUpdateEvent;
+import gov.nysenate.openleg.service.law.event.LawUpdateEvent;
 import net.sf.ehcache.Cache;
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
+import net.sf.ehcache.Element;
 import net.sf.ehcache.config.CacheConfiguration;
 import net.sf.ehcache.config.MemoryUnit;
 import org.slf4j.Logger;
@@ -28,6 +31,8 @@ import javax.annotation.PreDestroy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static java.util.stream.Collectors.toList;
 
@@ -44,22 +49,32 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Autowired private EventBus eventBus;
 
     @Value("${law.cache.size}") private long lawTreeCacheHeapSize;
+    @Value("${law-doc.cache.size:50}") private long lawDocCacheHeapSize;
+    @Value("${law-doc.cache.warm.laws:}") private String[] lawDocWarmLawIds;
 
     private EhCacheCache lawTreeCache;
 
-    private Map<String, LocalDate> maxPubDates = new HashMap<>();
+    /** Caches the LawDocVersions of law documents by document id. */
+    private Cache lawDocCache;
+
+    /** Counts the law document evictions, so that versions loaded before an eviction are not cached after it. */
+    private final AtomicLong lawDocEvictionCount = new AtomicLong();
+
+    /** The latest published date of each law, shared by the request and law processing threads. */
+    private volatile Map<String, LocalDate> maxPubDates = new ConcurrentHashMap<>();
 
     @PostConstruct
     private void init() {
         eventBus.register(this);
         setupCaches();
-        maxPubDates = lawDataDao.getLastPublishedMap();
+        maxPubDates = new ConcurrentHashMap<>(lawDataDao.getLastPublishedMap());
     }
 
     @PreDestroy
     private void cleanUp() {
         evictCaches();
         cacheManager.removeCache(ContentCache.LAW.name());
+        cacheManager.removeCache(ContentCache.LAW_DOC.name());
         maxPubDates.clear();
     }
 
@@ -68,7 +83,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     /** {@inheritDoc} */
     @Override
     public List<Ehcache> getCaches() {
-        return Arrays.asList(lawTreeCache.getNativeCache());
+        return Arrays.asList(lawTreeCache.getNativeCache(), lawDocCache);
     }
 
     /** {@inheritDoc} */
@@ -80,13 +95,27 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
                 .sizeOfPolicy(defaultSizeOfPolicy()));
         cacheManager.addCache(cache);
         this.lawTreeCache = new EhCacheCache(cache);
+
+        // The law doc cache holds every version of a document so that it can be looked up as of any date.
+        this.lawDocCache = new Cache(new CacheConfiguration().name(ContentCache.LAW_DOC.name())
+                .eternal(true)
+                .maxBytesLocalHeap(lawDocCacheHeapSize, MemoryUnit.MEGABYTES)
+                .sizeOfPolicy(defaultSizeOfPolicy()));
+        cacheManager.addCache(this.lawDocCache);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void evictCaches() {
+        lawDocEvictionCount.incrementAndGet();
+        CachingService.super.evictCaches();
     }
 
     /** {@inheritDoc} */
     @Override
     @Subscribe
     public void handleCacheEvictEvent(CacheEvictEvent evictEvent) {
-        if (evictEvent.affects(ContentCache.LAW)) {
+        if (evictEvent.affects(ContentCache.LAW) || evictEvent.affects(ContentCache.LAW_DOC)) {
             evictCaches();
             maxPubDates.clear();
         }
@@ -101,11 +130,42 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         }
     }
 
-    /** {@inheritDoc} */
+    /** {@inheritDoc}
+     *
+     * The cached versions of the law's documents are evicted along with the law tree.
+     */
     @Override
     public void evictContent(LawVersionId lawVersionId) {
         lawTreeCache.evict(lawVersionId);
         maxPubDates.clear();
+        String lawId = lawVersionId.getLawId();
+        for (Object documentId : lawDocCache.getKeys()) {
+            if (lawId != null && ((String) documentId).startsWith(lawId.toUpperCase())) {
+                evictLawDocVersions((String) documentId);
+            }
+        }
+    }
+
+    /**
+     * Evicts the cached versions of a document when it is updated.
+     *
+     * @param lawUpdateEvent LawUpdateEvent
+     */
+    @Subscribe
+    public void handleLawUpdate(LawUpdateEvent lawUpdateEvent) {
+        if (lawUpdateEvent.getLawDoc() != null) {
+            evictLawDocVersions(lawUpdateEvent.getLawDoc().getDocumentId());
+        }
+    }
+
+    /**
+     * Evicts the cached versions of each updated document.
+     *
+     * @param bulkLawUpdateEvent BulkLawUpdateEvent
+     */
+    @Subscribe
+    public void handleBulkLawUpdate(BulkLawUpdateEvent bulkLawUpdateEvent) {
+        bulkLawUpdateEvent.getLawDocuments().forEach(doc -> evictLawDocVersions(doc.getDocumentId()));
     }
 
     /** {@inheritDoc} */
@@ -115,6 +175,9 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
             logger.info("Warming up law cache..");
             getLawInfos().forEach(lawInfo -> getLawTree(lawInfo.getLawId(), LocalDate.now()));
             logger.info("Finished warming up law cache..");
+            for (String lawId : lawDocWarmLawIds) {
+                warmLawDocCache(lawId.trim());
+            }
         }
         catch (LawTreeNotFoundEx ex) {
             logger.warn("Failed to warm up law cache!.", ex);
@@ -125,11 +188,24 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     @Subscribe
     public void handleCacheWarmEvent(CacheWarmEvent warmEvent) {
-        if (warmEvent.affects(ContentCache.LAW)) {
+        if (warmEvent.affects(ContentCache.LAW) || warmEvent.affects(ContentCache.LAW_DOC)) {
             warmCaches();
         }
     }
 
+    /**
+     * Loads every version of every document in a law into the law doc cache.
+     *
+     * @param lawId String - Three letter law id
+     */
+    public void warmLawDocCache(String lawId) {
+        logger.info("Warming up law doc cache for {}..", lawId);
+        long evictionCount = lawDocEvictionCount.get();
+        Map<String, LawDocVersions> lawDocVersions = lawDataDao.getAllLawDocVersions(lawId.toUpperCase());
+        lawDocVersions.values().forEach(versions -> putLawDocVersions(versions, evictionCount));
+        logger.info("Cached the versions of {} {} law documents", lawDocVersions.size(), lawId);
+    }
+
     /** --- LawDataService implementation --- */
 
     /** {@inheritDoc} */
@@ -145,7 +221,7 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         try {
             if (endPublishedDate == null) {
                 if (maxPubDates.isEmpty()) {
-                    maxPubDates = lawDataDao.getLastPublishedMap();
+                    maxPubDates = new ConcurrentHashMap<>(lawDataDao.getLastPublishedMap());
                 }
                 endPublishedDate = maxPubDates.get(lawId);
             }
@@ -185,13 +261,9 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
     @Override
     public LawDocument getLawDocument(String documentId, LocalDate endPublishedDate) throws LawDocumentNotFoundEx {
         if (documentId == null) throw new IllegalArgumentException("Supplied documentId cannot be null");
-        if (endPublishedDate == null) endPublishedDate = LocalDate.now();
-        try {
-            return lawDataDao.getLawDocument(documentId.toUpperCase(), endPublishedDate);
-        }
-        catch (EmptyResultDataAccessException ex) {
-            throw new LawDocumentNotFoundEx(documentId, endPublishedDate, "");
-        }
+        LocalDate versionDate = (endPublishedDate != null) ? endPublishedDate : LocalDate.now();
+        return getLawDocVersions(documentId.toUpperCase()).getVersion(versionDate)
+            .orElseThrow(() -> new LawDocumentNotFoundEx(documentId, versionDate, ""));
     }
 
     /** {@inheritDoc} */
@@ -202,6 +274,15 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         return lawDataDao.getLawDocuments(lawId.toUpperCase(), endPublishedDate);
     }
 
+    /** {@inheritDoc} */
+    @Override
+    public Map<String, LawDocument> getLawDocuments(Collection<String> documentIds, LocalDate endPublishedDate) {
+        if (documentIds == null) throw new IllegalArgumentException("Supplied documentIds cannot be null");
+        if (endPublishedDate == null) endPublishedDate = LocalDate.now();
+        return lawDataDao.getLawDocuments(documentIds.stream().map(String::toUpperCase).collect(toList()),
+                endPublishedDate);
+    }
+
     /** {@inheritDoc}
      * @param dateRange*/
     @Override
@@ -225,4 +306,50 @@ public class CachedLawDataService implements LawDataService, CachingService<LawV
         if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
         lawDataDao.updateLawDocument(lawFile, lawDocument);
     }
+
+    /** {@inheritDoc} */
+    @Override
+    public void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments) {
+        if (lawDocuments == null) throw new IllegalArgumentException("Supplied lawDocuments cannot be null");
+        if (lawFile == null) throw new IllegalArgumentException("Supplied lawFile cannot be null");
+        lawDataDao.updateLawDocuments(lawFile, lawDocuments);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Gets every version of a document from the law doc cache, loading them on a cache miss.
+     * Documents that do not exist are not cached.
+     */
+    private LawDocVersions getLawDocVersions(String documentId) {
+        Element element = lawDocCache.get(documentId);
+        if (element != null) {
+            return (LawDocVersions) element.getObjectValue();
+        }
+        long evictionCount = lawDocEvictionCount.get();
+        LawDocVersions versions = lawDataDao.getLawDocVersions(documentId);
+        if (versions.getVersionCount() > 0) {
+            putLawDocVersions(versions, evictionCount);
+        }
+        return versions;
+    }
+
+    /**
+     * Caches the versions of a document unless there has been an eviction since they were loaded,
+     * in which case they may already be out of date.
+     */
+    private void putLawDocVersions(LawDocVersions versions, long evictionCount) {
+        synchronized (lawDocEvictionCount) {
+            if (lawDocEvictionCount.get() == evictionCount) {
+                lawDocCache.put(new Element(versions.getDocumentId(), versions));
+            }
+        }
+    }
+
+    private void evictLawDocVersions(String documentId) {
+        synchronized (lawDocEvictionCount) {
+            lawDocEvictionCount.incrementAndGet();
+            lawDocCache.remove(documentId);
+        }
+    }
 }
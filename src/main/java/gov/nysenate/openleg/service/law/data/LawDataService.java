@@ -5,6 +5,7 @@ import gov.nysenate.openleg.model.law.*;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -74,6 +75,16 @@ public interface LawDataService
      */
     Map<String, LawDocument> getLawDocuments(String lawId, LocalDate endPublishedDate);
 
+    /**
+     * Retrieves the LawDocuments with the given document ids that were published prior to or on 'endPublishedDate'.
+     * Documents that do not exist are omitted from the result.
+     *
+     * @param documentIds Collection<String> - Law document ids
+     * @param endPublishedDate LocalDate - The upper bound for published date
+     * @return Map<String, LawDocument> Map of documentId -> LawDocument
+     */
+    Map<String, LawDocument> getLawDocuments(Collection<String> documentIds, LocalDate endPublishedDate);
+
     /**
      * Get a set of law documents that have been repealed during the given datetime range.
      *
@@ -97,4 +108,12 @@ public interface LawDataService
      * @param lawDocument LawDocument - The LawDocument to persist.
      */
     void saveLawDocument(LawFile lawFile, LawDocument lawDocument);
+
+    /**
+     * Persists the LawDocuments into the backing store in bulk with LawFile used as a reference to the source data.
+     *
+     * @param lawFile LawFile - The LawFile instance that represents the source data.
+     * @param lawDocuments Collection<LawDocument> - The LawDocuments to persist.
+     */
+    void saveLawDocuments(LawFile lawFile, Collection<LawDocument> lawDocuments);
 }
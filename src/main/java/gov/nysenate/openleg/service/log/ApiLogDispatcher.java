@@ -0,0 +1,223 @@
+package gov.nysenate.openleg.service.log;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.model.auth.ApiRequest;
+import gov.nysenate.openleg.model.auth.ApiResponse;
+import gov.nysenate.openleg.service.auth.ApiUserService;
+import gov.nysenate.openleg.service.log.event.ApiLogEvent;
+import gov.nysenate.openleg.service.log.search.ApiLogSearchService;
+import gov.nysenate.openleg.util.BoundedRingBuffer;
+import gov.nysenate.openleg.util.OpenlegThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Hands off api log events from request threads to a background drainer.
+ *
+ * Request threads only write the event into a lock-free ring buffer, which never blocks.
+ * When the buffer is full (or nearly full under the sample policy) events are discarded and counted.
+ * The drainer thread attaches the api user to each logged request, indexes the logs in batches
+ * and posts each event to the event bus for any other listeners.
+ */
+@Service
+public class ApiLogDispatcher
+{
+    private static final Logger logger = LoggerFactory.getLogger(ApiLogDispatcher.class);
+
+    /**
+     * Determines how events are discarded when the buffer cannot keep up.
+     */
+    public enum OverflowPolicy {
+        /** Accept every event until the buffer is full, then drop new events. */
+        DROP,
+        /** Once the buffer is three quarters full, only accept one in every 'sample rate' events. */
+        SAMPLE
+    }
+
+    /** How long the drainer sleeps when there is nothing to drain */
+    private static final long idleSleepNanos = TimeUnit.MILLISECONDS.toNanos(5);
+
+    @Autowired private EventBus eventBus;
+    @Autowired private ApiUserService apiUserService;
+    @Autowired private ApiLogSearchService apiLogSearchService;
+
+    @Value("${api.log.queue.size:65536}") private int queueSize;
+    @Value("${api.log.overflow.policy:DROP}") private OverflowPolicy overflowPolicy;
+    @Value("${api.log.sample.rate:10}") private int sampleRate;
+    @Value("${api.log.batch.size:1000}") private int batchSize;
+    @Value("${api.log.batch.max.wait.ms:1000}") private long batchMaxWaitMs;
+
+    private BoundedRingBuffer<ApiLogEvent> logBuffer;
+    private int sampleThreshold;
+    private Thread drainerThread;
+    private volatile boolean running;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong sampledOutCount = new AtomicLong();
+    private final AtomicLong indexedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        logBuffer = new BoundedRingBuffer<>(queueSize);
+        sampleThreshold = logBuffer.getCapacity() / 4 * 3;
+        running = true;
+        ThreadFactory threadFactory = new OpenlegThreadFactory("api-log-drainer");
+        drainerThread = threadFactory.newThread(this::drain);
+        drainerThread.setDaemon(true);
+        drainerThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        drainerThread.join(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    /**
+     * Queue an api log event to be processed. This never blocks.
+     *
+     * @param apiLogEvent ApiLogEvent
+     * @return boolean - true if the event was queued, false if it was discarded
+     */
+    public boolean submit(ApiLogEvent apiLogEvent) {
+        long received = receivedCount.incrementAndGet();
+        if (overflowPolicy == OverflowPolicy.SAMPLE && logBuffer.size() >= sampleThreshold
+                && received % sampleRate != 0) {
+            sampledOutCount.incrementAndGet();
+            return false;
+        }
+        if (!logBuffer.offer(apiLogEvent)) {
+            droppedCount.incrementAndGet();
+            return false;
+        }
+        queuedCount.incrementAndGet();
+        return true;
+    }
+
+    /** --- Stats --- */
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getQueueCapacity() {
+        return logBuffer.getCapacity();
+    }
+
+    /** @return int - the number of events currently waiting to be processed */
+    public int getQueueSize() {
+        return logBuffer.size();
+    }
+
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    public long getQueuedCount() {
+        return queuedCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOutCount.get();
+    }
+
+    public long getIndexedCount() {
+        return indexedCount.get();
+    }
+
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /** --- Internal --- */
+
+    /**
+     * Drainer loop. Collects events into batches that are processed once they reach the
+     * batch size or once the oldest event in the batch has waited for the max batch wait time.
+     *
+     * Any failure discards the current batch but does not stop the loop, since nothing else empties the buffer
+     * and every later event would be dropped.
+     */
+    private void drain() {
+        List<ApiLogEvent> batch = new ArrayList<>(batchSize);
+        long batchStartNanos = 0;
+        long maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(batchMaxWaitMs);
+        while (running || !logBuffer.isEmpty()) {
+            try {
+                int drained = logBuffer.drainTo(batch, batchSize - batch.size());
+                if (drained > 0 && batch.size() == drained) {
+                    batchStartNanos = System.nanoTime();
+                }
+                boolean batchFull = batch.size() >= batchSize;
+                boolean batchExpired = !batch.isEmpty() && System.nanoTime() - batchStartNanos >= maxWaitNanos;
+                if (batchFull || batchExpired || (!running && !batch.isEmpty())) {
+                    processBatch(batch);
+                    batch.clear();
+                }
+                else if (drained == 0) {
+                    LockSupport.parkNanos(idleSleepNanos);
+                }
+            }
+            catch (Throwable ex) {
+                discardBatch(batch, ex);
+                LockSupport.parkNanos(idleSleepNanos);
+            }
+        }
+        if (!batch.isEmpty()) {
+            try {
+                processBatch(batch);
+            }
+            catch (Throwable ex) {
+                discardBatch(batch, ex);
+            }
+        }
+    }
+
+    private void discardBatch(List<ApiLogEvent> batch, Throwable ex) {
+        failedCount.addAndGet(batch.size());
+        logger.error("Api log drainer failed, discarding " + batch.size() + " api log entries", ex);
+        batch.clear();
+    }
+
+    private void processBatch(List<ApiLogEvent> batch) {
+        List<ApiResponse> responses = new ArrayList<>(batch.size());
+        for (ApiLogEvent apiLogEvent : batch) {
+            ApiRequest apiRequest = apiLogEvent.getApiResponse().getBaseRequest();
+            try {
+                apiUserService.getUserByKey(apiRequest.getApiKey()).ifPresent(apiRequest::setApiUser);
+            }
+            catch (RuntimeException ex) {
+                logger.warn("Could not look up api user for logged request: {}", ex.getMessage());
+            }
+            responses.add(apiLogEvent.getApiResponse());
+        }
+        try {
+            apiLogSearchService.updateIndex(responses);
+            indexedCount.addAndGet(responses.size());
+        }
+        catch (RuntimeException ex) {
+            failedCount.addAndGet(responses.size());
+            logger.error("Failed to index " + responses.size() + " api log entries", ex);
+        }
+        batch.forEach(eventBus::post);
+    }
+}
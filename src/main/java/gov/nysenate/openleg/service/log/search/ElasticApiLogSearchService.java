@@ -12,23 +12,16 @@ import gov.nysenate.openleg.model.search.RebuildIndexEvent;
 import gov.nysenate.openleg.model.search.SearchException;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.base.search.ElasticSearchServiceUtils;
-import gov.nysenate.openleg.service.log.event.ApiLogEvent;
-import gov.nysenate.openleg.util.AsyncUtils;
 import org.elasticsearch.ElasticsearchException;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.search.SearchParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 
 @Service
 public class ElasticApiLogSearchService implements ApiLogSearchService
@@ -37,10 +30,6 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
 
     @Autowired private EventBus eventBus;
     @Autowired private ElasticApiLogSearchDao apiLogSearchDao;
-    @Autowired private AsyncUtils asyncUtils;
-
-    private BlockingQueue<ApiResponse> indexQueue = new ArrayBlockingQueue<>(50000);
-
 
     @PostConstruct
     public void init() {
@@ -82,29 +71,6 @@ public class ElasticApiLogSearchService implements ApiLogSearchService
         throw new IllegalStateException("Cannot rebuild log search index.");
     }
 
-    @Scheduled(cron = "${scheduler.log.index:* * * * * *}")
-    public void indexQueuedLogs() {
-        List<ApiResponse> responses = new ArrayList<>(1000);
-        indexQueue.drainTo(responses);
-        if (responses.size() > 1000) {
-            logger.warn("More than 1000 requests queued for indexing: ({})", responses.size());
-        }
-        updateIndex(responses);
-    }
-
-    /**
-     * The log event is handled here by putting the response in a queue to be indexed.
-     * @param apiLogEvent ApiLogEvent
-     */
-    @Subscribe
-    public void handleApiLogEvent(ApiLogEvent apiLogEvent) {
-        try {
-            this.indexQueue.put(apiLogEvent.getApiResponse());
-        } catch (InterruptedException e) {
-            e.printStackTrace();
-        }
-    }
-
     @Override
     @Subscribe
     public void handleRebuildEvent(RebuildIndexEvent event) {
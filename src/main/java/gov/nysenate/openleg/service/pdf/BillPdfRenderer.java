@@ -1,4 +1,4 @@
-package gov.nysenate.openleg.client.view.bill;
+package gov.nysenate.openleg.service.pdf;
 
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.Bill;
@@ -33,9 +33,9 @@ import java.util.stream.Collectors;
 import static gov.nysenate.openleg.model.bill.BillTextFormat.*;
 
 /**
- * PDF representation of a bill.
+ * Renders the text of a bill amendment as a pdf.
  */
-public class BillPdfView {
+public class BillPdfRenderer {
     private static final Float fontSize = 12f;
     private static final Float top = 740f;
     private static final Float billMargin = 10f;
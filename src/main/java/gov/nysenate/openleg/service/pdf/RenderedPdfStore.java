@@ -0,0 +1,487 @@
+package gov.nysenate.openleg.service.pdf;
+
+import com.google.common.base.Splitter;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.SetMultimap;
+import com.google.common.eventbus.EventBus;
+import com.google.common.eventbus.Subscribe;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.bill.Bill;
+import gov.nysenate.openleg.model.bill.BillAmendment;
+import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.bill.event.BillUpdateEvent;
+import gov.nysenate.openleg.service.bill.event.BulkBillUpdateEvent;
+import gov.nysenate.openleg.util.AsyncUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.io.*;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static gov.nysenate.openleg.model.bill.BillTextFormat.HTML;
+import static gov.nysenate.openleg.model.bill.BillTextFormat.PLAIN;
+
+/**
+ * Disk backed store of rendered pdf documents.
+ *
+ * Each pdf is stored under a key identifying the document (e.g. a bill amendment) along with a hash of
+ * the content it was rendered from. A request for a key whose content hash has changed renders a new pdf,
+ * so stale pdfs are never served. The total size of stored pdfs is bounded, evicting the least recently used.
+ *
+ * Stored pdfs are memory mapped when they are served, through a {@link PdfLease} that must be closed once the pdf
+ * has been written. An evicted pdf is unmapped and deleted once its last lease is closed.
+ */
+@Service
+public class RenderedPdfStore
+{
+    private static final Logger logger = LoggerFactory.getLogger(RenderedPdfStore.class);
+
+    private static final String BILL_KEY_PREFIX = "bill/";
+
+    /** Releases the memory mapping of a buffer, see {@link #createUnmapper()} */
+    private static final Consumer<MappedByteBuffer> unmapper = createUnmapper();
+
+    @Autowired private Environment env;
+    @Autowired private EventBus eventBus;
+    @Autowired private BillDataService billDataService;
+    @Autowired private AsyncUtils asyncUtils;
+
+    /** The maximum size of all stored pdfs (in MB). The store is disabled if set to 0. */
+    @Value("${pdf.cache.size:512}") private long maxSizeMb;
+
+    /** If true, pdfs for published bill amendments are rendered as soon as the bill is updated. */
+    @Value("${pdf.cache.prerender:false}") private boolean prerender;
+
+    private File storeDir;
+    private long maxBytes;
+
+    /** Maps keys to stored pdfs. Access ordered so iteration starts at the least recently used pdf. */
+    private final LinkedHashMap<String, StoredPdf> index = new LinkedHashMap<>(256, 0.75f, true);
+    /** The keys of the indexed pdfs for each bill, so a bill's pdfs can be evicted without scanning the index. */
+    private final SetMultimap<BaseBillId, String> billKeys = HashMultimap.create();
+    private long storedBytes = 0;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong renderCount = new AtomicLong();
+
+    /**
+     * A rendered pdf file along with the hash of the content it was rendered from.
+     * The mapping, lease count and evicted flag are guarded by the store.
+     */
+    private static class StoredPdf
+    {
+        final String contentHash;
+        final File file;
+        final long size;
+        /** The bill the pdf was rendered for, or null if it is not a bill pdf */
+        final BaseBillId baseBillId;
+
+        MappedByteBuffer mapping;
+        int leases = 0;
+        boolean evicted = false;
+
+        StoredPdf(String contentHash, File file, long size, BaseBillId baseBillId) {
+            this.contentHash = contentHash;
+            this.file = file;
+            this.size = size;
+            this.baseBillId = baseBillId;
+        }
+    }
+
+    /**
+     * A read only view of a stored pdf. The pdf stays mapped until the lease is closed.
+     */
+    public class PdfLease implements AutoCloseable
+    {
+        private final StoredPdf storedPdf;
+        private final ByteBuffer pdf;
+        private boolean closed = false;
+
+        private PdfLease(StoredPdf storedPdf, ByteBuffer pdf) {
+            this.storedPdf = storedPdf;
+            this.pdf = pdf;
+        }
+
+        /** @return ByteBuffer - the pdf contents, which must not be read once the lease is closed */
+        public ByteBuffer getPdf() {
+            return pdf;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                release(storedPdf);
+            }
+        }
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        init(new File(env.getBaseDir(), "rendered-pdf"), maxSizeMb * 1024 * 1024);
+        if (isEnabled()) {
+            eventBus.register(this);
+        }
+    }
+
+    /**
+     * Sets up the store directory and size bound, clearing any files left in the directory.
+     *
+     * @param storeDir File
+     * @param maxBytes long - the maximum size of all stored pdfs, the store is disabled if 0
+     */
+    void init(File storeDir, long maxBytes) throws IOException {
+        this.maxBytes = maxBytes;
+        if (!isEnabled()) {
+            return;
+        }
+        this.storeDir = storeDir;
+        FileUtils.forceMkdir(storeDir);
+        // The index is not persisted so any previously rendered files are orphaned.
+        FileUtils.cleanDirectory(storeDir);
+    }
+
+    /** --- Methods --- */
+
+    public boolean isEnabled() {
+        return maxBytes > 0;
+    }
+
+    /**
+     * Get the pdf stored for the given key and content hash, rendering and storing it if it is not present.
+     *
+     * @param key String - identifies the document
+     * @param contentHash String - hash of the content the pdf is rendered from
+     * @param renderer PdfRenderer - renders the pdf if it is not stored
+     * @return PdfLease - read only view of the pdf contents, which must be closed once the pdf has been read
+     * @throws IOException
+     * @throws COSVisitorException
+     */
+    public PdfLease getPdf(String key, String contentHash, PdfRenderer renderer)
+            throws IOException, COSVisitorException {
+        PdfLease lease = leaseStoredPdf(key, contentHash);
+        if (lease != null) {
+            hitCount.incrementAndGet();
+            return lease;
+        }
+        return storePdf(key, contentHash, renderer);
+    }
+
+    /**
+     * Removes all stored pdfs for the given bill.
+     *
+     * @param baseBillId BaseBillId
+     */
+    public synchronized void evictBill(BaseBillId baseBillId) {
+        for (String key : billKeys.removeAll(baseBillId)) {
+            StoredPdf storedPdf = index.remove(key);
+            if (storedPdf != null) {
+                storedBytes -= storedPdf.size;
+                evict(storedPdf);
+            }
+        }
+    }
+
+    /** --- Keys and Hashes --- */
+
+    public static String getBillKey(BaseBillId baseBillId, Version version) {
+        return getBillKeyPrefix(baseBillId) + version.name();
+    }
+
+    public static String getTranscriptKey(String filename) {
+        return "transcript/" + filename;
+    }
+
+    public static String getHearingKey(String filename) {
+        return "hearing/" + filename;
+    }
+
+    /**
+     * Computes a hash of the content that a bill amendment pdf is rendered from.
+     *
+     * @param bill Bill - must have plain and html text loaded
+     * @param version Version
+     * @return String
+     */
+    public static String getBillContentHash(Bill bill, Version version) {
+        BillAmendment amendment = bill.getAmendment(version);
+        return getContentHash(getBillKey(bill.getBaseBillId(), version), String.valueOf(bill.isResolution()),
+                amendment.getFullText(PLAIN), amendment.getFullText(HTML));
+    }
+
+    /**
+     * Computes a hash of the given content strings, for use as a content hash.
+     *
+     * @param content String... - null values are treated as empty strings
+     * @return String - a hex encoded hash
+     */
+    public static String getContentHash(String... content) {
+        Hasher hasher = Hashing.sha256().newHasher();
+        for (String part : content) {
+            String value = StringUtils.defaultString(part);
+            hasher.putInt(value.length());
+            hasher.putString(value, StandardCharsets.UTF_8);
+        }
+        return hasher.hash().toString();
+    }
+
+    /** --- Stats --- */
+
+    public synchronized int getSize() {
+        return index.size();
+    }
+
+    public synchronized long getStoredBytes() {
+        return storedBytes;
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getRenderCount() {
+        return renderCount.get();
+    }
+
+    /** --- Event Handlers --- */
+
+    @Subscribe
+    public void handleBillUpdate(BillUpdateEvent billUpdateEvent) {
+        if (billUpdateEvent.getBill() != null) {
+            handleUpdatedBill(billUpdateEvent.getBill());
+        }
+    }
+
+    @Subscribe
+    public void handleBulkBillUpdate(BulkBillUpdateEvent bulkBillUpdateEvent) {
+        if (bulkBillUpdateEvent.getBills() != null) {
+            bulkBillUpdateEvent.getBills().forEach(this::handleUpdatedBill);
+        }
+    }
+
+    /** --- Internal --- */
+
+    private void handleUpdatedBill(Bill bill) {
+        evictBill(bill.getBaseBillId());
+        if (prerender) {
+            List<Version> publishedVersions = new ArrayList<>();
+            for (BillAmendment amendment : bill.getAmendmentList()) {
+                if (bill.getPublishStatus(amendment.getVersion()).map(PublishStatus::isPublished).orElse(false)) {
+                    publishedVersions.add(amendment.getVersion());
+                }
+            }
+            if (!publishedVersions.isEmpty()) {
+                asyncUtils.run(() -> prerenderBill(bill.getBaseBillId(), publishedVersions));
+            }
+        }
+    }
+
+    private void prerenderBill(BaseBillId baseBillId, List<Version> versions) {
+        try {
+            Bill bill = billDataService.getBill(baseBillId, EnumSet.of(PLAIN, HTML));
+            for (Version version : versions) {
+                storePdf(getBillKey(baseBillId, version), getBillContentHash(bill, version),
+                        out -> BillPdfRenderer.writeBillPdf(bill, version, out)).close();
+            }
+        }
+        catch (Exception ex) {
+            logger.warn("Failed to prerender pdfs for bill {}: {}", baseBillId, ex.getMessage());
+        }
+    }
+
+    /**
+     * @return PdfLease - a lease on the pdf stored for the key and content hash, or null if there is none
+     */
+    private synchronized PdfLease leaseStoredPdf(String key, String contentHash) throws IOException {
+        StoredPdf storedPdf = index.get(key);
+        return storedPdf != null && storedPdf.contentHash.equals(contentHash) ? lease(storedPdf) : null;
+    }
+
+    /**
+     * Renders a pdf to a file in the store directory and indexes it, evicting other pdfs as needed.
+     * Rendering takes place outside of the index lock.
+     *
+     * @return PdfLease - a lease on the stored pdf
+     */
+    private PdfLease storePdf(String key, String contentHash, PdfRenderer renderer)
+            throws IOException, COSVisitorException {
+        // Each render gets its own file, so a replaced pdf can be deleted without affecting its replacement
+        File pdfFile = File.createTempFile(contentHash, ".pdf", storeDir);
+        try {
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(pdfFile))) {
+                renderer.render(out);
+            }
+        }
+        catch (IOException | COSVisitorException | RuntimeException ex) {
+            Files.deleteIfExists(pdfFile.toPath());
+            throw ex;
+        }
+        renderCount.incrementAndGet();
+        StoredPdf storedPdf = new StoredPdf(contentHash, pdfFile, pdfFile.length(), getKeyBillId(key));
+        synchronized (this) {
+            StoredPdf replaced = index.put(key, storedPdf);
+            if (replaced != null) {
+                storedBytes -= replaced.size;
+                evict(replaced);
+            }
+            if (storedPdf.baseBillId != null) {
+                billKeys.put(storedPdf.baseBillId, key);
+            }
+            storedBytes += storedPdf.size;
+            evictLeastRecentlyUsed(key);
+            return lease(storedPdf);
+        }
+    }
+
+    /**
+     * Evicts pdfs until the stored size is within bounds, never evicting the pdf for the given key.
+     */
+    private void evictLeastRecentlyUsed(String retainedKey) {
+        Iterator<Map.Entry<String, StoredPdf>> lruIterator = index.entrySet().iterator();
+        while (storedBytes > maxBytes && lruIterator.hasNext()) {
+            Map.Entry<String, StoredPdf> entry = lruIterator.next();
+            if (!entry.getKey().equals(retainedKey)) {
+                StoredPdf storedPdf = entry.getValue();
+                lruIterator.remove();
+                if (storedPdf.baseBillId != null) {
+                    billKeys.remove(storedPdf.baseBillId, entry.getKey());
+                }
+                storedBytes -= storedPdf.size;
+                evict(storedPdf);
+            }
+        }
+    }
+
+    /** --- Leases --- */
+
+    /**
+     * Maps the pdf if it is not already mapped and leases it. Must hold the store lock.
+     */
+    private PdfLease lease(StoredPdf storedPdf) throws IOException {
+        if (storedPdf.mapping == null) {
+            storedPdf.mapping = map(storedPdf.file);
+        }
+        storedPdf.leases++;
+        return new PdfLease(storedPdf, storedPdf.mapping.asReadOnlyBuffer());
+    }
+
+    private synchronized void release(StoredPdf storedPdf) {
+        storedPdf.leases--;
+        if (storedPdf.evicted && storedPdf.leases == 0) {
+            discard(storedPdf);
+        }
+    }
+
+    /**
+     * Marks a pdf that has been removed from the index as evicted, discarding it now if it is not leased
+     * or otherwise once its last lease is closed. Must hold the store lock.
+     */
+    private void evict(StoredPdf storedPdf) {
+        storedPdf.evicted = true;
+        if (storedPdf.leases == 0) {
+            discard(storedPdf);
+        }
+    }
+
+    /**
+     * Unmaps and deletes an evicted pdf that is no longer leased. Must hold the store lock.
+     */
+    private void discard(StoredPdf storedPdf) {
+        if (storedPdf.mapping != null) {
+            unmapper.accept(storedPdf.mapping);
+            storedPdf.mapping = null;
+        }
+        try {
+            Files.deleteIfExists(storedPdf.file.toPath());
+        }
+        catch (IOException ex) {
+            logger.warn("Could not delete stored pdf {}: {}", storedPdf.file, ex.getMessage());
+        }
+    }
+
+    private static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    /**
+     * A mapped buffer is otherwise only unmapped once it is garbage collected, which leaves the disk space of
+     * a deleted pdf in use. There is no public api for unmapping, so this uses the jdk internal cleaner
+     * (Unsafe.invokeCleaner since java 9, the buffer's Cleaner before that), if it is accessible.
+     * The buffer must not be accessed once it has been unmapped.
+     */
+    private static Consumer<MappedByteBuffer> createUnmapper() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Object unsafe = theUnsafe.get(null);
+            return buffer -> invokeUnmapper(invokeCleaner, unsafe, buffer);
+        }
+        catch (ReflectiveOperationException | RuntimeException ex) {
+            // Not available before java 9
+        }
+        try {
+            Method getCleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+            return buffer -> invokeUnmapper(clean, invokeUnmapper(getCleaner, buffer));
+        }
+        catch (ReflectiveOperationException | RuntimeException ex) {
+            logger.warn("Mapped pdfs cannot be unmapped, evicted pdfs will be unmapped when garbage collected: {}",
+                    ex.getMessage());
+            return buffer -> {};
+        }
+    }
+
+    private static Object invokeUnmapper(Method method, Object target, Object... args) {
+        if (target == null) {
+            return null;
+        }
+        try {
+            return method.invoke(target, args);
+        }
+        catch (ReflectiveOperationException ex) {
+            logger.warn("Could not unmap stored pdf: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * @return BaseBillId - the bill of a key from {@link #getBillKey(BaseBillId, Version)}, or null for other keys
+     */
+    private static BaseBillId getKeyBillId(String key) {
+        if (!key.startsWith(BILL_KEY_PREFIX)) {
+            return null;
+        }
+        List<String> parts = Splitter.on('/').splitToList(key.substring(BILL_KEY_PREFIX.length()));
+        return new BaseBillId(parts.get(1), Integer.parseInt(parts.get(0)));
+    }
+
+    private static String getBillKeyPrefix(BaseBillId baseBillId) {
+        return BILL_KEY_PREFIX + baseBillId.getSession().getYear() + "/" + baseBillId.getBasePrintNo() + "/";
+    }
+}
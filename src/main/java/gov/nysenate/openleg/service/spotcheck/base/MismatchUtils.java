@@ -3,13 +3,73 @@ package gov.nysenate.openleg.service.spotcheck.base;
 import gov.nysenate.openleg.model.spotcheck.*;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.stream.Collectors;
 
 @Service
 public class MismatchUtils {
 
+    /**
+     * Reconciles the mismatches generated by a report with the saved mismatches for the same content,
+     * producing every mismatch that should be saved for the report.
+     *
+     * Gives the same result as applying {@link #deriveClosedMismatches}, {@link #copyIgnoreStatuses},
+     * {@link #updateIgnoreStatus} and {@link #updateFirstSeenDateTime} in turn, but the saved mismatches are
+     * indexed once by mismatch identity (key, type, datasource and content type) instead of being scanned for
+     * each report mismatch.
+     *
+     * @param reportMismatches New mismatches generated by a report. These are updated in place.
+     * @param savedMismatches The most recent saved mismatches for the content checked by the report.
+     * @param report The report that generated the mismatches.
+     * @param checkedKeys The report's checked keys that the given mismatches belong to.
+     * @return The report mismatches followed by the mismatches closed by the report.
+     */
+    public static List<DeNormSpotCheckMismatch> reconcile(List<DeNormSpotCheckMismatch> reportMismatches,
+                                                          List<DeNormSpotCheckMismatch> savedMismatches,
+                                                          SpotCheckReport report, Set<?> checkedKeys) {
+        // DeNormSpotCheckMismatch equality is based on its identity, the first saved mismatch is used for each.
+        Map<DeNormSpotCheckMismatch, DeNormSpotCheckMismatch> savedIndex = new HashMap<>(savedMismatches.size() * 2);
+        for (DeNormSpotCheckMismatch saved : savedMismatches) {
+            savedIndex.putIfAbsent(saved, saved);
+        }
+        Set<DeNormSpotCheckMismatch> reported = new HashSet<>(reportMismatches.size() * 2);
+        List<DeNormSpotCheckMismatch> reconciled = new ArrayList<>(reportMismatches.size());
+        for (DeNormSpotCheckMismatch rm : reportMismatches) {
+            reported.add(rm);
+            reconciled.add(reconcileWithSaved(rm, savedIndex.get(rm)));
+        }
+        Set<SpotCheckMismatchType> checkedTypes = report.getReferenceType().checkedMismatchTypes();
+        for (DeNormSpotCheckMismatch saved : savedMismatches) {
+            if (saved.getState() != MismatchState.CLOSED && checkedKeys.contains(saved.getKey())
+                    && checkedTypes.contains(saved.getType()) && !reported.contains(saved)) {
+                DeNormSpotCheckMismatch closed = closeMismatchWithReport(saved, report);
+                reconciled.add(reconcileWithSaved(closed, savedIndex.get(closed)));
+            }
+        }
+        return reconciled;
+    }
+
+    /**
+     * Applies the ignore status and first seen date time updates to a single report mismatch.
+     *
+     * @param mismatch DeNormSpotCheckMismatch - a mismatch to be saved for a report
+     * @param saved DeNormSpotCheckMismatch - the saved mismatch with the same identity, or null if there is none
+     */
+    private static DeNormSpotCheckMismatch reconcileWithSaved(DeNormSpotCheckMismatch mismatch,
+                                                              DeNormSpotCheckMismatch saved) {
+        if (saved != null) {
+            mismatch.setIgnoreStatus(saved.getIgnoreStatus());
+        }
+        calculateIgnoreStatus(mismatch);
+        if (saved == null || saved.getState() == MismatchState.CLOSED) {
+            resetFirstSeenDateTime(mismatch);
+        }
+        else {
+            mismatch.setFirstSeenDateTime(saved.getFirstSeenDateTime());
+        }
+        return mismatch;
+    }
+
 
     /**
      * If a mismatch has been ignored we want that to be applied to new equivalent mismatches as well.
@@ -71,8 +131,19 @@ public class MismatchUtils {
     public static List<DeNormSpotCheckMismatch> deriveClosedMismatches(List<DeNormSpotCheckMismatch> reportMismatches,
                                                                        List<DeNormSpotCheckMismatch> currentMismatches,
                                                                        SpotCheckReport report) {
+        return deriveClosedMismatches(reportMismatches, currentMismatches, report, report.getCheckedKeys());
+    }
 
-        Set<Object> checkedKeys = report.getCheckedKeys();
+    /**
+     * Returns a list of mismatches that have been closed by a spotcheck report, considering only the given
+     * checked keys. Used when a report is reconciled in chunks of its checked keys.
+     *
+     * @see #deriveClosedMismatches(List, List, SpotCheckReport)
+     * @param checkedKeys The subset of the report's checked keys that the given mismatches belong to.
+     */
+    public static List<DeNormSpotCheckMismatch> deriveClosedMismatches(List<DeNormSpotCheckMismatch> reportMismatches,
+                                                                       List<DeNormSpotCheckMismatch> currentMismatches,
+                                                                       SpotCheckReport report, Set<?> checkedKeys) {
         Set<SpotCheckMismatchType> checkedTypes = report.getReferenceType().checkedMismatchTypes();
         return currentMismatches.stream()
                 .filter(m -> m.getState() != MismatchState.CLOSED)
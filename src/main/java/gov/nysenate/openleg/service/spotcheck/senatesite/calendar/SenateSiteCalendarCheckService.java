@@ -4,7 +4,9 @@ import gov.nysenate.openleg.client.view.base.ListView;
 import gov.nysenate.openleg.client.view.calendar.CalendarEntryView;
 import gov.nysenate.openleg.client.view.calendar.CalendarSupView;
 import gov.nysenate.openleg.client.view.calendar.CalendarView;
+import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.calendar.Calendar;
 import gov.nysenate.openleg.model.calendar.CalendarEntry;
 import gov.nysenate.openleg.model.calendar.CalendarType;
@@ -19,6 +21,7 @@ import org.springframework.stereotype.Service;
 
 import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -105,9 +108,12 @@ public class SenateSiteCalendarCheckService
     private List<CalendarEntryView> getCalEntryViews(SenateSiteCalendar reference) {
         List<Integer> billCalNumbers = reference.getBillCalNumbers();
         List<BillId> bill = reference.getBill();
-        return IntStream.range(0, billCalNumbers.size())
+        List<CalendarEntry> entries = IntStream.range(0, billCalNumbers.size())
                 .mapToObj(i -> new CalendarEntry(billCalNumbers.get(i), bill.get(i)))
-                .map(entry -> new CalendarEntryView(entry, billDataService))
+                .collect(Collectors.toList());
+        Map<BaseBillId, BillInfo> billInfos = CalendarEntryView.getBillInfos(entries, billDataService);
+        return entries.stream()
+                .map(entry -> new CalendarEntryView(entry, billInfos.get(BillId.getBaseId(entry.getBillId()))))
                 .collect(Collectors.toList());
     }
 
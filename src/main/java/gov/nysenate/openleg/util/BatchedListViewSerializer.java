@@ -0,0 +1,39 @@
+package gov.nysenate.openleg.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import gov.nysenate.openleg.client.view.base.BatchedListView;
+import gov.nysenate.openleg.client.view.base.ViewObject;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a {@link BatchedListView} in the same form as a {@link gov.nysenate.openleg.client.view.base.ListView},
+ * loading and writing its items one batch at a time.  The generator is flushed after each batch, so the items
+ * are sent to the output as they are loaded rather than after the whole list has been built.
+ */
+public class BatchedListViewSerializer extends JsonSerializer<BatchedListView<?, ?>>
+{
+    @Override
+    public void serialize(BatchedListView<?, ?> value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject();
+        gen.writeArrayFieldStart("items");
+        writeItems(value, gen, serializers);
+        gen.writeEndArray();
+        gen.writeNumberField("size", value.getSize());
+        gen.writeEndObject();
+    }
+
+    private static <Id, ViewType extends ViewObject> void writeItems(BatchedListView<Id, ViewType> value,
+                                                                     JsonGenerator gen, SerializerProvider serializers)
+            throws IOException {
+        for (List<Id> idBatch : value.getIdBatches()) {
+            for (ViewType item : value.loadBatch(idBatch)) {
+                serializers.defaultSerializeValue(item, gen);
+            }
+            gen.flush();
+        }
+    }
+}
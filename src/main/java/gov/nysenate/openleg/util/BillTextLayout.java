@@ -0,0 +1,342 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.primitives.ImmutableIntArray;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * The lines and pages of a bill's full text.
+ *
+ * The text is split into lines on '\n' and a new page starts at every line after the first ten that is a page
+ * header, e.g. "A. 7461--A                    2                    12345-01-7". The line offsets and page headers
+ * are found in one pass over the text: each line is checked by a small automaton that accepts exactly the lines
+ * matched by {@link BillTextUtils#billTextPageStartPattern}, stepping once per character without backtracking and
+ * stopping at the first character that rules the line out, which for ordinary text lines is within a few characters.
+ *
+ * Layouts are memoized by text, so rendering an amendment's pdf, counting its pages and formatting its text
+ * share a single pass. Amendment texts are held by the cached bills, so the same string instance is usually
+ * looked up, whose hash code is computed once and whose equality check is an identity check.
+ */
+public final class BillTextLayout
+{
+    /** The total length of text whose layouts may be cached. */
+    private static final long maxCachedChars = 16 * 1024 * 1024;
+
+    /** Page headers are ignored within the first lines of the text, which hold the bill's title page header. */
+    private static final int minPageHeaderLine = 11;
+
+    private static final Cache<String, BillTextLayout> layoutCache = CacheBuilder.newBuilder()
+            .maximumWeight(maxCachedChars)
+            .weigher((String text, BillTextLayout layout) -> text.length())
+            .build();
+
+    /** The full text. */
+    private final String text;
+
+    /** The offset of the start of each line, followed by the length of the text plus one. */
+    private final ImmutableIntArray lineStarts;
+
+    /** The line numbers of the lines that start a new page, in ascending order. */
+    private final ImmutableIntArray pageStartLines;
+
+    /** --- Constructors --- */
+
+    private BillTextLayout(String text) {
+        this.text = text;
+        ImmutableIntArray.Builder lineStartBuilder = ImmutableIntArray.builder();
+        ImmutableIntArray.Builder pageStartBuilder = ImmutableIntArray.builder();
+        int lineNum = 0;
+        int lineStart = 0;
+        while (lineStart <= text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            lineStartBuilder.add(lineStart);
+            if (lineNum >= minPageHeaderLine && isPageHeader(text, lineStart, lineEnd)) {
+                pageStartBuilder.add(lineNum);
+            }
+            lineNum++;
+            lineStart = lineEnd + 1;
+        }
+        lineStartBuilder.add(text.length() + 1);
+        this.lineStarts = lineStartBuilder.build();
+        this.pageStartLines = pageStartBuilder.build();
+    }
+
+    /**
+     * Gets the layout of the given text, computing it if it is not already cached.
+     *
+     * @param text String - bill full text
+     * @return BillTextLayout
+     */
+    public static BillTextLayout of(String text) {
+        try {
+            return layoutCache.get(text, () -> new BillTextLayout(text));
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Failed to lay out bill text", ex.getCause());
+        }
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * @return int - the number of lines in the text, counting the empty line that follows a trailing newline
+     */
+    public int getLineCount() {
+        return lineStarts.length() - 1;
+    }
+
+    /**
+     * @param lineNum int - a line number, starting from 0
+     * @return int - the offset of the first character of the line
+     */
+    public int getLineStart(int lineNum) {
+        return lineStarts.get(lineNum);
+    }
+
+    /**
+     * @param lineNum int - a line number, starting from 0
+     * @return int - the offset just past the last character of the line, excluding the newline
+     */
+    public int getLineEnd(int lineNum) {
+        return lineStarts.get(lineNum + 1) - 1;
+    }
+
+    public String getLine(int lineNum) {
+        return text.substring(getLineStart(lineNum), getLineEnd(lineNum));
+    }
+
+    /**
+     * @return List<String> - a view of the lines of the text, each of which is extracted when it is read
+     */
+    public List<String> getLines() {
+        return new LineList();
+    }
+
+    /**
+     * @return List<Integer> - the numbers of the lines that start a new page, in ascending order
+     */
+    public List<Integer> getPageStartLines() {
+        return pageStartLines.asList();
+    }
+
+    /**
+     * @return int - the number of pages, which is one more than the number of page headers
+     */
+    public int getPageCount() {
+        return pageStartLines.length() + 1;
+    }
+
+    /**
+     * @return List<List<String>> - the lines of each page
+     */
+    public List<List<String>> getPages() {
+        List<String> lines = getLines();
+        List<List<String>> pages = new ArrayList<>(getPageCount());
+        int startLine = 0;
+        for (int i = 0; i < pageStartLines.length(); i++) {
+            pages.add(lines.subList(startLine, pageStartLines.get(i)));
+            startLine = pageStartLines.get(i);
+        }
+        pages.add(lines.subList(startLine, lines.size()));
+        return pages;
+    }
+
+    /**
+     * Checks if the given line is a page header, i.e. if it is matched by
+     * {@link BillTextUtils#billTextPageStartPattern}.
+     *
+     * @param line CharSequence - a single line of text
+     * @return boolean
+     */
+    public static boolean isPageHeader(CharSequence line) {
+        return isPageHeader(line, 0, line.length());
+    }
+
+    /**
+     * Discards all cached layouts.
+     */
+    public static void clearCache() {
+        layoutCache.invalidateAll();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Checks if the line between the given offsets is a page header.  As the pattern ends in '$', it also
+     * matches a line whose content is followed by a single line terminator, e.g. the '\r' of a "\r\n" line ending.
+     */
+    private static boolean isPageHeader(CharSequence text, int start, int end) {
+        return PageHeaderAutomaton.accepts(text, start, end) ||
+                (end > start && isLineTerminator(text.charAt(end - 1))
+                        && PageHeaderAutomaton.accepts(text, start, end - 1));
+    }
+
+    /** The characters that '.' does not match and that '$' may precede. */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028' || c == '\u2029';
+    }
+
+    /**
+     * A nondeterministic automaton equivalent to the page header pattern
+     *
+     *     (\s+\w.\s\d+(--\w)?)? \s{10,} (\d+) (\s{10,} (\w.\s\d+(--\w)?)? (\d+-\d+-\d(--\w)?)? )?
+     *
+     * matched against a whole line.  Each state stands for one character of the pattern, and the set of states
+     * that the characters read so far can end in is kept in the bits of a long, so every character is handled
+     * with a few bitwise operations whatever the number of ways the line could match.
+     */
+    private static final class PageHeaderAutomaton
+    {
+        /** The character classes of the pattern. */
+        private static final int SPACE = 0, WORD = 1, DIGIT = 2, DASH = 3, ANY = 4;
+
+        /** The states, named after their place in the pattern. */
+        private static final int START = 0;
+        /** The optional bill print number before the page number, e.g. "A. 7461--A". */
+        private static final int PRE_SPACE = 1, PRE_LETTER = 2, PRE_DOT = 3, PRE_GAP = 4, PRE_NUM = 5,
+                PRE_DASH1 = 6, PRE_DASH2 = 7, PRE_VERSION = 8;
+        /** Ten or more spaces, then the page number. */
+        private static final int SPACES = 9;
+        private static final int PAGE_NUM = SPACES + 10;
+        /** Ten or more spaces, then an optional print number and an optional lbdc number, e.g. "12345-01-7". */
+        private static final int POST_SPACES = PAGE_NUM + 1;
+        private static final int POST_LETTER = POST_SPACES + 10, POST_DOT = POST_LETTER + 1, POST_GAP = POST_DOT + 1,
+                POST_NUM = POST_GAP + 1, POST_DASH1 = POST_NUM + 1, POST_DASH2 = POST_DASH1 + 1,
+                POST_VERSION = POST_DASH2 + 1;
+        private static final int LBDC_NUM1 = POST_VERSION + 1, LBDC_DASH1 = LBDC_NUM1 + 1, LBDC_NUM2 = LBDC_DASH1 + 1,
+                LBDC_DASH2 = LBDC_NUM2 + 1, LBDC_CHECK = LBDC_DASH2 + 1, LBDC_DASH3 = LBDC_CHECK + 1,
+                LBDC_DASH4 = LBDC_DASH3 + 1, LBDC_VERSION = LBDC_DASH4 + 1;
+        private static final int STATE_COUNT = LBDC_VERSION + 1;
+
+        /** The states that may follow each state. */
+        private static final long[] follow = new long[STATE_COUNT];
+
+        /** For each character class, the states that read a character of that class. */
+        private static final long[] classStates = new long[ANY + 1];
+
+        /** The states in which a whole line is matched. */
+        private static final long acceptStates =
+                bits(PAGE_NUM, POST_SPACES + 9, POST_NUM, POST_VERSION, LBDC_CHECK, LBDC_VERSION);
+
+        static {
+            state(START, -1, PRE_SPACE, SPACES);
+            state(PRE_SPACE, SPACE, PRE_SPACE, PRE_LETTER);
+            state(PRE_LETTER, WORD, PRE_DOT);
+            state(PRE_DOT, ANY, PRE_GAP);
+            state(PRE_GAP, SPACE, PRE_NUM);
+            state(PRE_NUM, DIGIT, PRE_NUM, PRE_DASH1, SPACES);
+            state(PRE_DASH1, DASH, PRE_DASH2);
+            state(PRE_DASH2, DASH, PRE_VERSION);
+            state(PRE_VERSION, WORD, SPACES);
+            for (int i = 0; i < 9; i++) {
+                state(SPACES + i, SPACE, SPACES + i + 1);
+            }
+            state(SPACES + 9, SPACE, SPACES + 9, PAGE_NUM);
+            state(PAGE_NUM, DIGIT, PAGE_NUM, POST_SPACES);
+            for (int i = 0; i < 9; i++) {
+                state(POST_SPACES + i, SPACE, POST_SPACES + i + 1);
+            }
+            state(POST_SPACES + 9, SPACE, POST_SPACES + 9, POST_LETTER, LBDC_NUM1);
+            state(POST_LETTER, WORD, POST_DOT);
+            state(POST_DOT, ANY, POST_GAP);
+            state(POST_GAP, SPACE, POST_NUM);
+            state(POST_NUM, DIGIT, POST_NUM, POST_DASH1, LBDC_NUM1);
+            state(POST_DASH1, DASH, POST_DASH2);
+            state(POST_DASH2, DASH, POST_VERSION);
+            state(POST_VERSION, WORD, LBDC_NUM1);
+            state(LBDC_NUM1, DIGIT, LBDC_NUM1, LBDC_DASH1);
+            state(LBDC_DASH1, DASH, LBDC_NUM2);
+            state(LBDC_NUM2, DIGIT, LBDC_NUM2, LBDC_DASH2);
+            state(LBDC_DASH2, DASH, LBDC_CHECK);
+            state(LBDC_CHECK, DIGIT, LBDC_DASH3);
+            state(LBDC_DASH3, DASH, LBDC_DASH4);
+            state(LBDC_DASH4, DASH, LBDC_VERSION);
+            state(LBDC_VERSION, WORD);
+        }
+
+        /**
+         * @return boolean - true if the characters between the given offsets form a page header
+         */
+        static boolean accepts(CharSequence text, int start, int end) {
+            long states = bits(START);
+            for (int i = start; i < end && states != 0; i++) {
+                states = step(states, text.charAt(i));
+            }
+            return (states & acceptStates) != 0;
+        }
+
+        private static long step(long states, char c) {
+            long next = 0;
+            for (long remaining = states; remaining != 0; remaining &= remaining - 1) {
+                next |= follow[Long.numberOfTrailingZeros(remaining)];
+            }
+            return next & statesReading(c);
+        }
+
+        /**
+         * Gets the states that can read the given character, following the ascii definitions of
+         * \s, \w and \d used by the pattern.
+         */
+        private static long statesReading(char c) {
+            long states = 0;
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r') {
+                states |= classStates[SPACE];
+            }
+            else if (c >= '0' && c <= '9') {
+                states |= classStates[DIGIT] | classStates[WORD];
+            }
+            else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_') {
+                states |= classStates[WORD];
+            }
+            else if (c == '-') {
+                states |= classStates[DASH];
+            }
+            if (!isLineTerminator(c)) {
+                states |= classStates[ANY];
+            }
+            return states;
+        }
+
+        private static void state(int state, int charClass, int... followers) {
+            if (charClass >= 0) {
+                classStates[charClass] |= bits(state);
+            }
+            follow[state] = bits(followers);
+        }
+
+        private static long bits(int... states) {
+            long bits = 0;
+            for (int state : states) {
+                bits |= 1L << state;
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * A read only view of the lines of the text.
+     */
+    private final class LineList extends AbstractList<String> implements RandomAccess
+    {
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Line " + index + " of " + size());
+            }
+            return getLine(index);
+        }
+
+        @Override
+        public int size() {
+            return getLineCount();
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package gov.nysenate.openleg.util;
 
-import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
 import gov.nysenate.openleg.model.entity.Chamber;
 import org.apache.commons.lang3.StringUtils;
@@ -30,20 +29,13 @@ public class BillTextUtils
      *
      * @param fullText String - String - Bill full text
      * @return List<List<String>>
+     * @see BillTextLayout
      */
     public static List<List<String>> getBillPages(String fullText) {
-        List<List<String>> pages = new ArrayList<>();
         if (StringUtils.isEmpty(fullText)) {
-            return pages;
-        }
-        List<String> lines = Splitter.on("\n").splitToList(fullText);
-        int startLine = 0;
-        for (int newPageLine : getNewPageLines(lines)) {
-            pages.add(lines.subList(startLine, newPageLine));
-            startLine = newPageLine;
+            return new ArrayList<>();
         }
-        pages.add(lines.subList(startLine, lines.size()));
-        return pages;
+        return BillTextLayout.of(fullText).getPages();
     }
 
     /**
@@ -57,7 +49,7 @@ public class BillTextUtils
         if (StringUtils.isEmpty(fullText)) {
             return pages;
         }
-        List<String> lines = Splitter.on("\n").splitToList(fullText);
+        List<String> lines = BillTextLayout.of(fullText).getLines();
         int numPages = new Double(Math.ceil((double) lines.size() / MAX_LINES_RES_PAGE)).intValue();
         for (int page = 0; page < numPages; page++) {
             int pageStart = page * MAX_LINES_RES_PAGE;
@@ -67,16 +59,6 @@ public class BillTextUtils
         return pages;
     }
 
-    private static List<Integer> getNewPageLines(List<String> lines) {
-        List<Integer> pageLines = new ArrayList<>();
-        for (int i = 0; i < lines.size(); i++) {
-            if (isFirstLineOfNextPage(lines.get(i), i)) {
-                pageLines.add(i);
-            }
-        }
-        return pageLines;
-    }
-
     /**
      * Returns the number of pages contained within the supplied bill text.
      *
@@ -86,11 +68,12 @@ public class BillTextUtils
     public static int getPageCount(String fullText) {
         // Short circuit
         if (Strings.isNullOrEmpty(fullText)) return 0;
-        // Iterate through the lines in reverse order (until 10 to prevent errors)
-        // looking for the last page number (e.g. A. 7461--A           2 ...)
-        String[] lines = fullText.split("\n");
-        for (int i = lines.length - 1; i > 10; i--) {
-            Matcher billTextPageMatcher = billTextPageStartPattern.matcher(lines[i]);
+        // Read the last page number (e.g. A. 7461--A           2 ...) from the last page header
+        BillTextLayout layout = BillTextLayout.of(fullText);
+        List<Integer> pageStartLines = layout.getPageStartLines();
+        if (!pageStartLines.isEmpty()) {
+            String lastPageHeader = layout.getLine(pageStartLines.get(pageStartLines.size() - 1));
+            Matcher billTextPageMatcher = billTextPageStartPattern.matcher(lastPageHeader);
             if (billTextPageMatcher.find()) {
                 return Integer.parseInt(billTextPageMatcher.group(3));
             }
@@ -105,16 +88,16 @@ public class BillTextUtils
             fullText = "";
         }
         if (!isResolution && StringUtils.isNotBlank(fullText)) {
-            List<String> lines = Splitter.on("\n").splitToList(fullText);
-            StringBuilder formattedFullText = new StringBuilder();
-            lines.forEach(line -> {
-                if (line.length() > 7) {
-                    formattedFullText.append(line.substring(7)).append("\n");
+            BillTextLayout layout = BillTextLayout.of(fullText);
+            StringBuilder formattedFullText = new StringBuilder(fullText.length() + 1);
+            for (int lineNum = 0; lineNum < layout.getLineCount(); lineNum++) {
+                int lineStart = layout.getLineStart(lineNum);
+                int lineEnd = layout.getLineEnd(lineNum);
+                if (lineEnd - lineStart > 7) {
+                    lineStart += 7;
                 }
-                else {
-                    formattedFullText.append(line).append("\n");
-                }
-            });
+                formattedFullText.append(fullText, lineStart, lineEnd).append("\n");
+            }
             return formattedFullText.toString();
         }
         return fullText;
@@ -124,9 +107,8 @@ public class BillTextUtils
      * Checks if the given line matches the new page pattern.
      */
     public static boolean isFirstLineOfNextPage(String line, int lineNum) {
-        Matcher billTextPageMatcher = billTextPageStartPattern.matcher(line);
         // Ignore erroneous result in first 10 lines.
-        return lineNum > 10 && billTextPageMatcher.find();
+        return lineNum > 10 && BillTextLayout.isPageHeader(line);
     }
 
 
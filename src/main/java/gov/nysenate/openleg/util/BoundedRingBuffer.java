@@ -0,0 +1,142 @@
+package gov.nysenate.openleg.util;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A fixed capacity, lock-free queue backed by a ring buffer.
+ *
+ * Producers and consumers never block. An offer to a full buffer fails immediately
+ * instead of waiting for space, which makes this suitable for handing off work from
+ * threads that must not be slowed down by the consumer.
+ *
+ * Each slot carries a sequence number that tells producers and consumers whether the slot
+ * is ready to be written or read, so any number of threads may offer and poll concurrently.
+ *
+ * @param <T> Type of the buffered elements.
+ */
+public class BoundedRingBuffer<T>
+{
+    private final int capacity;
+    private final int mask;
+    private final AtomicReferenceArray<T> buffer;
+    private final AtomicLongArray sequences;
+
+    /** Position of the next write */
+    private final AtomicLong head = new AtomicLong();
+    /** Position of the next read */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * @param minCapacity int - the capacity is rounded up to the next power of two
+     */
+    public BoundedRingBuffer(int minCapacity) {
+        if (minCapacity < 1 || minCapacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid ring buffer capacity: " + minCapacity);
+        }
+        this.capacity = Integer.highestOneBit(minCapacity) == minCapacity
+                ? minCapacity
+                : Integer.highestOneBit(minCapacity) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Add an element to the buffer if there is room.
+     *
+     * @param element T
+     * @return boolean - true if the element was added, false if the buffer is full
+     */
+    public boolean offer(T element) {
+        if (element == null) {
+            throw new NullPointerException("Ring buffer elements cannot be null");
+        }
+        long pos = head.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    buffer.set(index, element);
+                    sequences.set(index, pos + 1);
+                    return true;
+                }
+                pos = head.get();
+            }
+            else if (diff < 0) {
+                // The slot still holds an element from the previous lap
+                return false;
+            }
+            else {
+                pos = head.get();
+            }
+        }
+    }
+
+    /**
+     * Remove the oldest element from the buffer.
+     *
+     * @return T - the element, or null if the buffer is empty
+     */
+    public T poll() {
+        long pos = tail.get();
+        while (true) {
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    T element = buffer.getAndSet(index, null);
+                    sequences.set(index, pos + capacity);
+                    return element;
+                }
+                pos = tail.get();
+            }
+            else if (diff < 0) {
+                // The slot has not been written yet
+                return null;
+            }
+            else {
+                pos = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Remove up to maxElements elements from the buffer, adding them to the given collection.
+     *
+     * @param target Collection
+     * @param maxElements int
+     * @return int - the number of elements drained
+     */
+    public int drainTo(Collection<? super T> target, int maxElements) {
+        int drained = 0;
+        T element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * @return int - an estimate of the number of buffered elements
+     */
+    public int size() {
+        long size = head.get() - tail.get();
+        return (int) Math.max(0, Math.min(capacity, size));
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,174 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+
+import static java.nio.file.StandardWatchEventKinds.*;
+
+/**
+ * Keeps a sorted index of the file names in an incoming directory, so that the directory does not have to be
+ * listed and sorted every time the next batch of files is requested.
+ *
+ * The index is filled by a full listing of the directory when it is created and whenever {@link #rescan()} is called.
+ * In between, it is updated from the events of a {@link WatchService} registered on the directory. If the directory
+ * cannot be watched, or the watcher reports that events were lost, the directory is listed again on the next request.
+ * Since watch events are not delivered for every file system (e.g. files written to a network mount by another host),
+ * callers should rescan at the start of each run, and rely on the watcher for files that arrive during the run.
+ *
+ * Only the files directly within the directory are indexed, matching
+ * {@link FileIOUtils#getSortedFiles(File, boolean, String[])} with recursive set to false.
+ */
+public class IncomingFileIndex implements Closeable
+{
+    private static final Logger logger = LoggerFactory.getLogger(IncomingFileIndex.class);
+
+    private final File directory;
+
+    /** The names of the files in the directory, sorted the same way as {@link FileIOUtils#getSortedFiles}. */
+    private final TreeSet<String> fileNames = new TreeSet<>();
+
+    /** Null if the directory is not being watched. */
+    private WatchService watchService;
+    private WatchKey watchKey;
+
+    /** Set if the directory could not be watched, in which case it is listed on every read. */
+    private boolean watchUnavailable = false;
+
+    /** Set if the index must be refilled from a full listing before it is next read. */
+    private boolean rescanNeeded = true;
+
+    public IncomingFileIndex(File directory) {
+        this.directory = directory;
+    }
+
+    /** --- Methods --- */
+
+    /**
+     * Gets the files in the directory, sorted by file name.
+     *
+     * @param sortByFileName SortOrder - Sort order for the file name.
+     * @param limitOffset LimitOffset - Restrict the results list.
+     * @return List<File>
+     * @throws IOException - If the directory could not be listed.
+     */
+    public synchronized List<File> getSortedFiles(SortOrder sortByFileName, LimitOffset limitOffset) throws IOException {
+        update();
+        NavigableSet<String> names = sortByFileName == SortOrder.DESC ? fileNames.descendingSet() : fileNames;
+        int skip = limitOffset != null ? limitOffset.getOffsetStart() - 1 : 0;
+        int limit = limitOffset != null && limitOffset.hasLimit() ? limitOffset.getLimit() : Integer.MAX_VALUE;
+        List<File> files = new ArrayList<>(Math.min(limit, names.size()));
+        Iterator<String> nameIterator = names.iterator();
+        while (nameIterator.hasNext() && files.size() < limit) {
+            File file = new File(directory, nameIterator.next());
+            // Drop files that were removed since their events were last read
+            if (!file.isFile()) {
+                nameIterator.remove();
+            }
+            else if (skip > 0) {
+                skip--;
+            }
+            else {
+                files.add(file);
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Removes a file from the index, e.g. after it has been moved out of the directory.
+     *
+     * @param file File
+     */
+    public synchronized void remove(File file) {
+        fileNames.remove(file.getName());
+    }
+
+    /**
+     * Refills the index from a full listing of the directory before it is next read.
+     */
+    public synchronized void rescan() {
+        rescanNeeded = true;
+    }
+
+    /**
+     * Stops watching the directory.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watchKey = null;
+        }
+        rescanNeeded = true;
+    }
+
+    /** --- Internal Methods --- */
+
+    private void update() throws IOException {
+        if (!watchUnavailable && (watchKey == null || !watchKey.isValid())) {
+            watch();
+        }
+        // Apply any pending events before a rescan, so that they are not applied again afterwards
+        readEvents();
+        if (rescanNeeded || watchKey == null) {
+            fileNames.clear();
+            for (File file : FileIOUtils.safeListFiles(directory, false, null)) {
+                fileNames.add(file.getName());
+            }
+            rescanNeeded = false;
+        }
+    }
+
+    /**
+     * Registers a watcher on the directory, falling back to listing the directory on every read if that fails.
+     * The watcher is registered before the directory is listed so that no files are missed in between.
+     */
+    private void watch() throws IOException {
+        close();
+        try {
+            FileUtils.forceMkdir(directory);
+            watchService = directory.toPath().getFileSystem().newWatchService();
+            watchKey = directory.toPath().register(watchService, ENTRY_CREATE, ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException ex) {
+            logger.warn("Could not watch {}, it will be listed for every batch of files: {}", directory, ex.getMessage());
+            close();
+            watchUnavailable = true;
+        }
+    }
+
+    private void readEvents() {
+        if (watchKey == null) {
+            return;
+        }
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    rescanNeeded = true;
+                    continue;
+                }
+                String fileName = event.context().toString();
+                if (event.kind() == ENTRY_CREATE && new File(directory, fileName).isFile()) {
+                    fileNames.add(fileName);
+                }
+                else if (event.kind() == ENTRY_DELETE) {
+                    fileNames.remove(fileName);
+                }
+            }
+            if (!key.reset()) {
+                // The directory is no longer accessible, list it again on the next read
+                rescanNeeded = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import gov.nysenate.openleg.util.StringDiffer.Diff;
+import gov.nysenate.openleg.util.StringDiffer.Operation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Computes and memoizes diffs between texts, such as bill amendment texts or spotcheck mismatch data.
+ *
+ * Texts are first diffed line by line, comparing line hashes, and only the changed hunks are then
+ * diffed character by character. Unlike {@link StringDiffer#diff_main(String, String)}, no time limit
+ * is applied, so the result for a pair of texts is always the same. Hunks too large to diff by
+ * character in reasonable time are reported as a whole line deletion and insertion.
+ *
+ * Results are kept in a cache bounded by the total length of the cached diff text, keyed by the hashes
+ * of both texts and the diff mode. Concurrent requests for the same diff wait for a single computation.
+ *
+ * A diff can be cancelled by interrupting the thread computing it, which results in a
+ * {@link CancellationException}. Nothing is cached for a cancelled diff.
+ */
+public final class TextDiffer
+{
+    public enum Mode
+    {
+        /** The minimal diff, without cleanup. */
+        RAW,
+        /** Diff cleaned up to remove semantically trivial equalities. */
+        SEMANTIC,
+        /** Diff cleaned up for display, as shown for bill amendment diffs. */
+        DISPLAY
+    }
+
+    /** The total length of diff text that may be cached. */
+    private static final long maxCachedChars = 16 * 1024 * 1024;
+
+    /** Changed hunks where both sides are at most this long are diffed by character. */
+    private static final int maxCharDiffHunkLength = 4000;
+
+    private static final TextDiffer instance = new TextDiffer(maxCachedChars);
+
+    private static final HashFunction textHash = Hashing.murmur3_128();
+
+    private final Cache<Key, List<Diff>> diffCache;
+
+    TextDiffer(long maxCachedChars) {
+        this.diffCache = CacheBuilder.newBuilder()
+                .maximumWeight(maxCachedChars)
+                .weigher((Key key, List<Diff> diffs) -> diffs.stream().mapToInt(d -> d.text.length()).sum())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return TextDiffer - the shared diff cache
+     */
+    public static TextDiffer getInstance() {
+        return instance;
+    }
+
+    /**
+     * Get the diff that transforms text1 into text2.
+     *
+     * @param text1 String - the old text
+     * @param text2 String - the new text
+     * @param mode Mode - the cleanup applied to the diff
+     * @return LinkedList<StringDiffer.Diff> - a copy of the diff that may be modified by the caller
+     * @throws CancellationException if the thread is interrupted while computing the diff
+     */
+    public LinkedList<Diff> diff(String text1, String text2, Mode mode) {
+        Key key = new Key(text1, text2, mode);
+        List<Diff> diffs;
+        try {
+            diffs = diffCache.get(key, () -> computeDiff(text1, text2, mode));
+        } catch (ExecutionException | UncheckedExecutionException | ExecutionError ex) {
+            if (ex.getCause() instanceof CancellationException) {
+                throw (CancellationException) ex.getCause();
+            }
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw new IllegalStateException("Failed to diff texts", ex.getCause());
+        }
+        LinkedList<Diff> copy = new LinkedList<>();
+        for (Diff diff : diffs) {
+            copy.add(new Diff(diff.operation, diff.text));
+        }
+        return copy;
+    }
+
+    /**
+     * Get the diff that transforms text1 into text2, formatted as html.
+     *
+     * @see #diff(String, String, Mode)
+     * @see StringDiffer#diff_prettyHtml(LinkedList)
+     */
+    public String diffHtml(String text1, String text2, Mode mode) {
+        return new StringDiffer().diff_prettyHtml(diff(text1, text2, mode));
+    }
+
+    /**
+     * Discards all cached diffs.
+     */
+    public void clear() {
+        diffCache.invalidateAll();
+    }
+
+    /** --- Internal Methods --- */
+
+    private static List<Diff> computeDiff(String text1, String text2, Mode mode) {
+        StringDiffer stringDiffer = new StringDiffer();
+        stringDiffer.Diff_Timeout = 0;
+        LinkedList<Diff> diffs = diffLines(stringDiffer, text1, text2);
+        switch (mode) {
+            case SEMANTIC:
+                stringDiffer.diff_cleanupSemantic(diffs);
+                break;
+            case DISPLAY:
+                stringDiffer.diff_cleanupEfficiency(diffs);
+                stringDiffer.diff_cleanupSemantic(diffs);
+                stringDiffer.diff_cleanupMerge(diffs);
+                break;
+            default:
+                break;
+        }
+        return new ArrayList<>(diffs);
+    }
+
+    /**
+     * Diffs the lines of both texts, then diffs the characters of each changed hunk.
+     */
+    private static LinkedList<Diff> diffLines(StringDiffer stringDiffer, String text1, String text2) {
+        List<String> lines1 = splitLines(text1);
+        List<String> lines2 = splitLines(text2);
+        Map<String, Integer> lineIds = new HashMap<>();
+        int[] ids1 = toLineIds(lines1, lineIds);
+        int[] ids2 = toLineIds(lines2, lineIds);
+        boolean[] deleted = new boolean[ids1.length];
+        boolean[] inserted = new boolean[ids2.length];
+        new LineDiff(ids1, ids2, deleted, inserted).compare(0, ids1.length, 0, ids2.length);
+
+        LinkedList<Diff> diffs = new LinkedList<>();
+        StringBuilder equalText = new StringBuilder();
+        int i = 0, j = 0;
+        while (i < ids1.length || j < ids2.length) {
+            if ((i < ids1.length && deleted[i]) || (j < ids2.length && inserted[j])) {
+                StringBuilder deletedText = new StringBuilder();
+                StringBuilder insertedText = new StringBuilder();
+                for (; i < ids1.length && deleted[i]; i++) {
+                    deletedText.append(lines1.get(i));
+                }
+                for (; j < ids2.length && inserted[j]; j++) {
+                    insertedText.append(lines2.get(j));
+                }
+                addDiff(diffs, Operation.EQUAL, equalText.toString());
+                equalText.setLength(0);
+                addHunk(stringDiffer, diffs, deletedText.toString(), insertedText.toString());
+            }
+            else {
+                equalText.append(lines1.get(i));
+                i++;
+                j++;
+            }
+        }
+        addDiff(diffs, Operation.EQUAL, equalText.toString());
+        stringDiffer.diff_cleanupMerge(diffs);
+        return diffs;
+    }
+
+    private static void addHunk(StringDiffer stringDiffer, LinkedList<Diff> diffs, String deletedText, String insertedText) {
+        if (deletedText.isEmpty() || insertedText.isEmpty() ||
+                deletedText.length() > maxCharDiffHunkLength || insertedText.length() > maxCharDiffHunkLength) {
+            addDiff(diffs, Operation.DELETE, deletedText);
+            addDiff(diffs, Operation.INSERT, insertedText);
+            return;
+        }
+        checkInterrupted();
+        diffs.addAll(stringDiffer.diff_main(deletedText, insertedText, false));
+    }
+
+    private static void addDiff(LinkedList<Diff> diffs, Operation operation, String text) {
+        if (!text.isEmpty()) {
+            diffs.add(new Diff(operation, text));
+        }
+    }
+
+    /**
+     * Splits the text into lines, keeping the line breaks.
+     */
+    private static List<String> splitLines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        while (start < text.length()) {
+            int end = text.indexOf('\n', start);
+            end = end == -1 ? text.length() : end + 1;
+            lines.add(text.substring(start, end));
+            start = end;
+        }
+        return lines;
+    }
+
+    private static int[] toLineIds(List<String> lines, Map<String, Integer> lineIds) {
+        int[] ids = new int[lines.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = lineIds.computeIfAbsent(lines.get(i), line -> lineIds.size());
+        }
+        return ids;
+    }
+
+    private static void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Diff was cancelled");
+        }
+    }
+
+    /**
+     * Finds a shortest edit script between two sequences of line ids using Myers' linear space
+     * algorithm, marking each line that is deleted from the first sequence or inserted into the second.
+     * See Myers 1986: An O(ND) Difference Algorithm and Its Variations.
+     */
+    private static final class LineDiff
+    {
+        private final int[] a;
+        private final int[] b;
+        private final boolean[] deleted;
+        private final boolean[] inserted;
+
+        LineDiff(int[] a, int[] b, boolean[] deleted, boolean[] inserted) {
+            this.a = a;
+            this.b = b;
+            this.deleted = deleted;
+            this.inserted = inserted;
+        }
+
+        void compare(int aLo, int aHi, int bLo, int bHi) {
+            while (aLo < aHi && bLo < bHi && a[aLo] == b[bLo]) {
+                aLo++;
+                bLo++;
+            }
+            while (aLo < aHi && bLo < bHi && a[aHi - 1] == b[bHi - 1]) {
+                aHi--;
+                bHi--;
+            }
+            if (aLo == aHi) {
+                for (int j = bLo; j < bHi; j++) {
+                    inserted[j] = true;
+                }
+                return;
+            }
+            if (bLo == bHi) {
+                for (int i = aLo; i < aHi; i++) {
+                    deleted[i] = true;
+                }
+                return;
+            }
+            checkInterrupted();
+            int[] snake = middleSnake(aLo, aHi, bLo, bHi);
+            compare(aLo, snake[0], bLo, snake[1]);
+            compare(snake[2], aHi, snake[3], bHi);
+        }
+
+        /**
+         * Finds the middle snake of an optimal edit path between the given ranges.
+         * Both ranges must be non empty and must not share a common prefix or suffix.
+         *
+         * @return int[] - the start x, start y, end x, and end y of the snake
+         */
+        private int[] middleSnake(int aLo, int aHi, int bLo, int bHi) {
+            int n = aHi - aLo;
+            int m = bHi - bLo;
+            int delta = n - m;
+            boolean odd = (delta & 1) != 0;
+            int max = (n + m + 1) / 2;
+            int offset = max + 1;
+            int[] forward = new int[2 * max + 3];
+            int[] reverse = new int[2 * max + 3];
+            forward[offset + 1] = 0;
+            reverse[offset + 1] = 0;
+            for (int d = 0; d <= max; d++) {
+                for (int k = -d; k <= d; k += 2) {
+                    int x = (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1]))
+                            ? forward[offset + k + 1] : forward[offset + k - 1] + 1;
+                    int y = x - k;
+                    int startX = x, startY = y;
+                    while (x < n && y < m && a[aLo + x] == b[bLo + y]) {
+                        x++;
+                        y++;
+                    }
+                    forward[offset + k] = x;
+                    int reverseK = delta - k;
+                    if (odd && reverseK >= -(d - 1) && reverseK <= d - 1 && x + reverse[offset + reverseK] >= n) {
+                        return new int[] {aLo + startX, bLo + startY, aLo + x, bLo + y};
+                    }
+                }
+                for (int k = -d; k <= d; k += 2) {
+                    int x = (k == -d || (k != d && reverse[offset + k - 1] < reverse[offset + k + 1]))
+                            ? reverse[offset + k + 1] : reverse[offset + k - 1] + 1;
+                    int y = x - k;
+                    int startX = x, startY = y;
+                    while (x < n && y < m && a[aHi - 1 - x] == b[bHi - 1 - y]) {
+                        x++;
+                        y++;
+                    }
+                    reverse[offset + k] = x;
+                    int forwardK = delta - k;
+                    if (!odd && forwardK >= -d && forwardK <= d && x + forward[offset + forwardK] >= n) {
+                        return new int[] {aHi - x, bHi - y, aHi - startX, bHi - startY};
+                    }
+                }
+            }
+            throw new IllegalStateException("No middle snake found");
+        }
+    }
+
+    private static final class Key
+    {
+        private final HashCode hash1;
+        private final HashCode hash2;
+        private final int length1;
+        private final int length2;
+        private final Mode mode;
+
+        Key(String text1, String text2, Mode mode) {
+            this.hash1 = textHash.hashUnencodedChars(text1);
+            this.hash2 = textHash.hashUnencodedChars(text2);
+            this.length1 = text1.length();
+            this.length2 = text2.length();
+            this.mode = mode;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return length1 == key.length1 && length2 == key.length2 && mode == key.mode &&
+                    hash1.equals(key.hash1) && hash2.equals(key.hash2);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(hash1, hash2, mode);
+        }
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return "textDiff";
+    }
+
+    public long getSize() {
+        return diffCache.size();
+    }
+
+    public long getHitCount() {
+        return diffCache.stats().hitCount();
+    }
+
+    public long getMissCount() {
+        return diffCache.stats().missCount();
+    }
+
+    public double getHitRatio() {
+        return diffCache.stats().hitRate();
+    }
+
+    public long getEvictedCount() {
+        return diffCache.stats().evictionCount();
+    }
+}
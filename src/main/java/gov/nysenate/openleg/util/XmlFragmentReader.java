@@ -0,0 +1,136 @@
+package gov.nysenate.openleg.util;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+
+/**
+ * Reads an xml leg data fragment into a tree of {@link XmlRecord}s in a single streaming pass.
+ *
+ * This is a cheaper alternative to building a DOM and querying it with {@link XmlHelper}. Each element's text
+ * is copied once from the parser into a reusable buffer and then into a single string, and attribute and
+ * child lookups are plain map and list scans rather than xpath evaluations. Comments and processing
+ * instructions are skipped.
+ *
+ * The reader is thread safe. Woodstox is used as the StAX implementation when it is on the classpath.
+ */
+public final class XmlFragmentReader
+{
+    private static final XMLInputFactory inputFactory = createInputFactory();
+
+    /** Collects the text of the current element. Reused across reads to avoid regrowing it for large fragments. */
+    private static final ThreadLocal<StringBuilder> textBuffer = ThreadLocal.withInitial(StringBuilder::new);
+
+    private static final String jdkCdataChunkSizeProperty = "jdk.xml.cdataChunkSize";
+    private static final int cdataChunkSize = 8192;
+
+    /** Text buffers larger than this are not kept after a read. */
+    private static final int maxRetainedBufferSize = 4 * 1024 * 1024;
+
+    private XmlFragmentReader() {}
+
+    /**
+     * Read the given xml document.
+     *
+     * @param xmlText String - an xml document
+     * @return XmlRecord - the document's root element
+     * @throws XMLStreamException if the document is not well formed
+     */
+    public static XmlRecord read(String xmlText) throws XMLStreamException {
+        return read(new StringReader(xmlText));
+    }
+
+    /**
+     * Read an xml document from the given reader. The reader is not closed.
+     *
+     * @param source Reader
+     * @return XmlRecord - the document's root element
+     * @throws XMLStreamException if the document is not well formed
+     */
+    public static XmlRecord read(Reader source) throws XMLStreamException {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(source);
+        StringBuilder text = textBuffer.get();
+        text.setLength(0);
+        try {
+            Deque<XmlRecord> openElements = new ArrayDeque<>();
+            XmlRecord root = null;
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        XmlRecord element = new XmlRecord(reader.getLocalName(), readAttributes(reader));
+                        if (openElements.isEmpty()) {
+                            root = element;
+                        } else {
+                            flushText(text, openElements.peek());
+                            openElements.peek().addChild(element);
+                        }
+                        openElements.push(element);
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        flushText(text, openElements.pop());
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        if (!openElements.isEmpty()) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                        break;
+                    default:
+                        break;
+                }
+            }
+            if (root == null) {
+                throw new XMLStreamException("Xml document has no root element");
+            }
+            return root;
+        } finally {
+            reader.close();
+            if (text.capacity() > maxRetainedBufferSize) {
+                textBuffer.remove();
+            }
+        }
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Moves the text collected so far into the given element.
+     */
+    private static void flushText(StringBuilder text, XmlRecord element) {
+        if (text.length() > 0) {
+            element.appendText(text.toString());
+            text.setLength(0);
+        }
+    }
+
+    private static Map<String, String> readAttributes(XMLStreamReader reader) {
+        int count = reader.getAttributeCount();
+        Map<String, String> attributes = XmlRecord.newAttributeMap(count);
+        for (int i = 0; i < count; i++) {
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        return attributes;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        // Text is gathered into a buffer as it is read, so there is no need for the parser to coalesce it
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, false);
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // Without coalescing, Woodstox returns long text in segments the size of its input buffer.
+        // The JDK parser only does so for cdata if given a chunk size, and otherwise buffers each cdata section whole.
+        if (factory.isPropertySupported(jdkCdataChunkSizeProperty)) {
+            factory.setProperty(jdkCdataChunkSizeProperty, cdataChunkSize);
+        }
+        return factory;
+    }
+}
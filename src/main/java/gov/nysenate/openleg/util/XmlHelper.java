@@ -12,53 +12,136 @@ import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
+import javax.xml.xpath.XPathExpression;
 import javax.xml.xpath.XPathExpressionException;
 import javax.xml.xpath.XPathFactory;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * Parses xml documents and evaluates xpath expressions against them.
+ * Neither DocumentBuilder nor XPath is thread safe, so each thread gets its own instances.
+ *
+ * Each xpath expression is compiled once per thread and then reused. Compiled expressions
+ * aren't thread safe either, so every thread keeps its own registry of them.
+ */
 @Component
 public class XmlHelper
 {
-    private final DocumentBuilder dBuilder;
-    private final XPath xpath;
+    /** Expressions beyond this many per thread are compiled on every use instead of being kept. */
+    private static final int maxExpressionsPerThread = 1000;
+
+    private final DocumentBuilderFactory dbFactory;
+    private final ThreadLocal<DocumentBuilder> dBuilder;
+    private final ThreadLocal<XPath> xpath;
+
+    /** Compiled expressions keyed by path, for the current thread. */
+    private final ThreadLocal<Map<String, XPathExpression>> expressions = ThreadLocal.withInitial(HashMap::new);
+
+    /** --- Expression registry stats --- */
+
+    private final Set<String> compiledPaths = ConcurrentHashMap.newKeySet();
+    private final AtomicLong compileCount = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
 
     public XmlHelper() throws ParserConfigurationException {
-        dBuilder = DocumentBuilderFactory.newInstance().newDocumentBuilder();
-        xpath = XPathFactory.newInstance().newXPath();
+        dbFactory = DocumentBuilderFactory.newInstance();
+        // Fail on construction rather than on first use if the parser cannot be configured
+        dbFactory.newDocumentBuilder();
+        dBuilder = ThreadLocal.withInitial(this::newDocumentBuilder);
+        xpath = ThreadLocal.withInitial(() -> XPathFactory.newInstance().newXPath());
     }
 
     public Document parse(File file) throws SAXException, IOException {
-        return dBuilder.parse(file);
+        return dBuilder.get().parse(file);
     }
 
     public Document parse(String xmlString) throws IOException, SAXException {
         InputSource is = new InputSource(new ByteArrayInputStream(xmlString.getBytes("utf-8")));
-        return dBuilder.parse(is);
+        return dBuilder.get().parse(is);
     }
 
     public Boolean getBoolean(String path, Node node) throws XPathExpressionException {
-        return (Boolean)xpath.evaluate(path, node, XPathConstants.BOOLEAN);
+        return (Boolean)getExpression(path).evaluate(node, XPathConstants.BOOLEAN);
     }
 
     public String getString(String path, Node node) throws XPathExpressionException {
-        return (String)xpath.evaluate(path, node, XPathConstants.STRING);
+        return (String)getExpression(path).evaluate(node, XPathConstants.STRING);
     }
 
     public Double getDouble(String path, Node node) throws XPathExpressionException {
-        return (Double)xpath.evaluate(path, node, XPathConstants.NUMBER);
+        return (Double)getExpression(path).evaluate(node, XPathConstants.NUMBER);
     }
 
     public Integer getInteger(String path, Node node) throws XPathExpressionException {
-        return ((Double)xpath.evaluate(path, node, XPathConstants.NUMBER)).intValue();
+        return ((Double)getExpression(path).evaluate(node, XPathConstants.NUMBER)).intValue();
     }
 
     public Node getNode(String path, Node node) throws XPathExpressionException {
-        return (Node)xpath.evaluate(path, node, XPathConstants.NODE);
+        return (Node)getExpression(path).evaluate(node, XPathConstants.NODE);
     }
 
     public NodeList getNodeList(String path, Node node) throws XPathExpressionException {
-        return (NodeList)xpath.evaluate(path, node, XPathConstants.NODESET);
+        return (NodeList)getExpression(path).evaluate(node, XPathConstants.NODESET);
+    }
+
+    /** --- Stats Getters --- */
+
+    /** @return long - the number of times an expression was compiled, across all threads */
+    public long getCompileCount() {
+        return compileCount.get();
+    }
+
+    /** @return long - the number of evaluations that reused an already compiled expression */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /** @return double - the fraction of evaluations that reused an already compiled expression */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getCompileCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /** @return int - the number of distinct paths that have been compiled */
+    public int getDistinctExpressionCount() {
+        return compiledPaths.size();
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Get the compiled expression for the given path, compiling it if this thread has not seen it yet.
+     */
+    private XPathExpression getExpression(String path) throws XPathExpressionException {
+        Map<String, XPathExpression> threadExpressions = expressions.get();
+        XPathExpression expression = threadExpressions.get(path);
+        if (expression != null) {
+            hitCount.incrementAndGet();
+            return expression;
+        }
+        expression = xpath.get().compile(path);
+        compileCount.incrementAndGet();
+        compiledPaths.add(path);
+        if (threadExpressions.size() < maxExpressionsPerThread) {
+            threadExpressions.put(path, expression);
+        }
+        return expression;
+    }
+
+    /** DocumentBuilderFactory is not thread safe either, so builders are created one at a time. */
+    private synchronized DocumentBuilder newDocumentBuilder() {
+        try {
+            return dbFactory.newDocumentBuilder();
+        } catch (ParserConfigurationException ex) {
+            throw new IllegalStateException(ex);
+        }
     }
 }
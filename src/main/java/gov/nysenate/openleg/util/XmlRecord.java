@@ -0,0 +1,144 @@
+package gov.nysenate.openleg.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lightweight, read only view of an xml element produced by {@link XmlFragmentReader}.
+ *
+ * Lookups follow the conventions of the xpath based {@link XmlHelper} methods that they replace:
+ * missing attributes and elements read as an empty string, and missing numbers read as 0.
+ */
+public final class XmlRecord
+{
+    private final String name;
+    private final Map<String, String> attributes;
+    private List<XmlRecord> children = Collections.emptyList();
+
+    /** Text directly within this element */
+    private String text = "";
+
+    XmlRecord(String name, Map<String, String> attributes) {
+        this.name = name;
+        this.attributes = attributes;
+    }
+
+    /** --- Functional Getters --- */
+
+    /**
+     * @param name String - attribute name
+     * @return String - the attribute value, or an empty string if the attribute is not set
+     */
+    public String getAttribute(String name) {
+        return attributes.getOrDefault(name, "");
+    }
+
+    /**
+     * @param name String - attribute name
+     * @return int - the attribute value parsed as an int, or 0 if the attribute is blank or not set
+     * @throws NumberFormatException if the attribute is not a number
+     */
+    public int getIntAttribute(String name) {
+        String value = getAttribute(name).trim();
+        return value.isEmpty() ? 0 : Integer.parseInt(value);
+    }
+
+    /**
+     * @return String - the text directly within this element, excluding the text of child elements
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * @param name String - element name
+     * @return XmlRecord - the first child element with the given name, or null if there is none
+     */
+    public XmlRecord getChild(String name) {
+        for (XmlRecord child : children) {
+            if (child.name.equals(name)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param name String - element name
+     * @return String - the text of the first child element with the given name, or an empty string if there is none
+     */
+    public String getChildText(String name) {
+        XmlRecord child = getChild(name);
+        return child != null ? child.getText() : "";
+    }
+
+    /**
+     * @param name String - element name
+     * @return List<XmlRecord> - all child elements with the given name
+     */
+    public List<XmlRecord> getChildren(String name) {
+        List<XmlRecord> matches = new ArrayList<>();
+        for (XmlRecord child : children) {
+            if (child.name.equals(name)) {
+                matches.add(child);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @param name String - element name
+     * @return List<XmlRecord> - all descendant elements with the given name, in document order
+     */
+    public List<XmlRecord> getDescendants(String name) {
+        List<XmlRecord> matches = new ArrayList<>();
+        addDescendants(name, matches);
+        return matches;
+    }
+
+    /** --- Internal Methods --- */
+
+    void addChild(XmlRecord child) {
+        if (children.isEmpty()) {
+            children = new ArrayList<>(4);
+        }
+        children.add(child);
+    }
+
+    /**
+     * Appends text to this element. Text only arrives in more than one piece for mixed content.
+     */
+    void appendText(String chunk) {
+        text = text.isEmpty() ? chunk : text + chunk;
+    }
+
+    private void addDescendants(String name, List<XmlRecord> matches) {
+        for (XmlRecord child : children) {
+            if (child.name.equals(name)) {
+                matches.add(child);
+            }
+            child.addDescendants(name, matches);
+        }
+    }
+
+    static Map<String, String> newAttributeMap(int count) {
+        return count == 0 ? Collections.emptyMap() : new LinkedHashMap<>(count * 2);
+    }
+
+    /** --- Basic Getters --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public List<XmlRecord> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+}
@@ -24,11 +24,13 @@ public class Pipeline<T> {
     private static final Logger logger = LoggerFactory.getLogger(Pipeline.class);
 
     private LinkedList<PipelineTask> tasks;
+    private ImmutableList<PipelineStageStats> stageStats;
     private Executor executor;
     private CompletableFuture<ImmutableList<T>> result = null;
 
-    Pipeline(Collection<PipelineTask> tasks, Executor executor) {
+    Pipeline(Collection<PipelineTask> tasks, Collection<PipelineStageStats> stageStats, Executor executor) {
         this.tasks = new LinkedList<>(tasks);
+        this.stageStats = ImmutableList.copyOf(stageStats);
         this.executor = executor;
     }
 
@@ -58,6 +60,16 @@ public class Pipeline<T> {
         return result;
     }
 
+    /**
+     * Get statistics for each stage of the pipeline, in pipeline order.
+     * The statistics are updated live as the pipeline runs.
+     *
+     * @return {@link ImmutableList<PipelineStageStats>}
+     */
+    public ImmutableList<PipelineStageStats> getStageStats() {
+        return stageStats;
+    }
+
     /* --- Internal Methods --- */
 
     /**
@@ -23,6 +23,8 @@ public class PipelineBuilder<T> {
 
     private PipelineTask<?, T> lastTask = null;
 
+    private List<PipelineStageStats> stageStats;
+
     private final BlockingQueue inputQueue;
 
     private final AtomicBoolean inputFinal;
@@ -30,6 +32,7 @@ public class PipelineBuilder<T> {
     PipelineBuilder(Executor executor, BlockingQueue<T> inputQueue, AtomicBoolean inputFinal) {
         this.executor = executor;
         this.tasks = new LinkedList<>();
+        this.stageStats = new LinkedList<>();
         this.inputQueue = inputQueue;
         this.inputFinal = inputFinal;
     }
@@ -39,10 +42,14 @@ public class PipelineBuilder<T> {
      *
      * @param pb {@link PipelineBuilder}
      * @param newTasks {@link PipelineTask}
+     * @param newStageStats {@link PipelineStageStats} - stats for the stage formed by the new tasks
      */
-    private PipelineBuilder(PipelineBuilder<?> pb, LinkedList<PipelineTask<?, T>> newTasks) {
+    private PipelineBuilder(PipelineBuilder<?> pb, LinkedList<PipelineTask<?, T>> newTasks,
+                            PipelineStageStats newStageStats) {
         this.executor = pb.executor;
         this.tasks = pb.tasks;
+        this.stageStats = pb.stageStats;
+        this.stageStats.add(newStageStats);
         this.inputQueue = pb.inputQueue;
         this.inputFinal = pb.inputFinal;
 
@@ -58,14 +65,15 @@ public class PipelineBuilder<T> {
      * all consuming from the same set of inputs,
      * and writing to the same set of outputs.
      *
+     * @param name String - a name for the task, used to identify its {@link PipelineStageStats}
      * @param task Function<R, Collection<E>> - the task to be performed
      * @param outputCapacity int - sets an upper limit for the number of results in the output queue
      * @param instances int - specifies number of instances of the task that run
      * @param <E>
      * @return {@link PipelineBuilder}
      */
-    public <E> PipelineBuilder<E> addTask(Function<T, Collection<E>> task,
-                                             int outputCapacity, int instances) {
+    public <E> PipelineBuilder<E> addTask(String name, Function<T, Collection<E>> task,
+                                          int outputCapacity, int instances) {
         if (instances < 1) {
             throw new IllegalStateException("You must create at least one instance of a task.");
         }
@@ -81,15 +89,31 @@ public class PipelineBuilder<T> {
         } else {
             outputQueue = new LinkedBlockingQueue<>();
         }
+        PipelineStageStats stats = new PipelineStageStats(name, instances, inputQueue);
         LinkedList<PipelineTask<?, E>> newTasks = new LinkedList<>();
         PipelineTask prevTask = lastTask;
         for (int i = 0; i < instances; i++) {
             final AtomicBoolean prevFinished = prevTask == null ? this.inputFinal : prevTask.getFinished();
-            PipelineTask<T, E> newTask = new PipelineTask<>(task, inputQueue, outputQueue, prevFinished);
+            PipelineTask<T, E> newTask = new PipelineTask<>(task, inputQueue, outputQueue, prevFinished, stats);
             prevTask = newTask;
             newTasks.add(newTask);
         }
-        return new PipelineBuilder<>(this, newTasks);
+        return new PipelineBuilder<>(this, newTasks, stats);
+    }
+
+    /**
+     * @see #addTask(String, Function, int, int)
+     * Overload that names the task after its position in the pipeline.
+     *
+     * @param task Function<R, Collection<E>> - the task to be performed
+     * @param outputCapacity int - sets an upper limit for the number of results in the output queue
+     * @param instances int - specifies number of instances of the task that run
+     * @param <E>
+     * @return {@link PipelineBuilder}
+     */
+    public <E> PipelineBuilder<E> addTask(Function<T, Collection<E>> task,
+                                             int outputCapacity, int instances) {
+        return addTask("stage-" + (stageStats.size() + 1), task, outputCapacity, instances);
     }
 
     /**
@@ -124,7 +148,7 @@ public class PipelineBuilder<T> {
      * @return {@link Pipeline}
      */
     public Pipeline<T> build() {
-        return new Pipeline<>(tasks, executor);
+        return new Pipeline<>(tasks, stageStats, executor);
     }
 
 }
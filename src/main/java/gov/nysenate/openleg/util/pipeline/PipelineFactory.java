@@ -7,6 +7,7 @@ import javax.annotation.Resource;
 import java.util.Collection;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -25,7 +26,22 @@ public class PipelineFactory {
      * @return {@link PipelineBuilder}
      */
     public <T> PipelineBuilder<T> pipelineBuilder(Collection<T> input) {
-        BlockingQueue<T> inputQueue = new ArrayBlockingQueue<>(input.size(), false, input);
+        return pipelineBuilder(input, executor);
+    }
+
+    /**
+     * Build a pipeline with a fixed input that runs on the given executor.
+     *
+     * Every task instance occupies a thread for the life of the pipeline, so large pipelines should be given
+     * an executor with at least one thread per task instance rather than sharing the async executor.
+     *
+     * @param input {@link Collection}
+     * @param executor {@link Executor}
+     * @param <T> Input type
+     * @return {@link PipelineBuilder}
+     */
+    public <T> PipelineBuilder<T> pipelineBuilder(Collection<T> input, Executor executor) {
+        BlockingQueue<T> inputQueue = new ArrayBlockingQueue<>(Math.max(1, input.size()), false, input);
         return new PipelineBuilder<>(executor, inputQueue, new AtomicBoolean(true));
     }
 
@@ -0,0 +1,98 @@
+package gov.nysenate.openleg.util.pipeline;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Live throughput statistics for a single stage of a {@link Pipeline}.
+ * A stage consists of all instances of a task added with a single call to
+ * {@link PipelineBuilder#addTask(String, java.util.function.Function, int, int)}.
+ */
+public class PipelineStageStats
+{
+    private final String name;
+    private final int instances;
+
+    /** The queue that the stage consumes from. Its size is the backlog of work waiting on this stage. */
+    private final BlockingQueue<?> inputQueue;
+
+    /** The number of inputs that can be queued for this stage, or -1 if the input queue is unbounded */
+    private final int queueCapacity;
+
+    private final AtomicLong inputCount = new AtomicLong();
+    private final AtomicLong outputCount = new AtomicLong();
+    private final AtomicLong processingNanos = new AtomicLong();
+    private final AtomicLong maxProcessingNanos = new AtomicLong();
+
+    PipelineStageStats(String name, int instances, BlockingQueue<?> inputQueue) {
+        this.name = name;
+        this.instances = instances;
+        this.inputQueue = inputQueue;
+        this.queueCapacity = getCapacity(inputQueue);
+    }
+
+    /**
+     * Record the processing of a single input.
+     *
+     * @param nanos long - time spent applying the task to the input
+     * @param outputs int - number of outputs produced
+     */
+    void record(long nanos, int outputs) {
+        inputCount.incrementAndGet();
+        outputCount.addAndGet(outputs);
+        processingNanos.addAndGet(nanos);
+        maxProcessingNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** --- Getters --- */
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInstances() {
+        return instances;
+    }
+
+    /** @return int - the number of inputs waiting to be processed by this stage */
+    public int getQueueDepth() {
+        return inputQueue.size();
+    }
+
+    /** @return int - the number of inputs that can be queued for this stage, or -1 if unbounded */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public long getInputCount() {
+        return inputCount.get();
+    }
+
+    public long getOutputCount() {
+        return outputCount.get();
+    }
+
+    /** @return double - the average time in ms that this stage spent on a single input */
+    public double getAvgLatencyMs() {
+        long inputs = getInputCount();
+        return inputs == 0 ? 0 : (double) processingNanos.get() / inputs / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** @return double - the longest time in ms that this stage spent on a single input */
+    public double getMaxLatencyMs() {
+        return (double) maxProcessingNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /** --- Internal Methods --- */
+
+    /**
+     * Queues do not expose their capacity, so it is derived from the remaining capacity and size.
+     * This is done once, when the stage is built and before any of its tasks take from the queue.
+     * Unbounded queues report a capacity of Integer.MAX_VALUE, which would overflow once added to their size.
+     */
+    private static int getCapacity(BlockingQueue<?> queue) {
+        long capacity = (long) queue.remainingCapacity() + queue.size();
+        return capacity >= Integer.MAX_VALUE ? -1 : (int) capacity;
+    }
+}
@@ -42,14 +42,19 @@ class PipelineTask<T, R> implements Runnable {
 
     private final AtomicBoolean prevFinished;
 
+    /** Statistics shared by all instances of this task's stage */
+    private final PipelineStageStats stats;
+
     PipelineTask(Function<T, Collection<R>> task,
                  BlockingQueue<T> inputQueue,
                  BlockingQueue<R> outputQueue,
-                 AtomicBoolean prevFinished) {
+                 AtomicBoolean prevFinished,
+                 PipelineStageStats stats) {
         this.task = task;
         this.inputQueue = inputQueue;
         this.outputQueue = outputQueue;
         this.prevFinished = prevFinished;
+        this.stats = stats;
     }
 
     /**
@@ -71,7 +76,9 @@ class PipelineTask<T, R> implements Runnable {
                 }
 
                 if (inputValue != null) {
+                    long startNanos = System.nanoTime();
                     Collection<R> outputValues = task.apply(inputValue);
+                    stats.record(System.nanoTime() - startNanos, outputValues.size());
                     addToQueue(outputValues, outputQueue);
                 } else if (prevFinished) {
                     // End this task if the previous task is finished and the input poll timed out
@@ -0,0 +1,22 @@
+-- Index the change logs on (update date time, id) so that cursor paginated update digest
+-- queries are answered with an index range scan, regardless of how deep into the range they are.
+
+CREATE INDEX IF NOT EXISTS agenda_change_log_action_date_time_id_idx
+  ON master.agenda_change_log (action_date_time, id);
+CREATE INDEX IF NOT EXISTS agenda_change_log_published_date_time_id_idx
+  ON master.agenda_change_log (published_date_time, id);
+
+CREATE INDEX IF NOT EXISTS bill_change_log_action_date_time_id_idx
+  ON master.bill_change_log (action_date_time, id);
+CREATE INDEX IF NOT EXISTS bill_change_log_published_date_time_id_idx
+  ON master.bill_change_log (published_date_time, id);
+
+CREATE INDEX IF NOT EXISTS calendar_change_log_action_date_time_id_idx
+  ON master.calendar_change_log (action_date_time, id);
+CREATE INDEX IF NOT EXISTS calendar_change_log_published_date_time_id_idx
+  ON master.calendar_change_log (published_date_time, id);
+
+CREATE INDEX IF NOT EXISTS law_change_log_action_date_time_id_idx
+  ON master.law_change_log (action_date_time, id);
+CREATE INDEX IF NOT EXISTS law_change_log_published_date_time_id_idx
+  ON master.law_change_log (published_date_time, id);
@@ -1,11 +1,11 @@
 package gov.nysenate.openleg;
 
 import gov.nysenate.openleg.annotation.SillyTest;
-import gov.nysenate.openleg.client.view.bill.BillPdfView;
 import gov.nysenate.openleg.model.base.Version;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
+import gov.nysenate.openleg.service.pdf.BillPdfRenderer;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 import org.slf4j.Logger;
@@ -49,9 +49,9 @@ public class SillyTests extends BaseTests {
 //        for (BaseBillId id : billIds.subList(0, 100)) {
 //            Bill bill = bds.getBill(id, EnumSet.allOf(BillTextFormat.class));
 //            File f = new File("/tmp/pdfs/" + id.toString() + ".pdf");
-//            BillPdfView.writeBillPdf(bill, bill.getActiveVersion(), new FileOutputStream(f));
+//            BillPdfRenderer.writeBillPdf(bill, bill.getActiveVersion(), new FileOutputStream(f));
 //        }
         File f = new File("/tmp/J174.pdf");
-        BillPdfView.writeBillPdf(bds.getBill(new BaseBillId("J174", 2017), EnumSet.allOf(BillTextFormat.class)), Version.ORIGINAL, new FileOutputStream(f));
+        BillPdfRenderer.writeBillPdf(bds.getBill(new BaseBillId("J174", 2017), EnumSet.allOf(BillTextFormat.class)), Version.ORIGINAL, new FileOutputStream(f));
     }
 }
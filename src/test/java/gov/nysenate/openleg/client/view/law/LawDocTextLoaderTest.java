@@ -0,0 +1,68 @@
+package gov.nysenate.openleg.client.view.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawDocInfo;
+import gov.nysenate.openleg.model.law.LawDocument;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@Category(UnitTest.class)
+public class LawDocTextLoaderTest
+{
+    private List<List<String>> loadedBatches;
+    private LawDocTextLoader textLoader;
+
+    @Before
+    public void setUp() {
+        loadedBatches = new ArrayList<>();
+        Function<List<String>, Map<String, LawDocument>> documentLoader = docIds -> {
+            loadedBatches.add(docIds);
+            Map<String, LawDocument> docs = new HashMap<>();
+            docIds.stream()
+                    .filter(docId -> !docId.equals("ABCMISSING"))
+                    .forEach(docId -> docs.put(docId, new LawDocument(
+                            new LawDocInfo(docId, "ABC", docId.substring(3), null, null, null, null),
+                            docId + " text")));
+            return docs;
+        };
+        textLoader = new LawDocTextLoader(2, documentLoader);
+        for (String docId : Arrays.asList("ABCA1", "ABC1", "ABC2", "ABCMISSING", "ABC3")) {
+            textLoader.register(docId);
+        }
+    }
+
+    @Test
+    public void loadsTextInBatchesInRegisteredOrder() {
+        assertEquals("ABCA1 text", textLoader.getText("ABCA1"));
+        assertEquals("ABC1 text", textLoader.getText("ABC1"));
+        assertEquals("ABC2 text", textLoader.getText("ABC2"));
+        assertNull(textLoader.getText("ABCMISSING"));
+        assertEquals("ABC3 text", textLoader.getText("ABC3"));
+        assertEquals(Arrays.asList(
+                Arrays.asList("ABCA1", "ABC1"),
+                Arrays.asList("ABC2", "ABCMISSING"),
+                Collections.singletonList("ABC3")), loadedBatches);
+    }
+
+    @Test
+    public void reloadsBatchForEarlierDocument() {
+        textLoader.getText("ABC2");
+        assertEquals("ABC1 text", textLoader.getText("ABC1"));
+        assertEquals(Arrays.asList(
+                Arrays.asList("ABC2", "ABCMISSING"),
+                Arrays.asList("ABC1", "ABC2")), loadedBatches);
+    }
+
+    @Test
+    public void unregisteredDocumentHasNoText() {
+        assertNull(textLoader.getText("ABC4"));
+        assertEquals(Collections.emptyList(), loadedBatches);
+    }
+}
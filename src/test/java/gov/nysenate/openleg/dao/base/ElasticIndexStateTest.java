@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.concurrent.TimeUnit;
+
+import static gov.nysenate.openleg.dao.base.ElasticIndexState.Contents.*;
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class ElasticIndexStateTest
+{
+    private static final String index = "bills";
+
+    @Test
+    public void createdIndexIsEmptyTest() {
+        ElasticIndexState state = new ElasticIndexState();
+        assertEquals(UNKNOWN, state.getContents(index));
+        assertFalse(state.isKnownEmpty(index));
+        state.indexCreated(index);
+        assertTrue(state.isKnownEmpty(index));
+        state.documentIndexed(index);
+        assertEquals(NOT_EMPTY, state.getContents(index));
+        assertFalse(state.isKnownEmpty(index));
+    }
+
+    @Test
+    public void existingIndexIsUnknownTest() {
+        ElasticIndexState state = new ElasticIndexState();
+        state.indexExists(index);
+        assertEquals(UNKNOWN, state.getContents(index));
+        state.indexCreated(index);
+        state.indexExists(index);
+        assertEquals(EMPTY, state.getContents(index));
+    }
+
+    @Test
+    public void deletesTest() {
+        ElasticIndexState state = new ElasticIndexState();
+        state.indexCreated(index);
+        state.documentDeleted(index);
+        assertEquals(EMPTY, state.getContents(index));
+        state.documentIndexed(index);
+        state.documentDeleted(index);
+        assertEquals(UNKNOWN, state.getContents(index));
+        state.indexDeleted(index);
+        assertFalse(state.getIndexContents().containsKey(index));
+    }
+
+    @Test
+    public void searchStatsTest() {
+        ElasticIndexState state = new ElasticIndexState();
+        state.indexExists(index);
+        state.searchCompleted(index, TimeUnit.MILLISECONDS.toNanos(4), 0);
+        assertEquals(UNKNOWN, state.getContents(index));
+        state.searchCompleted(index, TimeUnit.MILLISECONDS.toNanos(2), 10);
+        assertEquals(NOT_EMPTY, state.getContents(index));
+        state.searchSkipped();
+        assertEquals(2, state.getSearchCount());
+        assertEquals(1, state.getSkippedSearchCount());
+        assertEquals(3, state.getAvoidedProbeCount());
+        assertEquals(3.0, state.getMeanSearchMillis(), 0.0001);
+        assertEquals(9.0, state.getEstimatedSavedMillis(), 0.0001);
+    }
+}
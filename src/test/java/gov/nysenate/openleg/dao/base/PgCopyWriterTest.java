@@ -0,0 +1,63 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class PgCopyWriterTest
+{
+    @Test
+    public void testEmbeddedQuotesAreDoubled() throws IOException {
+        assertEquals("\"say \"\"hi\"\"\",\"\"\"\"\n", encode("say \"hi\"", "\""));
+    }
+
+    @Test
+    public void testCommasAndLineBreaksStayInsideQuotes() throws IOException {
+        assertEquals("\"a, b\",\"line 1\nline 2\r\nline 3\"\n", encode("a, b", "line 1\nline 2\r\nline 3"));
+    }
+
+    @Test
+    public void testNullIsUnquotedAndEmptyStringIsQuoted() throws IOException {
+        assertEquals(",\"\",\n", encode(null, "", null));
+    }
+
+    @Test
+    public void testValuesUseTheirStringRepresentation() throws IOException {
+        assertEquals("\"2014-09-22\",\"true\",\"12\"\n", encode(LocalDate.of(2014, 9, 22), true, 12));
+    }
+
+    @Test
+    public void testRowsParseBackToTheOriginalValues() throws IOException {
+        String text = "\"Quoted\", she said,\nthen \"\" left.";
+        StringWriter writer = new StringWriter();
+        PgCopyWriter.writeCsvRow(writer, "A1", text);
+        PgCopyWriter.writeCsvRow(writer, "A2", ",", "\n", "\"");
+
+        List<CSVRecord> records = CSVParser.parse(writer.toString(), CSVFormat.DEFAULT).getRecords();
+        assertEquals(2, records.size());
+        assertEquals("A1", records.get(0).get(0));
+        assertEquals(text, records.get(0).get(1));
+        assertEquals(",", records.get(1).get(1));
+        assertEquals("\n", records.get(1).get(2));
+        assertEquals("\"", records.get(1).get(3));
+    }
+
+    /* --- Internal Methods --- */
+
+    private static String encode(Object... values) throws IOException {
+        StringWriter writer = new StringWriter();
+        PgCopyWriter.writeCsvRow(writer, values);
+        return writer.toString();
+    }
+}
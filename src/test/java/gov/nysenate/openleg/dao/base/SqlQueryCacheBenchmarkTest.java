@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.dao.base;
+
+import com.google.common.base.Stopwatch;
+import gov.nysenate.openleg.annotation.SillyTest;
+import gov.nysenate.openleg.dao.bill.data.SqlBillQuery;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntFunction;
+
+/**
+ * Compares the time taken to resolve the sql of every {@link SqlBillQuery} with and without the {@link SqlQueryCache}.
+ * One pass over the bill queries is roughly the sql resolved while fetching a full bill.
+ */
+@Category(SillyTest.class)
+public class SqlQueryCacheBenchmarkTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(SqlQueryCacheBenchmarkTest.class);
+
+    private static final int warmupIterations = 20000;
+    private static final int iterations = 20000;
+
+    private static final OrderBy orderBy = new OrderBy("bill_session_year", SortOrder.DESC, "bill_print_no", SortOrder.ASC);
+    private static final LimitOffset limitOffset = new LimitOffset(25, 26);
+
+    @Test
+    public void cachedVsUncachedBenchmark() {
+        SqlQueryCache cache = new SqlQueryCache(1000);
+        double uncached = measure(query ->
+                SqlQueryUtils.getSqlWithSchema(query.getSql(), "master", orderBy, limitOffset).length());
+        double cached = measure(query -> cache.getSql(query, "master", orderBy, limitOffset).length());
+        logger.info("{} bill queries per pass: uncached {} us/pass, cached {} us/pass, {}x faster, hit ratio {}",
+                SqlBillQuery.values().length, String.format("%.1f", uncached), String.format("%.1f", cached),
+                String.format("%.1f", uncached / cached), String.format("%.4f", cache.getHitRatio()));
+    }
+
+    /**
+     * @return double - average microseconds to resolve every bill query once
+     */
+    private static double measure(ToIntFunction<BasicSqlQuery> resolver) {
+        long sink = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += resolveAll(resolver);
+        }
+        Stopwatch sw = Stopwatch.createStarted();
+        for (int i = 0; i < iterations; i++) {
+            sink += resolveAll(resolver);
+        }
+        long micros = sw.elapsed(TimeUnit.MICROSECONDS);
+        logger.trace("{}", sink);
+        return (double) micros / iterations;
+    }
+
+    private static long resolveAll(ToIntFunction<BasicSqlQuery> resolver) {
+        long length = 0;
+        for (SqlBillQuery query : SqlBillQuery.values()) {
+            length += resolver.applyAsInt(query);
+        }
+        return length;
+    }
+}
@@ -0,0 +1,81 @@
+package gov.nysenate.openleg.dao.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SqlQueryCacheTest
+{
+    private enum TestQuery implements BasicSqlQuery
+    {
+        SELECT_TEST("SELECT * FROM ${schema}.test");
+
+        private final String sql;
+
+        TestQuery(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public String getSql() {
+            return sql;
+        }
+    }
+
+    @Test
+    public void matchesUncachedSqlTest() {
+        SqlQueryCache cache = new SqlQueryCache(100);
+        OrderBy orderBy = new OrderBy("id", SortOrder.DESC, "name", SortOrder.ASC);
+        LimitOffset limOff = new LimitOffset(20, 41);
+        for (int i = 0; i < 2; i++) {
+            assertEquals(SqlQueryUtils.getSqlWithSchema(TestQuery.SELECT_TEST.getSql(), "master", orderBy, limOff),
+                    cache.getSql(TestQuery.SELECT_TEST, "master", orderBy, limOff));
+            assertEquals(SqlQueryUtils.getSqlWithSchema(TestQuery.SELECT_TEST.getSql(), "master"),
+                    cache.getSql(TestQuery.SELECT_TEST, "master", null, null));
+        }
+    }
+
+    @Test
+    public void cacheKeyTest() {
+        SqlQueryCache cache = new SqlQueryCache(100);
+        assertEquals("SELECT * FROM master.test ORDER BY id ASC, name ASC LIMIT 10",
+                cache.getSql(TestQuery.SELECT_TEST, "master", new OrderBy("id", SortOrder.ASC, "name", SortOrder.ASC),
+                        LimitOffset.TEN));
+        // Column order matters
+        assertEquals("SELECT * FROM master.test ORDER BY name ASC, id ASC LIMIT 25",
+                cache.getSql(TestQuery.SELECT_TEST, "master", new OrderBy("name", SortOrder.ASC, "id", SortOrder.ASC),
+                        LimitOffset.TWENTY_FIVE));
+        assertEquals("SELECT * FROM test.test",
+                cache.getSql(TestQuery.SELECT_TEST, "test", null, LimitOffset.ALL));
+        // The limit is not part of the key
+        assertEquals("SELECT * FROM master.test ORDER BY id ASC, name ASC LIMIT 50 OFFSET 50",
+                cache.getSql(TestQuery.SELECT_TEST, "master", new OrderBy("id", SortOrder.ASC, "name", SortOrder.ASC),
+                        new LimitOffset(50, 51)));
+        assertEquals(3, cache.getSize());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(0.25, cache.getHitRatio(), 0.0001);
+    }
+
+    @Test
+    public void capacityTest() {
+        SqlQueryCache cache = new SqlQueryCache(1);
+        cache.getSql(TestQuery.SELECT_TEST, "master", null);
+        assertEquals("SELECT * FROM other.test", cache.getSql(TestQuery.SELECT_TEST, "other", null));
+        assertEquals(1, cache.getSize());
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test
+    public void nonEnumQueryTest() {
+        SqlQueryCache cache = new SqlQueryCache(100);
+        BasicSqlQuery dynamicQuery = () -> "SELECT ${schema}.f()";
+        assertEquals("SELECT master.f()", cache.getSql(dynamicQuery, "master", null));
+        assertEquals(0, cache.getSize());
+    }
+}
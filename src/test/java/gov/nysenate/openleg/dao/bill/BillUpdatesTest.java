@@ -19,6 +19,7 @@ import gov.nysenate.openleg.model.updates.UpdateDigest;
 import gov.nysenate.openleg.model.updates.UpdateType;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.util.OutputUtils;
+import org.apache.commons.lang3.tuple.Pair;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -141,6 +142,19 @@ public class BillUpdatesTest extends BaseTests {
         updateBillAndLogUpdates();
     }
 
+    @Test
+    public void batchSaveTest() {
+        BillAmendment activeAmendment = testBill.getActiveAmendment();
+        Set<BillId> sameAs = new HashSet<>(activeAmendment.getSameAs());
+        sameAs.add(new BillId("A100B", 2017));
+        activeAmendment.setSameAs(sameAs);
+        testBill.setSummary("blorgatron");
+
+        billDataService.saveBills(Collections.singletonList(Pair.of(testBill, testFragment)), false);
+
+        logger.info(OutputUtils.toJson(getUpdates()));
+    }
+
     /* --- Internal Methods --- */
 
     private PaginatedList<UpdateDigest<BaseBillId>> getUpdates() {
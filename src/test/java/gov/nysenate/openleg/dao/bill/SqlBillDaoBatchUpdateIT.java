@@ -0,0 +1,269 @@
+package gov.nysenate.openleg.dao.bill;
+
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.base.SqlTable;
+import gov.nysenate.openleg.dao.bill.data.BillDao;
+import gov.nysenate.openleg.dao.sourcefiles.SourceFileRefDao;
+import gov.nysenate.openleg.dao.sourcefiles.sobi.LegDataFragmentDao;
+import gov.nysenate.openleg.model.base.PublishStatus;
+import gov.nysenate.openleg.model.base.SessionYear;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.*;
+import gov.nysenate.openleg.model.entity.Chamber;
+import gov.nysenate.openleg.model.entity.CommitteeVersionId;
+import gov.nysenate.openleg.model.entity.SessionMember;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiFile;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks that {@link BillDao#updateBills(Collection)} leaves the same rows and change log entries as calling
+ * {@link BillDao#updateBill(Bill, LegDataFragment)} for each bill.  Each save runs in a savepoint that is
+ * rolled back after its rows are read, so both saves start from the same database state.
+ */
+@Category(IntegrationTest.class)
+public class SqlBillDaoBatchUpdateIT extends BaseTests
+{
+    @Autowired private BillDao billDao;
+    @Autowired private SourceFileRefDao sourceFileRefDao;
+    @Autowired private LegDataFragmentDao fragmentDao;
+    @Autowired private NamedParameterJdbcTemplate jdbcNamed;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private Environment environment;
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final SessionYear session = SessionYear.of(2017);
+    private static final BaseBillId newBillId = new BaseBillId("S99999", 2017);
+
+    /** Child tables keyed by bill print no and session, along with the columns that differ between saves. */
+    private static final Map<SqlTable, List<String>> billTables = new LinkedHashMap<>();
+    static {
+        billTables.put(SqlTable.BILL, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_SAME_AS, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_COSPONSOR, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_MULTISPONSOR, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_VOTE_INFO, Arrays.asList("id", "created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_ACTION, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_PUBLISH_STATUS, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_MILESTONE, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_COMMITTEE, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_SPONSOR, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_PREVIOUS_VERSION, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_VETO, Arrays.asList("created_date_time", "modified_date_time"));
+        billTables.put(SqlTable.BILL_APPROVAL, Arrays.asList("created_date_time", "modified_date_time"));
+    }
+
+    private List<BaseBillId> billIds;
+    private LegDataFragment fragment;
+
+    @Before
+    public void setup() throws IOException {
+        String sobiFileName = LocalDateTime.now().format(DateTimeFormatter.ofPattern(SobiFile.sobiDateFullPattern));
+        SobiFile sobiFile = new SobiFile(tempFolder.newFile(sobiFileName));
+        sourceFileRefDao.updateSourceFile(sobiFile);
+        fragment = new LegDataFragment(sobiFile, LegDataFragmentType.BILL, "test", 1);
+        fragmentDao.updateLegDataFragment(fragment);
+        billIds = new ArrayList<>(billDao.getBillIds(session, new LimitOffset(9), SortOrder.ASC));
+        billIds.add(newBillId);
+    }
+
+    @Test
+    public void batchUpdateMatchesIndividualUpdates() {
+        Map<String, List<String>> individualRows = saveAndGetRows(bills ->
+                bills.forEach(entry -> billDao.updateBill(entry.getLeft(), entry.getRight())));
+        Map<String, List<String>> batchRows = saveAndGetRows(billDao::updateBills);
+
+        assertFalse(individualRows.get(SqlTable.BILL_CHANGE_LOG.toString()).isEmpty());
+        assertEquals(individualRows.keySet(), batchRows.keySet());
+        individualRows.forEach((table, rows) -> assertEquals(table, rows, batchRows.get(table)));
+    }
+
+    /* --- Internal Methods --- */
+
+    /**
+     * Saves freshly modified bills with the given saver inside a savepoint, and returns the resulting rows
+     * and new change log entries for the modified bills before rolling the savepoint back.
+     */
+    private Map<String, List<String>> saveAndGetRows(Consumer<List<Pair<Bill, LegDataFragment>>> saver) {
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        return savepoint.execute(status -> {
+            String schema = environment.getSchema();
+            Integer lastChangeId = jdbcNamed.getJdbcTemplate().queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + SqlTable.BILL_CHANGE_LOG.table(schema), Integer.class);
+            saver.accept(getModifiedBills());
+            Map<String, List<String>> rows = getBillRows(lastChangeId);
+            status.setRollbackOnly();
+            return rows;
+        });
+    }
+
+    /**
+     * Loads the test bills and changes every kind of child record, so that both saves have inserts,
+     * updates and deletes to make in each table.
+     */
+    private List<Pair<Bill, LegDataFragment>> getModifiedBills() {
+        List<Pair<Bill, LegDataFragment>> bills = new ArrayList<>();
+        for (int i = 0; i < billIds.size() - 1; i++) {
+            Bill bill = billDao.getBill(billIds.get(i), Collections.singleton(BillTextFormat.PLAIN));
+            BillAmendment active = bill.getActiveAmendment();
+            switch (i % 3) {
+                case 0:
+                    bill.setSummary("batch update test summary " + i);
+                    Set<BillId> sameAs = new HashSet<>(active.getSameAs());
+                    sameAs.add(new BillId("A" + (90000 + i), session.getYear()));
+                    active.setSameAs(sameAs);
+                    List<SessionMember> coSponsors = new ArrayList<>(active.getCoSponsors());
+                    Collections.reverse(coSponsors);
+                    active.setCoSponsors(coSponsors);
+                    if (!bill.getActions().isEmpty()) {
+                        bill.setActions(new ArrayList<>(bill.getActions().subList(0, bill.getActions().size() - 1)));
+                    }
+                    bill.addPastCommittee(new CommitteeVersionId(Chamber.SENATE, "Finance", session,
+                            session.getStartDateTime().plusDays(i)));
+                    break;
+                case 1:
+                    active.setSameAs(Collections.emptySet());
+                    active.setMultiSponsors(Collections.emptyList());
+                    active.getVotesMap().keySet().stream().findFirst().ifPresent(active.getVotesMap()::remove);
+                    if (!bill.getMilestones().isEmpty()) {
+                        bill.setMilestones(new LinkedList<>(bill.getMilestones().subList(1, bill.getMilestones().size())));
+                    }
+                    bill.setPastCommittees(new TreeSet<>());
+                    bill.setSponsor(null);
+                    bill.setDirectPreviousVersion(new BillId("S" + (80000 + i), session.getYear() - 2, "A"));
+                    break;
+                default:
+                    Version nextVersion = Version.after(bill.getActiveVersion()).get(0);
+                    BillAmendment amendment = new BillAmendment(bill.getBaseBillId(), nextVersion);
+                    amendment.setCoSponsors(new ArrayList<>(active.getCoSponsors()));
+                    amendment.setSameAs(new HashSet<>(active.getSameAs()));
+                    bill.addAmendment(amendment);
+                    bill.updatePublishStatus(nextVersion, new PublishStatus(true, LocalDateTime.now()));
+                    bill.setActiveVersion(nextVersion);
+                    bill.addAction(new BillAction(LocalDate.now(), "AMEND AND RECOMMIT TO FINANCE", Chamber.SENATE,
+                            bill.getActions().size() + 1, amendment.getBillId()));
+                    addVetoAndApproval(bill, i);
+            }
+            bills.add(Pair.of(bill, fragment));
+        }
+        bills.add(Pair.of(getNewBill(bills.get(0).getLeft()), fragment));
+        return bills;
+    }
+
+    /** Creates a bill that is not yet in the database, using the sponsors of the given bill. */
+    private static Bill getNewBill(Bill sponsorBill) {
+        Bill bill = new Bill(newBillId);
+        bill.setTitle("Batch update test bill");
+        bill.setSummary("A new bill saved by the batch update test");
+        bill.setActiveVersion(Version.ORIGINAL);
+        bill.setYear(session.getYear());
+        BillAmendment amendment = new BillAmendment(newBillId, Version.ORIGINAL);
+        amendment.setCoSponsors(new ArrayList<>(sponsorBill.getActiveAmendment().getCoSponsors()));
+        amendment.setSameAs(Collections.singleton(new BillId("A99999", session.getYear())));
+        bill.addAmendment(amendment);
+        bill.updatePublishStatus(Version.ORIGINAL, new PublishStatus(true, LocalDateTime.now()));
+        bill.setSponsor(sponsorBill.getSponsor());
+        bill.addAction(new BillAction(LocalDate.now(), "REFERRED TO FINANCE", Chamber.SENATE, 1,
+                amendment.getBillId()));
+        bill.addPastCommittee(new CommitteeVersionId(Chamber.SENATE, "Finance", session, LocalDateTime.now()));
+        return bill;
+    }
+
+    private static void addVetoAndApproval(Bill bill, int number) {
+        VetoMessage veto = new VetoMessage();
+        veto.setBillId(bill.getBaseBillId());
+        veto.setYear(session.getYear());
+        veto.setSession(session);
+        veto.setVetoNumber(9000 + number);
+        veto.setType(VetoType.STANDARD);
+        veto.setMemoText("batch update test veto");
+        veto.setSignedDate(LocalDate.now());
+        veto.setModifiedDateTime(LocalDateTime.now());
+        veto.setPublishedDateTime(LocalDateTime.now());
+        bill.setVetoMessages(new HashMap<>(Collections.singletonMap(veto.getVetoId(), veto)));
+
+        ApprovalMessage approval = new ApprovalMessage();
+        approval.setBillId(bill.getActiveAmendment().getBillId());
+        approval.setYear(session.getYear());
+        approval.setSession(session);
+        approval.setApprovalNumber(9000 + number);
+        approval.setMemoText("batch update test approval");
+        approval.setModifiedDateTime(LocalDateTime.now());
+        approval.setPublishedDateTime(LocalDateTime.now());
+        bill.setApprovalMessage(approval);
+    }
+
+    /**
+     * Reads the rows of every bill table for the test bills, along with the vote rolls and the change log
+     * entries added after the given change id.  The rows of each table are sorted, and columns that are
+     * generated differently for each save, such as serial vote ids, are left out.
+     */
+    private Map<String, List<String>> getBillRows(int lastChangeId) {
+        String schema = environment.getSchema();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("printNos", billIds.stream().map(BaseBillId::getBasePrintNo).toArray(String[]::new))
+                .addValue("sessionYear", session.getYear())
+                .addValue("lastChangeId", lastChangeId);
+        String billFilter = " WHERE bill_session_year = :sessionYear AND bill_print_no = ANY(:printNos::text[])";
+        Map<String, List<String>> rows = new LinkedHashMap<>();
+        billTables.forEach((table, ignoredColumns) ->
+                rows.put(table.toString(), getRows("SELECT * FROM " + table.table(schema) + billFilter, params,
+                        ignoredColumns)));
+        rows.put(SqlTable.BILL_AMENDMENT_VOTE_ROLL.toString(), getRows(
+                "SELECT vi.bill_print_no, vi.bill_amend_version, vi.vote_date, vi.vote_type, vi.sequence_no,\n" +
+                "       r.session_member_id, r.member_short_name, r.vote_code, r.last_fragment_id\n" +
+                "FROM " + SqlTable.BILL_AMENDMENT_VOTE_ROLL.table(schema) + " r\n" +
+                "JOIN " + SqlTable.BILL_AMENDMENT_VOTE_INFO.table(schema) + " vi ON vi.id = r.vote_id\n" +
+                "WHERE vi.bill_session_year = :sessionYear AND vi.bill_print_no = ANY(:printNos::text[])",
+                params, Collections.emptyList()));
+        rows.put(SqlTable.BILL_CHANGE_LOG.toString(), getRows(
+                "SELECT bill_print_no, bill_session_year, table_name, action,\n" +
+                "       delete(data, ARRAY['id', 'vote_id', 'created_date_time'])::text AS data,\n" +
+                "       leg_data_fragment_id, published_date_time\n" +
+                "FROM " + SqlTable.BILL_CHANGE_LOG.table(schema) + "\n" +
+                "WHERE id > :lastChangeId AND bill_session_year = :sessionYear AND bill_print_no = ANY(:printNos::text[])",
+                params, Collections.emptyList()));
+        return rows;
+    }
+
+    private List<String> getRows(String sql, MapSqlParameterSource params, List<String> ignoredColumns) {
+        return jdbcNamed.queryForList(sql, params).stream()
+                .map(row -> {
+                    Map<String, Object> sortedRow = new TreeMap<>(row);
+                    sortedRow.keySet().removeAll(ignoredColumns);
+                    return sortedRow.toString();
+                })
+                .sorted()
+                .collect(Collectors.toList());
+    }
+}
@@ -9,6 +9,7 @@ import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.model.bill.BillInfo;
 import gov.nysenate.openleg.model.bill.BillTextFormat;
 import gov.nysenate.openleg.util.OutputUtils;
 import org.apache.commons.lang3.time.StopWatch;
@@ -18,9 +19,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 @Category(SillyTest.class)
 public class SqlBillDaoTest extends BaseTests
@@ -63,4 +71,65 @@ public class SqlBillDaoTest extends BaseTests
         logger.info("Time {} ms",sw.getTime());
 //        logger.info("{}", OutputUtils.toJson(bill));
     }
+
+    @Test
+    public void testGetBillsBatch() throws Exception {
+        List<BaseBillId> baseBillIds = getTwoSessionBillIds();
+        StopWatch sw = new StopWatch();
+        sw.start();
+        Map<BaseBillId, Bill> individualBills = new LinkedHashMap<>();
+        baseBillIds.forEach(billId ->
+                individualBills.put(billId, billDao.getBill(billId, Collections.singleton(BillTextFormat.PLAIN))));
+        sw.stop();
+        logger.info("Individual retrieval of {} bills: {} ms", baseBillIds.size(), sw.getTime());
+        sw.reset();
+        sw.start();
+        Map<BaseBillId, Bill> bills = billDao.getBills(baseBillIds, Collections.singleton(BillTextFormat.PLAIN));
+        sw.stop();
+        logger.info("Batch retrieval of {} bills: {} ms", bills.size(), sw.getTime());
+
+        assertEquals(baseBillIds, new ArrayList<>(bills.keySet()));
+        individualBills.forEach((billId, bill) ->
+                assertEquals(billId.toString(), OutputUtils.toJson(bill), OutputUtils.toJson(bills.get(billId))));
+    }
+
+    @Test
+    public void testGetBillInfosBatch() throws Exception {
+        List<BaseBillId> baseBillIds = getTwoSessionBillIds();
+        // Request in an order that differs from the order the bills are stored in
+        Collections.reverse(baseBillIds);
+        StopWatch sw = new StopWatch();
+        sw.start();
+        Map<BaseBillId, BillInfo> individualBillInfos = new LinkedHashMap<>();
+        baseBillIds.forEach(billId -> individualBillInfos.put(billId, billDao.getBillInfo(billId)));
+        sw.stop();
+        logger.info("Individual retrieval of {} bill infos: {} ms", baseBillIds.size(), sw.getTime());
+
+        BaseBillId unknownBillId = new BaseBillId("S99999", 2013);
+        List<BaseBillId> requestedIds = new ArrayList<>(baseBillIds);
+        requestedIds.add(requestedIds.size() / 2, unknownBillId);
+        sw.reset();
+        sw.start();
+        Map<BaseBillId, BillInfo> billInfos = billDao.getBillInfos(requestedIds);
+        sw.stop();
+        logger.info("Batch retrieval of {} bill infos: {} ms", billInfos.size(), sw.getTime());
+
+        assertFalse(billInfos.containsKey(unknownBillId));
+        assertEquals(baseBillIds, new ArrayList<>(billInfos.keySet()));
+        individualBillInfos.forEach((billId, billInfo) ->
+                assertEquals(billId.toString(), OutputUtils.toJson(billInfo), OutputUtils.toJson(billInfos.get(billId))));
+    }
+
+    /**
+     * Returns bill ids from two sessions, which will share many print nos, so that batches only match
+     * the requested print no and session pairs if the batch queries are correct.
+     */
+    private List<BaseBillId> getTwoSessionBillIds() {
+        List<BaseBillId> baseBillIds = new ArrayList<>();
+        baseBillIds.addAll(billDao.getBillIds(SessionYear.of(2013), LimitOffset.FIFTY, SortOrder.ASC));
+        baseBillIds.addAll(billDao.getBillIds(SessionYear.of(2015), LimitOffset.FIFTY, SortOrder.ASC));
+        assertTrue("Expected bills from both the 2013 and 2015 sessions",
+                baseBillIds.stream().map(BaseBillId::getSession).distinct().count() == 2);
+        return baseBillIds;
+    }
 }
@@ -0,0 +1,235 @@
+package gov.nysenate.openleg.dao.law;
+
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.SqlTable;
+import gov.nysenate.openleg.dao.law.data.LawDataDao;
+import gov.nysenate.openleg.dao.law.data.LawFileDao;
+import gov.nysenate.openleg.dao.law.data.SqlLawDataQuery;
+import gov.nysenate.openleg.model.law.*;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+/**
+ * Checks that the staged law document merge and law tree insert leave the same rows and change log entries as
+ * the per-row statements they replaced.  Each save runs in a savepoint that is rolled back after its rows are
+ * read, so both saves start from the same database state.
+ */
+@Category(IntegrationTest.class)
+public class SqlLawDataDaoIT extends BaseTests
+{
+    @Autowired private LawDataDao lawDataDao;
+    @Autowired private LawFileDao lawFileDao;
+    @Autowired private NamedParameterJdbcTemplate jdbcNamed;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private Environment environment;
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final String lawId = "ZZZ";
+    private static final LocalDate firstDate = LocalDate.of(2099, 12, 30);
+    private static final LocalDate secondDate = LocalDate.of(2099, 12, 31);
+
+    /** The per-row tree insert that was used before the tree nodes were staged. */
+    private static final String insertLawTreeNode =
+        "INSERT INTO ${schema}." + SqlTable.LAW_TREE + "\n" +
+        "(law_id, published_date, doc_id, doc_published_date, parent_doc_id, parent_doc_published_date, is_root, " +
+        " sequence_no, repealed_date, law_file)\n" +
+        "VALUES (:lawId, :publishedDate, :docId, :docPublishedDate, :parentDocId, :parentDocPublishedDate, :isRoot, " +
+        "        :sequenceNo, :repealedDate, :lawFileName)";
+
+    private LawFile firstFile;
+    private LawFile secondFile;
+    private LawInfo lawInfo;
+
+    @Before
+    public void setup() throws IOException {
+        firstFile = createLawFile("20991230.UPDATE");
+        secondFile = createLawFile("20991231.UPDATE");
+        lawInfo = new LawInfo();
+        lawInfo.setLawId(lawId);
+        lawInfo.setName("Law data dao test");
+        lawInfo.setChapterId("99");
+        lawInfo.setType(LawType.CONSOLIDATED);
+        jdbcNamed.update(SqlLawDataQuery.INSERT_LAW_INFO.getSql(environment.getSchema()), new MapSqlParameterSource()
+                .addValue("lawId", lawId)
+                .addValue("chapterId", lawInfo.getChapterId())
+                .addValue("lawType", lawInfo.getType().name())
+                .addValue("name", lawInfo.getName()));
+        for (LawDocument doc : Arrays.asList(
+                doc("", LawDocumentType.CHAPTER, lawId, firstDate, "Chapter", "chapter text"),
+                doc("A1", LawDocumentType.ARTICLE, "1", firstDate, "Article one", "article text"),
+                doc("1", LawDocumentType.SECTION, "1", firstDate, "Section one", "section one text"),
+                doc("2", LawDocumentType.SECTION, "2", firstDate, "Section two", "section two text"),
+                doc("", LawDocumentType.CHAPTER, lawId, secondDate, "Chapter", "amended chapter text"),
+                doc("3", LawDocumentType.SECTION, "3", secondDate, "Section three", "section three text"))) {
+            lawDataDao.updateLawDocument(firstFile, doc);
+        }
+    }
+
+    @Test
+    public void updateLawDocumentsMatchesPerRowUpdates() {
+        List<LawDocument> docs = Arrays.asList(
+                // Updates of existing documents, with text that needs quoting and a title cleared to null
+                doc("1", LawDocumentType.SECTION, "1", firstDate, "Section \"one\", amended",
+                        "line one, with \"quotes\"\nline two\r\n"),
+                doc("2", LawDocumentType.SECTION, "2", firstDate, null, ""),
+                // New documents, including an empty title that must stay distinct from null
+                doc("4", LawDocumentType.SECTION, "4", secondDate, "", "section four text"),
+                doc("5", LawDocumentType.SECTION, "5", secondDate, null, "section five text"));
+
+        Map<String, List<String>> perRowRows = saveAndGetRows(() -> docs.forEach(d -> lawDataDao.updateLawDocument(secondFile, d)));
+        Map<String, List<String>> mergedRows = saveAndGetRows(() -> lawDataDao.updateLawDocuments(secondFile, docs));
+
+        List<String> changes = perRowRows.get(SqlTable.LAW_CHANGE_LOG.toString());
+        assertEquals(4, changes.size());
+        assertEquals(2, changes.stream().filter(c -> c.contains("INSERT")).count());
+        assertEquals(2, changes.stream().filter(c -> c.contains("UPDATE")).count());
+        assertEquals(perRowRows, mergedRows);
+    }
+
+    @Test
+    public void updateLawTreeMatchesPerRowInserts() {
+        List<LawTree> trees = Arrays.asList(getFirstTree(), getSecondTree());
+
+        Map<String, List<String>> perRowRows = saveAndGetRows(() -> trees.forEach(this::insertLawTreePerRow));
+        Map<String, List<String>> stagedRows = saveAndGetRows(() -> trees.forEach(t -> lawDataDao.updateLawTree(secondFile, t)));
+
+        assertEquals(9, perRowRows.get(SqlTable.LAW_TREE.toString()).size());
+        assertFalse(perRowRows.get(SqlTable.LAW_CHANGE_LOG.toString()).isEmpty());
+        assertEquals(perRowRows, stagedRows);
+    }
+
+    @Test
+    public void updateLawTreeReplacesExistingTree() {
+        Map<String, List<String>> perRowRows = saveAndGetRows(() -> {
+            insertLawTreePerRow(getSecondTree());
+            insertLawTreePerRow(getSecondTree());
+        });
+        Map<String, List<String>> stagedRows = saveAndGetRows(() -> {
+            lawDataDao.updateLawTree(secondFile, getSecondTree());
+            lawDataDao.updateLawTree(secondFile, getSecondTree());
+        });
+
+        assertEquals(5, stagedRows.get(SqlTable.LAW_TREE.toString()).size());
+        assertEquals(perRowRows, stagedRows);
+    }
+
+    /* --- Internal Methods --- */
+
+    private LawFile createLawFile(String fileName) throws IOException {
+        LawFile lawFile = new LawFile(tempFolder.newFile(fileName));
+        lawFileDao.updateLawFile(lawFile);
+        return lawFile;
+    }
+
+    private static LawDocument doc(String locationId, LawDocumentType docType, String docTypeId, LocalDate publishedDate,
+                                   String title, String text) {
+        return new LawDocument(new LawDocInfo(lawId + locationId, lawId, locationId, title, docType, docTypeId,
+                publishedDate), text);
+    }
+
+    /** Chapter > Article 1 > Sections 1 and 2 */
+    private LawTree getFirstTree() {
+        LawTreeNode root = new LawTreeNode(doc("", LawDocumentType.CHAPTER, lawId, firstDate, null, ""), 1);
+        LawTreeNode article = new LawTreeNode(doc("A1", LawDocumentType.ARTICLE, "1", firstDate, null, ""), 2);
+        root.addChild(article);
+        article.addChild(new LawTreeNode(doc("1", LawDocumentType.SECTION, "1", firstDate, null, ""), 3));
+        article.addChild(new LawTreeNode(doc("2", LawDocumentType.SECTION, "2", firstDate, null, ""), 4));
+        return new LawTree(new LawVersionId(lawId, firstDate), root, lawInfo);
+    }
+
+    /** Amended chapter > (Article 1 > Section 1), repealed section 2 moved to the chapter, new section 3 */
+    private LawTree getSecondTree() {
+        LawTreeNode root = new LawTreeNode(doc("", LawDocumentType.CHAPTER, lawId, secondDate, null, ""), 1);
+        LawTreeNode article = new LawTreeNode(doc("A1", LawDocumentType.ARTICLE, "1", firstDate, null, ""), 2);
+        root.addChild(article);
+        article.addChild(new LawTreeNode(doc("1", LawDocumentType.SECTION, "1", firstDate, null, ""), 3));
+        LawTreeNode repealed = new LawTreeNode(doc("2", LawDocumentType.SECTION, "2", firstDate, null, ""), 4);
+        repealed.setRepealedDate(secondDate);
+        root.addChild(repealed);
+        root.addChild(new LawTreeNode(doc("3", LawDocumentType.SECTION, "3", secondDate, null, ""), 5));
+        return new LawTree(new LawVersionId(lawId, secondDate), root, lawInfo);
+    }
+
+    /** Saves the tree the way it was saved before the nodes were staged, one insert per node. */
+    private void insertLawTreePerRow(LawTree lawTree) {
+        String schema = environment.getSchema();
+        MapSqlParameterSource treeParams = new MapSqlParameterSource()
+                .addValue("lawId", lawTree.getLawId())
+                .addValue("publishedDate", toDate(lawTree.getPublishedDate()));
+        jdbcNamed.update(SqlLawDataQuery.DELETE_TREE.getSql(schema), treeParams);
+        for (LawTreeNode node : lawTree.getRootNode().getAllNodes()) {
+            LawTreeNode parent = node.getParent();
+            jdbcNamed.update(insertLawTreeNode.replace("${schema}", schema), new MapSqlParameterSource()
+                    .addValues(treeParams.getValues())
+                    .addValue("docId", node.getDocumentId())
+                    .addValue("docPublishedDate", toDate(node.getPublishDate()))
+                    .addValue("parentDocId", (parent != null) ? parent.getDocumentId() : null)
+                    .addValue("parentDocPublishedDate", (parent != null) ? toDate(parent.getPublishDate()) : null)
+                    .addValue("isRoot", node.isRootNode())
+                    .addValue("sequenceNo", node.getSequenceNo())
+                    .addValue("repealedDate", toDate(node.getRepealedDate()))
+                    .addValue("lawFileName", secondFile.getFileName()));
+        }
+    }
+
+    private static Date toDate(LocalDate date) {
+        return (date != null) ? Date.valueOf(date) : null;
+    }
+
+    /**
+     * Runs the save inside a savepoint, and returns the test law's documents, tree rows and new change log
+     * entries before rolling the savepoint back.
+     */
+    private Map<String, List<String>> saveAndGetRows(Runnable save) {
+        TransactionTemplate savepoint = new TransactionTemplate(transactionManager);
+        savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        return savepoint.execute(status -> {
+            String schema = environment.getSchema();
+            Integer lastChangeId = jdbcNamed.getJdbcTemplate().queryForObject(
+                    "SELECT COALESCE(MAX(id), 0) FROM " + SqlTable.LAW_CHANGE_LOG.table(schema), Integer.class);
+            save.run();
+            Map<String, List<String>> rows = new TreeMap<>();
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("lawId", lawId)
+                    .addValue("lastChangeId", lastChangeId);
+            rows.put(SqlTable.LAW_DOCUMENT.toString(), getRows(
+                    "SELECT (to_jsonb(t) - 'created_date_time')::text FROM " + SqlTable.LAW_DOCUMENT.table(schema) + " t\n" +
+                    "WHERE law_id = :lawId", params));
+            rows.put(SqlTable.LAW_TREE.toString(), getRows(
+                    "SELECT (to_jsonb(t) - 'created_date_time')::text FROM " + SqlTable.LAW_TREE.table(schema) + " t\n" +
+                    "WHERE law_id = :lawId", params));
+            rows.put(SqlTable.LAW_CHANGE_LOG.toString(), getRows(
+                    "SELECT (to_jsonb(t) - 'id' - 'action_date_time')::text FROM " + SqlTable.LAW_CHANGE_LOG.table(schema) + " t\n" +
+                    "WHERE id > :lastChangeId", params));
+            status.setRollbackOnly();
+            return rows;
+        });
+    }
+
+    /** Sorted, since the change log ids and row order are not part of what either save guarantees. */
+    private List<String> getRows(String sql, MapSqlParameterSource params) {
+        List<String> rows = new ArrayList<>(jdbcNamed.queryForList(sql, params, String.class));
+        Collections.sort(rows);
+        return rows;
+    }
+}
@@ -219,8 +219,42 @@ public class SpotcheckReportDaoTest extends BaseTests {
         logger.info("done {}", sw.stop());
     }
 
+    @Test
+    public void chunkedSaveClosesMismatchesInEveryChunk() {
+        Set<BaseBillId> billIds = new HashSet<>();
+        for (int i = 1; i <= 2500; i++) {
+            billIds.add(new BaseBillId("S9" + i, 2017));
+        }
+        SpotCheckReport<BaseBillId> mismatchReport = createReport(start);
+        SpotCheckReport<BaseBillId> emptyReport = createReport(start.plusMinutes(1));
+        for (BaseBillId baseBillId : billIds) {
+            SpotCheckObservation<BaseBillId> ob = new SpotCheckObservation<>(mismatchReport.getReportId().getReferenceId(), baseBillId);
+            ob.addMismatch(new SpotCheckMismatch(SpotCheckMismatchType.BILL_COSPONSOR, "ObservedSponsor", "ReferenceSponsor"));
+            mismatchReport.addObservation(ob);
+            emptyReport.addEmptyObservation(baseBillId);
+        }
+        reportDao.saveReport(mismatchReport);
+        assertThat(queryMismatches(MismatchStatus.OPEN, billIds).size(), is(billIds.size()));
+
+        reportDao.saveReport(emptyReport);
+        assertThat(queryMismatches(MismatchStatus.OPEN, billIds), empty());
+        assertThat(queryMismatches(MismatchStatus.RESOLVED, billIds).size(), is(billIds.size()));
+    }
+
     /* --- Internal Methods --- */
 
+    private List<DeNormSpotCheckMismatch> queryMismatches(MismatchStatus status, Set<BaseBillId> billIds) {
+        MismatchQuery<BaseBillId> query = new MismatchQuery<BaseBillId>(start.toLocalDate(), SpotCheckDataSource.LBDC,
+                status, Collections.singleton(SpotCheckContentType.BILL))
+                .withKeys(billIds);
+        return reportDao.getMismatches(query, LimitOffset.ALL).getResults();
+    }
+
+    private SpotCheckReport<BaseBillId> createReport(LocalDateTime refDateTime) {
+        SpotCheckReportId reportId = new SpotCheckReportId(SpotCheckRefType.LBDC_DAYBREAK, refDateTime, LocalDateTime.now());
+        return new SpotCheckReport<>(reportId);
+    }
+
     private DeNormSpotCheckMismatch queryMostRecentOpenMismatch() {
         MismatchQuery<BaseBillId> query = new MismatchQuery<>(start.toLocalDate(), SpotCheckDataSource.LBDC,
                                                 MismatchStatus.OPEN, Collections.singleton(SpotCheckContentType.BILL));
@@ -0,0 +1,84 @@
+package gov.nysenate.openleg.dao.updates;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.CursorPaginatedList;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import gov.nysenate.openleg.dao.base.SqlTable;
+import gov.nysenate.openleg.model.updates.UpdateContentType;
+import gov.nysenate.openleg.model.updates.UpdateCursor;
+import gov.nysenate.openleg.model.updates.UpdateDigest;
+import gov.nysenate.openleg.model.updates.UpdateType;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(IntegrationTest.class)
+public class SqlAggregateUpdatesDaoIT extends BaseTests
+{
+    @Autowired private AggregateUpdatesDao aggregateUpdatesDao;
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private Environment environment;
+
+    /** All inserted change log rows share this date time, so only their change ids distinguish them. */
+    private static final LocalDateTime updateDateTime = LocalDateTime.of(2099, 1, 1, 0, 0);
+
+    private static final int sessionYear = 2099;
+
+    private final List<String> printNos = new ArrayList<>();
+
+    @Before
+    public void insertChangeLogRows() {
+        String sql = "INSERT INTO " + SqlTable.BILL_CHANGE_LOG.table(environment.getSchema()) +
+                " (bill_print_no, bill_session_year, table_name, action, data, action_date_time, published_date_time)" +
+                " VALUES (?, ?, 'bill', 'UPDATE', ''::hstore, ?, ?)";
+        Timestamp timestamp = Timestamp.valueOf(updateDateTime);
+        for (int i = 1; i <= 7; i++) {
+            String printNo = "S" + i;
+            jdbc.update(sql, printNo, sessionYear, timestamp, timestamp);
+            printNos.add(printNo);
+        }
+    }
+
+    @Test
+    public void pagesThroughSharedPublishedDateTime() {
+        assertEquals(printNos, getAllPages(UpdateType.PUBLISHED_DATE, SortOrder.ASC, 2));
+        assertEquals(Lists.reverse(printNos), getAllPages(UpdateType.PUBLISHED_DATE, SortOrder.DESC, 2));
+    }
+
+    @Test
+    public void pagesThroughSharedProcessedDateTime() {
+        assertEquals(printNos, getAllPages(UpdateType.PROCESSED_DATE, SortOrder.ASC, 3));
+        assertEquals(Lists.reverse(printNos), getAllPages(UpdateType.PROCESSED_DATE, SortOrder.DESC, 3));
+    }
+
+    /**
+     * Follows the cursor from the first page to the last, returning the print no of every digest in page order.
+     */
+    private List<String> getAllPages(UpdateType updateType, SortOrder order, int limit) {
+        List<String> pagedPrintNos = new ArrayList<>();
+        UpdateCursor cursor = null;
+        do {
+            CursorPaginatedList<UpdateDigest<Map<String, String>>> page = aggregateUpdatesDao.getUpdateDigestsAfter(
+                    Range.singleton(updateDateTime), EnumSet.of(UpdateContentType.BILL), updateType, order,
+                    cursor, limit, false, false);
+            page.getResults().forEach(digest -> pagedPrintNos.add(digest.getId().get("printNo")));
+            cursor = page.getNextCursor();
+        } while (cursor != null && pagedPrintNos.size() <= printNos.size());
+        return pagedPrintNos;
+    }
+}
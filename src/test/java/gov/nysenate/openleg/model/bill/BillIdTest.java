@@ -5,7 +5,7 @@ import gov.nysenate.openleg.model.base.Version;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 @Category(UnitTest.class)
 public class BillIdTest
@@ -50,4 +50,29 @@ public class BillIdTest
         BaseBillId id3 = new BaseBillId("S1234", 2013);
         assertEquals(id3.hashCode(), id2.hashCode());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testPackedKey() throws Exception {
+        BaseBillId id = new BaseBillId("S1234", 2013);
+        assertEquals(id, BaseBillId.fromPackedKey(id.toPackedKey()));
+        BaseBillId id2 = new BaseBillId("K99999", 2019);
+        assertEquals(id2, BaseBillId.fromPackedKey(id2.toPackedKey()));
+        assertNotEquals(id.toPackedKey(), new BaseBillId("A1234", 2013).toPackedKey());
+        assertNotEquals(id.toPackedKey(), new BaseBillId("S1234", 2015).toPackedKey());
+    }
+
+    @Test
+    public void testPackedKeyNumberRange() throws Exception {
+        BaseBillId maxId = new BaseBillId("S" + BaseBillId.MAX_PACKED_NUMBER, 2013);
+        assertTrue(maxId.hasPackedKey());
+        assertEquals(maxId, BaseBillId.fromPackedKey(maxId.toPackedKey()));
+        // Larger numbers would be truncated onto the key of a different bill
+        assertFalse(new BaseBillId("S" + (BaseBillId.MAX_PACKED_NUMBER + 2), 2013).hasPackedKey());
+        assertFalse(new BaseBillId("S1234567890123", 2013).hasPackedKey());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPackedKeyRejectsOutOfRangeNumber() throws Exception {
+        new BaseBillId("S" + (BaseBillId.MAX_PACKED_NUMBER + 2), 2013).toPackedKey();
+    }
+}
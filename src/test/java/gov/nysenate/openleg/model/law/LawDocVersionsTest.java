@@ -0,0 +1,56 @@
+package gov.nysenate.openleg.model.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@Category(UnitTest.class)
+public class LawDocVersionsTest
+{
+    private static final String docId = "EDN3202";
+
+    private final LawDocVersions versions = new LawDocVersions(docId, Arrays.asList(
+            version(LocalDate.of(2015, 3, 6), "v3"),
+            version(LocalDate.of(2014, 9, 22), "v1"),
+            version(LocalDate.of(2014, 12, 12), "v2")));
+
+    @Test
+    public void getsVersionInEffectOnDate() {
+        assertEquals("v1", versionText(LocalDate.of(2014, 9, 22)));
+        assertEquals("v1", versionText(LocalDate.of(2014, 12, 11)));
+        assertEquals("v2", versionText(LocalDate.of(2014, 12, 12)));
+        assertEquals("v2", versionText(LocalDate.of(2015, 3, 5)));
+        assertEquals("v3", versionText(LocalDate.of(2015, 3, 6)));
+        assertEquals("v3", versionText(LocalDate.of(2020, 1, 1)));
+    }
+
+    @Test
+    public void noVersionBeforeFirstPublishedDate() {
+        assertFalse(versions.getVersion(LocalDate.of(2014, 9, 21)).isPresent());
+    }
+
+    @Test
+    public void noVersionsForMissingDocument() {
+        LawDocVersions missing = new LawDocVersions(docId, Collections.emptyList());
+        assertEquals(0, missing.getVersionCount());
+        assertFalse(missing.getVersion(LocalDate.now()).isPresent());
+    }
+
+    private String versionText(LocalDate date) {
+        Optional<LawDocument> version = versions.getVersion(date);
+        return version.map(LawDocument::getText).orElse(null);
+    }
+
+    private static LawDocument version(LocalDate publishedDate, String text) {
+        return new LawDocument(
+                new LawDocInfo(docId, "EDN", "3202", null, LawDocumentType.SECTION, "3202", publishedDate), text);
+    }
+}
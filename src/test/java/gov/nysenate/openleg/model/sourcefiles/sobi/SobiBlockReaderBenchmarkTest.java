@@ -0,0 +1,152 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import com.google.common.base.Stopwatch;
+import gov.nysenate.openleg.annotation.SillyTest;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+import gov.nysenate.openleg.util.FileIOUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Compares the time and memory allocated to read the blocks of a directory of SOBI files by memory mapping them
+ * with {@link SobiBlockReader} against reading each file into a string and splitting it into lines.
+ *
+ * Set the sobiBenchmarkDir system property to a directory containing a year of archived SOBI files,
+ * otherwise the sample SOBI files in the test resources are read repeatedly.
+ */
+@Category(SillyTest.class)
+public class SobiBlockReaderBenchmarkTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(SobiBlockReaderBenchmarkTest.class);
+
+    private static final String sobiDirProperty = "sobiBenchmarkDir";
+    private static final String encoding = "CP850";
+
+    private static final int warmupPasses = 3;
+    private static final int passes = 5;
+
+    /** The sample files are read this many times per pass when no sobi directory is given. */
+    private static final int sampleRepeats = 500;
+
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void splitVsMappedBenchmark() throws Exception {
+        String sobiDir = System.getProperty(sobiDirProperty);
+        List<File> files = new ArrayList<>();
+        if (sobiDir != null) {
+            files.addAll(FileUtils.listFiles(new File(sobiDir), null, true));
+        } else {
+            Collection<File> samples = FileUtils.listFiles(FileIOUtils.getResourceFile("sourcefile"), null, false);
+            for (int i = 0; i < sampleRepeats; i++) {
+                samples.stream().filter(file -> file.getName().startsWith("SOBI.")).forEach(files::add);
+            }
+        }
+        long totalBytes = files.stream().mapToLong(File::length).sum();
+
+        BlockCounter split = file -> splitBlocks(FileUtils.readFileToString(file, encoding), file.getName()).size();
+        BlockCounter mapped = file -> {
+            List<SobiBlock> blocks = new ArrayList<>();
+            for (SobiBlockView block : SobiBlockReader.readBlocks(SobiBlockReader.mapFile(file, encoding))) {
+                blocks.add(block.toSobiBlock(file.getName(), LegDataFragmentType.BILL, null));
+            }
+            return blocks.size();
+        };
+        BlockCounter views = file -> SobiBlockReader.readBlocks(SobiBlockReader.mapFile(file, encoding)).size();
+
+        double[] splitResult = measure(files, split);
+        double[] mappedResult = measure(files, mapped);
+        double[] viewResult = measure(files, views);
+        logger.info("{} files ({} MB) per pass", files.size(), totalBytes / (1024 * 1024));
+        logger.info("split lines: {} ms/pass {} MB/pass allocated", format(splitResult[0]), format(splitResult[1]));
+        logger.info("mapped blocks: {} ms/pass {} MB/pass allocated", format(mappedResult[0]), format(mappedResult[1]));
+        logger.info("mapped views only: {} ms/pass {} MB/pass allocated", format(viewResult[0]), format(viewResult[1]));
+    }
+
+    @FunctionalInterface
+    private interface BlockCounter
+    {
+        int countBlocks(File file) throws Exception;
+    }
+
+    /**
+     * @return double[] - average milliseconds and megabytes allocated per pass over the files
+     */
+    private static double[] measure(List<File> files, BlockCounter counter) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < warmupPasses; i++) {
+            for (File file : files) {
+                sink += counter.countBlocks(file);
+            }
+        }
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        Stopwatch sw = Stopwatch.createStarted();
+        for (int i = 0; i < passes; i++) {
+            for (File file : files) {
+                sink += counter.countBlocks(file);
+            }
+        }
+        long millis = sw.elapsed(TimeUnit.MILLISECONDS);
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        logger.trace("{}", sink);
+        return new double[] {(double) millis / passes, (double) bytes / passes / (1024 * 1024)};
+    }
+
+    /**
+     * The block splitting previously used by LegDataFragment, which splits the text into lines and
+     * matches each line against the block pattern.
+     */
+    private static List<SobiBlock> splitBlocks(String text, String fragmentId) {
+        List<SobiBlock> blocks = new ArrayList<>();
+        SobiBlock block = null;
+        List<String> lines = new ArrayList<>(Arrays.asList(text.replace('\0', ' ').split("\\r?\\n")));
+        lines.add("");
+        for (int lineNo = 0; lineNo < lines.size(); lineNo++) {
+            String line = lines.get(lineNo);
+            Matcher headerMatcher = SobiBlock.blockPattern.matcher(line);
+            if (headerMatcher.find()) {
+                if (block == null) {
+                    block = new SobiBlock(fragmentId, LegDataFragmentType.BILL, null, lineNo, line);
+                }
+                else if (block.getHeader().equals(headerMatcher.group()) && block.isMultiline()) {
+                    block.extend(line);
+                }
+                else {
+                    block.setEndLineNo(lineNo - 1);
+                    blocks.add(block);
+                    SobiBlock newBlock = new SobiBlock(fragmentId, LegDataFragmentType.BILL, null, lineNo, line);
+                    if (newBlock.getBillHeader().equals(block.getBillHeader())
+                            && newBlock.getType().equals(SobiLineType.SUMMARY) && !block.getType().equals(SobiLineType.LAW)) {
+                        blocks.add(new SobiBlock(fragmentId, LegDataFragmentType.BILL, null, lineNo,
+                                block.getBillHeader() + SobiLineType.LAW.getTypeCode()));
+                    }
+                    block = newBlock;
+                }
+            }
+            else if (block != null) {
+                block.setEndLineNo(lineNo - 1);
+                blocks.add(block);
+                block = null;
+            }
+        }
+        return blocks;
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
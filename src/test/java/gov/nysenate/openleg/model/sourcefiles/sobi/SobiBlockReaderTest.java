@@ -0,0 +1,88 @@
+package gov.nysenate.openleg.model.sourcefiles.sobi;
+
+import com.google.common.collect.Lists;
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.bill.BillId;
+import gov.nysenate.openleg.util.FileIOUtils;
+import org.apache.commons.io.FileUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class SobiBlockReaderTest
+{
+    @Test
+    public void readsBlocksTest() {
+        String text = "<DATAPROCESS TIME=\"2017-04-24-16.15.31\">\n" +
+                "2017S00300 2Public Health Law\r\n" +
+                "2017S00300 401/04/17 REFERRED TO HEALTH\n" +
+                "2017S00300 403/07/17 1ST REPORT CAL.380\n" +
+                "2017S00300A4DELETE\n" +
+                "2017S00300A401/05/17 AMEND AND RECOMMIT\n";
+        List<SobiBlockView> blocks = SobiBlockReader.readBlocks(text);
+        assertEquals(4, blocks.size());
+
+        assertEquals(SobiLineType.LAW_SECTION, blocks.get(0).getType());
+        assertEquals("2017S00300 2", blocks.get(0).getHeader());
+        assertEquals("Public Health Law", blocks.get(0).getData());
+
+        assertEquals(SobiLineType.BILL_EVENT, blocks.get(1).getType());
+        assertEquals("01/04/17 REFERRED TO HEALTH\n03/07/17 1ST REPORT CAL.380", blocks.get(1).getData());
+        assertEquals(2, blocks.get(1).getStartLineNo());
+        assertEquals(3, blocks.get(1).getEndLineNo());
+        assertEquals(new BillId("S300", 2017), blocks.get(1).getBillId());
+
+        // Delete blocks are never extended
+        assertFalse(blocks.get(2).isMultiline());
+        assertEquals("DELETE", blocks.get(2).getData());
+        assertEquals(new BillId("S300A", 2017), blocks.get(2).getBillId());
+        assertEquals(5, blocks.get(3).getEndLineNo());
+    }
+
+    @Test
+    public void insertsOmittedLawBlockTest() {
+        String text = "2017S05668 2Education Law\n" +
+                "2017S05668 CRelates to establishing the Barbara Clark leaders of tomorrow scholarship";
+        List<SobiBlockView> blocks = SobiBlockReader.readBlocks(text);
+        assertEquals(Arrays.asList(SobiLineType.LAW_SECTION, SobiLineType.LAW, SobiLineType.SUMMARY),
+                blocks.stream().map(SobiBlockView::getType).collect(Collectors.toList()));
+        assertEquals("2017S05668 B", blocks.get(1).getHeader());
+        assertEquals("", blocks.get(1).getData());
+    }
+
+    @Test
+    public void readsNullCharactersAsSpacesTest() {
+        String text = "2017S05668" + '\0' + "1" + "\0\0\0" + "00000" + "\0\0" + "A09213B\n";
+        SobiBlockView block = SobiBlockReader.readBlocks(text).get(0);
+        assertEquals("2017S05668 1", block.getHeader());
+        assertEquals("   00000  A09213B", block.getData());
+        assertEquals(Lists.newArrayList("2017S05668 1   00000  A09213B"),
+                Lists.newArrayList(SobiBlockReader.lines(text)));
+    }
+
+    @Test
+    public void mappedFileMatchesFileTextTest() throws Exception {
+        File sobiFile = FileIOUtils.getResourceFile("sourcefile/SOBI.D170424.T161531.TXT");
+        String fileText = FileUtils.readFileToString(sobiFile, "CP850");
+        CharSequence mappedText = SobiBlockReader.mapFile(sobiFile, "CP850");
+        assertEquals(fileText, mappedText.toString());
+
+        List<String> fileBlocks = SobiBlockReader.readBlocks(fileText).stream()
+                .map(block -> block.getHeader() + block.getData())
+                .collect(Collectors.toList());
+        List<String> mappedBlocks = SobiBlockReader.readBlocks(mappedText).stream()
+                .map(block -> block.getHeader() + block.getData())
+                .collect(Collectors.toList());
+        assertFalse(fileBlocks.isEmpty());
+        assertEquals(fileBlocks, mappedBlocks);
+        assertEquals(Arrays.asList(fileText.replace('\0', ' ').split("\\r?\\n")),
+                Lists.newArrayList(SobiBlockReader.lines(mappedText)));
+    }
+}
@@ -0,0 +1,40 @@
+package gov.nysenate.openleg.model.updates;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class UpdateCursorTest
+{
+    @Test
+    public void encodeDecodeTest() {
+        UpdateCursor cursor = new UpdateCursor(LocalDateTime.of(2019, 3, 1, 12, 30, 15, 123456000),
+                UpdateContentType.BILL, 98765);
+        String encoded = cursor.encode();
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+        assertEquals(cursor, UpdateCursor.decode(encoded));
+    }
+
+    @Test
+    public void startCursorTest() {
+        assertNull(UpdateCursor.decode(UpdateCursor.START));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void malformedCursorTest() {
+        UpdateCursor.decode("not a cursor");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownContentTypeTest() {
+        String raw = "2019-03-01T12:30:15|NOPE|1";
+        UpdateCursor.decode(Base64.getUrlEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,97 @@
+package gov.nysenate.openleg.processor.base;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class IngestCacheTest
+{
+    @Test
+    public void exceedsWeightTest() {
+        IngestCache<String, String, String> cache = new IngestCache<>(10, 8, String::length);
+        cache.set("a", "12345", "source");
+        assertEquals(5, cache.getWeight());
+        assertFalse(cache.exceedsCapacity());
+        cache.set("b", "1234", "source");
+        assertTrue(cache.exceedsCapacity());
+        // Setting a key again replaces its weight
+        cache.set("b", "1", "source");
+        assertEquals(6, cache.getWeight());
+        assertFalse(cache.exceedsCapacity());
+        assertEquals(2, cache.getDirtyEntryCount());
+        assertEquals(6, cache.getDirtyWeight());
+    }
+
+    @Test
+    public void flushTest() {
+        IngestCache<String, String, String> cache = new IngestCache<>(10, 100, String::length);
+        cache.set("b", "2", "source");
+        cache.set("a", "1", "source");
+        List<String> written = new ArrayList<>();
+        Collection<Pair<String, String>> flushed =
+                cache.flush(entries -> entries.forEach(entry -> written.add(entry.getLeft())));
+        // Entries are flushed in insertion order
+        assertEquals(Arrays.asList("2", "1"), written);
+        assertEquals(written, flushed.stream().map(Pair::getLeft).collect(Collectors.toList()));
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getDirtyWeight());
+        assertEquals(1, cache.getFlushCount());
+        assertEquals(2, cache.getFlushedEntryCount());
+    }
+
+    @Test
+    public void failedFlushKeepsEntriesTest() {
+        IngestCache<String, String, String> cache = new IngestCache<>(10);
+        cache.set("a", "1", "source");
+        try {
+            cache.flush(entries -> {
+                throw new IllegalStateException();
+            });
+            fail("Expected the flush to fail");
+        } catch (IllegalStateException expected) {
+            assertEquals(1, cache.getSize());
+            assertEquals(0, cache.getFlushCount());
+        }
+    }
+
+    @Test
+    public void hitRateTest() {
+        IngestCache<String, String, String> cache = new IngestCache<>(10);
+        assertFalse(cache.has("a"));
+        cache.set("a", "1", "source");
+        assertTrue(cache.has("a"));
+        assertTrue(cache.has("a"));
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    public void partitionsByThreadTest() throws InterruptedException {
+        IngestCache<String, String, String> cache = new IngestCache<>(10, 100, String::length);
+        cache.set("a", "123", "source");
+        Thread other = new Thread(() -> {
+            cache.set("b", "12", "source");
+            cache.set("c", "1", "source");
+        });
+        other.start();
+        other.join();
+        assertEquals(1, cache.getSize());
+        assertEquals(3, cache.getWeight());
+        assertEquals(3, cache.getDirtyEntryCount());
+        assertEquals(6, cache.getDirtyWeight());
+        cache.clearCache();
+        assertEquals(2, cache.getDirtyEntryCount());
+        assertEquals(3, cache.getDirtyWeight());
+    }
+}
@@ -0,0 +1,91 @@
+package gov.nysenate.openleg.processor.law;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.law.LawDocument;
+import gov.nysenate.openleg.model.law.LawFile;
+import gov.nysenate.openleg.model.law.LawTree;
+import gov.nysenate.openleg.model.law.LawTreeNode;
+import gov.nysenate.openleg.model.process.DataProcessAction;
+import gov.nysenate.openleg.model.process.DataProcessUnit;
+import gov.nysenate.openleg.util.FileIOUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Checks that processing the laws of a law file in parallel gives the same output as processing them serially.
+ */
+@Category(UnitTest.class)
+public class LawProcessorParallelTest
+{
+    private static final String sampleDump = "processor/law/DATABASE.LAWSAMPLE";
+
+    @Test
+    public void parallelInitialDumpMatchesSerial() throws Exception {
+        LawFile lawFile = new LawFile(FileIOUtils.getResourceFile(sampleDump));
+
+        ProcessedDump serial = processInitialDump(lawFile, 1);
+        ProcessedDump parallel = processInitialDump(lawFile, 4);
+
+        assertEquals(new HashSet<>(Arrays.asList("ABC", "EDN", "UCT")), serial.lawDocuments.keySet());
+        assertEquals(serial.lawDocuments, parallel.lawDocuments);
+        assertEquals(serial.lawTrees, parallel.lawTrees);
+        assertEquals(serial.messages, parallel.messages);
+        assertEquals(serial.errors, parallel.errors);
+    }
+
+    /** --- Internal Methods --- */
+
+    private ProcessedDump processInitialDump(LawFile lawFile, int parallelLawCount) throws Exception {
+        ProcessedDump processedDump = new ProcessedDump();
+        LawProcessor lawProcessor = new LawProcessor() {
+            @Override
+            protected void persistLaw(LawFile lawFile, String lawId, List<LawDocument> lawDocuments, LawTree lawTree) {
+                processedDump.lawDocuments.put(lawId, lawDocuments.stream()
+                        .map(LawProcessorParallelTest::describe)
+                        .sorted()
+                        .collect(Collectors.toList()));
+                processedDump.lawTrees.put(lawId, describe(lawTree));
+            }
+        };
+        lawProcessor.setParallelLawCount(parallelLawCount);
+        DataProcessUnit unit = new DataProcessUnit("LAW_FILE", lawFile.getFileName(), LocalDateTime.now(),
+                DataProcessAction.INGEST);
+        lawProcessor.processInitialLaws(lawFile, lawProcessor.getLawBlocks(lawFile), unit);
+        // The processing times vary from run to run
+        processedDump.messages = unit.getMessages().toString().replaceAll(" in \\d+ ms", "");
+        processedDump.errors = unit.getErrors();
+        return processedDump;
+    }
+
+    private static String describe(LawDocument doc) {
+        return String.join("|", doc.getDocumentId(), String.valueOf(doc.getPublishedDate()),
+                String.valueOf(doc.getDocType()), doc.getDocTypeId(), doc.getTitle(), doc.getText());
+    }
+
+    private static List<String> describe(LawTree lawTree) {
+        List<String> nodes = new ArrayList<>();
+        nodes.add(lawTree.getLawVersionId() + "|" + lawTree.getLawInfo().getChapterId() + "|" +
+                lawTree.getLawInfo().getName() + "|" + lawTree.getLawInfo().getType());
+        for (LawTreeNode node : lawTree.getRootNode().getAllNodes()) {
+            nodes.add(String.join("|", node.getDocumentId(), String.valueOf(node.getSequenceNo()),
+                    (node.getParent() != null) ? node.getParent().getDocumentId() : "",
+                    String.valueOf(node.getDocType()), String.valueOf(node.getRepealedDate())));
+        }
+        return nodes;
+    }
+
+    private static class ProcessedDump
+    {
+        private final Map<String, List<String>> lawDocuments = new ConcurrentHashMap<>();
+        private final Map<String, List<String>> lawTrees = new ConcurrentHashMap<>();
+        private String messages;
+        private List<String> errors;
+    }
+}
@@ -0,0 +1,84 @@
+package gov.nysenate.openleg.processor.legdata;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.agenda.AgendaId;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.calendar.CalendarId;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class LegDataFragmentPartitionerTest
+{
+    private static final String xmlHeader = "<?xml version='1.0' encoding='UTF-8'?>\n";
+
+    @Test
+    public void billEntityTest() {
+        assertEquals(Optional.of(new BaseBillId("A5243", 2017)), getEntityId(LegDataFragmentType.BILLSTAT,
+                "<billstatus  sessyr=\"2017\" billhse=\"A\" billno=\"05243\" action=\"replace\">"));
+        assertEquals(Optional.of(new BaseBillId("S4257", 2017)), getEntityId(LegDataFragmentType.SAMEAS,
+                "<sameas billno=\"04257\" billhse=\"S\" billamd=\"\" sessyr=\"2017\" action=\"replace\">"));
+        assertEquals(Optional.of(new BaseBillId("S1234", 2017)), getEntityId(LegDataFragmentType.SENFLVOTE,
+                "<senfloorvote no=\"S1234A\" sessyr=\"2017\" year=\"2017\" action=\"replace\">"));
+    }
+
+    @Test
+    public void agendaAndCalendarEntityTest() {
+        assertEquals(Optional.of(new AgendaId(20, 2016)), getEntityId(LegDataFragmentType.AGENDA,
+                "<senagenda no=\"20\" sessyr=\"2015\" year=\"2016\" action=\"replace\" >"));
+        assertEquals(Optional.of(new CalendarId(6, 2017)), getEntityId(LegDataFragmentType.CALENDAR_ACTIVE,
+                "<sencalendaractive no=\"00006\" sessyr=\"2017\" year=\"2017\" action=\"replace\">"));
+    }
+
+    @Test
+    public void multiEntityFragmentTest() {
+        assertFalse(getEntityId(LegDataFragmentType.AGENDA_VOTE,
+                "<senagendavote no=\"20\" sessyr=\"2015\" year=\"2016\" action=\"replace\">").isPresent());
+        assertFalse(getEntityId(LegDataFragmentType.BILLTEXT,
+                "<billtext_html sessyr=\"2017\" senhse=\"S\" senno=\"00001\" asmhse=\"A\" asmno=\"00002\">").isPresent());
+    }
+
+    @Test
+    public void uniBillSameAsTest() {
+        // Find a pool where the senate bill and its uni-bill partner are assigned to different workers
+        BaseBillId senateBillId = new BaseBillId("S4257", 2017);
+        BaseBillId uniBillId = new BaseBillId("A5261", 2017);
+        LegDataWorkerPool workerPool = IntStream.rangeClosed(2, 16)
+                .mapToObj(LegDataWorkerPool::new)
+                .filter(pool -> pool.getWorker(senateBillId) != pool.getWorker(uniBillId))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No pool splits " + senateBillId + " and " + uniBillId));
+        workerPool.shutdown();
+
+        // The same as fragment also updates the uni-bill's text, so it cannot be queued on the senate bill's worker
+        assertFalse(getEntityId(LegDataFragmentType.SAMEAS,
+                "<sameas billno=\"04257\" billhse=\"S\" billamd=\"\" sessyr=\"2017\" action=\"replace\">",
+                "<sameasbill>\n<![CDATA[Same as Uni. A 5261]]>\n</sameasbill>").isPresent());
+        assertEquals(Optional.of(senateBillId), getEntityId(LegDataFragmentType.SAMEAS,
+                "<sameas billno=\"04257\" billhse=\"S\" billamd=\"\" sessyr=\"2017\" action=\"replace\">",
+                "<sameasbill>\n<![CDATA[Same as A 5261]]>\n</sameasbill>"));
+    }
+
+    @Test
+    public void malformedFragmentTest() {
+        assertFalse(getEntityId(LegDataFragmentType.BILLSTAT,
+                "<billstatus sessyr=\"2017\" action=\"replace\">").isPresent());
+    }
+
+    private static Optional<Object> getEntityId(LegDataFragmentType type, String rootElement) {
+        return getEntityId(type, rootElement, "");
+    }
+
+    private static Optional<Object> getEntityId(LegDataFragmentType type, String rootElement, String body) {
+        String text = xmlHeader + rootElement + "\n" + body + "</" +
+                rootElement.substring(1, rootElement.indexOf(' ')) + ">";
+        return LegDataFragmentPartitioner.getEntityId(new LegDataFragment("test", null, type, text, 1));
+    }
+}
@@ -0,0 +1,275 @@
+package gov.nysenate.openleg.processor.legdata;
+
+import com.google.common.eventbus.EventBus;
+import gov.nysenate.openleg.annotation.IntegrationTest;
+import gov.nysenate.openleg.config.Environment;
+import gov.nysenate.openleg.dao.base.SqlTable;
+import gov.nysenate.openleg.dao.sourcefiles.SourceFileRefDao;
+import gov.nysenate.openleg.dao.sourcefiles.sobi.LegDataFragmentDao;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.cache.CacheEvictEvent;
+import gov.nysenate.openleg.model.cache.ContentCache;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragment;
+import gov.nysenate.openleg.model.sourcefiles.LegDataFragmentType;
+import gov.nysenate.openleg.model.sourcefiles.sobi.SobiProcessOptions;
+import gov.nysenate.openleg.model.sourcefiles.xml.XmlFile;
+import gov.nysenate.openleg.processor.BaseXmlProcessorTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Checks that processing a batch of fragments on the worker pool persists the same bills as processing them serially.
+ *
+ * The workers save through their own connections, so this test cannot run in a rolled back transaction.
+ * It only creates bills with otherwise unused print numbers, and deletes them along with its fragments.
+ */
+@Category(IntegrationTest.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LegDataParallelProcessIT extends BaseXmlProcessorTest
+{
+    @Autowired private ManagedLegDataProcessService legDataProcessService;
+    @Autowired private SourceFileRefDao sourceFileRefDao;
+    @Autowired private LegDataFragmentDao legDataFragmentDao;
+    @Autowired private NamedParameterJdbcTemplate jdbcNamed;
+    @Autowired private Environment environment;
+    @Autowired private EventBus eventBus;
+
+    @Value("${leg.data.process.parallel.workers:1}")
+    private int configuredWorkerCount;
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private static final int session = 2017;
+    private static final int firstBillNo = 90001;
+    private static final int billPairCount = 8;
+    private static final int workerCount = 4;
+    private static final LocalDateTime firstPublishedDateTime = LocalDateTime.of(2017, 3, 10, 10, 0);
+    private static final DateTimeFormatter fileDateTimeFormat = DateTimeFormatter.ofPattern("yyyy-MM-dd-HH.mm.ss.SSSSSS");
+
+    /** Tables that hold a bill's data, with the columns that are expected to differ between runs. */
+    private static final Map<SqlTable, List<String>> billTables = new LinkedHashMap<>();
+    static {
+        billTables.put(SqlTable.BILL, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_SAME_AS, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_COSPONSOR, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_MULTISPONSOR, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_ACTION, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_AMENDMENT_PUBLISH_STATUS, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_MILESTONE, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_COMMITTEE, Collections.singletonList("created_date_time"));
+        billTables.put(SqlTable.BILL_SPONSOR, Collections.singletonList("created_date_time"));
+    }
+
+    private final List<LegDataFragment> fragments = new ArrayList<>();
+    private final List<String> printNos = new ArrayList<>();
+
+    @Before
+    public void setupFragments() throws IOException {
+        for (int i = 0; i < billPairCount; i++) {
+            printNos.add("S" + (firstBillNo + i));
+            printNos.add("A" + (firstBillNo + i));
+        }
+        deleteTestBills();
+        // Interleave the fragments of every bill, so each worker has fragments queued for several bills at once
+        for (int i = 0; i < billPairCount; i++) {
+            int billNo = firstBillNo + i;
+            addFragment(LegDataFragmentType.BILLSTAT, "S" + billNo, billStat("S", billNo, "",
+                    "02/09/17 REFERRED TO FINANCE"));
+            addFragment(LegDataFragmentType.BILLSTAT, "A" + billNo, billStat("A", billNo, "",
+                    "02/09/17 referred to ways and means"));
+        }
+        for (int i = 0; i < billPairCount; i++) {
+            int billNo = firstBillNo + i;
+            addFragment(LegDataFragmentType.SAMEAS, "S" + billNo, sameAs("S", billNo, "", "Same as A " + billNo));
+            addFragment(LegDataFragmentType.SAMEAS, "A" + billNo, sameAs("A", billNo, "", "Same as S " + billNo));
+        }
+        for (int i = 0; i < billPairCount; i++) {
+            int billNo = firstBillNo + i;
+            addFragment(LegDataFragmentType.BILLSTAT, "S" + billNo, billStat("S", billNo, "A",
+                    "02/09/17 REFERRED TO FINANCE\n" +
+                    "03/01/17 ADVANCED TO THIRD READING\n" +
+                    "03/02/17 AMENDED ON THIRD READING " + billNo + "A"));
+            // Every other pair is a uni-bill, which syncs text between bills that may be on different workers
+            String sameAsPrefix = (i % 2 == 0) ? "Same as Uni. " : "Same as ";
+            addFragment(LegDataFragmentType.SAMEAS, "S" + billNo, sameAs("S", billNo, "A", sameAsPrefix + "A " + billNo));
+            addFragment(LegDataFragmentType.BILLSTAT, "A" + billNo, billStat("A", billNo, "A",
+                    "02/09/17 referred to ways and means\n" +
+                    "03/03/17 amended on third reading " + billNo + "A"));
+        }
+        for (int i = 0; i < billPairCount; i += 2) {
+            int billNo = firstBillNo + i;
+            addFragment(LegDataFragmentType.BILLSTAT, "S" + billNo, billStat("S", billNo, "B",
+                    "02/09/17 REFERRED TO FINANCE\n" +
+                    "03/01/17 ADVANCED TO THIRD READING\n" +
+                    "03/02/17 AMENDED ON THIRD READING " + billNo + "A\n" +
+                    "03/08/17 AMENDED ON THIRD READING " + billNo + "B"));
+            addFragment(LegDataFragmentType.SAMEAS, "S" + billNo, sameAs("S", billNo, "B", "Same as A " + billNo + "-A"));
+        }
+    }
+
+    @After
+    public void deleteFragments() {
+        deleteTestBills();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("fragmentIds", fragments.stream().map(LegDataFragment::getFragmentId).collect(Collectors.toList()))
+                .addValue("fileNames", fragments.stream().map(f -> f.getParentLegDataFile().getFileName()).collect(Collectors.toList()));
+        if (!fragments.isEmpty()) {
+            jdbcNamed.update("DELETE FROM " + SqlTable.LEG_DATA_FRAGMENT.table(environment.getSchema()) +
+                    " WHERE fragment_id IN (:fragmentIds)", params);
+            jdbcNamed.update("DELETE FROM " + SqlTable.LEG_DATA_FILE.table(environment.getSchema()) +
+                    " WHERE file_name IN (:fileNames)", params);
+        }
+        legDataProcessService.setWorkerCount(configuredWorkerCount);
+    }
+
+    @Test
+    public void parallelProcessingMatchesSerial() {
+        assertTrue("Expected some senate and assembly pairs to be split between workers", splitsBillPairs());
+
+        Map<String, List<String>> serialRows = processAndGetRows(1);
+        Map<String, List<String>> parallelRows = processAndGetRows(workerCount);
+
+        // Every bill has an original and an A amendment, and every other senate bill also has a B amendment
+        assertEquals(2 * billPairCount * 2 + billPairCount / 2, serialRows.get(SqlTable.BILL_AMENDMENT.toString()).size());
+        assertFalse(serialRows.get(SqlTable.BILL_AMENDMENT_SAME_AS.toString()).isEmpty());
+        // The parallel run is still persisted, so the final active versions can be checked directly
+        for (int i = 0; i < billPairCount; i++) {
+            int billNo = firstBillNo + i;
+            assertEquals((i % 2 == 0) ? "B" : "A", getActiveVersion("S" + billNo));
+            assertEquals("A", getActiveVersion("A" + billNo));
+        }
+        assertEquals(serialRows.keySet(), parallelRows.keySet());
+        serialRows.forEach((table, rows) -> assertEquals(table, rows, parallelRows.get(table)));
+    }
+
+    /* --- Internal Methods --- */
+
+    /**
+     * Processes the fragments with the given number of workers from a state without the test bills,
+     * and returns the persisted rows of the test bills.
+     */
+    private Map<String, List<String>> processAndGetRows(int workers) {
+        deleteTestBills();
+        legDataProcessService.setWorkerCount(workers);
+        legDataProcessService.processFragments(fragments, SobiProcessOptions.builder().build());
+        eventBus.post(new CacheEvictEvent(EnumSet.allOf(ContentCache.class)));
+        return getBillRows();
+    }
+
+    /** Rows of every bill table for the test bills, as sorted json strings without the columns that vary. */
+    private Map<String, List<String>> getBillRows() {
+        String schema = environment.getSchema();
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("printNos", printNos)
+                .addValue("session", session);
+        Map<String, List<String>> rows = new TreeMap<>();
+        billTables.forEach((table, ignoredColumns) -> {
+            String json = ignoredColumns.stream().map(c -> " - '" + c + "'").collect(Collectors.joining("", "(to_jsonb(t)", ")::text"));
+            List<String> tableRows = new ArrayList<>(jdbcNamed.queryForList(
+                    "SELECT " + json + " FROM " + table.table(schema) + " t\n" +
+                    "WHERE bill_print_no IN (:printNos) AND bill_session_year = :session", params, String.class));
+            Collections.sort(tableRows);
+            rows.put(table.toString(), tableRows);
+        });
+        return rows;
+    }
+
+    private String getActiveVersion(String printNo) {
+        return jdbcNamed.queryForObject(
+                "SELECT active_version FROM " + SqlTable.BILL.table(environment.getSchema()) + "\n" +
+                "WHERE bill_print_no = :printNo AND bill_session_year = :session",
+                new MapSqlParameterSource("printNo", printNo).addValue("session", session), String.class);
+    }
+
+    private void deleteTestBills() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("printNos", printNos)
+                .addValue("session", session);
+        String schema = environment.getSchema();
+        jdbcNamed.update("DELETE FROM " + SqlTable.BILL.table(schema) +
+                " WHERE bill_print_no IN (:printNos) AND bill_session_year = :session", params);
+        jdbcNamed.update("DELETE FROM " + SqlTable.BILL_CHANGE_LOG.table(schema) +
+                " WHERE bill_print_no IN (:printNos) AND bill_session_year = :session", params);
+        eventBus.post(new CacheEvictEvent(EnumSet.allOf(ContentCache.class)));
+    }
+
+    /** True if the worker pool assigns at least one senate bill and its same as to different workers. */
+    private static boolean splitsBillPairs() {
+        LegDataWorkerPool workerPool = new LegDataWorkerPool(workerCount);
+        try {
+            for (int i = 0; i < billPairCount; i++) {
+                if (workerPool.getWorker(new BaseBillId("S" + (firstBillNo + i), session)) !=
+                        workerPool.getWorker(new BaseBillId("A" + (firstBillNo + i), session))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        finally {
+            workerPool.shutdown();
+        }
+    }
+
+    /** Saves a fragment in its own source file, published after the previous fragment. */
+    private void addFragment(LegDataFragmentType type, String printNo, String text) throws IOException {
+        LocalDateTime publishedDateTime = firstPublishedDateTime.plusSeconds(fragments.size());
+        XmlFile xmlFile = new XmlFile(tempFolder.newFile(
+                publishedDateTime.format(fileDateTimeFormat) + "_" + type.name() + "_" + printNo + ".XML"));
+        sourceFileRefDao.updateSourceFile(xmlFile);
+        LegDataFragment fragment = new LegDataFragment(xmlFile, type, text, 1);
+        legDataFragmentDao.updateLegDataFragment(fragment);
+        fragments.add(fragment);
+    }
+
+    private static String billStat(String house, int billNo, String version, String actions) {
+        return "<billstatus  sessyr=\"" + session + "\" billhse=\"" + house + "\" billno=\"" + billNo + "\" action=\"replace\">\n" +
+               "<deadtag></deadtag>\n" +
+               "<currentamd>" + version + "</currentamd>\n" +
+               "<sponsor><![CDATA[BUDGET BILL]]></sponsor>\n" +
+               "<reprint>\n" +
+               "<rprtbillhse></rprtbillhse>\n" +
+               "<rprtbillno></rprtbillno>\n" +
+               "<rprtbillamd></rprtbillamd>\n" +
+               "</reprint>\n" +
+               "<lbdno>00292017</lbdno>\n" +
+               "<law><![CDATA[General Municipal Law]]></law>\n" +
+               "<title><![CDATA[Parallel processing test bill " + house + billNo + "]]></title>\n" +
+               "<billactions><![CDATA[\n" + actions + "\n]]></billactions>\n" +
+               "<actions>\n" +
+               "  <action no=\"" + session + "\">\n" +
+               "    <actiondate>2017-02-09</actiondate>\n" +
+               "  </action>\n" +
+               "</actions>\n" +
+               "</billstatus>";
+    }
+
+    private static String sameAs(String house, int billNo, String version, String sameAsText) {
+        return "<sameas billno=\"" + billNo + "\" billhse=\"" + house + "\" billamd=\"" + version + "\" sessyr=\"" +
+               session + "\" action=\"replace\">\n" +
+               "<sameasbill>\n" +
+               "<![CDATA[" + sameAsText + "]]>\n" +
+               "</sameasbill>\n" +
+               "</sameas>";
+    }
+}
@@ -0,0 +1,64 @@
+package gov.nysenate.openleg.service.base.data;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.Optional;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class OffHeapCacheTest
+{
+    private static final int BLOCK_SIZE = 1024;
+
+    @Test
+    public void putAndGetTest() {
+        OffHeapCache<String> cache = new OffHeapCache<>("test", String.class, 16 * BLOCK_SIZE, BLOCK_SIZE);
+        cache.put(1L, "moose");
+        assertEquals(Optional.of("moose"), cache.get(1L));
+        assertEquals(Optional.empty(), cache.get(2L));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.put(1L, "bear");
+        assertEquals(Optional.of("bear"), cache.get(1L));
+        assertEquals(1, cache.getSize());
+
+        cache.remove(1L);
+        assertFalse(cache.containsKey(1L));
+        assertEquals(0, cache.getUsedBytes());
+    }
+
+    @Test
+    public void multiBlockValueTest() {
+        OffHeapCache<String> cache = new OffHeapCache<>("test", String.class, 64 * BLOCK_SIZE, BLOCK_SIZE);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            sb.append(i).append(',');
+        }
+        String value = sb.toString();
+        assertTrue(cache.put(5L, value));
+        assertTrue(cache.getUsedBytes() > BLOCK_SIZE);
+        assertEquals(Optional.of(value), cache.get(5L));
+    }
+
+    @Test
+    public void lruEvictionTest() {
+        OffHeapCache<String> cache = new OffHeapCache<>("test", String.class, 2 * BLOCK_SIZE, BLOCK_SIZE);
+        cache.put(1L, "one");
+        cache.put(2L, "two");
+        // Access 1 so that 2 becomes the least recently used entry
+        cache.get(1L);
+        cache.put(3L, "three");
+        assertTrue(cache.containsKey(1L));
+        assertFalse(cache.containsKey(2L));
+        assertTrue(cache.containsKey(3L));
+        assertEquals(1, cache.getEvictedCount());
+
+        cache.clear();
+        assertEquals(0, cache.getSize());
+        assertEquals(0, cache.getUsedBytes());
+    }
+}
@@ -1,8 +1,11 @@
 package gov.nysenate.openleg.service.bill;
 
 import com.google.common.eventbus.EventBus;
+import com.google.common.collect.Sets;
 import gov.nysenate.openleg.BaseTests;
 import gov.nysenate.openleg.annotation.SillyTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.cache.CacheEvictEvent;
@@ -15,6 +18,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
 @Category(SillyTest.class)
 public class CachedBillDataServiceTest extends BaseTests
 {
@@ -77,4 +88,25 @@ public class CachedBillDataServiceTest extends BaseTests
         eventBus.register(this);
         eventBus.post(new CacheEvictEvent(null));
     }
+
+    @Test
+    public void testGetOutdatedBillIds() {
+        List<BaseBillId> billIds = billData.getBillIds(SessionYear.of(2013), LimitOffset.TWENTY_FIVE);
+        BaseBillId currentId = billIds.get(0);
+        BaseBillId olderId = billIds.get(1);
+        BaseBillId unknownTimeId = billIds.get(2);
+        BaseBillId missingId = new BaseBillId("S99999", 2013);
+        LocalDateTime currentTime = billData.getBill(currentId).getModifiedDateTime();
+        LocalDateTime olderTime = billData.getBill(olderId).getModifiedDateTime();
+        assertNotNull(currentTime);
+        assertNotNull(olderTime);
+
+        // A copy is only current if it is at least as recent as the saved bill
+        Map<BaseBillId, LocalDateTime> copyTimes = new HashMap<>();
+        copyTimes.put(currentId, currentTime);
+        copyTimes.put(olderId, olderTime.minusSeconds(1));
+        copyTimes.put(unknownTimeId, null);
+        copyTimes.put(missingId, LocalDateTime.now());
+        assertEquals(Sets.newHashSet(olderId, unknownTimeId, missingId), billData.getOutdatedBillIds(copyTimes));
+    }
 }
@@ -2,16 +2,19 @@ package gov.nysenate.openleg.service.bill.search;
 
 import com.google.common.base.Stopwatch;
 import gov.nysenate.openleg.BaseTests;
+import gov.nysenate.openleg.client.view.bill.BillInfoView;
 import gov.nysenate.openleg.dao.base.LimitOffset;
 import gov.nysenate.openleg.dao.bill.search.ElasticBillSearchDao;
 import gov.nysenate.openleg.model.base.SessionYear;
 import gov.nysenate.openleg.model.bill.BaseBillId;
 import gov.nysenate.openleg.model.bill.Bill;
 import gov.nysenate.openleg.model.search.SearchException;
+import gov.nysenate.openleg.model.search.SearchResult;
 import gov.nysenate.openleg.model.search.SearchResults;
 import gov.nysenate.openleg.service.bill.data.BillAmendNotFoundEx;
 import gov.nysenate.openleg.service.bill.data.BillDataService;
 import gov.nysenate.openleg.service.bill.data.BillNotFoundEx;
+import gov.nysenate.openleg.util.OutputUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 import org.slf4j.Logger;
@@ -23,6 +26,8 @@ import java.util.List;
 import java.util.Random;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
+
 public class ElasticBillSearchServiceTests extends BaseTests
 {
     private static final Logger logger = LoggerFactory.getLogger(ElasticBillSearchServiceTests.class);
@@ -85,6 +90,17 @@ public class ElasticBillSearchServiceTests extends BaseTests
         }
     }
 
+    @Test
+    public void billInfoHydrationTest() throws SearchException {
+        SearchResults<BillInfoView> results =
+                billSearchService.searchBillInfos(SessionYear.current(), "publishedDateTime:asc", LimitOffset.HUNDRED);
+        for (SearchResult<BillInfoView> result : results.getResults()) {
+            BillInfoView indexedInfo = result.getResult();
+            BillInfoView storedInfo = new BillInfoView(billDataService.getBillInfo(indexedInfo.toBaseBillId()));
+            assertEquals(OutputUtils.toJson(storedInfo), OutputUtils.toJson(indexedInfo));
+        }
+    }
+
     @Test
     public void randomSearchPerfTest() throws SearchException {
         int termCount = 500;
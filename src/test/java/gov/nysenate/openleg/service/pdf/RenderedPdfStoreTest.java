@@ -0,0 +1,200 @@
+package gov.nysenate.openleg.service.pdf;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.model.base.Version;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.pdfbox.exceptions.COSVisitorException;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class RenderedPdfStoreTest
+{
+    private static final int PDF_SIZE = 100;
+    private static final String HASH_1 = RenderedPdfStore.getContentHash("1");
+    private static final String HASH_2 = RenderedPdfStore.getContentHash("2");
+
+    @Rule public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File storeDir;
+    private RenderedPdfStore store;
+
+    @Before
+    public void setup() throws IOException {
+        storeDir = tempFolder.newFolder("rendered-pdf");
+        store = new RenderedPdfStore();
+        // Room for two pdfs
+        store.init(storeDir, 2 * PDF_SIZE + PDF_SIZE / 2);
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedPdf() throws Exception {
+        assertEquals(pdf('a'), read("a", HASH_1, 'a'));
+        assertEquals(pdf('b'), read("b", HASH_1, 'b'));
+        // Reading a makes b the least recently used
+        assertEquals(pdf('a'), read("a", HASH_1, 'a'));
+        assertEquals(pdf('c'), read("c", HASH_1, 'c'));
+        assertEquals(2, store.getSize());
+        assertEquals(2 * PDF_SIZE, store.getStoredBytes());
+        assertEquals(2, storedFileCount());
+        assertEquals(3, store.getRenderCount());
+
+        // a and c are still stored, b has to be rendered again, which evicts a as it was used before c
+        assertEquals(pdf('c'), read("c", HASH_1, 'c'));
+        assertEquals(3, store.getRenderCount());
+        assertEquals(pdf('b'), read("b", HASH_1, 'b'));
+        assertEquals(4, store.getRenderCount());
+        assertEquals(pdf('c'), read("c", HASH_1, 'c'));
+        assertEquals(4, store.getRenderCount());
+        assertEquals(pdf('a'), read("a", HASH_1, 'a'));
+        assertEquals(5, store.getRenderCount());
+        assertEquals(2, store.getSize());
+        assertEquals(2, storedFileCount());
+    }
+
+    @Test
+    public void evictBillRemovesEveryPdfOfTheBill() throws Exception {
+        store.init(storeDir, 10 * PDF_SIZE);
+        BaseBillId billId = new BaseBillId("S1234", 2017);
+        BaseBillId otherBillId = new BaseBillId("S1235", 2017);
+        String originalKey = RenderedPdfStore.getBillKey(billId, Version.ORIGINAL);
+        String amendedKey = RenderedPdfStore.getBillKey(billId, Version.A);
+        String otherBillKey = RenderedPdfStore.getBillKey(otherBillId, Version.ORIGINAL);
+        String transcriptKey = RenderedPdfStore.getTranscriptKey("test.txt");
+        read(originalKey, HASH_1, 'o');
+        read(amendedKey, HASH_1, 'a');
+        read(otherBillKey, HASH_1, 'x');
+        read(transcriptKey, HASH_1, 't');
+        assertEquals(4, store.getSize());
+
+        store.evictBill(billId);
+        assertEquals(2, store.getSize());
+        assertEquals(2 * PDF_SIZE, store.getStoredBytes());
+        assertEquals(2, storedFileCount());
+
+        long renderCount = store.getRenderCount();
+        read(otherBillKey, HASH_1, 'x');
+        read(transcriptKey, HASH_1, 't');
+        assertEquals(renderCount, store.getRenderCount());
+        read(originalKey, HASH_1, 'o');
+        read(amendedKey, HASH_1, 'a');
+        assertEquals(renderCount + 2, store.getRenderCount());
+
+        // Evicting a bill with no stored pdfs has no effect
+        store.evictBill(new BaseBillId("A1", 2017));
+        assertEquals(4, store.getSize());
+    }
+
+    @Test
+    public void leasedPdfIsDiscardedOnlyOnceReleased() throws Exception {
+        BaseBillId billId = new BaseBillId("S1234", 2017);
+        String key = RenderedPdfStore.getBillKey(billId, Version.ORIGINAL);
+        try (RenderedPdfStore.PdfLease lease = store.getPdf(key, HASH_1, renderer('a'))) {
+            store.evictBill(billId);
+            assertEquals(0, store.getSize());
+            assertEquals(0, store.getStoredBytes());
+            // The evicted pdf stays mapped and on disk while it is leased
+            assertEquals(1, storedFileCount());
+            assertEquals(pdf('a'), toString(lease.getPdf()));
+
+            // Pdfs evicted for size are kept while leased as well
+            assertEquals(pdf('b'), read("b", HASH_1, 'b'));
+            assertEquals(pdf('c'), read("c", HASH_1, 'c'));
+            assertEquals(pdf('d'), read("d", HASH_1, 'd'));
+            assertEquals(3, storedFileCount());
+            assertEquals(pdf('a'), toString(lease.getPdf()));
+        }
+        assertEquals(2, storedFileCount());
+
+        // A pdf with several leases is discarded once the last of them is closed
+        RenderedPdfStore.PdfLease first = store.getPdf("c", HASH_1, renderer('x'));
+        RenderedPdfStore.PdfLease second = store.getPdf("c", HASH_1, renderer('x'));
+        assertEquals(pdf('c'), toString(first.getPdf()));
+        read("e", HASH_1, 'e');
+        read("f", HASH_1, 'f');
+        first.close();
+        assertEquals(3, storedFileCount());
+        assertEquals(pdf('c'), toString(second.getPdf()));
+        second.close();
+        // Closing a lease again does not release it twice
+        second.close();
+        assertEquals(2, storedFileCount());
+    }
+
+    @Test
+    public void newContentHashReplacesStoredPdf() throws Exception {
+        assertEquals(pdf('a'), read("a", HASH_1, 'a'));
+        RenderedPdfStore.PdfLease oldLease = store.getPdf("a", HASH_1, renderer('x'));
+        assertEquals(pdf('b'), read("a", HASH_2, 'b'));
+        assertEquals(2, store.getRenderCount());
+        assertEquals(1, store.getSize());
+        assertEquals(PDF_SIZE, store.getStoredBytes());
+        // The replaced pdf is kept for its lease, and is still the content that was leased
+        assertEquals(2, storedFileCount());
+        assertEquals(pdf('a'), toString(oldLease.getPdf()));
+        oldLease.close();
+        assertEquals(1, storedFileCount());
+
+        // The new hash is served from the store, and the old hash has to be rendered again
+        assertEquals(pdf('b'), read("a", HASH_2, 'x'));
+        assertEquals(2, store.getRenderCount());
+        assertEquals(pdf('c'), read("a", HASH_1, 'c'));
+        assertEquals(3, store.getRenderCount());
+        assertEquals(1, storedFileCount());
+    }
+
+    @Test
+    public void failedRenderIsNotStored() throws Exception {
+        try {
+            store.getPdf("a", HASH_1, out -> {
+                out.write(pdf('a').getBytes(StandardCharsets.UTF_8));
+                throw new IOException("render failed");
+            });
+            fail("Expected the render failure to be thrown");
+        }
+        catch (IOException expected) {
+            assertEquals("render failed", expected.getMessage());
+        }
+        assertEquals(0, store.getSize());
+        assertEquals(0, storedFileCount());
+    }
+
+    /* --- Internal Methods --- */
+
+    /** Gets a pdf from the store, rendering it as the given character if needed, and returns its contents. */
+    private String read(String key, String contentHash, char content) throws IOException, COSVisitorException {
+        try (RenderedPdfStore.PdfLease lease = store.getPdf(key, contentHash, renderer(content))) {
+            return toString(lease.getPdf());
+        }
+    }
+
+    private static PdfRenderer renderer(char content) {
+        return out -> out.write(pdf(content).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String pdf(char content) {
+        return StringUtils.repeat(content, PDF_SIZE);
+    }
+
+    private static String toString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int storedFileCount() {
+        File[] files = storeDir.listFiles();
+        return (files != null) ? files.length : 0;
+    }
+}
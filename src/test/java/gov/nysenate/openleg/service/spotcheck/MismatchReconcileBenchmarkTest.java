@@ -0,0 +1,106 @@
+package gov.nysenate.openleg.service.spotcheck;
+
+import com.google.common.base.Stopwatch;
+import gov.nysenate.openleg.annotation.SillyTest;
+import gov.nysenate.openleg.model.bill.BaseBillId;
+import gov.nysenate.openleg.model.spotcheck.*;
+import gov.nysenate.openleg.service.spotcheck.base.MismatchUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares reconciling 100k synthetic report mismatches against 100k saved mismatches using
+ * {@link MismatchUtils#reconcile} with the separate derive, copy and update passes it replaces.
+ * The separate passes scan the saved mismatches for each report mismatch, so expect them to take minutes.
+ */
+@Category(SillyTest.class)
+public class MismatchReconcileBenchmarkTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(MismatchReconcileBenchmarkTest.class);
+
+    private static final int mismatchCount = 100000;
+
+    private static final SpotCheckRefType refType = SpotCheckRefType.LBDC_DAYBREAK;
+    private static final LocalDateTime lastReportDateTime = LocalDateTime.of(2017, 6, 1, 12, 0);
+    private static final LocalDateTime reportDateTime = lastReportDateTime.plusDays(1);
+
+    @Test
+    public void reconcileVsSeparatePassesBenchmark() {
+        Random random = new Random(8675309);
+        List<SpotCheckMismatchType> types = new ArrayList<>(SpotCheckMismatchType.getMismatchTypes(refType));
+        SpotCheckReport<BaseBillId> report =
+                new SpotCheckReport<>(new SpotCheckReportId(refType, reportDateTime, reportDateTime));
+        report.setId(2);
+        Set<BaseBillId> checkedKeys = new HashSet<>();
+        List<DeNormSpotCheckMismatch> saved = new ArrayList<>();
+        List<DeNormSpotCheckMismatch> reported = new ArrayList<>();
+        for (int i = 0; i < mismatchCount; i++) {
+            BaseBillId billId = new BaseBillId("S" + (i / types.size() + 1), 2017);
+            SpotCheckMismatchType type = types.get(i % types.size());
+            checkedKeys.add(billId);
+            // Most mismatches are seen again, some are new and some are resolved by the report
+            int fate = random.nextInt(10);
+            if (fate > 0) {
+                MismatchState state = random.nextInt(10) == 0 ? MismatchState.CLOSED : MismatchState.OPEN;
+                saved.add(createMismatch(billId, type, state, lastReportDateTime, randomIgnoreStatus(random)));
+            }
+            if (fate < 8) {
+                reported.add(createMismatch(billId, type, MismatchState.OPEN, reportDateTime, randomIgnoreStatus(random)));
+            }
+        }
+
+        List<DeNormSpotCheckMismatch> reportedCopy = reported.stream()
+                .map(DeNormSpotCheckMismatch::copy)
+                .collect(Collectors.toList());
+        Stopwatch sw = Stopwatch.createStarted();
+        List<DeNormSpotCheckMismatch> reconciled = MismatchUtils.reconcile(reportedCopy, saved, report, checkedKeys);
+        long reconcileMillis = sw.elapsed(TimeUnit.MILLISECONDS);
+
+        sw = Stopwatch.createStarted();
+        List<DeNormSpotCheckMismatch> expected = reported;
+        expected.addAll(MismatchUtils.deriveClosedMismatches(expected, saved, report, checkedKeys));
+        expected = MismatchUtils.copyIgnoreStatuses(saved, expected);
+        expected = MismatchUtils.updateIgnoreStatus(expected);
+        expected = MismatchUtils.updateFirstSeenDateTime(expected, saved);
+        long separateMillis = sw.elapsed(TimeUnit.MILLISECONDS);
+
+        logger.info("{} reported and {} saved mismatches: reconcile {} ms, separate passes {} ms",
+                reported.size(), saved.size(), reconcileMillis, separateMillis);
+
+        assertEquals(expected.size(), reconciled.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), reconciled.get(i));
+            assertEquals(expected.get(i).getState(), reconciled.get(i).getState());
+            assertEquals(expected.get(i).getIgnoreStatus(), reconciled.get(i).getIgnoreStatus());
+            assertEquals(expected.get(i).getFirstSeenDateTime(), reconciled.get(i).getFirstSeenDateTime());
+        }
+    }
+
+    private static SpotCheckMismatchIgnore randomIgnoreStatus(Random random) {
+        SpotCheckMismatchIgnore[] statuses = SpotCheckMismatchIgnore.values();
+        return statuses[random.nextInt(statuses.length)];
+    }
+
+    private static DeNormSpotCheckMismatch createMismatch(BaseBillId billId, SpotCheckMismatchType type, MismatchState state,
+                                                          LocalDateTime dateTime, SpotCheckMismatchIgnore ignoreStatus) {
+        DeNormSpotCheckMismatch<BaseBillId> mismatch = new DeNormSpotCheckMismatch<>(billId, type, SpotCheckDataSource.LBDC);
+        mismatch.setReportId(1);
+        mismatch.setState(state);
+        mismatch.setContentType(SpotCheckContentType.BILL);
+        mismatch.setReferenceId(new SpotCheckReferenceId(refType, dateTime));
+        mismatch.setReportDateTime(dateTime);
+        mismatch.setObservedDateTime(dateTime);
+        mismatch.setFirstSeenDateTime(dateTime.minusDays(billId.getPrintNo().length()));
+        mismatch.setIgnoreStatus(ignoreStatus);
+        return mismatch;
+    }
+}
@@ -196,6 +196,46 @@ public class MismatchUtilsTest {
         assertThat(openMismatch.getFirstSeenDateTime(), is(openMismatch.getObservedDateTime()));
     }
 
+    /** --- reconcile() tests --- */
+
+    @Test
+    public void reconcileClosesUnreportedMismatches() {
+        Set<BillId> checkedKeys = Sets.newHashSet(new BillId(printNo, 2017));
+        List<DeNormSpotCheckMismatch> reconciled =
+                MismatchUtils.reconcile(new ArrayList<>(), Lists.newArrayList(openMismatch), spotcheckReport, checkedKeys);
+        assertThat(reconciled.size(), is(1));
+        assertThat(reconciled.get(0).getState(), is(MismatchState.CLOSED));
+        assertThat(reconciled.get(0).getFirstSeenDateTime(), is(openMismatch.getFirstSeenDateTime()));
+        assertThat(openMismatch.getState(), is(MismatchState.OPEN));
+    }
+
+    @Test
+    public void reconcileCopiesSavedIgnoreStatusAndFirstSeen() {
+        openMismatch.setIgnoreStatus(SpotCheckMismatchIgnore.IGNORE_UNTIL_RESOLVED);
+        DeNormSpotCheckMismatch reported = createMismatch(SpotCheckMismatchType.BILL_ACTIVE_AMENDMENT, MismatchState.OPEN);
+        reported.setObservedDateTime(openMismatch.getObservedDateTime().plusHours(1));
+        Set<BillId> checkedKeys = Sets.newHashSet(new BillId(printNo, 2017));
+        List<DeNormSpotCheckMismatch> reconciled = MismatchUtils.reconcile(
+                Lists.newArrayList(reported), Lists.newArrayList(openMismatch), spotcheckReport, checkedKeys);
+        assertThat(reconciled, contains(reported));
+        assertThat(reported.getIgnoreStatus(), is(SpotCheckMismatchIgnore.IGNORE_UNTIL_RESOLVED));
+        assertThat(reported.getFirstSeenDateTime(), is(openMismatch.getFirstSeenDateTime()));
+    }
+
+    @Test
+    public void reconcileResetsFirstSeenForRegressions() {
+        DeNormSpotCheckMismatch reported = createMismatch(SpotCheckMismatchType.BILL_ACTIVE_AMENDMENT, MismatchState.OPEN);
+        reported.setObservedDateTime(closedMismatch.getObservedDateTime().plusHours(1));
+        reported.setIgnoreStatus(SpotCheckMismatchIgnore.NOT_IGNORED);
+        closedMismatch.setIgnoreStatus(SpotCheckMismatchIgnore.IGNORE_ONCE);
+        Set<BillId> checkedKeys = Sets.newHashSet(new BillId(printNo, 2017));
+        List<DeNormSpotCheckMismatch> reconciled = MismatchUtils.reconcile(
+                Lists.newArrayList(reported), Lists.newArrayList(closedMismatch), spotcheckReport, checkedKeys);
+        assertThat(reconciled, contains(reported));
+        assertThat(reported.getFirstSeenDateTime(), is(reported.getObservedDateTime()));
+        assertThat(reported.getIgnoreStatus(), is(SpotCheckMismatchIgnore.NOT_IGNORED));
+    }
+
     private DeNormSpotCheckMismatch createMismatch(SpotCheckMismatchType type, MismatchState state) {
         DeNormSpotCheckMismatch mismatch = new DeNormSpotCheckMismatch(new BillId(printNo, 2017), type, SpotCheckDataSource.LBDC);
         mismatch.setReportId(1);
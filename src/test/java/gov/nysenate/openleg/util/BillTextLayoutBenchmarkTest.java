@@ -0,0 +1,120 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.base.Splitter;
+import com.google.common.base.Stopwatch;
+import gov.nysenate.openleg.annotation.SillyTest;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+
+/**
+ * Compares the time and memory allocated to page, count the pages of and format a large budget bill's text
+ * with {@link BillTextLayout} against the previous regex based {@link BillTextUtils} methods, which split and
+ * matched the text separately for each of the three.
+ */
+@Category(SillyTest.class)
+public class BillTextLayoutBenchmarkTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(BillTextLayoutBenchmarkTest.class);
+
+    private static final int warmupIterations = 20;
+    private static final int iterations = 50;
+
+    /** The sample budget bill text is repeated this many times to simulate one of the large budget bills */
+    private static final int budgetBillRepeats = 10;
+
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void regexVsLayoutBenchmark() throws Exception {
+        String fullText = StringUtils.repeat(
+                FileIOUtils.getResourceFileContents("sourcefile/BudgetBillTextExpected.txt"), budgetBillRepeats);
+
+        Callable<Object> regex = () -> getBillPages(fullText).size() + getPageCount(fullText)
+                + formatBillText(fullText).length();
+        Callable<Object> layout = () -> {
+            BillTextLayout.clearCache();
+            return BillTextUtils.getBillPages(fullText).size() + BillTextUtils.getPageCount(fullText)
+                    + BillTextUtils.formatBillText(false, fullText).length();
+        };
+        Callable<Object> cachedLayout = () -> BillTextUtils.getBillPages(fullText).size()
+                + BillTextUtils.getPageCount(fullText) + BillTextUtils.formatBillText(false, fullText).length();
+
+        double[] regexResult = measure(regex);
+        double[] layoutResult = measure(layout);
+        double[] cachedResult = measure(cachedLayout);
+        logger.info("budget bill ({} chars, {} pages)", fullText.length(), BillTextLayout.of(fullText).getPageCount());
+        logger.info("regex: {} ms/op {} MB/op", format(regexResult[0]), format(regexResult[1]));
+        logger.info("layout: {} ms/op {} MB/op", format(layoutResult[0]), format(layoutResult[1]));
+        logger.info("cached layout: {} ms/op {} MB/op", format(cachedResult[0]), format(cachedResult[1]));
+    }
+
+    /**
+     * @return double[] - average milliseconds and megabytes allocated per call
+     */
+    private static double[] measure(Callable<Object> task) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += task.call().hashCode();
+        }
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        Stopwatch sw = Stopwatch.createStarted();
+        for (int i = 0; i < iterations; i++) {
+            sink += task.call().hashCode();
+        }
+        long micros = sw.elapsed(TimeUnit.MICROSECONDS);
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        logger.trace("{}", sink);
+        return new double[] {(double) micros / iterations / 1000, (double) bytes / iterations / (1024 * 1024)};
+    }
+
+    /** --- The previous BillTextUtils implementations --- */
+
+    private static List<List<String>> getBillPages(String fullText) {
+        List<List<String>> pages = new ArrayList<>();
+        List<String> lines = Splitter.on("\n").splitToList(fullText);
+        int startLine = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            if (i > 10 && BillTextUtils.billTextPageStartPattern.matcher(lines.get(i)).find()) {
+                pages.add(lines.subList(startLine, i));
+                startLine = i;
+            }
+        }
+        pages.add(lines.subList(startLine, lines.size()));
+        return pages;
+    }
+
+    private static int getPageCount(String fullText) {
+        String[] lines = fullText.split("\n");
+        for (int i = lines.length - 1; i > 10; i--) {
+            Matcher billTextPageMatcher = BillTextUtils.billTextPageStartPattern.matcher(lines[i]);
+            if (billTextPageMatcher.find()) {
+                return Integer.parseInt(billTextPageMatcher.group(3));
+            }
+        }
+        return 1;
+    }
+
+    private static String formatBillText(String fullText) {
+        StringBuilder formattedFullText = new StringBuilder();
+        for (String line : Splitter.on("\n").splitToList(fullText)) {
+            formattedFullText.append(line.length() > 7 ? line.substring(7) : line).append("\n");
+        }
+        return formattedFullText.toString();
+    }
+
+    private static String format(double value) {
+        return String.format("%.1f", value);
+    }
+}
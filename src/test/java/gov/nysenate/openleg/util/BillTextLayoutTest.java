@@ -0,0 +1,101 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.base.Splitter;
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@Category(UnitTest.class)
+public class BillTextLayoutTest
+{
+    /** A budget bill with "\r\n" line endings and 95 page headers. */
+    private static final String budgetBillText = "sourcefile/BudgetBillTextExpected.txt";
+
+    @Test
+    public void matchesPageStartPatternOnBudgetBill() throws Exception {
+        String text = FileIOUtils.getResourceFileContents(budgetBillText);
+        BillTextLayout layout = BillTextLayout.of(text);
+        List<String> lines = Splitter.on("\n").splitToList(text);
+        assertEquals(lines, layout.getLines());
+        assertEquals(getPatternPageStartLines(lines), layout.getPageStartLines());
+        assertEquals(96, layout.getPageCount());
+        assertEquals(96, BillTextUtils.getPageCount(text));
+    }
+
+    @Test
+    public void matchesPageStartPatternOnRandomHeaders() {
+        String[] pieces = {" ", "          ", "           ", "A", "S.", ". ", "1", "3007", "--A", "-", "01", "-7",
+                "\r", "\t", "x", "\u0085"};
+        Random random = new Random(1);
+        for (int i = 0; i < 200000; i++) {
+            StringBuilder line = new StringBuilder();
+            for (int piece = random.nextInt(14); piece > 0; piece--) {
+                line.append(pieces[random.nextInt(pieces.length)]);
+            }
+            assertEquals(line.toString(), BillTextUtils.billTextPageStartPattern.matcher(line).find(),
+                    BillTextLayout.isPageHeader(line));
+        }
+    }
+
+    @Test
+    public void recognizesPageHeaders() {
+        assertTrue(BillTextLayout.isPageHeader("        A. 7461--A                    2"));
+        assertTrue(BillTextLayout.isPageHeader("       A. 3007--A                         96\r"));
+        assertTrue(BillTextLayout.isPageHeader("        S. 4821                             2                            A. 6327"));
+        assertTrue(BillTextLayout.isPageHeader("                                          6361"));
+        assertTrue(BillTextLayout.isPageHeader("        S. 434                    3                    12345-01-7--A"));
+        assertFalse(BillTextLayout.isPageHeader("    1  Section 1. Paragraph 2 of subdivision 3 of section 4"));
+        assertFalse(BillTextLayout.isPageHeader("          2019-20                    1,234,000"));
+        assertFalse(BillTextLayout.isPageHeader("        A. 7461--A                    2\r\r"));
+        assertFalse(BillTextLayout.isPageHeader(""));
+    }
+
+    @Test
+    public void splitsLinesLikeSplitter() {
+        for (String text : Arrays.asList("", "\n", "one", "one\ntwo", "one\ntwo\n", "\n\none\n\n")) {
+            BillTextLayout layout = BillTextLayout.of(text);
+            assertEquals(Splitter.on("\n").splitToList(text), layout.getLines());
+            assertEquals(Collections.singletonList(layout.getLines()), layout.getPages());
+        }
+    }
+
+    @Test
+    public void ignoresHeadersInFirstLines() {
+        StringBuilder text = new StringBuilder();
+        for (int lineNum = 0; lineNum < 14; lineNum++) {
+            text.append(lineNum == 3 || lineNum == 12 ? "        S. 100                    2" : "text").append("\n");
+        }
+        BillTextLayout layout = BillTextLayout.of(text.toString());
+        assertEquals(Collections.singletonList(12), layout.getPageStartLines());
+        assertEquals(2, layout.getPages().size());
+        assertEquals(12, layout.getPages().get(0).size());
+        assertEquals(3, layout.getPages().get(1).size());
+    }
+
+    @Test
+    public void formatsBillText() {
+        String text = "1234567line one\nshort\n\n1234567line four";
+        assertEquals("line one\nshort\n\nline four\n", BillTextUtils.formatBillText(false, text));
+        assertEquals(text, BillTextUtils.formatBillText(true, text));
+    }
+
+    private static List<Integer> getPatternPageStartLines(List<String> lines) {
+        List<Integer> pageStartLines = new ArrayList<>();
+        for (int lineNum = 11; lineNum < lines.size(); lineNum++) {
+            if (BillTextUtils.billTextPageStartPattern.matcher(lines.get(lineNum)).find()) {
+                pageStartLines.add(lineNum);
+            }
+        }
+        return pageStartLines;
+    }
+}
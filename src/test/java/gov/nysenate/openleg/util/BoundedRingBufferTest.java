@@ -0,0 +1,79 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class BoundedRingBufferTest
+{
+    @Test
+    public void capacityIsRoundedUpTest() {
+        assertEquals(8, new BoundedRingBuffer<>(5).getCapacity());
+        assertEquals(8, new BoundedRingBuffer<>(8).getCapacity());
+        assertEquals(1, new BoundedRingBuffer<>(1).getCapacity());
+    }
+
+    @Test
+    public void offerAndPollTest() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        assertNull(buffer.poll());
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+        assertEquals(Integer.valueOf(0), buffer.poll());
+        assertTrue(buffer.offer(4));
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(3, drained.size());
+        assertEquals(Integer.valueOf(1), drained.get(0));
+        assertEquals(Integer.valueOf(4), buffer.poll());
+        assertTrue(buffer.isEmpty());
+    }
+
+    @Test
+    public void concurrentOfferTest() throws InterruptedException {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1024);
+        Set<Integer> consumed = ConcurrentHashMap.newKeySet();
+        int producerCount = 4;
+        int perProducer = 20000;
+        List<Thread> producers = new ArrayList<>();
+        for (int p = 0; p < producerCount; p++) {
+            final int base = p * perProducer;
+            Thread producer = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    while (!buffer.offer(base + i)) {
+                        Thread.yield();
+                    }
+                }
+            });
+            producers.add(producer);
+            producer.start();
+        }
+        Thread consumer = new Thread(() -> {
+            while (consumed.size() < producerCount * perProducer) {
+                Integer value = buffer.poll();
+                if (value != null) {
+                    assertTrue(consumed.add(value));
+                }
+            }
+        });
+        consumer.start();
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        consumer.join(10000);
+        assertEquals(producerCount * perProducer, consumed.size());
+        assertTrue(buffer.isEmpty());
+    }
+}
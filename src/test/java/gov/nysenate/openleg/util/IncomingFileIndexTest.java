@@ -0,0 +1,78 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import gov.nysenate.openleg.dao.base.LimitOffset;
+import gov.nysenate.openleg.dao.base.SortOrder;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+@Category(UnitTest.class)
+public class IncomingFileIndexTest
+{
+    private File directory;
+    private IncomingFileIndex index;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("incoming").toFile();
+        index = new IncomingFileIndex(directory);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        index.close();
+        FileUtils.deleteQuietly(directory);
+    }
+
+    @Test
+    public void sortsAndLimitsFilesTest() throws IOException {
+        createFiles("c", "a", "d", "b");
+        assertEquals(Arrays.asList("a", "b", "c"), getFileNames(SortOrder.ASC, new LimitOffset(3)));
+        assertEquals(Arrays.asList("c", "b"), getFileNames(SortOrder.DESC, new LimitOffset(2, 2)));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), getFileNames(SortOrder.ASC, LimitOffset.ALL));
+    }
+
+    @Test
+    public void dropsRemovedFilesTest() throws IOException {
+        createFiles("a", "b", "c");
+        assertEquals(Arrays.asList("a", "b"), getFileNames(SortOrder.ASC, new LimitOffset(2)));
+        FileUtils.forceDelete(new File(directory, "a"));
+        index.remove(new File(directory, "a"));
+        FileUtils.forceDelete(new File(directory, "b"));
+        assertEquals(Arrays.asList("c"), getFileNames(SortOrder.ASC, new LimitOffset(2)));
+    }
+
+    @Test
+    public void rescanFindsNewFilesTest() throws IOException {
+        createFiles("b");
+        assertEquals(Arrays.asList("b"), getFileNames(SortOrder.ASC, LimitOffset.ALL));
+        createFiles("a");
+        FileUtils.forceMkdir(new File(directory, "subdir"));
+        index.rescan();
+        assertEquals(Arrays.asList("a", "b"), getFileNames(SortOrder.ASC, LimitOffset.ALL));
+    }
+
+    private void createFiles(String... fileNames) throws IOException {
+        for (String fileName : fileNames) {
+            FileUtils.touch(new File(directory, fileName));
+        }
+    }
+
+    private List<String> getFileNames(SortOrder sortOrder, LimitOffset limitOffset) throws IOException {
+        return index.getSortedFiles(sortOrder, limitOffset).stream()
+                .map(File::getName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,98 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import java.util.LinkedList;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class TextDifferTest
+{
+    private final StringDiffer stringDiffer = new StringDiffer();
+
+    @Test
+    public void reconstructsTextsTest() {
+        Random random = new Random(1);
+        TextDiffer textDiffer = new TextDiffer(1024 * 1024);
+        for (int i = 0; i < 500; i++) {
+            StringBuilder text1 = new StringBuilder();
+            StringBuilder text2 = new StringBuilder();
+            for (int line = random.nextInt(30); line > 0; line--) {
+                String lineText = "line " + random.nextInt(6) + (random.nextBoolean() ? "\n" : "");
+                int choice = random.nextInt(4);
+                if (choice != 0) {
+                    text1.append(lineText);
+                }
+                if (choice != 1) {
+                    text2.append(lineText);
+                }
+            }
+            for (TextDiffer.Mode mode : TextDiffer.Mode.values()) {
+                LinkedList<StringDiffer.Diff> diffs = textDiffer.diff(text1.toString(), text2.toString(), mode);
+                assertEquals(text1.toString(), stringDiffer.diff_text1(diffs));
+                assertEquals(text2.toString(), stringDiffer.diff_text2(diffs));
+            }
+        }
+    }
+
+    @Test
+    public void diffsChangedLinesByCharacterTest() {
+        TextDiffer textDiffer = new TextDiffer(1024 * 1024);
+        LinkedList<StringDiffer.Diff> diffs = textDiffer.diff("same\nthe old line\nsame\n", "same\nthe new line\nsame\n",
+                TextDiffer.Mode.RAW);
+        assertEquals(4, diffs.size());
+        assertEquals(new StringDiffer.Diff(StringDiffer.Operation.EQUAL, "same\nthe "), diffs.get(0));
+        assertEquals(new StringDiffer.Diff(StringDiffer.Operation.DELETE, "old"), diffs.get(1));
+        assertEquals(new StringDiffer.Diff(StringDiffer.Operation.INSERT, "new"), diffs.get(2));
+        assertEquals(new StringDiffer.Diff(StringDiffer.Operation.EQUAL, " line\nsame\n"), diffs.get(3));
+    }
+
+    @Test
+    public void cachesDiffsTest() {
+        TextDiffer textDiffer = new TextDiffer(1024 * 1024);
+        LinkedList<StringDiffer.Diff> first = textDiffer.diff("a\nb\nc\n", "a\nc\nd\n", TextDiffer.Mode.DISPLAY);
+        first.clear();
+        LinkedList<StringDiffer.Diff> second = textDiffer.diff("a\nb\nc\n", "a\nc\nd\n", TextDiffer.Mode.DISPLAY);
+        assertFalse(second.isEmpty());
+        assertEquals(1, textDiffer.getHitCount());
+        assertEquals(1, textDiffer.getMissCount());
+        textDiffer.diff("a\nb\nc\n", "a\nc\nd\n", TextDiffer.Mode.RAW);
+        assertEquals(2, textDiffer.getMissCount());
+    }
+
+    @Test
+    public void cancelledDiffTest() {
+        TextDiffer textDiffer = new TextDiffer(1024 * 1024);
+        Thread.currentThread().interrupt();
+        try {
+            textDiffer.diff("a\nb\n", "c\nd\n", TextDiffer.Mode.RAW);
+            fail("Expected the diff to be cancelled");
+        } catch (CancellationException expected) {
+            assertEquals(0, textDiffer.getSize());
+        } finally {
+            Thread.interrupted();
+        }
+        LinkedList<StringDiffer.Diff> diffs = textDiffer.diff("a\nb\n", "c\nd\n", TextDiffer.Mode.RAW);
+        assertEquals("c\nd\n", stringDiffer.diff_text2(diffs));
+    }
+
+    @Test
+    public void largeTextTest() {
+        TextDiffer textDiffer = new TextDiffer(16 * 1024 * 1024);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            text.append("Section ").append(i % 977).append(" appropriates ").append(i * 31 % 10007).append(" dollars\n");
+        }
+        String text1 = text.toString();
+        String text2 = text1.replace("appropriates 12", "appropriates 21");
+        LinkedList<StringDiffer.Diff> diffs = textDiffer.diff(text1, text2, TextDiffer.Mode.DISPLAY);
+        assertEquals(text1, stringDiffer.diff_text1(diffs));
+        assertEquals(text2, stringDiffer.diff_text2(diffs));
+        assertEquals(diffs, textDiffer.diff(text1, text2, TextDiffer.Mode.DISPLAY));
+    }
+}
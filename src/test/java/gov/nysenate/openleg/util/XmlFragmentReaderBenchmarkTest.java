@@ -0,0 +1,96 @@
+package gov.nysenate.openleg.util;
+
+import com.google.common.base.Stopwatch;
+import gov.nysenate.openleg.annotation.SillyTest;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the time and memory allocated to read sample fragments with {@link XmlFragmentReader}
+ * against the DOM + xpath path through {@link XmlHelper}.
+ */
+@Category(SillyTest.class)
+public class XmlFragmentReaderBenchmarkTest
+{
+    private static final Logger logger = LoggerFactory.getLogger(XmlFragmentReaderBenchmarkTest.class);
+
+    private static final int warmupIterations = 2000;
+    private static final int iterations = 2000;
+
+    /** The sample bill text is repeated this many times to simulate a large bill */
+    private static final int largeBillTextRepeats = 250;
+
+    private static final com.sun.management.ThreadMXBean threadBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    public void domVsStaxBenchmark() throws Exception {
+        XmlHelper xmlHelper = new XmlHelper();
+        Map<String, String> samples = new LinkedHashMap<>();
+        String billText = FileIOUtils.getResourceFileContents("xml/billstatus/billtextfile.XML");
+        samples.put("bill text", billText);
+        samples.put("large bill text", repeatCdata(billText, largeBillTextRepeats));
+        samples.put("floor vote", FileIOUtils.getResourceFileContents(
+                "processor/bill/senFlVot/2017-10-23-10.25.46.989009_SENFLVOT_S00100.XML"));
+        samples.put("calendar", FileIOUtils.getResourceFileContents(
+                "processor/bill/senCalendar/2017-02-02-15.45.26.173269_SENCAL_00009.XML"));
+
+        for (Map.Entry<String, String> sample : samples.entrySet()) {
+            String xml = sample.getValue();
+            Callable<Object> dom = () -> {
+                Document doc = xmlHelper.parse(xml);
+                Node root = doc.getDocumentElement();
+                return xmlHelper.getString("@action", root).length() + root.getTextContent().length()
+                        + doc.getElementsByTagName("member").getLength();
+            };
+            Callable<Object> stax = () -> {
+                XmlRecord root = XmlFragmentReader.read(xml);
+                return root.getAttribute("action").length() + root.getText().length()
+                        + root.getDescendants("member").size();
+            };
+            double[] domResult = measure(dom);
+            double[] staxResult = measure(stax);
+            logger.info("{} ({} chars): dom {} us/op {} bytes/op, stax {} us/op {} bytes/op, {}x less allocation",
+                    sample.getKey(), xml.length(),
+                    String.format("%.1f", domResult[0]), String.format("%.0f", domResult[1]),
+                    String.format("%.1f", staxResult[0]), String.format("%.0f", staxResult[1]),
+                    String.format("%.1f", domResult[1] / staxResult[1]));
+        }
+    }
+
+    /**
+     * @return double[] - average microseconds and bytes allocated per call
+     */
+    private static double[] measure(Callable<Object> task) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < warmupIterations; i++) {
+            sink += task.call().hashCode();
+        }
+        long threadId = Thread.currentThread().getId();
+        long startBytes = threadBean.getThreadAllocatedBytes(threadId);
+        Stopwatch sw = Stopwatch.createStarted();
+        for (int i = 0; i < iterations; i++) {
+            sink += task.call().hashCode();
+        }
+        long micros = sw.elapsed(TimeUnit.MICROSECONDS);
+        long bytes = threadBean.getThreadAllocatedBytes(threadId) - startBytes;
+        logger.trace("{}", sink);
+        return new double[] {(double) micros / iterations, (double) bytes / iterations};
+    }
+
+    private static String repeatCdata(String xml, int times) {
+        String cdata = StringUtils.substringBetween(xml, "<![CDATA[", "]]>");
+        return StringUtils.replaceOnce(xml, cdata, StringUtils.repeat(cdata, times));
+    }
+}
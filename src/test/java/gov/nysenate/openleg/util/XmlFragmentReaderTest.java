@@ -0,0 +1,67 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+
+import javax.xml.stream.XMLStreamException;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class XmlFragmentReaderTest
+{
+    private static final String billTextPath = "xml/billstatus/billtextfile.XML";
+    private static final String floorVotePath = "processor/bill/senFlVot/2017-10-23-10.25.46.989009_SENFLVOT_S00100.XML";
+
+    @Test
+    public void billTextMatchesDomTest() throws Exception {
+        String xml = FileIOUtils.getResourceFileContents(billTextPath);
+        XmlHelper xmlHelper = new XmlHelper();
+        Document doc = xmlHelper.parse(xml);
+        Node billText = xmlHelper.getNode("billtext_html", doc);
+
+        XmlRecord record = XmlFragmentReader.read(xml);
+        assertEquals("billtext_html", record.getName());
+        assertEquals(billText.getTextContent(), record.getText());
+        assertEquals((int) xmlHelper.getInteger("@sessyr", billText), record.getIntAttribute("sessyr"));
+        assertEquals(xmlHelper.getString("@asmno", billText), record.getAttribute("asmno"));
+        assertEquals("", record.getAttribute("senhse"));
+    }
+
+    @Test
+    public void floorVoteMatchesDomTest() throws Exception {
+        String xml = FileIOUtils.getResourceFileContents(floorVotePath);
+        XmlHelper xmlHelper = new XmlHelper();
+        Document doc = xmlHelper.parse(xml);
+
+        List<XmlRecord> members = XmlFragmentReader.read(xml).getDescendants("member");
+        assertEquals(doc.getElementsByTagName("member").getLength(), members.size());
+        for (int i = 0; i < members.size(); i++) {
+            Node member = doc.getElementsByTagName("member").item(i);
+            assertEquals(xmlHelper.getString("name", member), members.get(i).getChildText("name"));
+            assertEquals(xmlHelper.getString("vote", member), members.get(i).getChildText("vote"));
+        }
+    }
+
+    @Test
+    public void missingValuesTest() throws Exception {
+        XmlRecord record = XmlFragmentReader.read("<?xml version='1.0'?>\n<a x=\" 12 \"><b>one</b><b>two<c/>three</b></a>");
+        assertEquals(12, record.getIntAttribute("x"));
+        assertEquals(0, record.getIntAttribute("y"));
+        assertEquals("", record.getAttribute("y"));
+        assertEquals("one", record.getChildText("b"));
+        assertEquals("", record.getChildText("d"));
+        assertNull(record.getChild("d"));
+        assertEquals(2, record.getChildren("b").size());
+        assertEquals("twothree", record.getChildren("b").get(1).getText());
+    }
+
+    @Test(expected = XMLStreamException.class)
+    public void malformedXmlTest() throws Exception {
+        XmlFragmentReader.read("<a><b></a>");
+    }
+}
@@ -0,0 +1,57 @@
+package gov.nysenate.openleg.util;
+
+import gov.nysenate.openleg.annotation.UnitTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.w3c.dom.Document;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.*;
+
+@Category(UnitTest.class)
+public class XmlHelperTest
+{
+    private static final String xml = "<?xml version='1.0' encoding='UTF-8'?>\n" +
+            "<billstatus sessyr=\"2017\" billhse=\"A\" billno=\"05243\"><currentamd>B</currentamd></billstatus>";
+
+    @Test
+    public void expressionReuseTest() throws Exception {
+        XmlHelper xmlHelper = new XmlHelper();
+        Document doc = xmlHelper.parse(xml);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2017, (int) xmlHelper.getInteger("billstatus/@sessyr", doc));
+            assertEquals("B", xmlHelper.getString("billstatus/currentamd", doc));
+        }
+        assertEquals(2, xmlHelper.getCompileCount());
+        assertEquals(18, xmlHelper.getHitCount());
+        assertEquals(0.9, xmlHelper.getHitRate(), 0.0001);
+        assertEquals(2, xmlHelper.getDistinctExpressionCount());
+    }
+
+    @Test
+    public void concurrentEvaluationTest() throws Exception {
+        XmlHelper xmlHelper = new XmlHelper();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                results.add(executor.submit(() -> {
+                    Document doc = xmlHelper.parse(xml);
+                    return "05243".equals(xmlHelper.getString("billstatus/@billno", doc));
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, xmlHelper.getDistinctExpressionCount());
+        assertTrue(xmlHelper.getCompileCount() <= 4);
+    }
+}